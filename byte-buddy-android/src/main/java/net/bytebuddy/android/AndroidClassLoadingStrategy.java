@@ -12,8 +12,12 @@ import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.utility.RandomString;
 
 import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.logging.Logger;
@@ -44,6 +48,16 @@ import java.util.logging.Logger;
  * licensed under the <i>Apache 2.0 license</i>, please also note
  * <a href="https://developer.android.com/sdk/terms.html">their terms and conditions</a>.
  * </p>
+ * <p>
+ * Any invocation of this class loading strategy converts all handed types into a single dex file which is loaded by a
+ * single class loader. To load several dynamic types at once, these types can be created and loaded as a
+ * {@link net.bytebuddy.dynamic.DynamicType.Batch}. Additionally, this class loading strategy can be configured to
+ * cache any dex file within the private directory such that types with an identical binary representation are not
+ * converted again, even after the application was restarted. Such caching is only effective if dynamic types are named
+ * deterministically, i.e. by naming strategies that do not depend on random values. Also, the dex files of such a
+ * cache are not invalidated if the dex processor is altered such that any cache directory must only ever be used with
+ * a single dex processor configuration.
+ * </p>
  */
 @TargetApi(Build.VERSION_CODES.CUPCAKE)
 public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
@@ -64,6 +78,26 @@ public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
      */
     private static final String EMPTY_LIBRARY_PATH = null;
 
+    /**
+     * The prefix of any cached dex file's name.
+     */
+    private static final String CACHED_FILE_PREFIX = "dex-";
+
+    /**
+     * The algorithm for computing the hash of a set of types which is used as the name of a cached dex file.
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+
+    /**
+     * The charset for encoding type names when computing the hash of a set of types.
+     */
+    private static final String CHARSET = "UTF-8";
+
+    /**
+     * The hexadecimal digits for encoding a hash value.
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     /**
      * The dex creator to be used by this Android class loading strategy.
      */
@@ -75,6 +109,11 @@ public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
      */
     private final File privateDirectory;
 
+    /**
+     * {@code true} if dex files should be cached within the private directory.
+     */
+    private final boolean cacheDex;
+
     /**
      * A generator for random string values.
      */
@@ -102,32 +141,81 @@ public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
      * @param dexProcessor     The dex processor to be used for creating a dex file out of Java files.
      */
     public AndroidClassLoadingStrategy(File privateDirectory, DexProcessor dexProcessor) {
+        this(privateDirectory, dexProcessor, false);
+    }
+
+    /**
+     * Creates a new Android class loading strategy that uses the given folder for storing classes.
+     *
+     * @param privateDirectory A directory that is <b>not shared with other applications</b> to be used for storing
+     *                         generated classes and their processed forms.
+     * @param dexProcessor     The dex processor to be used for creating a dex file out of Java files.
+     * @param cacheDex         {@code true} if any created dex file should be retained in the private directory such
+     *                         that types with an identical binary representation are not converted again.
+     */
+    public AndroidClassLoadingStrategy(File privateDirectory, DexProcessor dexProcessor, boolean cacheDex) {
         if (!privateDirectory.isDirectory()) {
             throw new IllegalArgumentException("Not a directory " + privateDirectory);
         }
         this.privateDirectory = privateDirectory;
         this.dexProcessor = dexProcessor;
+        this.cacheDex = cacheDex;
         randomString = new RandomString();
     }
 
-    @Override
-    public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
-        DexProcessor.Conversion conversion = dexProcessor.create();
+    /**
+     * Computes a hash value of the given types which is independent of the order of the types.
+     *
+     * @param types The types to hash.
+     * @return A hexadecimal representation of the hash value of the given types.
+     */
+    private static String hash(Map<TypeDescription, byte[]> types) {
+        SortedMap<String, byte[]> sortedTypes = new TreeMap<String, byte[]>();
         for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
-            conversion.register(entry.getKey().getName(), entry.getValue());
+            sortedTypes.put(entry.getKey().getName(), entry.getValue());
         }
-        File zipFile = new File(privateDirectory, randomString.nextString() + JAR_FILE_EXTENSION);
         try {
-            if (!zipFile.createNewFile()) {
-                throw new IllegalStateException("Cannot create " + zipFile);
+            MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            for (Map.Entry<String, byte[]> entry : sortedTypes.entrySet()) {
+                messageDigest.update(entry.getKey().getBytes(CHARSET));
+                messageDigest.update((byte) 0);
+                messageDigest.update(entry.getValue());
+                messageDigest.update((byte) 0);
+            }
+            byte[] digest = messageDigest.digest();
+            char[] hash = new char[digest.length * 2];
+            for (int index = 0; index < digest.length; index++) {
+                hash[index * 2] = HEX_DIGITS[(digest[index] >> 4) & 0xF];
+                hash[index * 2 + 1] = HEX_DIGITS[digest[index] & 0xF];
             }
-            JarOutputStream zipOutputStream = new JarOutputStream(new FileOutputStream(zipFile));
-            try {
-                zipOutputStream.putNextEntry(new JarEntry(DEX_CLASS_FILE));
-                conversion.drainTo(zipOutputStream);
-                zipOutputStream.closeEntry();
-            } finally {
-                zipOutputStream.close();
+            return new String(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot compute hash using " + DIGEST_ALGORITHM, e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("Cannot encode type names using " + CHARSET, e);
+        }
+    }
+
+    @Override
+    public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+        File zipFile = cacheDex
+                ? new File(privateDirectory, CACHED_FILE_PREFIX + hash(types) + JAR_FILE_EXTENSION)
+                : new File(privateDirectory, randomString.nextString() + JAR_FILE_EXTENSION);
+        try {
+            if (!cacheDex) {
+                write(zipFile, types);
+            } else if (!zipFile.isFile()) {
+                File temporaryFile = new File(privateDirectory, randomString.nextString() + JAR_FILE_EXTENSION);
+                try {
+                    write(temporaryFile, types);
+                    if (!temporaryFile.renameTo(zipFile) && !zipFile.isFile()) {
+                        throw new IllegalStateException("Cannot create " + zipFile);
+                    }
+                } finally {
+                    if (temporaryFile.exists() && !temporaryFile.delete()) {
+                        Logger.getAnonymousLogger().warning("Could not delete " + temporaryFile);
+                    }
+                }
             }
             ClassLoader dexClassLoader = dexProcessor.makeClassLoader(zipFile, privateDirectory, classLoader);
             Map<TypeDescription, Class<?>> loadedTypes = new HashMap<TypeDescription, Class<?>>(types.size());
@@ -142,17 +230,43 @@ public class AndroidClassLoadingStrategy implements ClassLoadingStrategy {
         } catch (IOException e) {
             throw new IllegalStateException("Cannot write to zip file " + zipFile, e);
         } finally {
-            if (!zipFile.delete()) {
+            if (!cacheDex && !zipFile.delete()) {
                 Logger.getAnonymousLogger().warning("Could not delete " + zipFile);
             }
         }
     }
 
+    /**
+     * Converts the given types into a single dex file and writes this dex file into a new zip file.
+     *
+     * @param zipFile The zip file to create.
+     * @param types   The types to convert.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void write(File zipFile, Map<TypeDescription, byte[]> types) throws IOException {
+        DexProcessor.Conversion conversion = dexProcessor.create();
+        for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+            conversion.register(entry.getKey().getName(), entry.getValue());
+        }
+        if (!zipFile.createNewFile()) {
+            throw new IllegalStateException("Cannot create " + zipFile);
+        }
+        JarOutputStream zipOutputStream = new JarOutputStream(new FileOutputStream(zipFile));
+        try {
+            zipOutputStream.putNextEntry(new JarEntry(DEX_CLASS_FILE));
+            conversion.drainTo(zipOutputStream);
+            zipOutputStream.closeEntry();
+        } finally {
+            zipOutputStream.close();
+        }
+    }
+
     @Override
     public String toString() {
         return "AndroidClassLoadingStrategy{" +
                 "dexProcessor=" + dexProcessor +
                 ", privateDirectory=" + privateDirectory +
+                ", cacheDex=" + cacheDex +
                 ", randomString=" + randomString +
                 '}';
     }
@@ -20,9 +20,15 @@ import org.mockito.Mock;
 
 import java.io.File;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static org.hamcrest.CoreMatchers.is;
@@ -86,6 +92,78 @@ public class AndroidClassLoadingStrategyTest {
         verifyNoMoreInteractions(conversion);
     }
 
+    @Test
+    public void testCachedProcessing() throws Exception {
+        AndroidClassLoadingStrategy.DexProcessor dexProcessor = mock(AndroidClassLoadingStrategy.DexProcessor.class);
+        ClassLoader classLoader = mock(ClassLoader.class);
+        doReturn(Object.class).when(classLoader).loadClass(FOO);
+        doReturn(Void.class).when(classLoader).loadClass(BAR);
+        when(dexProcessor.makeClassLoader(any(File.class), eq(folder), any(ClassLoader.class))).thenReturn(classLoader);
+        AndroidClassLoadingStrategy.DexProcessor.Conversion conversion = mock(AndroidClassLoadingStrategy.DexProcessor.Conversion.class);
+        when(dexProcessor.create()).thenReturn(conversion);
+        ClassLoadingStrategy classLoadingStrategy = new AndroidClassLoadingStrategy(folder, dexProcessor, true);
+        Map<TypeDescription, byte[]> unloaded = new HashMap<TypeDescription, byte[]>();
+        unloaded.put(first, QUX);
+        unloaded.put(second, BAZ);
+        ClassLoader parentClassLoader = mock(ClassLoader.class);
+        for (int index = 0; index < 2; index++) {
+            Map<TypeDescription, Class<?>> loaded = classLoadingStrategy.load(parentClassLoader, unloaded);
+            assertThat(loaded.size(), is(2));
+            assertEquals(Object.class, loaded.get(first));
+            assertEquals(Void.class, loaded.get(second));
+        }
+        File[] file = folder.listFiles();
+        assertThat(file.length, is(1));
+        verify(dexProcessor).create();
+        verify(dexProcessor, times(2)).makeClassLoader(file[0], folder, parentClassLoader);
+        verifyNoMoreInteractions(dexProcessor);
+        verify(conversion).register(FOO, QUX);
+        verify(conversion).register(BAR, BAZ);
+        verify(conversion).drainTo(any(OutputStream.class));
+        verifyNoMoreInteractions(conversion);
+        assertThat(file[0].delete(), is(true));
+    }
+
+    @Test
+    public void testCachedProcessingDistinguishesTypes() throws Exception {
+        AndroidClassLoadingStrategy.DexProcessor dexProcessor = mock(AndroidClassLoadingStrategy.DexProcessor.class);
+        ClassLoader classLoader = mock(ClassLoader.class);
+        doReturn(Object.class).when(classLoader).loadClass(FOO);
+        when(dexProcessor.makeClassLoader(any(File.class), eq(folder), any(ClassLoader.class))).thenReturn(classLoader);
+        when(dexProcessor.create()).thenReturn(mock(AndroidClassLoadingStrategy.DexProcessor.Conversion.class));
+        ClassLoadingStrategy classLoadingStrategy = new AndroidClassLoadingStrategy(folder, dexProcessor, true);
+        classLoadingStrategy.load(mock(ClassLoader.class), Collections.singletonMap(first, QUX));
+        classLoadingStrategy.load(mock(ClassLoader.class), Collections.singletonMap(first, BAZ));
+        verify(dexProcessor, times(2)).create();
+        File[] file = folder.listFiles();
+        assertThat(file.length, is(2));
+        for (File aFile : file) {
+            assertThat(aFile.delete(), is(true));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchIsConvertedAtOnce() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            DynamicType.Batch batch = DynamicType.Batch.make(Arrays.asList(
+                    new ByteBuddy(ClassFileVersion.JAVA_V6).subclass(Object.class).name(FOO),
+                    new ByteBuddy(ClassFileVersion.JAVA_V6).subclass(Object.class).name(BAR)), executorService);
+            ClassLoader classLoader = mock(ClassLoader.class);
+            doReturn(Object.class).when(classLoader).loadClass(FOO);
+            doReturn(Void.class).when(classLoader).loadClass(BAR);
+            StubbedClassLoaderDexCompilation dexProcessor = new StubbedClassLoaderDexCompilation(classLoader);
+            List<DynamicType.Loaded<?>> loaded = batch.load(getClass().getClassLoader(), new AndroidClassLoadingStrategy(folder, dexProcessor));
+            assertThat(loaded.size(), is(2));
+            assertEquals(Object.class, loaded.get(0).getLoaded());
+            assertEquals(Void.class, loaded.get(1).getLoaded());
+            assertThat(dexProcessor.conversions.get(), is(1));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testAndroidClassLoaderRequiresDirectory() throws Exception {
         new AndroidClassLoadingStrategy(mock(File.class), mock(AndroidClassLoadingStrategy.DexProcessor.class));
@@ -125,12 +203,16 @@ public class AndroidClassLoadingStrategyTest {
 
         private final ClassLoader classLoader;
 
+        private final AtomicInteger conversions;
+
         private StubbedClassLoaderDexCompilation(ClassLoader classLoader) {
             this.classLoader = classLoader;
+            conversions = new AtomicInteger();
         }
 
         @Override
         public Conversion create() {
+            conversions.incrementAndGet();
             return new AndroidClassLoadingStrategy.DexProcessor.ForSdkCompiler(new DexOptions(), new CfOptions()).create();
         }
 
@@ -0,0 +1,142 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.benchmark.specimen.ExampleInterface;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FixedValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.security.ProtectionDomain;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * <p>
+ * A benchmark for the {@link java.lang.instrument.ClassFileTransformer} that is created by an
+ * {@link net.bytebuddy.agent.builder.AgentBuilder} with a given number of registered rules. The matching rule is
+ * registered first such that all other rules need to be checked before a transformation is applied. This
+ * resembles the worst case for a transformation as the agent builder applies the last registered matching rule.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AgentBuilderBenchmark {
+
+    /**
+     * The number of rules that are registered with the agent builder.
+     */
+    @Param({"1", "10", "100"})
+    public int rules;
+
+    /**
+     * The class loader of the transformed types.
+     */
+    private ClassLoader classLoader = ExampleClass.class.getClassLoader();
+
+    /**
+     * Represents a type that is not redefined.
+     */
+    private Class<?> classBeingRedefined = null;
+
+    /**
+     * Represents the protection domain of the transformed type.
+     */
+    private ProtectionDomain protectionDomain = null;
+
+    /**
+     * The internal name of a type that is transformed.
+     */
+    private String transformedName = ExampleClass.class.getName().replace('.', '/');
+
+    /**
+     * The internal name of a type that is ignored.
+     */
+    private String ignoredName = ExampleInterface.class.getName().replace('.', '/');
+
+    /**
+     * The binary representation of the type that is transformed.
+     */
+    private byte[] transformedBinaryRepresentation;
+
+    /**
+     * The binary representation of the type that is ignored.
+     */
+    private byte[] ignoredBinaryRepresentation;
+
+    /**
+     * The class file transformer that is benchmarked.
+     */
+    private ClassFileTransformer classFileTransformer;
+
+    /**
+     * Creates the class file transformer with the configured number of rules.
+     *
+     * @throws Exception If the binary representation of a type cannot be read.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        ClassFileLocator classFileLocator = ClassFileLocator.ForClassLoader.of(classLoader);
+        transformedBinaryRepresentation = classFileLocator.locate(ExampleClass.class.getName()).resolve();
+        ignoredBinaryRepresentation = classFileLocator.locate(ExampleInterface.class.getName()).resolve();
+        AgentBuilder agentBuilder = new AgentBuilder.Default()
+                .disableSelfInitialization()
+                .rebase(named(ExampleClass.class.getName()))
+                .transform(new ToStringTransformer());
+        for (int index = 1; index < rules; index++) {
+            agentBuilder = agentBuilder.rebase(named(ExampleClass.class.getName() + index)).transform(AgentBuilder.Transformer.NoOp.INSTANCE);
+        }
+        classFileTransformer = agentBuilder.makeRaw();
+    }
+
+    /**
+     * Performs a benchmark for transforming a type.
+     *
+     * @return The transformed binary representation.
+     * @throws IllegalClassFormatException If the transformation fails.
+     */
+    @Benchmark
+    public byte[] benchmarkTransformed() throws IllegalClassFormatException {
+        return classFileTransformer.transform(classLoader,
+                transformedName,
+                classBeingRedefined,
+                protectionDomain,
+                transformedBinaryRepresentation);
+    }
+
+    /**
+     * Performs a benchmark for a type that is not matched by any rule.
+     *
+     * @return The transformed binary representation which is always {@code null}.
+     * @throws IllegalClassFormatException If the transformation fails.
+     */
+    @Benchmark
+    public byte[] benchmarkIgnored() throws IllegalClassFormatException {
+        return classFileTransformer.transform(classLoader,
+                ignoredName,
+                classBeingRedefined,
+                protectionDomain,
+                ignoredBinaryRepresentation);
+    }
+
+    /**
+     * A transformer that overrides the {@link Object#toString()} method to return a fixed value.
+     */
+    protected static class ToStringTransformer implements AgentBuilder.Transformer {
+
+        @Override
+        public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription) {
+            return builder.method(named("toString")).intercept(FixedValue.value("foo"));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FixedValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A benchmark for defining a large number of members on a {@link net.bytebuddy.dynamic.DynamicType.Builder}. Every
+ * second member is a field, all other members are methods that return a fixed value. As each builder is immutable,
+ * every definition creates a new builder instance such that this benchmark measures the cost of extending a
+ * builder's configuration. The benchmark measures both the definition of all members and the creation of the
+ * resulting type.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BuilderChainBenchmark {
+
+    /**
+     * The number of members that are defined on the created type.
+     */
+    @Param({"1000"})
+    public int members;
+
+    /**
+     * The base class of the created type.
+     */
+    private Class<?> baseClass = Object.class;
+
+    /**
+     * The type of all defined fields and the return type of all defined methods.
+     */
+    private Class<?> memberType = String.class;
+
+    /**
+     * The parameter types of all defined methods.
+     */
+    private List<Class<?>> parameterTypes = Collections.emptyList();
+
+    /**
+     * The value that is returned by all defined methods.
+     */
+    private String value = "foo";
+
+    /**
+     * The names of all defined members.
+     */
+    private String[] names;
+
+    /**
+     * The Byte Buddy instance to use.
+     */
+    private ByteBuddy byteBuddy;
+
+    /**
+     * Creates the names of all members.
+     */
+    @Setup
+    public void setUp() {
+        names = new String[members];
+        for (int index = 0; index < members; index++) {
+            names[index] = "member" + index;
+        }
+        byteBuddy = new ByteBuddy();
+    }
+
+    /**
+     * Performs a benchmark for defining all members on a builder.
+     *
+     * @return The builder with all members defined.
+     */
+    @Benchmark
+    public DynamicType.Builder<?> benchmarkDefinition() {
+        DynamicType.Builder<?> builder = byteBuddy.subclass(baseClass);
+        for (int index = 0; index < members; index++) {
+            builder = index % 2 == 0
+                    ? builder.defineField(names[index], memberType, Visibility.PUBLIC)
+                    : builder.defineMethod(names[index], memberType, parameterTypes, Visibility.PUBLIC).intercept(FixedValue.value(value));
+        }
+        return builder;
+    }
+
+    /**
+     * Performs a benchmark for defining all members on a builder and creating the resulting type.
+     *
+     * @return The created type.
+     */
+    @Benchmark
+    public DynamicType.Unloaded<?> benchmarkCreation() {
+        return benchmarkDefinition().make();
+    }
+}
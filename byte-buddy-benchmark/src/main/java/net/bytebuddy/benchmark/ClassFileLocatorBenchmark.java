@@ -0,0 +1,132 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.objectweb.asm.ClassReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * <p>
+ * A benchmark for locating the binary representation of a set of types by different implementations of a
+ * {@link net.bytebuddy.dynamic.ClassFileLocator}. All types are located from the jar file that contains ASM.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClassFileLocatorBenchmark {
+
+    /**
+     * The binary names of the types that are located in each benchmark.
+     */
+    private List<String> typeNames = Arrays.asList("org.objectweb.asm.ClassReader",
+            "org.objectweb.asm.ClassWriter",
+            "org.objectweb.asm.ClassVisitor",
+            "org.objectweb.asm.MethodVisitor",
+            "org.objectweb.asm.MethodWriter",
+            "org.objectweb.asm.FieldVisitor",
+            "org.objectweb.asm.AnnotationVisitor",
+            "org.objectweb.asm.Type",
+            "org.objectweb.asm.Label",
+            "org.objectweb.asm.Opcodes");
+
+    /**
+     * The jar file that contains the located types.
+     */
+    private JarFile jarFile;
+
+    /**
+     * A class file locator that queries the class loader of the located types.
+     */
+    private ClassFileLocator forClassLoader;
+
+    /**
+     * A class file locator that reads the jar file containing the located types.
+     */
+    private ClassFileLocator forJarFile;
+
+    /**
+     * A compound class file locator that first queries the jar file and then the class loader.
+     */
+    private ClassFileLocator compound;
+
+    /**
+     * Creates the class file locators that are benchmarked.
+     *
+     * @throws Exception If the jar file cannot be located or read.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        jarFile = new JarFile(new File(ClassReader.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+        forClassLoader = ClassFileLocator.ForClassLoader.of(ClassReader.class.getClassLoader());
+        forJarFile = new ClassFileLocator.ForJarFile(jarFile);
+        compound = new ClassFileLocator.Compound(forJarFile, forClassLoader);
+    }
+
+    /**
+     * Closes the jar file after the benchmark.
+     *
+     * @throws IOException If the jar file cannot be closed.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        jarFile.close();
+    }
+
+    /**
+     * Performs a benchmark for locating types by querying a class loader.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     * @throws IOException If a type cannot be located.
+     */
+    @Benchmark
+    public void benchmarkForClassLoader(Blackhole blackHole) throws IOException {
+        locate(forClassLoader, blackHole);
+    }
+
+    /**
+     * Performs a benchmark for locating types by reading a jar file.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     * @throws IOException If a type cannot be located.
+     */
+    @Benchmark
+    public void benchmarkForJarFile(Blackhole blackHole) throws IOException {
+        locate(forJarFile, blackHole);
+    }
+
+    /**
+     * Performs a benchmark for locating types by a compound class file locator.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     * @throws IOException If a type cannot be located.
+     */
+    @Benchmark
+    public void benchmarkCompound(Blackhole blackHole) throws IOException {
+        locate(compound, blackHole);
+    }
+
+    /**
+     * Locates all benchmarked types using the given class file locator.
+     *
+     * @param classFileLocator The class file locator to use.
+     * @param blackHole        A black hole for avoiding JIT erasure.
+     * @throws IOException If a type cannot be located.
+     */
+    private void locate(ClassFileLocator classFileLocator, Blackhole blackHole) throws IOException {
+        for (String typeName : typeNames) {
+            blackHole.consume(classFileLocator.locate(typeName).resolve());
+        }
+    }
+}
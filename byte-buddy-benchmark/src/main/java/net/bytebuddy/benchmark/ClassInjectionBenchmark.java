@@ -0,0 +1,119 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassInjector;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.any;
+
+/**
+ * <p>
+ * A benchmark for loading a dynamic type by different {@link net.bytebuddy.dynamic.loading.ClassLoadingStrategy}s
+ * and by a {@link net.bytebuddy.dynamic.loading.ClassInjector} directly. The dynamic type is created once such that
+ * the benchmark only measures the loading of the type into a new class loader.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClassInjectionBenchmark {
+
+    /**
+     * The base class of the loaded type.
+     */
+    public static final Class<?> BASE_CLASS = Object.class;
+
+    /**
+     * The name of the loaded type.
+     */
+    private String typeName = "net.bytebuddy.benchmark.generated.InjectionSpecimen";
+
+    /**
+     * The zero-length of the class loader's URL.
+     */
+    private int urlLength = 0;
+
+    /**
+     * The dynamic type that is loaded.
+     */
+    private DynamicType.Unloaded<?> dynamicType;
+
+    /**
+     * The binary representations of all types that are injected.
+     */
+    private Map<TypeDescription, byte[]> types;
+
+    /**
+     * Creates the dynamic type that is loaded by all benchmarks.
+     */
+    @Setup
+    public void setUp() {
+        dynamicType = new ByteBuddy()
+                .withIgnoredMethods(any())
+                .subclass(BASE_CLASS)
+                .name(typeName)
+                .make();
+        types = dynamicType.getAllTypes();
+    }
+
+    /**
+     * Creates a new class loader. By using a fresh class loader for each creation, we avoid name space issues.
+     *
+     * @return A new class loader.
+     */
+    private ClassLoader newClassLoader() {
+        return new URLClassLoader(new URL[urlLength]);
+    }
+
+    /**
+     * Performs a benchmark for loading a type by a {@link ClassLoadingStrategy.Default#WRAPPER} strategy.
+     *
+     * @return The loaded type.
+     */
+    @Benchmark
+    public Class<?> benchmarkWrapper() {
+        return dynamicType.load(newClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+    }
+
+    /**
+     * Performs a benchmark for loading a type by a {@link ClassLoadingStrategy.Default#CHILD_FIRST} strategy.
+     *
+     * @return The loaded type.
+     */
+    @Benchmark
+    public Class<?> benchmarkChildFirst() {
+        return dynamicType.load(newClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST).getLoaded();
+    }
+
+    /**
+     * Performs a benchmark for loading a type by a {@link ClassLoadingStrategy.Default#INJECTION} strategy.
+     *
+     * @return The loaded type.
+     */
+    @Benchmark
+    public Class<?> benchmarkInjection() {
+        return dynamicType.load(newClassLoader(), ClassLoadingStrategy.Default.INJECTION).getLoaded();
+    }
+
+    /**
+     * Performs a benchmark for injecting a type by a {@link ClassInjector.UsingReflection} injector.
+     *
+     * @return The loaded types.
+     */
+    @Benchmark
+    public Map<TypeDescription, Class<?>> benchmarkInjectorUsingReflection() {
+        return new ClassInjector.UsingReflection(newClassLoader()).inject(types);
+    }
+}
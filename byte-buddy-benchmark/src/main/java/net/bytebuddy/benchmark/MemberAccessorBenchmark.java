@@ -0,0 +1,250 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.benchmark.specimen.ExampleFieldHolder;
+import net.bytebuddy.dynamic.MemberAccessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A benchmark for comparing a generated {@link MemberAccessor} to the Java reflection API and to method handles for
+ * invoking a method, for reading a field and for writing a field. As this module is compiled to Java 6 byte code where
+ * the signature polymorphic methods of a method handle cannot be invoked, method handles are invoked by
+ * {@code MethodHandle#invokeWithArguments(Object...)} which resembles the generic invocation of any member by a
+ * framework that does not know the member's signature at compile time.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MemberAccessorBenchmark {
+
+    /**
+     * The index of the invoked method and the accessed {@code int} field of the member accessor.
+     */
+    private int index = 0;
+
+    /**
+     * The index of the accessed reference field of the member accessor.
+     */
+    private int referenceIndex = 1;
+
+    /**
+     * The argument of the invoked method.
+     */
+    private int intValue = 42;
+
+    /**
+     * The written reference value.
+     */
+    private String stringValue = "foo";
+
+    /**
+     * The instance on which a method is invoked.
+     */
+    private ExampleClass exampleClass;
+
+    /**
+     * The instance of which fields are accessed.
+     */
+    private ExampleFieldHolder exampleFieldHolder;
+
+    /**
+     * A member accessor for the benchmarked method.
+     */
+    private MemberAccessor methodAccessor;
+
+    /**
+     * A member accessor for the benchmarked fields.
+     */
+    private MemberAccessor fieldAccessor;
+
+    /**
+     * The benchmarked method.
+     */
+    private Method method;
+
+    /**
+     * The benchmarked {@code int} field.
+     */
+    private Field field;
+
+    /**
+     * The benchmarked reference field.
+     */
+    private Field referenceField;
+
+    /**
+     * A method handle for the benchmarked method.
+     */
+    private MethodHandle methodHandle;
+
+    /**
+     * A method handle for reading the benchmarked {@code int} field.
+     */
+    private MethodHandle getterHandle;
+
+    /**
+     * A method handle for writing the benchmarked {@code int} field.
+     */
+    private MethodHandle setterHandle;
+
+    /**
+     * A method handle for writing the benchmarked reference field.
+     */
+    private MethodHandle referenceSetterHandle;
+
+    /**
+     * Creates the member accessors, reflective members and method handles that are used by all benchmarks.
+     *
+     * @throws Exception If a member cannot be resolved.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        exampleClass = new ExampleClass();
+        exampleFieldHolder = new ExampleFieldHolder();
+        method = ExampleClass.class.getMethod("method", int.class);
+        field = ExampleFieldHolder.class.getField("intValue");
+        referenceField = ExampleFieldHolder.class.getField("stringValue");
+        MemberAccessor.Factory factory = new MemberAccessor.Factory();
+        methodAccessor = factory.make(ExampleClass.class, Collections.singletonList(method), Collections.<Field>emptyList());
+        fieldAccessor = factory.make(ExampleFieldHolder.class, Collections.<Method>emptyList(), Arrays.asList(field, referenceField));
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        methodHandle = lookup.unreflect(method);
+        getterHandle = lookup.unreflectGetter(field);
+        setterHandle = lookup.unreflectSetter(field);
+        referenceSetterHandle = lookup.unreflectSetter(referenceField);
+    }
+
+    /**
+     * Performs a benchmark of a method invocation by a member accessor.
+     *
+     * @return The method's return value.
+     */
+    @Benchmark
+    public Object benchmarkAccessorInvocation() {
+        return methodAccessor.invoke(exampleClass, index, new Object[]{intValue});
+    }
+
+    /**
+     * Performs a benchmark of a method invocation by the Java reflection API.
+     *
+     * @return The method's return value.
+     * @throws Exception If the invocation fails.
+     */
+    @Benchmark
+    public Object benchmarkReflectiveInvocation() throws Exception {
+        return method.invoke(exampleClass, intValue);
+    }
+
+    /**
+     * Performs a benchmark of a method invocation by a method handle.
+     *
+     * @return The method's return value.
+     * @throws Throwable If the invocation fails.
+     */
+    @Benchmark
+    public Object benchmarkMethodHandleInvocation() throws Throwable {
+        return methodHandle.invokeWithArguments(exampleClass, intValue);
+    }
+
+    /**
+     * Performs a benchmark of reading an {@code int} field by a member accessor.
+     *
+     * @return The field's value.
+     */
+    @Benchmark
+    public int benchmarkAccessorRead() {
+        return fieldAccessor.getInt(exampleFieldHolder, index);
+    }
+
+    /**
+     * Performs a benchmark of reading an {@code int} field by the Java reflection API.
+     *
+     * @return The field's value.
+     * @throws Exception If the field cannot be read.
+     */
+    @Benchmark
+    public int benchmarkReflectiveRead() throws Exception {
+        return field.getInt(exampleFieldHolder);
+    }
+
+    /**
+     * Performs a benchmark of reading an {@code int} field by a method handle.
+     *
+     * @return The field's value.
+     * @throws Throwable If the field cannot be read.
+     */
+    @Benchmark
+    public Object benchmarkMethodHandleRead() throws Throwable {
+        return getterHandle.invokeWithArguments(exampleFieldHolder);
+    }
+
+    /**
+     * Performs a benchmark of writing an {@code int} field by a member accessor.
+     */
+    @Benchmark
+    public void benchmarkAccessorWrite() {
+        fieldAccessor.setInt(exampleFieldHolder, index, intValue);
+    }
+
+    /**
+     * Performs a benchmark of writing an {@code int} field by the Java reflection API.
+     *
+     * @throws Exception If the field cannot be written.
+     */
+    @Benchmark
+    public void benchmarkReflectiveWrite() throws Exception {
+        field.setInt(exampleFieldHolder, intValue);
+    }
+
+    /**
+     * Performs a benchmark of writing an {@code int} field by a method handle.
+     *
+     * @throws Throwable If the field cannot be written.
+     */
+    @Benchmark
+    public void benchmarkMethodHandleWrite() throws Throwable {
+        setterHandle.invokeWithArguments(exampleFieldHolder, intValue);
+    }
+
+    /**
+     * Performs a benchmark of writing a reference field by a member accessor.
+     */
+    @Benchmark
+    public void benchmarkAccessorReferenceWrite() {
+        fieldAccessor.set(exampleFieldHolder, referenceIndex, stringValue);
+    }
+
+    /**
+     * Performs a benchmark of writing a reference field by the Java reflection API.
+     *
+     * @throws Exception If the field cannot be written.
+     */
+    @Benchmark
+    public void benchmarkReflectiveReferenceWrite() throws Exception {
+        referenceField.set(exampleFieldHolder, stringValue);
+    }
+
+    /**
+     * Performs a benchmark of writing a reference field by a method handle.
+     *
+     * @throws Throwable If the field cannot be written.
+     */
+    @Benchmark
+    public void benchmarkMethodHandleReferenceWrite() throws Throwable {
+        referenceSetterHandle.invokeWithArguments(exampleFieldHolder, stringValue);
+    }
+}
@@ -0,0 +1,93 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.MethodLookupEngine;
+import net.bytebuddy.pool.TypePool;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.JFrame;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A benchmark for the extraction of all invokable methods of a type with a deep class hierarchy by a
+ * {@link net.bytebuddy.dynamic.scaffold.MethodLookupEngine.Default}. The benchmark uses {@link javax.swing.JFrame}
+ * which inherits from five super classes and implements a large number of interfaces. The hierarchy is described
+ * both by loaded types and by a {@link net.bytebuddy.pool.TypePool}.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MethodLookupEngineBenchmark {
+
+    /**
+     * The type with a deep class hierarchy that is processed by each benchmark.
+     */
+    public static final Class<?> DEEP_TYPE = JFrame.class;
+
+    /**
+     * A description of a loaded type with a deep class hierarchy.
+     */
+    private TypeDescription loadedType;
+
+    /**
+     * A description of a type with a deep class hierarchy as described by a type pool.
+     */
+    private TypeDescription pooledType;
+
+    /**
+     * A method lookup engine that extracts default methods.
+     */
+    private MethodLookupEngine defaultMethodLookupEngine;
+
+    /**
+     * A method lookup engine that does not extract default methods.
+     */
+    private MethodLookupEngine nonDefaultMethodLookupEngine;
+
+    /**
+     * Creates the type descriptions and method lookup engines that are used in the benchmark.
+     */
+    @Setup
+    public void setUp() {
+        loadedType = new TypeDescription.ForLoadedType(DEEP_TYPE);
+        pooledType = TypePool.Default.ofClassPath().describe(DEEP_TYPE.getName()).resolve();
+        defaultMethodLookupEngine = MethodLookupEngine.Default.Factory.INSTANCE.make(true);
+        nonDefaultMethodLookupEngine = MethodLookupEngine.Default.Factory.INSTANCE.make(false);
+    }
+
+    /**
+     * Performs a benchmark for a method lookup of a loaded type including default methods.
+     *
+     * @return The finding of the method lookup.
+     */
+    @Benchmark
+    public MethodLookupEngine.Finding benchmarkLoadedType() {
+        return defaultMethodLookupEngine.process(loadedType);
+    }
+
+    /**
+     * Performs a benchmark for a method lookup of a loaded type excluding default methods.
+     *
+     * @return The finding of the method lookup.
+     */
+    @Benchmark
+    public MethodLookupEngine.Finding benchmarkLoadedTypeWithoutDefaultMethods() {
+        return nonDefaultMethodLookupEngine.process(loadedType);
+    }
+
+    /**
+     * Performs a benchmark for a method lookup of a type described by a type pool including default methods.
+     *
+     * @return The finding of the method lookup.
+     */
+    @Benchmark
+    public MethodLookupEngine.Finding benchmarkPooledType() {
+        return defaultMethodLookupEngine.process(pooledType);
+    }
+}
@@ -0,0 +1,125 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.BridgeMethodResolver;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.dynamic.scaffold.MethodLookupEngine;
+import net.bytebuddy.dynamic.scaffold.MethodRegistry;
+import net.bytebuddy.dynamic.scaffold.subclass.SubclassImplementationTarget;
+import net.bytebuddy.dynamic.scaffold.subclass.SubclassInstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.SuperMethodCall;
+import net.bytebuddy.implementation.attribute.MethodAttributeAppender;
+import net.bytebuddy.matcher.LatentMethodMatcher;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * <p>
+ * A benchmark for the preparation and compilation of a {@link net.bytebuddy.dynamic.scaffold.MethodRegistry.Default}
+ * for a subclass of a type with a deep class hierarchy. The registry intercepts all non-final public methods
+ * by a {@link net.bytebuddy.implementation.SuperMethodCall}. This resembles the work that is applied for any
+ * {@link net.bytebuddy.dynamic.DynamicType.Builder#make()} invocation before the class file is written.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MethodRegistryBenchmark {
+
+    /**
+     * The name of the instrumented type.
+     */
+    private String typeName = "net.bytebuddy.benchmark.generated.MethodRegistrySpecimen";
+
+    /**
+     * The instrumented type for which the method registry is prepared.
+     */
+    private InstrumentedType instrumentedType;
+
+    /**
+     * The method registry to prepare.
+     */
+    private MethodRegistry methodRegistry;
+
+    /**
+     * The method lookup engine to use.
+     */
+    private MethodLookupEngine methodLookupEngine;
+
+    /**
+     * The filter for methods that are instrumented.
+     */
+    private LatentMethodMatcher methodFilter;
+
+    /**
+     * The implementation target factory for compiling a prepared method registry.
+     */
+    private Implementation.Target.Factory implementationTargetFactory;
+
+    /**
+     * A method registry that was already prepared.
+     */
+    private MethodRegistry.Prepared preparedMethodRegistry;
+
+    /**
+     * Creates the method registry and its environment.
+     */
+    @Setup
+    public void setUp() {
+        instrumentedType = new SubclassInstrumentedType(ClassFileVersion.forCurrentJavaVersion(),
+                new TypeDescription.ForLoadedType(MethodLookupEngineBenchmark.DEEP_TYPE),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC,
+                new NamingStrategy.Fixed(typeName));
+        methodRegistry = new MethodRegistry.Default().append(new LatentMethodMatcher.Resolved(isPublic().and(not(isFinal()))),
+                new MethodRegistry.Handler.ForImplementation(SuperMethodCall.INSTANCE),
+                MethodAttributeAppender.NoOp.INSTANCE);
+        methodLookupEngine = MethodLookupEngine.Default.Factory.INSTANCE.make(true);
+        methodFilter = new LatentMethodMatcher.Resolved(isOverridable());
+        implementationTargetFactory = new SubclassImplementationTarget.Factory(BridgeMethodResolver.Simple.Factory.FAIL_ON_REQUEST,
+                SubclassImplementationTarget.OriginTypeIdentifier.SUPER_TYPE);
+        preparedMethodRegistry = methodRegistry.prepare(instrumentedType, methodLookupEngine, methodFilter);
+    }
+
+    /**
+     * Performs a benchmark for preparing a method registry.
+     *
+     * @return The prepared method registry.
+     */
+    @Benchmark
+    public MethodRegistry.Prepared benchmarkPrepare() {
+        return methodRegistry.prepare(instrumentedType, methodLookupEngine, methodFilter);
+    }
+
+    /**
+     * Performs a benchmark for compiling a method registry that was already prepared.
+     *
+     * @return The compiled method registry.
+     */
+    @Benchmark
+    public MethodRegistry.Compiled benchmarkCompile() {
+        return preparedMethodRegistry.compile(implementationTargetFactory);
+    }
+
+    /**
+     * Performs a benchmark for preparing and compiling a method registry.
+     *
+     * @return The compiled method registry.
+     */
+    @Benchmark
+    public MethodRegistry.Compiled benchmarkPrepareAndCompile() {
+        return methodRegistry.prepare(instrumentedType, methodLookupEngine, methodFilter).compile(implementationTargetFactory);
+    }
+}
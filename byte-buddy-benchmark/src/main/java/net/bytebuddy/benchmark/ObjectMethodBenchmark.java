@@ -0,0 +1,233 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.EqualsMethod;
+import net.bytebuddy.implementation.HashCodeMethod;
+import net.bytebuddy.implementation.ToStringMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.isEquals;
+import static net.bytebuddy.matcher.ElementMatchers.isHashCode;
+import static net.bytebuddy.matcher.ElementMatchers.isToString;
+
+/**
+ * <p>
+ * A benchmark for comparing the {@link Object#equals(Object)}, {@link Object#hashCode()} and {@link Object#toString()}
+ * methods that are generated by {@link EqualsMethod}, {@link HashCodeMethod} and {@link ToStringMethod} to
+ * equivalent implementations that read an instance's fields by reflection. Both implementations consider the same
+ * primitive and reference fields of two equal instances.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ObjectMethodBenchmark {
+
+    /**
+     * The value of the {@code int} field of the benchmarked instances.
+     */
+    private int intValue = 42;
+
+    /**
+     * The value of the {@code long} field of the benchmarked instances.
+     */
+    private long longValue = 42L;
+
+    /**
+     * The value of the {@code double} field of the benchmarked instances.
+     */
+    private double doubleValue = 42d;
+
+    /**
+     * The value of the {@link String} field of the benchmarked instances.
+     */
+    private String stringValue = "foo";
+
+    /**
+     * An instance with generated object methods.
+     */
+    private Object generatedInstance;
+
+    /**
+     * An instance with generated object methods that is equal to {@link ObjectMethodBenchmark#generatedInstance}.
+     */
+    private Object otherGeneratedInstance;
+
+    /**
+     * An instance of a type without object methods that is described by reflection.
+     */
+    private Object reflectiveInstance;
+
+    /**
+     * An instance that is equal to {@link ObjectMethodBenchmark#reflectiveInstance}.
+     */
+    private Object otherReflectiveInstance;
+
+    /**
+     * The accessible, non-static fields of the type that is described by reflection.
+     */
+    private Field[] fields;
+
+    /**
+     * Creates the instances that are used by all benchmarks.
+     *
+     * @throws Exception If the instances cannot be created.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        Class<?> generatedType = specimen()
+                .method(isEquals()).intercept(EqualsMethod.ofAllFields())
+                .method(isHashCode()).intercept(HashCodeMethod.ofAllFields())
+                .method(isToString()).intercept(ToStringMethod.ofAllFields())
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Class<?> reflectiveType = specimen()
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        List<Field> fields = new ArrayList<Field>();
+        for (Field field : reflectiveType.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        this.fields = fields.toArray(new Field[fields.size()]);
+        generatedInstance = newInstance(generatedType);
+        otherGeneratedInstance = newInstance(generatedType);
+        reflectiveInstance = newInstance(reflectiveType);
+        otherReflectiveInstance = newInstance(reflectiveType);
+    }
+
+    /**
+     * Creates a builder for a type that declares one field for each benchmarked value.
+     *
+     * @return A builder for a type that declares one field for each benchmarked value.
+     */
+    private DynamicType.Builder<?> specimen() {
+        return new ByteBuddy()
+                .subclass(Object.class)
+                .defineField("intValue", int.class, Visibility.PUBLIC)
+                .defineField("longValue", long.class, Visibility.PUBLIC)
+                .defineField("doubleValue", double.class, Visibility.PUBLIC)
+                .defineField("stringValue", String.class, Visibility.PUBLIC);
+    }
+
+    /**
+     * Creates an instance of a specimen type and assigns the benchmarked values.
+     *
+     * @param type The specimen type.
+     * @return An instance of the specimen type.
+     * @throws Exception If the instance cannot be created.
+     */
+    private Object newInstance(Class<?> type) throws Exception {
+        Object instance = type.newInstance();
+        type.getField("intValue").setInt(instance, intValue);
+        type.getField("longValue").setLong(instance, longValue);
+        type.getField("doubleValue").setDouble(instance, doubleValue);
+        type.getField("stringValue").set(instance, stringValue);
+        return instance;
+    }
+
+    /**
+     * Performs a benchmark of a generated equals method.
+     *
+     * @return The result of the comparison.
+     */
+    @Benchmark
+    public boolean benchmarkGeneratedEquals() {
+        return generatedInstance.equals(otherGeneratedInstance);
+    }
+
+    /**
+     * Performs a benchmark of an equals method that reads fields by reflection.
+     *
+     * @return The result of the comparison.
+     * @throws Exception If a field cannot be read.
+     */
+    @Benchmark
+    public boolean benchmarkReflectiveEquals() throws Exception {
+        if (reflectiveInstance == otherReflectiveInstance) {
+            return true;
+        } else if (otherReflectiveInstance == null || reflectiveInstance.getClass() != otherReflectiveInstance.getClass()) {
+            return false;
+        }
+        for (Field field : fields) {
+            Object value = field.get(reflectiveInstance), otherValue = field.get(otherReflectiveInstance);
+            if (value == null ? otherValue != null : !value.equals(otherValue)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Performs a benchmark of a generated hash code method.
+     *
+     * @return The computed hash code.
+     */
+    @Benchmark
+    public int benchmarkGeneratedHashCode() {
+        return generatedInstance.hashCode();
+    }
+
+    /**
+     * Performs a benchmark of a hash code method that reads fields by reflection.
+     *
+     * @return The computed hash code.
+     * @throws Exception If a field cannot be read.
+     */
+    @Benchmark
+    public int benchmarkReflectiveHashCode() throws Exception {
+        int result = 17;
+        for (Field field : fields) {
+            Object value = field.get(reflectiveInstance);
+            result = 31 * result + (value == null ? 0 : value.hashCode());
+        }
+        return result;
+    }
+
+    /**
+     * Performs a benchmark of a generated to string method.
+     *
+     * @return The created string.
+     */
+    @Benchmark
+    public String benchmarkGeneratedToString() {
+        return generatedInstance.toString();
+    }
+
+    /**
+     * Performs a benchmark of a to string method that reads fields by reflection.
+     *
+     * @return The created string.
+     * @throws Exception If a field cannot be read.
+     */
+    @Benchmark
+    public String benchmarkReflectiveToString() throws Exception {
+        StringBuilder stringBuilder = new StringBuilder(reflectiveInstance.getClass().getSimpleName()).append('{');
+        boolean first = true;
+        for (Field field : fields) {
+            if (!first) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(field.getName()).append('=').append(field.get(reflectiveInstance));
+            first = false;
+        }
+        return stringBuilder.append('}').toString();
+    }
+}
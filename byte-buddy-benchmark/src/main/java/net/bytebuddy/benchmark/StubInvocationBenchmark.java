@@ -1,16 +1,27 @@
 package net.bytebuddy.benchmark;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.benchmark.specimen.ExampleInterface;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.StubValue;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.TimeUnit;
 
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+
 /**
  * <p>
  * This benchmark measures the invocation speed of stub method invocations. All classes implement
  * {@link net.bytebuddy.benchmark.specimen.ExampleInterface} and implement all methods to return the return type's
- * default value, independently of the arguments.
+ * default value, independently of the arguments. Additionally, this benchmark compares a delegation to an interceptor
+ * instance that is read from a {@code static} field to a delegation to an interceptor instance that is loaded from a
+ * constant call site which allows the JIT compiler to treat the interceptor instance as a constant.
  * </p>
  * <p>
  * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
@@ -72,6 +83,16 @@ public class StubInvocationBenchmark {
      */
     private ExampleInterface byteBuddyInstance;
 
+    /**
+     * An instance created by Byte Buddy that delegates to an interceptor instance that is stored in a {@code static} field.
+     */
+    private ExampleInterface byteBuddyFieldDelegationInstance;
+
+    /**
+     * An instance created by Byte Buddy that delegates to an interceptor instance that is loaded from a constant call site.
+     */
+    private ExampleInterface byteBuddyConstantCallSiteDelegationInstance;
+
     /**
      * An instance created by cglib for performing benchmarks on.
      */
@@ -100,6 +121,26 @@ public class StubInvocationBenchmark {
         cglibInstance = classByImplementationBenchmark.benchmarkCglib();
         javassistInstance = classByImplementationBenchmark.benchmarkJavassist();
         jdkProxyInstance = classByImplementationBenchmark.benchmarkJdkProxy();
+        byteBuddyFieldDelegationInstance = delegatingInstance(MethodDelegation.to(new StubInterceptor()));
+        byteBuddyConstantCallSiteDelegationInstance = delegatingInstance(MethodDelegation.toConstantCallSite(new StubInterceptor()));
+    }
+
+    /**
+     * Creates an instance of {@link net.bytebuddy.benchmark.specimen.ExampleInterface} that implements all methods
+     * by the given method delegation.
+     *
+     * @param methodDelegation The method delegation to apply.
+     * @return An instance of the created type.
+     * @throws Exception If the instance cannot be created.
+     */
+    private static ExampleInterface delegatingInstance(Implementation methodDelegation) throws Exception {
+        return new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(ExampleInterface.class)
+                .method(isDeclaredBy(ExampleInterface.class)).intercept(methodDelegation)
+                .make()
+                .load(StubInvocationBenchmark.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .newInstance();
     }
 
     /**
@@ -221,4 +262,81 @@ public class StubInvocationBenchmark {
         blackHole.consume(jdkProxyInstance.method(doubleValue, doubleValue, doubleValue));
         blackHole.consume(jdkProxyInstance.method(stringValue, stringValue, stringValue));
     }
+
+    /**
+     * Performs a benchmark for a delegation to an interceptor instance that is stored in a {@code static} field using Byte Buddy.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyFieldDelegation(Blackhole blackHole) {
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(booleanValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(byteValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(shortValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(intValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(charValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(intValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(longValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(floatValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(doubleValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(stringValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyFieldDelegationInstance.method(stringValue, stringValue, stringValue));
+    }
+
+    /**
+     * Performs a benchmark for a delegation to an interceptor instance that is loaded from a constant call site using Byte Buddy.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyConstantCallSiteDelegation(Blackhole blackHole) {
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(booleanValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(byteValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(shortValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(intValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(charValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(intValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(longValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(floatValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(doubleValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(stringValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyConstantCallSiteDelegationInstance.method(stringValue, stringValue, stringValue));
+    }
+
+    /**
+     * An interceptor that returns the default value of an intercepted method's return type.
+     */
+    public static class StubInterceptor {
+
+        /**
+         * Returns the intercepted method's default value.
+         *
+         * @param value The default value of the intercepted method's return type.
+         * @return The given default value.
+         */
+        @RuntimeType
+        public Object intercept(@StubValue Object value) {
+            return value;
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import org.objectweb.asm.ClassReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * <p>
+ * A benchmark for describing all types of a real jar file by a {@link net.bytebuddy.pool.TypePool.Default}. The
+ * benchmark uses the jar file that contains ASM which is always available on Byte Buddy's class path. For each
+ * type, its declared methods and fields are resolved in order to measure a realistic type description.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TypePoolBenchmark {
+
+    /**
+     * The file extension of a class file.
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * The jar file that is used for looking up types.
+     */
+    private JarFile jarFile;
+
+    /**
+     * A class file locator for the jar file.
+     */
+    private ClassFileLocator classFileLocator;
+
+    /**
+     * The binary names of all types that are contained in the jar file.
+     */
+    private List<String> typeNames;
+
+    /**
+     * Opens the jar file of ASM and reads the names of all contained types.
+     *
+     * @throws Exception If the jar file cannot be located or read.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        jarFile = new JarFile(new File(ClassReader.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+        classFileLocator = new ClassFileLocator.ForJarFile(jarFile);
+        typeNames = new ArrayList<String>();
+        Enumeration<JarEntry> enumeration = jarFile.entries();
+        while (enumeration.hasMoreElements()) {
+            String name = enumeration.nextElement().getName();
+            if (name.endsWith(CLASS_FILE_EXTENSION)) {
+                typeNames.add(name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'));
+            }
+        }
+    }
+
+    /**
+     * Closes the jar file after the benchmark.
+     *
+     * @throws IOException If the jar file cannot be closed.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        jarFile.close();
+    }
+
+    /**
+     * Returns the binary names of all types that are described by this benchmark.
+     *
+     * @return The binary names of all types that are described by this benchmark.
+     */
+    public List<String> getTypeNames() {
+        return typeNames;
+    }
+
+    /**
+     * Performs a benchmark for describing all types of a jar file with a type pool that does not cache any types.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    public void benchmarkUncached(Blackhole blackHole) {
+        describe(new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE, classFileLocator), blackHole);
+    }
+
+    /**
+     * Performs a benchmark for describing all types of a jar file with a type pool that caches types such that
+     * super types that are described repeatedly are only parsed once.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    public void benchmarkCached(Blackhole blackHole) {
+        describe(new TypePool.Default(new TypePool.CacheProvider.Simple(), classFileLocator), blackHole);
+    }
+
+    /**
+     * Describes all types of the jar file using the given type pool.
+     *
+     * @param typePool  The type pool to use.
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    private void describe(TypePool typePool, Blackhole blackHole) {
+        for (String typeName : typeNames) {
+            TypePool.Resolution resolution = typePool.describe(typeName);
+            blackHole.consume(resolution.resolve().getDeclaredMethods());
+            blackHole.consume(resolution.resolve().getDeclaredFields());
+        }
+    }
+}
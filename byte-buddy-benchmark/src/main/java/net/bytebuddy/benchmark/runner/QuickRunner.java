@@ -1,6 +1,7 @@
 package net.bytebuddy.benchmark.runner;
 
 import net.bytebuddy.benchmark.*;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
@@ -8,7 +9,8 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 /**
  * A runner for completing a benchmark with only one JMH fork. This benchmark completes rather quick and can give
  * a great first performance indication. A published benchmark should rather be backed by an execution with additional
- * forks.
+ * forks. All benchmarks are run with the {@link org.openjdk.jmh.profile.GCProfiler} such that the garbage collection
+ * that is caused by a benchmark is reported alongside its results.
  */
 public class QuickRunner {
 
@@ -37,6 +39,16 @@ public class QuickRunner {
                 .include(WILDCARD + ClassByImplementationBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + ClassByExtensionBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + TrivialClassCreationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + TypePoolBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + ClassFileLocatorBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + MethodLookupEngineBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + MethodRegistryBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + AgentBuilderBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + ClassInjectionBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + BuilderChainBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + ObjectMethodBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + MemberAccessorBenchmark.class.getSimpleName() + WILDCARD)
+                .addProfiler(GCProfiler.class)
                 .forks(0) // Should rather be 1 but there seems to be a bug in JMH.
                 .build()).run();
     }
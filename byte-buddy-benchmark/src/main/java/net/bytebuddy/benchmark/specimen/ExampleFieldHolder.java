@@ -0,0 +1,17 @@
+package net.bytebuddy.benchmark.specimen;
+
+/**
+ * An example class with several fields which is used as a specimen in benchmarks.
+ */
+public class ExampleFieldHolder {
+
+    /**
+     * An example {@code int} field.
+     */
+    public int intValue;
+
+    /**
+     * An example reference field.
+     */
+    public String stringValue;
+}
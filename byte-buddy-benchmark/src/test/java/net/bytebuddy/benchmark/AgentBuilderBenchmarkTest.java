@@ -0,0 +1,46 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Parameterized.class)
+public class AgentBuilderBenchmarkTest {
+
+    private final int rules;
+
+    private AgentBuilderBenchmark agentBuilderBenchmark;
+
+    public AgentBuilderBenchmarkTest(int rules) {
+        this.rules = rules;
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{{1}, {10}, {100}});
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        agentBuilderBenchmark = new AgentBuilderBenchmark();
+        agentBuilderBenchmark.rules = rules;
+        agentBuilderBenchmark.setUp();
+    }
+
+    @Test
+    public void testTransformedBenchmark() throws Exception {
+        assertThat(agentBuilderBenchmark.benchmarkTransformed(), notNullValue(byte[].class));
+    }
+
+    @Test
+    public void testIgnoredBenchmark() throws Exception {
+        assertThat(agentBuilderBenchmark.benchmarkIgnored(), nullValue(byte[].class));
+    }
+}
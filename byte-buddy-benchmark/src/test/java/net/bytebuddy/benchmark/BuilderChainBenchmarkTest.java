@@ -0,0 +1,34 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class BuilderChainBenchmarkTest {
+
+    private static final int MEMBERS = 1000;
+
+    private BuilderChainBenchmark builderChainBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        builderChainBenchmark = new BuilderChainBenchmark();
+        builderChainBenchmark.members = MEMBERS;
+        builderChainBenchmark.setUp();
+    }
+
+    @Test
+    public void testDefinitionBenchmark() throws Exception {
+        assertThat(builderChainBenchmark.benchmarkDefinition(), is((Object) builderChainBenchmark.benchmarkDefinition()));
+    }
+
+    @Test
+    public void testCreationBenchmark() throws Exception {
+        Class<?> type = builderChainBenchmark.benchmarkCreation().load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        assertThat(type.getDeclaredFields().length, is(MEMBERS / 2));
+        assertThat(type.getDeclaredMethods().length, is(MEMBERS / 2));
+    }
+}
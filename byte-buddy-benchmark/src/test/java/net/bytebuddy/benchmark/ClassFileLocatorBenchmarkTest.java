@@ -0,0 +1,36 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ClassFileLocatorBenchmarkTest extends AbstractBlackHoleTest {
+
+    private ClassFileLocatorBenchmark classFileLocatorBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        classFileLocatorBenchmark = new ClassFileLocatorBenchmark();
+        classFileLocatorBenchmark.setUp();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        classFileLocatorBenchmark.tearDown();
+    }
+
+    @Test
+    public void testForClassLoaderBenchmark() throws Exception {
+        classFileLocatorBenchmark.benchmarkForClassLoader(blackHole);
+    }
+
+    @Test
+    public void testForJarFileBenchmark() throws Exception {
+        classFileLocatorBenchmark.benchmarkForJarFile(blackHole);
+    }
+
+    @Test
+    public void testCompoundBenchmark() throws Exception {
+        classFileLocatorBenchmark.benchmarkCompound(blackHole);
+    }
+}
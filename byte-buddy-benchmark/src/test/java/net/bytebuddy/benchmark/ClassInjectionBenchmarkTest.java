@@ -0,0 +1,46 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ClassInjectionBenchmarkTest {
+
+    private ClassInjectionBenchmark classInjectionBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        classInjectionBenchmark = new ClassInjectionBenchmark();
+        classInjectionBenchmark.setUp();
+    }
+
+    @Test
+    public void testWrapperBenchmark() throws Exception {
+        Class<?> type = classInjectionBenchmark.benchmarkWrapper();
+        assertEquals(ClassInjectionBenchmark.BASE_CLASS, type.getSuperclass());
+        assertNotEquals(type, classInjectionBenchmark.benchmarkWrapper());
+    }
+
+    @Test
+    public void testChildFirstBenchmark() throws Exception {
+        Class<?> type = classInjectionBenchmark.benchmarkChildFirst();
+        assertEquals(ClassInjectionBenchmark.BASE_CLASS, type.getSuperclass());
+        assertNotEquals(type, classInjectionBenchmark.benchmarkChildFirst());
+    }
+
+    @Test
+    public void testInjectionBenchmark() throws Exception {
+        Class<?> type = classInjectionBenchmark.benchmarkInjection();
+        assertEquals(ClassInjectionBenchmark.BASE_CLASS, type.getSuperclass());
+        assertNotEquals(type, classInjectionBenchmark.benchmarkInjection());
+    }
+
+    @Test
+    public void testInjectorUsingReflectionBenchmark() throws Exception {
+        Class<?> type = classInjectionBenchmark.benchmarkInjectorUsingReflection().values().iterator().next();
+        assertEquals(ClassInjectionBenchmark.BASE_CLASS, type.getSuperclass());
+        assertNotEquals(type, classInjectionBenchmark.benchmarkInjectorUsingReflection().values().iterator().next());
+    }
+}
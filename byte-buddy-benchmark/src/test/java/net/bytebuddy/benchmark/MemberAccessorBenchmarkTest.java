@@ -0,0 +1,40 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MemberAccessorBenchmarkTest {
+
+    private MemberAccessorBenchmark memberAccessorBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        memberAccessorBenchmark = new MemberAccessorBenchmark();
+        memberAccessorBenchmark.setUp();
+    }
+
+    @Test
+    public void testInvocationBenchmark() throws Throwable {
+        assertThat(memberAccessorBenchmark.benchmarkAccessorInvocation(), is((Object) 42));
+        assertThat(memberAccessorBenchmark.benchmarkReflectiveInvocation(), is((Object) 42));
+        assertThat(memberAccessorBenchmark.benchmarkMethodHandleInvocation(), is((Object) 42));
+    }
+
+    @Test
+    public void testFieldBenchmark() throws Throwable {
+        assertThat(memberAccessorBenchmark.benchmarkAccessorRead(), is(0));
+        memberAccessorBenchmark.benchmarkAccessorWrite();
+        assertThat(memberAccessorBenchmark.benchmarkAccessorRead(), is(42));
+        assertThat(memberAccessorBenchmark.benchmarkReflectiveRead(), is(42));
+        assertThat(memberAccessorBenchmark.benchmarkMethodHandleRead(), is((Object) 42));
+        memberAccessorBenchmark.benchmarkReflectiveWrite();
+        memberAccessorBenchmark.benchmarkMethodHandleWrite();
+        memberAccessorBenchmark.benchmarkAccessorReferenceWrite();
+        memberAccessorBenchmark.benchmarkReflectiveReferenceWrite();
+        memberAccessorBenchmark.benchmarkMethodHandleReferenceWrite();
+        assertThat(memberAccessorBenchmark.benchmarkAccessorRead(), is(42));
+    }
+}
@@ -0,0 +1,37 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodLookupEngineBenchmarkTest {
+
+    private MethodLookupEngineBenchmark methodLookupEngineBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        methodLookupEngineBenchmark = new MethodLookupEngineBenchmark();
+        methodLookupEngineBenchmark.setUp();
+    }
+
+    @Test
+    public void testLoadedTypeBenchmark() throws Exception {
+        assertThat(methodLookupEngineBenchmark.benchmarkLoadedType().getTypeDescription(),
+                is((TypeDescription) new TypeDescription.ForLoadedType(MethodLookupEngineBenchmark.DEEP_TYPE)));
+        assertThat(methodLookupEngineBenchmark.benchmarkLoadedType().getInvokableMethods().isEmpty(), is(false));
+    }
+
+    @Test
+    public void testLoadedTypeWithoutDefaultMethodsBenchmark() throws Exception {
+        assertThat(methodLookupEngineBenchmark.benchmarkLoadedTypeWithoutDefaultMethods().getInvokableMethods().isEmpty(), is(false));
+    }
+
+    @Test
+    public void testPooledTypeBenchmark() throws Exception {
+        assertThat(methodLookupEngineBenchmark.benchmarkPooledType().getInvokableMethods().size(),
+                is(methodLookupEngineBenchmark.benchmarkLoadedType().getInvokableMethods().size()));
+    }
+}
@@ -0,0 +1,34 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodRegistryBenchmarkTest {
+
+    private MethodRegistryBenchmark methodRegistryBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        methodRegistryBenchmark = new MethodRegistryBenchmark();
+        methodRegistryBenchmark.setUp();
+    }
+
+    @Test
+    public void testPrepareBenchmark() throws Exception {
+        assertThat(methodRegistryBenchmark.benchmarkPrepare().getInstrumentedMethods().isEmpty(), is(false));
+    }
+
+    @Test
+    public void testCompileBenchmark() throws Exception {
+        assertThat(methodRegistryBenchmark.benchmarkCompile().getInstrumentedMethods().isEmpty(), is(false));
+    }
+
+    @Test
+    public void testPrepareAndCompileBenchmark() throws Exception {
+        assertThat(methodRegistryBenchmark.benchmarkPrepareAndCompile().getInstrumentedMethods(),
+                is(methodRegistryBenchmark.benchmarkCompile().getInstrumentedMethods()));
+    }
+}
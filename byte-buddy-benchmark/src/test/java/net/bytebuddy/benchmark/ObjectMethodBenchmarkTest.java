@@ -0,0 +1,35 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ObjectMethodBenchmarkTest {
+
+    private ObjectMethodBenchmark objectMethodBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        objectMethodBenchmark = new ObjectMethodBenchmark();
+        objectMethodBenchmark.setUp();
+    }
+
+    @Test
+    public void testEqualsBenchmark() throws Exception {
+        assertThat(objectMethodBenchmark.benchmarkGeneratedEquals(), is(true));
+        assertThat(objectMethodBenchmark.benchmarkReflectiveEquals(), is(true));
+    }
+
+    @Test
+    public void testHashCodeBenchmark() throws Exception {
+        assertThat(objectMethodBenchmark.benchmarkGeneratedHashCode(), is(objectMethodBenchmark.benchmarkReflectiveHashCode()));
+    }
+
+    @Test
+    public void testToStringBenchmark() throws Exception {
+        String generated = objectMethodBenchmark.benchmarkGeneratedToString(), reflective = objectMethodBenchmark.benchmarkReflectiveToString();
+        assertThat(generated.substring(generated.indexOf('{')), is(reflective.substring(reflective.indexOf('{'))));
+    }
+}
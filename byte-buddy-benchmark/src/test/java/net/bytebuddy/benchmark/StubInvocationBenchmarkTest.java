@@ -32,4 +32,14 @@ public class StubInvocationBenchmarkTest extends AbstractBlackHoleTest {
     public void testJdkProxyBenchmark() throws Exception {
         stubInvocationBenchmark.benchmarkJdkProxy(blackHole);
     }
+
+    @Test
+    public void testByteBuddyFieldDelegationBenchmark() throws Exception {
+        stubInvocationBenchmark.benchmarkByteBuddyFieldDelegation(blackHole);
+    }
+
+    @Test
+    public void testByteBuddyConstantCallSiteDelegationBenchmark() throws Exception {
+        stubInvocationBenchmark.benchmarkByteBuddyConstantCallSiteDelegation(blackHole);
+    }
 }
@@ -0,0 +1,39 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolBenchmarkTest extends AbstractBlackHoleTest {
+
+    private TypePoolBenchmark typePoolBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        typePoolBenchmark = new TypePoolBenchmark();
+        typePoolBenchmark.setUp();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        typePoolBenchmark.tearDown();
+    }
+
+    @Test
+    public void testTypeNamesAreFound() throws Exception {
+        assertThat(typePoolBenchmark.getTypeNames().isEmpty(), is(false));
+    }
+
+    @Test
+    public void testUncachedBenchmark() throws Exception {
+        typePoolBenchmark.benchmarkUncached(blackHole);
+    }
+
+    @Test
+    public void testCachedBenchmark() throws Exception {
+        typePoolBenchmark.benchmarkCached(blackHole);
+    }
+}
@@ -20,11 +20,13 @@ import net.bytebuddy.implementation.bytecode.constant.TextConstant;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.PersistentList;
 import net.bytebuddy.utility.StreamDrainer;
 import org.objectweb.asm.MethodVisitor;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
 import java.lang.reflect.InvocationTargetException;
@@ -34,11 +36,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
-import static net.bytebuddy.utility.ByteBuddyCommons.join;
 import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
 
 /**
@@ -595,6 +599,82 @@ public interface AgentBuilder {
          */
         void onComplete(String typeName);
 
+        /**
+         * A listener that is additionally informed about the duration of each phase of a transformation. An
+         * {@link net.bytebuddy.agent.builder.AgentBuilder} only measures and reports phases to a listener that
+         * implements this interface, other listeners are never notified about phases.
+         */
+        interface PhaseAware extends Listener {
+
+            /**
+             * Indicates that a phase is not related to a specific transformation rule.
+             */
+            int NO_RULE = -1;
+
+            /**
+             * Invoked after a phase of a transformation was completed. A phase is only reported if it was executed
+             * successfully. All phases of a transformation are reported before the transformation is completed.
+             * The {@link Phase#MATCHING} phase is reported once for every transformation rule that was applied
+             * until the first match.
+             *
+             * @param typeName The binary name of the instrumented type.
+             * @param phase    The phase that was completed.
+             * @param rule     The index of the transformation rule to which the phase relates in the order in which
+             *                 rules are applied, i.e. the most recently registered rule has the index {@code 0}, or
+             *                 {@link PhaseAware#NO_RULE} if the phase does not relate to a rule.
+             * @param duration The wall clock time in nanoseconds that the phase took to complete.
+             * @param bytes    The number of bytes that were processed within this phase.
+             */
+            void onPhase(String typeName, Phase phase, int rule, long duration, int bytes);
+        }
+
+        /**
+         * Describes a phase of the transformation of a type by an {@link net.bytebuddy.agent.builder.AgentBuilder}.
+         */
+        enum Phase {
+
+            /**
+             * Describes the parsing of a type's binary representation into a {@link TypeDescription}. The number of
+             * processed bytes represents the size of the original class file.
+             */
+            DESCRIPTION,
+
+            /**
+             * Describes the application of a single registered matcher. This phase is reported for every matcher
+             * that is applied until the first match. No bytes are processed within this phase.
+             */
+            MATCHING,
+
+            /**
+             * Describes the application of the transformers onto a {@link net.bytebuddy.dynamic.DynamicType.Builder}.
+             * No bytes are processed within this phase.
+             */
+            TRANSFORMATION,
+
+            /**
+             * Describes the creation of a {@link net.bytebuddy.dynamic.DynamicType}. The number of processed bytes
+             * represents the size of the transformed class file.
+             */
+            CREATION,
+
+            /**
+             * Describes the injection of auxiliary types. The number of processed bytes represents the accumulated
+             * size of all injected class files.
+             */
+            INJECTION,
+
+            /**
+             * Describes the registration of the instrumented type's {@link LoadedTypeInitializer}. No bytes are
+             * processed within this phase.
+             */
+            REGISTRATION;
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Listener.Phase." + name();
+            }
+        }
+
         /**
          * A no-op implementation of a {@link net.bytebuddy.agent.builder.AgentBuilder.Listener}.
          */
@@ -632,14 +712,16 @@ public interface AgentBuilder {
         }
 
         /**
-         * A compound listener that allows to group several listeners in one instance.
+         * A compound listener that allows to group several listeners in one instance. A compound listener is not
+         * {@link PhaseAware} such that its listeners are never notified about phases. A compound listener that
+         * notifies its phase aware listeners is created by {@link Compound#of(Listener...)}.
          */
         class Compound implements Listener {
 
             /**
              * The listeners that are represented by this compound listener in their application order.
              */
-            private final Listener[] listener;
+            protected final Listener[] listener;
 
             /**
              * Creates a new compound listener.
@@ -650,6 +732,22 @@ public interface AgentBuilder {
                 this.listener = listener;
             }
 
+            /**
+             * Creates a compound listener that is only {@link PhaseAware} if at least one of the given listeners is
+             * phase aware. This way, phases are only measured if a listener is interested in them.
+             *
+             * @param listener The listeners to apply in their application order.
+             * @return A compound listener of the given listeners.
+             */
+            public static Listener of(Listener... listener) {
+                for (Listener aListener : listener) {
+                    if (aListener instanceof PhaseAware) {
+                        return new ForPhases(listener);
+                    }
+                }
+                return new Compound(listener);
+            }
+
             @Override
             public void onTransformation(TypeDescription typeDescription, DynamicType dynamicType) {
                 for (Listener listener : this.listener) {
@@ -695,6 +793,502 @@ public interface AgentBuilder {
                         "listener=" + Arrays.toString(listener) +
                         '}';
             }
+
+            /**
+             * A compound listener that notifies any of its {@link PhaseAware} listeners about completed phases.
+             */
+            public static class ForPhases extends Compound implements PhaseAware {
+
+                /**
+                 * Creates a new phase aware compound listener.
+                 *
+                 * @param listener The listeners to apply in their application order.
+                 */
+                public ForPhases(Listener... listener) {
+                    super(listener);
+                }
+
+                @Override
+                public void onPhase(String typeName, Phase phase, int rule, long duration, int bytes) {
+                    for (Listener listener : this.listener) {
+                        if (listener instanceof PhaseAware) {
+                            ((PhaseAware) listener).onPhase(typeName, phase, rule, duration, bytes);
+                        }
+                    }
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.Listener.Compound.ForPhases{" +
+                            "listener=" + Arrays.toString(listener) +
+                            '}';
+                }
+            }
+        }
+
+        /**
+         * A listener that aggregates the duration and the processed bytes of any transformation phase into
+         * histograms. Additionally, the matching phase is recorded for each transformation rule such that an
+         * expensive matcher can be identified. The recording of these metrics is lock-free such that this listener
+         * can be notified by any number of threads concurrently. The recorded metrics can be read by an
+         * {@link net.bytebuddy.agent.builder.AgentBuilder.Listener.Metrics.Exporter} at any point in time.
+         */
+        class Metrics implements PhaseAware {
+
+            /**
+             * The histograms for each phase, indexed by the phase's ordinal.
+             */
+            private final Histogram[] histograms;
+
+            /**
+             * The histograms of the matching phase for each transformation rule, indexed by the rule's index.
+             */
+            private final ConcurrentMap<Integer, Histogram> matchingHistograms;
+
+            /**
+             * The number of transformed types.
+             */
+            private final AtomicLong transformed;
+
+            /**
+             * The number of ignored types.
+             */
+            private final AtomicLong ignored;
+
+            /**
+             * The number of types that could not be transformed due to an error.
+             */
+            private final AtomicLong failed;
+
+            /**
+             * Creates a new metrics listener.
+             */
+            public Metrics() {
+                histograms = new Histogram[Phase.values().length];
+                for (int index = 0; index < histograms.length; index++) {
+                    histograms[index] = new Histogram();
+                }
+                matchingHistograms = new ConcurrentHashMap<Integer, Histogram>();
+                transformed = new AtomicLong();
+                ignored = new AtomicLong();
+                failed = new AtomicLong();
+            }
+
+            @Override
+            public void onTransformation(TypeDescription typeDescription, DynamicType dynamicType) {
+                transformed.incrementAndGet();
+            }
+
+            @Override
+            public void onError(String typeName, Throwable throwable) {
+                failed.incrementAndGet();
+            }
+
+            @Override
+            public void onIgnored(String typeName) {
+                ignored.incrementAndGet();
+            }
+
+            @Override
+            public void onComplete(String typeName) {
+                /* do nothing */
+            }
+
+            @Override
+            public void onPhase(String typeName, Phase phase, int rule, long duration, int bytes) {
+                histograms[phase.ordinal()].record(duration, bytes);
+                if (phase == Phase.MATCHING && rule != NO_RULE) {
+                    Histogram histogram = matchingHistograms.get(rule);
+                    if (histogram == null) {
+                        histogram = new Histogram();
+                        Histogram previous = matchingHistograms.putIfAbsent(rule, histogram);
+                        if (previous != null) {
+                            histogram = previous;
+                        }
+                    }
+                    histogram.record(duration, bytes);
+                }
+            }
+
+            /**
+             * Returns a snapshot of the histogram of the given phase.
+             *
+             * @param phase The phase for which to return a snapshot.
+             * @return A snapshot of the given phase's histogram.
+             */
+            public Histogram.Snapshot snapshot(Phase phase) {
+                return histograms[phase.ordinal()].snapshot();
+            }
+
+            /**
+             * Returns a snapshot of the histogram of the matching phase of the given transformation rule.
+             *
+             * @param rule The index of the transformation rule in the order in which rules are applied.
+             * @return A snapshot of the rule's matching histogram which is empty if the rule was never applied.
+             */
+            public Histogram.Snapshot snapshotMatching(int rule) {
+                Histogram histogram = matchingHistograms.get(rule);
+                return (histogram == null ? new Histogram() : histogram).snapshot();
+            }
+
+            /**
+             * Exports the currently recorded metrics to the given exporter.
+             *
+             * @param exporter The exporter to apply.
+             */
+            public void export(Exporter exporter) {
+                for (Phase phase : Phase.values()) {
+                    exporter.onPhase(phase, snapshot(phase));
+                }
+                for (Integer rule : new TreeSet<Integer>(matchingHistograms.keySet())) {
+                    exporter.onMatching(rule, snapshotMatching(rule));
+                }
+                exporter.onSummary(transformed.get(), ignored.get(), failed.get());
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Listener.Metrics{" +
+                        "histograms=" + Arrays.toString(histograms) +
+                        ", matchingHistograms=" + matchingHistograms +
+                        ", transformed=" + transformed +
+                        ", ignored=" + ignored +
+                        ", failed=" + failed +
+                        '}';
+            }
+
+            /**
+             * An exporter that receives the metrics that were recorded by a
+             * {@link net.bytebuddy.agent.builder.AgentBuilder.Listener.Metrics} listener.
+             */
+            public interface Exporter {
+
+                /**
+                 * Receives the recorded metrics of a phase.
+                 *
+                 * @param phase    The phase being exported.
+                 * @param snapshot A snapshot of the phase's histogram.
+                 */
+                void onPhase(Phase phase, Histogram.Snapshot snapshot);
+
+                /**
+                 * Receives the recorded metrics of the matching phase of a transformation rule. Rules are exported
+                 * in ascending order of their index after all phases were exported. Rules that were never applied
+                 * are not exported.
+                 *
+                 * @param rule     The index of the transformation rule in the order in which rules are applied.
+                 * @param snapshot A snapshot of the rule's matching histogram.
+                 */
+                void onMatching(int rule, Histogram.Snapshot snapshot);
+
+                /**
+                 * Receives the number of types that were handled by the instrumentation after all phases were exported.
+                 *
+                 * @param transformed The number of transformed types.
+                 * @param ignored     The number of ignored types.
+                 * @param failed      The number of types that could not be transformed due to an error.
+                 */
+                void onSummary(long transformed, long ignored, long failed);
+
+                /**
+                 * An exporter that writes a human-readable report to a {@link java.io.PrintStream}.
+                 */
+                class ForPrintStream implements Exporter {
+
+                    /**
+                     * The print stream to write to.
+                     */
+                    private final PrintStream printStream;
+
+                    /**
+                     * Creates a new exporter for a print stream.
+                     *
+                     * @param printStream The print stream to write to.
+                     */
+                    public ForPrintStream(PrintStream printStream) {
+                        this.printStream = printStream;
+                    }
+
+                    @Override
+                    public void onPhase(Phase phase, Histogram.Snapshot snapshot) {
+                        print(phase.name(), snapshot);
+                    }
+
+                    @Override
+                    public void onMatching(int rule, Histogram.Snapshot snapshot) {
+                        print(Phase.MATCHING.name() + "[" + rule + "]", snapshot);
+                    }
+
+                    /**
+                     * Prints a single line that represents the given snapshot.
+                     *
+                     * @param name     The name of the represented metric.
+                     * @param snapshot The snapshot to print.
+                     */
+                    private void print(String name, Histogram.Snapshot snapshot) {
+                        printStream.println(name
+                                + ": count=" + snapshot.getCount()
+                                + ", total=" + snapshot.getTotalDuration() + "ns"
+                                + ", max=" + snapshot.getMaximumDuration() + "ns"
+                                + ", p50<=" + snapshot.getPercentile(0.5d) + "ns"
+                                + ", p99<=" + snapshot.getPercentile(0.99d) + "ns"
+                                + ", bytes=" + snapshot.getTotalBytes());
+                    }
+
+                    @Override
+                    public void onSummary(long transformed, long ignored, long failed) {
+                        printStream.println("transformed=" + transformed + ", ignored=" + ignored + ", failed=" + failed);
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        return this == other || !(other == null || getClass() != other.getClass())
+                                && printStream.equals(((ForPrintStream) other).printStream);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return printStream.hashCode();
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "AgentBuilder.Listener.Metrics.Exporter.ForPrintStream{" +
+                                "printStream=" + printStream +
+                                '}';
+                    }
+                }
+            }
+
+            /**
+             * A lock-free histogram that records durations in buckets of exponentially growing size. Each bucket
+             * counts the durations that are smaller than the next power of two in nanoseconds.
+             */
+            public static class Histogram {
+
+                /**
+                 * The number of buckets of a histogram, one for a zero duration and one for each bit of a {@code long}.
+                 */
+                private static final int BUCKETS = Long.SIZE + 1;
+
+                /**
+                 * The counts of each bucket.
+                 */
+                private final AtomicLongArray buckets;
+
+                /**
+                 * The number of recorded events.
+                 */
+                private final AtomicLong count;
+
+                /**
+                 * The sum of all recorded durations.
+                 */
+                private final AtomicLong totalDuration;
+
+                /**
+                 * The maximum recorded duration.
+                 */
+                private final AtomicLong maximumDuration;
+
+                /**
+                 * The sum of all recorded bytes.
+                 */
+                private final AtomicLong totalBytes;
+
+                /**
+                 * Creates a new empty histogram.
+                 */
+                public Histogram() {
+                    buckets = new AtomicLongArray(BUCKETS);
+                    count = new AtomicLong();
+                    totalDuration = new AtomicLong();
+                    maximumDuration = new AtomicLong();
+                    totalBytes = new AtomicLong();
+                }
+
+                /**
+                 * Records a duration and a number of processed bytes.
+                 *
+                 * @param duration The duration in nanoseconds.
+                 * @param bytes    The number of processed bytes.
+                 */
+                public void record(long duration, int bytes) {
+                    duration = Math.max(0L, duration);
+                    buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(duration));
+                    count.incrementAndGet();
+                    totalDuration.addAndGet(duration);
+                    totalBytes.addAndGet(bytes);
+                    long maximum;
+                    do {
+                        maximum = maximumDuration.get();
+                    } while (duration > maximum && !maximumDuration.compareAndSet(maximum, duration));
+                }
+
+                /**
+                 * Creates a snapshot of this histogram. As recording is not blocked while taking a snapshot, the
+                 * snapshot's values might not be fully consistent with one another.
+                 *
+                 * @return A snapshot of this histogram.
+                 */
+                public Snapshot snapshot() {
+                    long[] buckets = new long[BUCKETS];
+                    for (int index = 0; index < BUCKETS; index++) {
+                        buckets[index] = this.buckets.get(index);
+                    }
+                    return new Snapshot(count.get(), totalDuration.get(), maximumDuration.get(), totalBytes.get(), buckets);
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.Listener.Metrics.Histogram{" +
+                            "count=" + count +
+                            ", totalDuration=" + totalDuration +
+                            ", maximumDuration=" + maximumDuration +
+                            ", totalBytes=" + totalBytes +
+                            '}';
+                }
+
+                /**
+                 * An immutable snapshot of a {@link net.bytebuddy.agent.builder.AgentBuilder.Listener.Metrics.Histogram}.
+                 */
+                public static class Snapshot {
+
+                    /**
+                     * The number of recorded events.
+                     */
+                    private final long count;
+
+                    /**
+                     * The sum of all recorded durations.
+                     */
+                    private final long totalDuration;
+
+                    /**
+                     * The maximum recorded duration.
+                     */
+                    private final long maximumDuration;
+
+                    /**
+                     * The sum of all recorded bytes.
+                     */
+                    private final long totalBytes;
+
+                    /**
+                     * The counts of each bucket.
+                     */
+                    private final long[] buckets;
+
+                    /**
+                     * Creates a new snapshot.
+                     *
+                     * @param count           The number of recorded events.
+                     * @param totalDuration   The sum of all recorded durations.
+                     * @param maximumDuration The maximum recorded duration.
+                     * @param totalBytes      The sum of all recorded bytes.
+                     * @param buckets         The counts of each bucket.
+                     */
+                    protected Snapshot(long count, long totalDuration, long maximumDuration, long totalBytes, long[] buckets) {
+                        this.count = count;
+                        this.totalDuration = totalDuration;
+                        this.maximumDuration = maximumDuration;
+                        this.totalBytes = totalBytes;
+                        this.buckets = buckets;
+                    }
+
+                    /**
+                     * Returns the number of recorded events.
+                     *
+                     * @return The number of recorded events.
+                     */
+                    public long getCount() {
+                        return count;
+                    }
+
+                    /**
+                     * Returns the sum of all recorded durations in nanoseconds.
+                     *
+                     * @return The sum of all recorded durations in nanoseconds.
+                     */
+                    public long getTotalDuration() {
+                        return totalDuration;
+                    }
+
+                    /**
+                     * Returns the maximum recorded duration in nanoseconds.
+                     *
+                     * @return The maximum recorded duration in nanoseconds.
+                     */
+                    public long getMaximumDuration() {
+                        return maximumDuration;
+                    }
+
+                    /**
+                     * Returns the sum of all recorded bytes.
+                     *
+                     * @return The sum of all recorded bytes.
+                     */
+                    public long getTotalBytes() {
+                        return totalBytes;
+                    }
+
+                    /**
+                     * Returns an upper bound for the duration in nanoseconds that the given fraction of all recorded
+                     * events did not exceed.
+                     *
+                     * @param fraction The fraction of events, a value between {@code 0} and {@code 1}.
+                     * @return An upper bound for the duration of the given fraction of events.
+                     */
+                    public long getPercentile(double fraction) {
+                        if (fraction < 0d || fraction > 1d) {
+                            throw new IllegalArgumentException("Not a valid fraction: " + fraction);
+                        }
+                        long threshold = (long) Math.ceil(fraction * count), accumulated = 0L;
+                        for (int index = 0; index < buckets.length; index++) {
+                            accumulated += buckets[index];
+                            if (accumulated >= threshold && accumulated > 0L) {
+                                return index == 0
+                                        ? 0L
+                                        : Math.min(maximumDuration, index == Long.SIZE ? Long.MAX_VALUE : (1L << index) - 1L);
+                            }
+                        }
+                        return maximumDuration;
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        if (this == other) return true;
+                        if (other == null || getClass() != other.getClass()) return false;
+                        Snapshot snapshot = (Snapshot) other;
+                        return count == snapshot.count
+                                && totalDuration == snapshot.totalDuration
+                                && maximumDuration == snapshot.maximumDuration
+                                && totalBytes == snapshot.totalBytes
+                                && Arrays.equals(buckets, snapshot.buckets);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        int result = (int) (count ^ (count >>> 32));
+                        result = 31 * result + (int) (totalDuration ^ (totalDuration >>> 32));
+                        result = 31 * result + (int) (maximumDuration ^ (maximumDuration >>> 32));
+                        result = 31 * result + (int) (totalBytes ^ (totalBytes >>> 32));
+                        result = 31 * result + Arrays.hashCode(buckets);
+                        return result;
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "AgentBuilder.Listener.Metrics.Histogram.Snapshot{" +
+                                "count=" + count +
+                                ", totalDuration=" + totalDuration +
+                                ", maximumDuration=" + maximumDuration +
+                                ", totalBytes=" + totalBytes +
+                                ", buckets=" + Arrays.toString(buckets) +
+                                '}';
+                    }
+                }
+            }
         }
     }
 
@@ -730,6 +1324,17 @@ public interface AgentBuilder {
          */
         private static final byte[] NO_TRANSFORMATION = null;
 
+        /**
+         * Indicates that no bytes were processed within a {@link net.bytebuddy.agent.builder.AgentBuilder.Listener.Phase}.
+         */
+        private static final int NO_BYTES = 0;
+
+        /**
+         * Indicates that the start of a {@link net.bytebuddy.agent.builder.AgentBuilder.Listener.Phase} is not measured
+         * as no listener is notified about phases.
+         */
+        private static final long NOT_MEASURED = 0L;
+
         /**
          * The {@link net.bytebuddy.ByteBuddy} instance to be used.
          */
@@ -867,7 +1472,7 @@ public interface AgentBuilder {
         public AgentBuilder withListener(Listener listener) {
             return new Default(byteBuddy,
                     binaryLocator,
-                    new Listener.Compound(this.listener, nonNull(listener)),
+                    Listener.Compound.of(this.listener, nonNull(listener)),
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
@@ -1535,6 +2140,11 @@ public interface AgentBuilder {
              */
             private final InitializationStrategy initializationStrategy;
 
+            /**
+             * The listener that is notified about completed phases or {@code null} if the listener is not phase aware.
+             */
+            private final Listener.PhaseAware phaseListener;
+
             /**
              * Creates a new executing transformer that reflects the enclosing agent builder's configuration.
              */
@@ -1545,6 +2155,9 @@ public interface AgentBuilder {
                 initializationStrategy = disableSelfInitialization
                         ? InitializationStrategy.NoOp.INSTANCE
                         : new InitializationStrategy.SelfInjection();
+                phaseListener = listener instanceof Listener.PhaseAware
+                        ? (Listener.PhaseAware) listener
+                        : null;
             }
 
             @Override
@@ -1555,27 +2168,46 @@ public interface AgentBuilder {
                                     byte[] binaryRepresentation) {
                 String binaryTypeName = internalTypeName.replace('/', '.');
                 try {
+                    long start = phaseListener == null
+                            ? NOT_MEASURED
+                            : System.nanoTime();
                     BinaryLocator.Initialized initialized = binaryLocator.initialize(binaryTypeName, binaryRepresentation, classLoader);
                     TypeDescription typeDescription = initialized.getTypePool().describe(binaryTypeName).resolve();
+                    start = onPhase(binaryTypeName, Listener.Phase.DESCRIPTION, Listener.PhaseAware.NO_RULE, start, binaryRepresentation.length);
+                    int rule = 0;
                     for (Transformation transformation : entries) {
-                        if (transformation.matches(typeDescription, classLoader, classBeingRedefined, protectionDomain)) {
-                            DynamicType.Unloaded<?> dynamicType = initializationStrategy.apply(
+                        boolean matched = transformation.matches(typeDescription, classLoader, classBeingRedefined, protectionDomain);
+                        start = onPhase(binaryTypeName, Listener.Phase.MATCHING, rule, start, NO_BYTES);
+                        if (matched) {
+                            DynamicType.Builder<?> builder = initializationStrategy.apply(
                                     transformation.transform(byteBuddy.rebase(typeDescription,
                                             initialized.getClassFileLocator(),
-                                            methodNameTransformer), typeDescription)).make();
+                                            methodNameTransformer), typeDescription));
+                            start = onPhase(binaryTypeName, Listener.Phase.TRANSFORMATION, rule, start, NO_BYTES);
+                            DynamicType.Unloaded<?> dynamicType = builder.make();
+                            byte[] binaryResult = dynamicType.getBytes();
+                            start = onPhase(binaryTypeName, Listener.Phase.CREATION, rule, start, binaryResult.length);
                             Map<TypeDescription, LoadedTypeInitializer> loadedTypeInitializers = dynamicType.getLoadedTypeInitializers();
                             if (loadedTypeInitializers.size() > 1) {
                                 ClassInjector classInjector = classLoader == null
                                         ? bootstrapInjectionStrategy.make(protectionDomain)
                                         : new ClassInjector.UsingReflection(classLoader, protectionDomain);
-                                for (Map.Entry<TypeDescription, Class<?>> auxiliary : classInjector.inject(dynamicType.getRawAuxiliaryTypes()).entrySet()) {
+                                Map<TypeDescription, byte[]> auxiliaryTypes = dynamicType.getRawAuxiliaryTypes();
+                                for (Map.Entry<TypeDescription, Class<?>> auxiliary : classInjector.inject(auxiliaryTypes).entrySet()) {
                                     initializationStrategy.initialize(auxiliary.getValue(), loadedTypeInitializers.get(auxiliary.getKey()));
                                 }
+                                int injected = 0;
+                                for (byte[] auxiliaryType : auxiliaryTypes.values()) {
+                                    injected += auxiliaryType.length;
+                                }
+                                start = onPhase(binaryTypeName, Listener.Phase.INJECTION, rule, start, injected);
                             }
                             initializationStrategy.register(binaryTypeName, classLoader, loadedTypeInitializers.get(dynamicType.getTypeDescription()));
+                            onPhase(binaryTypeName, Listener.Phase.REGISTRATION, rule, start, NO_BYTES);
                             listener.onTransformation(typeDescription, dynamicType);
-                            return dynamicType.getBytes();
+                            return binaryResult;
                         }
+                        rule++;
                     }
                     listener.onIgnored(binaryTypeName);
                     return NO_TRANSFORMATION;
@@ -1587,12 +2219,32 @@ public interface AgentBuilder {
                 }
             }
 
+            /**
+             * Notifies a phase aware listener about the completion of a transformation phase. The time that is spent
+             * within the listener is not attributed to any phase.
+             *
+             * @param typeName The binary name of the instrumented type.
+             * @param phase    The completed phase.
+             * @param rule     The index of the transformation rule to which the phase relates.
+             * @param start    The value of {@link System#nanoTime()} when the phase was started.
+             * @param bytes    The number of bytes that were processed within the phase.
+             * @return The value of {@link System#nanoTime()} when the next phase is started.
+             */
+            private long onPhase(String typeName, Listener.Phase phase, int rule, long start, int bytes) {
+                if (phaseListener == null) {
+                    return start;
+                }
+                phaseListener.onPhase(typeName, phase, rule, System.nanoTime() - start, bytes);
+                return System.nanoTime();
+            }
+
             @Override
             public String toString() {
                 return "AgentBuilder.Default.ExecutingTransformer{" +
                         "agentBuilder=" + Default.this +
                         ", methodNameTransformer=" + methodNameTransformer +
                         ", initializationStrategy=" + initializationStrategy +
+                        ", phaseListener=" + phaseListener +
                         '}';
             }
         }
@@ -1709,7 +2361,7 @@ public interface AgentBuilder {
                         disableSelfInitialization,
                         retransformation,
                         bootstrapInjectionStrategy,
-                        join(new Transformation(rawMatcher, transformer), entries));
+                        PersistentList.prepend(new Transformation(rawMatcher, transformer), entries));
             }
 
             /**
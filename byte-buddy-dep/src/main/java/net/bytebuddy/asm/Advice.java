@@ -0,0 +1,1940 @@
+package net.bytebuddy.asm;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.objectweb.asm.*;
+
+import java.io.IOException;
+import java.lang.annotation.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * Advice allows to copy the code of static template methods into the beginning and the end of a method of an
+ * instrumented type. Other than an interception by a {@link net.bytebuddy.implementation.MethodDelegation} of a
+ * rebased type, the original method is neither renamed nor copied and no auxiliary types are created. Advice is
+ * therefore suited for adding code such as timing or tracing to existing methods without increasing the number of
+ * methods or stack frames. Advice is applied as a {@link net.bytebuddy.asm.ClassVisitorWrapper} when redefining or
+ * rebasing a type, for example by:
+ * </p>
+ * <p>
+ * <code>new ByteBuddy().redefine(Foo.class).classVisitor(Advice.to(FooAdvice.class).on(named("foo")))</code>
+ * </p>
+ * <p>
+ * A template type declares at most one static method annotated by {@link net.bytebuddy.asm.Advice.OnMethodEnter}
+ * and at most one static method annotated by {@link net.bytebuddy.asm.Advice.OnMethodExit}. Any parameter of these
+ * methods must be annotated by {@link net.bytebuddy.asm.Advice.Argument} or {@link net.bytebuddy.asm.Advice.This}.
+ * The parameters of an exit method can additionally be annotated by {@link net.bytebuddy.asm.Advice.Enter} for
+ * reading the value that was returned by the enter method or by {@link net.bytebuddy.asm.Advice.Return} for reading
+ * the instrumented method's return value. All parameters are read-only. The exit code is only executed when the
+ * instrumented method returns regularly but not if it throws an exception.
+ * </p>
+ * <p>
+ * <b>Important</b>: The template's code is copied into the instrumented type. Any type, field or method that is
+ * referenced by the template must therefore be visible to the instrumented type. Furthermore, the template type must
+ * be compiled to a class file version that contains stack map frames if the instrumented type requires them.
+ * Constructors and type initializers are never advised. The instrumented method must not assign values of a
+ * different type to any of its parameters.
+ * </p>
+ */
+public class Advice {
+
+    /**
+     * The ASM API version to use.
+     */
+    private static final int ASM_API_VERSION = Opcodes.ASM5;
+
+    /**
+     * Indicates that no advice method was found.
+     */
+    private static final Method NO_METHOD = null;
+
+    /**
+     * Indicates an empty array of frame types.
+     */
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * The dispatcher for the code to copy to the beginning of an advised method.
+     */
+    private final Dispatcher onMethodEnter;
+
+    /**
+     * The dispatcher for the code to copy to the end of an advised method.
+     */
+    private final Dispatcher onMethodExit;
+
+    /**
+     * The binary representation of the template type.
+     */
+    private final byte[] binaryRepresentation;
+
+    /**
+     * Creates a new advice.
+     *
+     * @param onMethodEnter        The dispatcher for the code to copy to the beginning of an advised method.
+     * @param onMethodExit         The dispatcher for the code to copy to the end of an advised method.
+     * @param binaryRepresentation The binary representation of the template type.
+     */
+    protected Advice(Dispatcher onMethodEnter, Dispatcher onMethodExit, byte[] binaryRepresentation) {
+        this.onMethodEnter = onMethodEnter;
+        this.onMethodExit = onMethodExit;
+        this.binaryRepresentation = binaryRepresentation;
+    }
+
+    /**
+     * Creates an advice for the given template type where the template's class file is located by the type's class
+     * loader.
+     *
+     * @param type The template type.
+     * @return An advice that copies the template's code.
+     */
+    public static Advice to(Class<?> type) {
+        return to(type, ClassFileLocator.ForClassLoader.of(type.getClassLoader()));
+    }
+
+    /**
+     * Creates an advice for the given template type.
+     *
+     * @param type             The template type.
+     * @param classFileLocator The class file locator for locating the template's class file.
+     * @return An advice that copies the template's code.
+     */
+    public static Advice to(Class<?> type, ClassFileLocator classFileLocator) {
+        Method onMethodEnter = NO_METHOD, onMethodExit = NO_METHOD;
+        for (Method method : nonNull(type).getDeclaredMethods()) {
+            if (method.isAnnotationPresent(OnMethodEnter.class)) {
+                if (onMethodEnter != NO_METHOD) {
+                    throw new IllegalArgumentException("Duplicate enter advice " + onMethodEnter + " and " + method);
+                }
+                onMethodEnter = method;
+            }
+            if (method.isAnnotationPresent(OnMethodExit.class)) {
+                if (onMethodExit != NO_METHOD) {
+                    throw new IllegalArgumentException("Duplicate exit advice " + onMethodExit + " and " + method);
+                }
+                onMethodExit = method;
+            }
+        }
+        if (onMethodEnter == NO_METHOD && onMethodExit == NO_METHOD) {
+            throw new IllegalArgumentException("No advice method defined by " + type);
+        }
+        Dispatcher enter = onMethodEnter == NO_METHOD
+                ? Dispatcher.Inactive.INSTANCE
+                : Dispatcher.Active.of(onMethodEnter, Type.VOID_TYPE);
+        Dispatcher exit = onMethodExit == NO_METHOD
+                ? Dispatcher.Inactive.INSTANCE
+                : Dispatcher.Active.of(onMethodExit, enter.getReturnType());
+        try {
+            return new Advice(enter, exit, nonNull(classFileLocator).locate(type.getName()).resolve());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read class file of " + type, e);
+        }
+    }
+
+    /**
+     * Returns a class visitor wrapper that applies this advice to all non-abstract and non-native methods that are
+     * matched by the given matcher. The matcher is applied to a description of each method that only describes the
+     * method's name, modifiers, parameter types, return type and exception types as well as the name of the declaring
+     * type.
+     *
+     * @param matcher The matcher for identifying the methods to advise.
+     * @return A class visitor wrapper that applies this advice.
+     */
+    public ClassVisitorWrapper on(ElementMatcher<? super MethodDescription> matcher) {
+        return new Weaver(this, nonNull(matcher));
+    }
+
+    /**
+     * Describes a type that is represented by an ASM {@link org.objectweb.asm.Type}.
+     *
+     * @param type The type to describe.
+     * @return A description of the given type.
+     */
+    private static TypeDescription describe(Type type) {
+        switch (type.getSort()) {
+            case Type.VOID:
+                return new TypeDescription.ForLoadedType(void.class);
+            case Type.BOOLEAN:
+                return new TypeDescription.ForLoadedType(boolean.class);
+            case Type.BYTE:
+                return new TypeDescription.ForLoadedType(byte.class);
+            case Type.SHORT:
+                return new TypeDescription.ForLoadedType(short.class);
+            case Type.CHAR:
+                return new TypeDescription.ForLoadedType(char.class);
+            case Type.INT:
+                return new TypeDescription.ForLoadedType(int.class);
+            case Type.LONG:
+                return new TypeDescription.ForLoadedType(long.class);
+            case Type.FLOAT:
+                return new TypeDescription.ForLoadedType(float.class);
+            case Type.DOUBLE:
+                return new TypeDescription.ForLoadedType(double.class);
+            case Type.ARRAY:
+                return new TypeDescription.Latent(type.getDescriptor().replace('/', '.'), Opcodes.ACC_PUBLIC, null, Collections.<TypeDescription>emptyList());
+            default:
+                return new TypeDescription.Latent(type.getClassName(), Opcodes.ACC_PUBLIC, null, Collections.<TypeDescription>emptyList());
+        }
+    }
+
+    /**
+     * Resolves the stack map frame type of a given type.
+     *
+     * @param type The type for which to resolve the frame type.
+     * @return The frame type of the given type.
+     */
+    private static Object toFrame(Type type) {
+        switch (type.getSort()) {
+            case Type.BOOLEAN:
+            case Type.BYTE:
+            case Type.SHORT:
+            case Type.CHAR:
+            case Type.INT:
+                return Opcodes.INTEGER;
+            case Type.LONG:
+                return Opcodes.LONG;
+            case Type.FLOAT:
+                return Opcodes.FLOAT;
+            case Type.DOUBLE:
+                return Opcodes.DOUBLE;
+            default:
+                return type.getInternalName();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        Advice advice = (Advice) other;
+        return onMethodEnter.equals(advice.onMethodEnter)
+                && onMethodExit.equals(advice.onMethodExit)
+                && Arrays.equals(binaryRepresentation, advice.binaryRepresentation);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = onMethodEnter.hashCode();
+        result = 31 * result + onMethodExit.hashCode();
+        result = 31 * result + Arrays.hashCode(binaryRepresentation);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Advice{" +
+                "onMethodEnter=" + onMethodEnter +
+                ", onMethodExit=" + onMethodExit +
+                ", binaryRepresentation=<" + binaryRepresentation.length + " bytes>" +
+                '}';
+    }
+
+    /**
+     * Indicates that the annotated static method's code is copied to the beginning of an advised method. The value
+     * that is returned by this method can be read by the exit advice by a parameter that is annotated by
+     * {@link net.bytebuddy.asm.Advice.Enter}.
+     */
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface OnMethodEnter {
+        /* empty */
+    }
+
+    /**
+     * Indicates that the annotated static method's code is copied to the end of an advised method where it is
+     * executed whenever the advised method returns regularly. Any value that is returned by this method is discarded.
+     */
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface OnMethodExit {
+        /* empty */
+    }
+
+    /**
+     * Indicates that the annotated parameter is bound to an argument of the advised method. The parameter must be
+     * of the argument's type or of type {@link java.lang.Object} if the argument is of a reference type.
+     */
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface Argument {
+
+        /**
+         * Returns the index of the bound argument.
+         *
+         * @return The index of the bound argument.
+         */
+        int value();
+    }
+
+    /**
+     * Indicates that the annotated parameter is bound to the instance on which the advised method is invoked. The
+     * parameter must be of the advised type or of type {@link java.lang.Object}. Advice with such a parameter
+     * cannot be applied to static methods.
+     */
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface This {
+        /* empty */
+    }
+
+    /**
+     * Indicates that the annotated parameter of an exit advice is bound to the value that was returned by the enter
+     * advice. The parameter must be of the enter advice's return type.
+     */
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface Enter {
+        /* empty */
+    }
+
+    /**
+     * Indicates that the annotated parameter of an exit advice is bound to the value that is returned by the advised
+     * method. The parameter must be of the advised method's return type or of type {@link java.lang.Object} if the
+     * return type is a reference type. Advice with such a parameter cannot be applied to {@code void} methods.
+     */
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface Return {
+        /* empty */
+    }
+
+    /**
+     * A dispatcher for an advice method.
+     */
+    protected interface Dispatcher {
+
+        /**
+         * Returns {@code true} if this dispatcher represents an advice method.
+         *
+         * @return {@code true} if this dispatcher represents an advice method.
+         */
+        boolean isAlive();
+
+        /**
+         * Returns the return type of the advice method.
+         *
+         * @return The return type of the advice method.
+         */
+        Type getReturnType();
+
+        /**
+         * A dispatcher for a non-existent advice method.
+         */
+        enum Inactive implements Dispatcher {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public boolean isAlive() {
+                return false;
+            }
+
+            @Override
+            public Type getReturnType() {
+                return Type.VOID_TYPE;
+            }
+
+            @Override
+            public String toString() {
+                return "Advice.Dispatcher.Inactive." + name();
+            }
+        }
+
+        /**
+         * A dispatcher for an existing advice method.
+         */
+        class Active implements Dispatcher {
+
+            /**
+             * The name of the advice method.
+             */
+            private final String name;
+
+            /**
+             * The descriptor of the advice method.
+             */
+            private final String descriptor;
+
+            /**
+             * The parameter bindings of the advice method.
+             */
+            private final List<ParameterBinding> parameterBindings;
+
+            /**
+             * Creates a new active dispatcher.
+             *
+             * @param name              The name of the advice method.
+             * @param descriptor        The descriptor of the advice method.
+             * @param parameterBindings The parameter bindings of the advice method.
+             */
+            protected Active(String name, String descriptor, List<ParameterBinding> parameterBindings) {
+                this.name = name;
+                this.descriptor = descriptor;
+                this.parameterBindings = parameterBindings;
+            }
+
+            /**
+             * Creates a dispatcher for the given advice method.
+             *
+             * @param method    The advice method.
+             * @param enterType The return type of the enter advice or {@code void} if the given method represents the
+             *                  enter advice itself or if no enter advice exists.
+             * @return A dispatcher for the given advice method.
+             */
+            protected static Dispatcher of(Method method, Type enterType) {
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    throw new IllegalArgumentException("Advice method must be static: " + method);
+                }
+                boolean exit = method.isAnnotationPresent(OnMethodExit.class);
+                Class<?>[] parameterType = method.getParameterTypes();
+                Annotation[][] parameterAnnotation = method.getParameterAnnotations();
+                List<ParameterBinding> parameterBindings = new ArrayList<ParameterBinding>(parameterType.length);
+                for (int index = 0; index < parameterType.length; index++) {
+                    ParameterBinding parameterBinding = null;
+                    for (Annotation annotation : parameterAnnotation[index]) {
+                        ParameterBinding candidate;
+                        if (annotation instanceof Argument) {
+                            candidate = new ParameterBinding(ParameterBinding.Sort.ARGUMENT, ((Argument) annotation).value(), Type.getType(parameterType[index]));
+                        } else if (annotation instanceof This) {
+                            candidate = new ParameterBinding(ParameterBinding.Sort.THIS, 0, Type.getType(parameterType[index]));
+                        } else if (annotation instanceof Enter && exit) {
+                            if (!Type.getType(parameterType[index]).equals(enterType)) {
+                                throw new IllegalArgumentException("Parameter " + index + " of " + method + " is not of the enter advice's return type " + enterType);
+                            }
+                            candidate = new ParameterBinding(ParameterBinding.Sort.ENTER, 0, enterType);
+                        } else if (annotation instanceof Return && exit) {
+                            candidate = new ParameterBinding(ParameterBinding.Sort.RETURN, 0, Type.getType(parameterType[index]));
+                        } else {
+                            continue;
+                        }
+                        if (parameterBinding != null) {
+                            throw new IllegalArgumentException("Parameter " + index + " of " + method + " is bound more than once");
+                        }
+                        parameterBinding = candidate;
+                    }
+                    if (parameterBinding == null) {
+                        throw new IllegalArgumentException("Parameter " + index + " of " + method + " is not bound");
+                    }
+                    parameterBindings.add(parameterBinding);
+                }
+                return new Active(method.getName(), Type.getMethodDescriptor(method), parameterBindings);
+            }
+
+            @Override
+            public boolean isAlive() {
+                return true;
+            }
+
+            @Override
+            public Type getReturnType() {
+                return Type.getReturnType(descriptor);
+            }
+
+            /**
+             * Returns the name of the advice method.
+             *
+             * @return The name of the advice method.
+             */
+            protected String getName() {
+                return name;
+            }
+
+            /**
+             * Returns the descriptor of the advice method.
+             *
+             * @return The descriptor of the advice method.
+             */
+            protected String getDescriptor() {
+                return descriptor;
+            }
+
+            /**
+             * Returns the parameter bindings of the advice method.
+             *
+             * @return The parameter bindings of the advice method.
+             */
+            protected List<ParameterBinding> getParameterBindings() {
+                return parameterBindings;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Active active = (Active) other;
+                return name.equals(active.name)
+                        && descriptor.equals(active.descriptor)
+                        && parameterBindings.equals(active.parameterBindings);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = name.hashCode();
+                result = 31 * result + descriptor.hashCode();
+                result = 31 * result + parameterBindings.hashCode();
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "Advice.Dispatcher.Active{" +
+                        "name='" + name + '\'' +
+                        ", descriptor='" + descriptor + '\'' +
+                        ", parameterBindings=" + parameterBindings +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * A binding of a parameter of an advice method.
+     */
+    protected static class ParameterBinding {
+
+        /**
+         * The sort of this binding.
+         */
+        private final Sort sort;
+
+        /**
+         * The index of the bound argument. This value is only meaningful for argument bindings.
+         */
+        private final int index;
+
+        /**
+         * The type of the advice method's parameter.
+         */
+        private final Type type;
+
+        /**
+         * Creates a new parameter binding.
+         *
+         * @param sort  The sort of this binding.
+         * @param index The index of the bound argument. This value is only meaningful for argument bindings.
+         * @param type  The type of the advice method's parameter.
+         */
+        protected ParameterBinding(Sort sort, int index, Type type) {
+            this.sort = sort;
+            this.index = index;
+            this.type = type;
+        }
+
+        /**
+         * Checks if a parameter of the given type can be bound to a value of another type.
+         *
+         * @param parameterType The type of the advice method's parameter.
+         * @param valueType     The type of the bound value.
+         * @return {@code true} if the value can be bound to the parameter.
+         */
+        private static boolean isAssignable(Type parameterType, Type valueType) {
+            return parameterType.equals(valueType) || parameterType.getDescriptor().equals("Ljava/lang/Object;")
+                    && (valueType.getSort() == Type.OBJECT || valueType.getSort() == Type.ARRAY);
+        }
+
+        /**
+         * Resolves the local variable index of the bound value for an advised method.
+         *
+         * @param advisedMethod The advised method.
+         * @param returnOffset  The local variable index of the advised method's return value.
+         * @return The local variable index of the bound value.
+         */
+        protected int resolve(AdviceMethodVisitor advisedMethod, int returnOffset) {
+            switch (sort) {
+                case ARGUMENT:
+                    Type[] argumentType = advisedMethod.getArgumentTypes();
+                    if (index < 0 || index >= argumentType.length || !isAssignable(type, argumentType[index])) {
+                        throw new IllegalStateException("Cannot bind argument " + index + " of " + advisedMethod + " to " + type);
+                    }
+                    int offset = advisedMethod.isStatic() ? 0 : 1;
+                    for (int argumentIndex = 0; argumentIndex < index; argumentIndex++) {
+                        offset += argumentType[argumentIndex].getSize();
+                    }
+                    return offset;
+                case THIS:
+                    if (advisedMethod.isStatic() || !isAssignable(type, Type.getObjectType(advisedMethod.getOwner()))) {
+                        throw new IllegalStateException("Cannot bind this reference of " + advisedMethod + " to " + type);
+                    }
+                    return 0;
+                case ENTER:
+                    return advisedMethod.getArgumentSize();
+                case RETURN:
+                    if (advisedMethod.getReturnType().getSort() == Type.VOID || !isAssignable(type, advisedMethod.getReturnType())) {
+                        throw new IllegalStateException("Cannot bind return value of " + advisedMethod + " to " + type);
+                    }
+                    return returnOffset;
+                default:
+                    throw new AssertionError("Unexpected binding: " + sort);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            ParameterBinding that = (ParameterBinding) other;
+            return index == that.index
+                    && sort == that.sort
+                    && type.equals(that.type);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = sort.hashCode();
+            result = 31 * result + index;
+            result = 31 * result + type.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "Advice.ParameterBinding{" +
+                    "sort=" + sort +
+                    ", index=" + index +
+                    ", type=" + type +
+                    '}';
+        }
+
+        /**
+         * The sort of a parameter binding.
+         */
+        protected enum Sort {
+
+            /**
+             * A binding of an argument of the advised method.
+             */
+            ARGUMENT,
+
+            /**
+             * A binding of the advised method's this reference.
+             */
+            THIS,
+
+            /**
+             * A binding of the value that was returned by the enter advice.
+             */
+            ENTER,
+
+            /**
+             * A binding of the advised method's return value.
+             */
+            RETURN;
+
+            @Override
+            public String toString() {
+                return "Advice.ParameterBinding.Sort." + name();
+            }
+        }
+    }
+
+    /**
+     * A class visitor wrapper that applies an advice to all matched methods.
+     */
+    protected static class Weaver implements ClassVisitorWrapper {
+
+        /**
+         * The advice to apply.
+         */
+        private final Advice advice;
+
+        /**
+         * The matcher for identifying the methods to advise.
+         */
+        private final ElementMatcher<? super MethodDescription> matcher;
+
+        /**
+         * Creates a new weaver.
+         *
+         * @param advice  The advice to apply.
+         * @param matcher The matcher for identifying the methods to advise.
+         */
+        protected Weaver(Advice advice, ElementMatcher<? super MethodDescription> matcher) {
+            this.advice = advice;
+            this.matcher = matcher;
+        }
+
+        @Override
+        public ClassVisitor wrap(ClassVisitor classVisitor) {
+            return new AdviceClassVisitor(classVisitor, advice, matcher);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && advice.equals(((Weaver) other).advice)
+                    && matcher.equals(((Weaver) other).matcher);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * advice.hashCode() + matcher.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "Advice.Weaver{" +
+                    "advice=" + advice +
+                    ", matcher=" + matcher +
+                    '}';
+        }
+    }
+
+    /**
+     * A class visitor that applies an advice to all matched methods.
+     */
+    protected static class AdviceClassVisitor extends ClassVisitor {
+
+        /**
+         * The name of a constructor.
+         */
+        private static final String CONSTRUCTOR = "<init>";
+
+        /**
+         * The name of a type initializer.
+         */
+        private static final String TYPE_INITIALIZER = "<clinit>";
+
+        /**
+         * The advice to apply.
+         */
+        private final Advice advice;
+
+        /**
+         * The matcher for identifying the methods to advise.
+         */
+        private final ElementMatcher<? super MethodDescription> matcher;
+
+        /**
+         * A description of the visited type.
+         */
+        private TypeDescription instrumentedType;
+
+        /**
+         * {@code true} if the visited type's class file version requires stack map frames.
+         */
+        private boolean frames;
+
+        /**
+         * Creates a new advice class visitor.
+         *
+         * @param classVisitor The class visitor to delegate to.
+         * @param advice       The advice to apply.
+         * @param matcher      The matcher for identifying the methods to advise.
+         */
+        protected AdviceClassVisitor(ClassVisitor classVisitor, Advice advice, ElementMatcher<? super MethodDescription> matcher) {
+            super(ASM_API_VERSION, classVisitor);
+            this.advice = advice;
+            this.matcher = matcher;
+        }
+
+        @Override
+        public void visit(int version, int modifiers, String internalName, String signature, String superName, String[] interfaceName) {
+            instrumentedType = new TypeDescription.Latent(internalName.replace('/', '.'), modifiers, null, Collections.<TypeDescription>emptyList());
+            frames = new ClassFileVersion(version).compareTo(ClassFileVersion.JAVA_V6) >= 0;
+            super.visit(version, modifiers, internalName, signature, superName, interfaceName);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, String signature, String[] exceptionName) {
+            MethodVisitor methodVisitor = super.visitMethod(modifiers, internalName, descriptor, signature, exceptionName);
+            if (methodVisitor == null
+                    || internalName.equals(CONSTRUCTOR)
+                    || internalName.equals(TYPE_INITIALIZER)
+                    || (modifiers & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
+                return methodVisitor;
+            }
+            List<TypeDescription> parameterTypes = new ArrayList<TypeDescription>();
+            for (Type argumentType : Type.getArgumentTypes(descriptor)) {
+                parameterTypes.add(describe(argumentType));
+            }
+            List<TypeDescription> exceptionTypes = new ArrayList<TypeDescription>();
+            if (exceptionName != null) {
+                for (String anExceptionName : exceptionName) {
+                    exceptionTypes.add(describe(Type.getObjectType(anExceptionName)));
+                }
+            }
+            return matcher.matches(new MethodDescription.Latent(internalName,
+                    instrumentedType,
+                    describe(Type.getReturnType(descriptor)),
+                    parameterTypes,
+                    modifiers,
+                    exceptionTypes))
+                    ? new AdviceMethodVisitor(methodVisitor, advice, instrumentedType.getInternalName(), internalName, descriptor, modifiers, frames)
+                    : methodVisitor;
+        }
+
+        @Override
+        public String toString() {
+            return "Advice.AdviceClassVisitor{" +
+                    "advice=" + advice +
+                    ", matcher=" + matcher +
+                    ", instrumentedType=" + instrumentedType +
+                    ", frames=" + frames +
+                    '}';
+        }
+    }
+
+    /**
+     * A method visitor that copies the advice code into an advised method. Any local variable of the advised method
+     * that is not a parameter is moved behind the value that is returned by the enter advice and behind a slot that
+     * is reserved for the advised method's return value. The exit advice's code is appended to the end of the method.
+     * Any return instruction of the advised method stores its return value in the reserved slot, pops any remaining
+     * operand of the stack and jumps to the exit advice's code. All stack map frames of the advised method are
+     * rewritten as full frames.
+     */
+    protected static class AdviceMethodVisitor extends MethodVisitor {
+
+        /**
+         * Indicates that the return value's slot is not yet known.
+         */
+        private static final int NO_RETURN_VALUE = -1;
+
+        /**
+         * The advice to apply.
+         */
+        private final Advice advice;
+
+        /**
+         * The internal name of the advised type.
+         */
+        private final String owner;
+
+        /**
+         * The name of the advised method.
+         */
+        private final String internalName;
+
+        /**
+         * The descriptor of the advised method.
+         */
+        private final String descriptor;
+
+        /**
+         * {@code true} if the advised method is static.
+         */
+        private final boolean isStatic;
+
+        /**
+         * {@code true} if stack map frames should be written.
+         */
+        private final boolean frames;
+
+        /**
+         * The argument types of the advised method.
+         */
+        private final Type[] argumentTypes;
+
+        /**
+         * The return type of the advised method.
+         */
+        private final Type returnType;
+
+        /**
+         * The size of the advised method's arguments including its this reference.
+         */
+        private final int argumentSize;
+
+        /**
+         * The size of the value that is returned by the enter advice.
+         */
+        private final int enterSize;
+
+        /**
+         * The frame type of the value that is returned by the enter advice or {@code null} if no such value exists.
+         */
+        private final Object enterValue;
+
+        /**
+         * The size of the slot that is reserved for the advised method's return value. This size is {@code 0} if no
+         * exit advice is applied.
+         */
+        private final int returnSize;
+
+        /**
+         * The local variables of the advised method's implicit initial frame.
+         */
+        private final List<Object> initialLocals;
+
+        /**
+         * The label of the exit advice's code.
+         */
+        private final Label exitAdvice;
+
+        /**
+         * The local variables of the advised method's current frame in their original layout.
+         */
+        private List<Object> currentLocals;
+
+        /**
+         * The sizes of the operands on the advised method's current operand stack or {@code null} if the current
+         * instruction cannot be reached from its preceding instruction.
+         */
+        private List<Integer> currentStack;
+
+        /**
+         * The sizes of the operands on the operand stack of any jump target that was recorded for a jump instruction
+         * that precedes its target.
+         */
+        private final Map<Label, List<Integer>> jumpTargets;
+
+        /**
+         * The local variables of a frame that is yet to be written or {@code null} if no such frame exists.
+         */
+        private Object[] pendingLocals;
+
+        /**
+         * The stack of a frame that is yet to be written.
+         */
+        private Object[] pendingStack;
+
+        /**
+         * The minimal operand stack size that is required by the copied advice code.
+         */
+        private int requiredStackSize;
+
+        /**
+         * The minimal number of local variable slots that is required by the copied advice code.
+         */
+        private int requiredLocalVariableLength;
+
+        /**
+         * Creates a new advice method visitor.
+         *
+         * @param methodVisitor The method visitor to delegate to.
+         * @param advice        The advice to apply.
+         * @param owner         The internal name of the advised type.
+         * @param internalName  The name of the advised method.
+         * @param descriptor    The descriptor of the advised method.
+         * @param modifiers     The modifiers of the advised method.
+         * @param frames        {@code true} if stack map frames should be written.
+         */
+        protected AdviceMethodVisitor(MethodVisitor methodVisitor,
+                                      Advice advice,
+                                      String owner,
+                                      String internalName,
+                                      String descriptor,
+                                      int modifiers,
+                                      boolean frames) {
+            super(ASM_API_VERSION, methodVisitor);
+            this.advice = advice;
+            this.owner = owner;
+            this.internalName = internalName;
+            this.descriptor = descriptor;
+            this.frames = frames;
+            isStatic = (modifiers & Opcodes.ACC_STATIC) != 0;
+            argumentTypes = Type.getArgumentTypes(descriptor);
+            returnType = Type.getReturnType(descriptor);
+            initialLocals = new ArrayList<Object>(argumentTypes.length + 1);
+            if (!isStatic) {
+                initialLocals.add(owner);
+            }
+            for (Type argumentType : argumentTypes) {
+                initialLocals.add(toFrame(argumentType));
+            }
+            argumentSize = (Type.getArgumentsAndReturnSizes(descriptor) >> 2) - (isStatic ? 1 : 0);
+            enterSize = advice.onMethodEnter.getReturnType().getSize();
+            enterValue = enterSize == 0
+                    ? null
+                    : toFrame(advice.onMethodEnter.getReturnType());
+            returnSize = advice.onMethodExit.isAlive()
+                    ? returnType.getSize()
+                    : 0;
+            exitAdvice = new Label();
+            currentLocals = initialLocals;
+            currentStack = new ArrayList<Integer>();
+            jumpTargets = new HashMap<Label, List<Integer>>();
+        }
+
+        /**
+         * Returns the argument types of the advised method.
+         *
+         * @return The argument types of the advised method.
+         */
+        protected Type[] getArgumentTypes() {
+            return argumentTypes;
+        }
+
+        /**
+         * Returns the return type of the advised method.
+         *
+         * @return The return type of the advised method.
+         */
+        protected Type getReturnType() {
+            return returnType;
+        }
+
+        /**
+         * Returns {@code true} if the advised method is static.
+         *
+         * @return {@code true} if the advised method is static.
+         */
+        protected boolean isStatic() {
+            return isStatic;
+        }
+
+        /**
+         * Returns the internal name of the advised type.
+         *
+         * @return The internal name of the advised type.
+         */
+        protected String getOwner() {
+            return owner;
+        }
+
+        /**
+         * Returns the size of the advised method's arguments including its this reference.
+         *
+         * @return The size of the advised method's arguments including its this reference.
+         */
+        protected int getArgumentSize() {
+            return argumentSize;
+        }
+
+        /**
+         * Translates a local variable index of the advised method.
+         *
+         * @param index The original index.
+         * @return The index after inserting the enter advice's value and the return value's slot.
+         */
+        private int translate(int index) {
+            return index < argumentSize
+                    ? index
+                    : index + enterSize + returnSize;
+        }
+
+        /**
+         * Registers a frame to be written before the next instruction. A frame that is registered before
+         * any instruction was written replaces any previously registered frame.
+         *
+         * @param locals The frame's local variables.
+         * @param stack  The frame's operand stack.
+         */
+        private void frame(List<Object> locals, Object[] stack) {
+            if (frames) {
+                pendingLocals = locals.toArray(new Object[locals.size()]);
+                pendingStack = stack;
+            }
+        }
+
+        /**
+         * Writes a registered frame if such a frame exists. This method must be called before writing any instruction.
+         */
+        protected void onInstruction() {
+            if (pendingLocals != null) {
+                mv.visitFrame(Opcodes.F_FULL, pendingLocals.length, pendingLocals, pendingStack.length, pendingStack);
+                pendingLocals = null;
+                pendingStack = null;
+            }
+        }
+
+        /**
+         * Returns the local variables of a frame with an additional slot for the enter advice's value and an
+         * unassigned slot for the return value.
+         *
+         * @param locals The local variables in their original layout.
+         * @return The local variables including the enter advice's slot and the return value's slot.
+         */
+        private List<Object> withAdviceValues(List<Object> locals) {
+            if (enterSize == 0 && returnSize == 0) {
+                return locals;
+            }
+            List<Object> result = new ArrayList<Object>(locals.size() + 1 + returnSize);
+            int index = 0, slot = 0;
+            while (slot < argumentSize) {
+                Object local = index < locals.size()
+                        ? locals.get(index++)
+                        : Opcodes.TOP;
+                result.add(local);
+                slot += local == Opcodes.LONG || local == Opcodes.DOUBLE ? 2 : 1;
+            }
+            if (enterSize != 0) {
+                result.add(enterValue);
+            }
+            for (int size = 0; size < returnSize; size++) {
+                result.add(Opcodes.TOP);
+            }
+            result.addAll(locals.subList(index, locals.size()));
+            return result;
+        }
+
+        /**
+         * Pushes an operand onto the tracked operand stack.
+         *
+         * @param size The size of the pushed operand.
+         */
+        private void push(int size) {
+            if (currentStack != null && size > 0) {
+                currentStack.add(size);
+            }
+        }
+
+        /**
+         * Pops operands of the given total size from the tracked operand stack.
+         *
+         * @param size The total size of the popped operands.
+         * @return The sizes of the popped operands in their stack order.
+         */
+        private List<Integer> pop(int size) {
+            LinkedList<Integer> popped = new LinkedList<Integer>();
+            while (currentStack != null && size > 0 && !currentStack.isEmpty()) {
+                int operand = currentStack.remove(currentStack.size() - 1);
+                popped.addFirst(operand);
+                size -= operand;
+            }
+            return popped;
+        }
+
+        /**
+         * Duplicates operands of the tracked operand stack and inserts the duplicate below other operands.
+         *
+         * @param size  The total size of the duplicated operands.
+         * @param depth The total size of the operands below which the duplicate is inserted.
+         */
+        private void duplicate(int size, int depth) {
+            if (currentStack != null) {
+                List<Integer> duplicated = pop(size), skipped = pop(depth);
+                currentStack.addAll(duplicated);
+                currentStack.addAll(skipped);
+                currentStack.addAll(duplicated);
+            }
+        }
+
+        /**
+         * Records the tracked operand stack as the operand stack of a jump target unless this target was already
+         * recorded.
+         *
+         * @param label The jump target.
+         * @param size  The size of an additional operand that is pushed onto the stack for this target or {@code 0}.
+         */
+        private void jumpTo(Label label, int size) {
+            if (currentStack != null && !jumpTargets.containsKey(label)) {
+                List<Integer> stack = new ArrayList<Integer>(currentStack);
+                if (size > 0) {
+                    stack.add(size);
+                }
+                jumpTargets.put(label, stack);
+            }
+        }
+
+        /**
+         * Applies a zero operand instruction other than a return instruction onto the tracked operand stack.
+         *
+         * @param opcode The instruction's opcode.
+         */
+        private void onZeroOperandInstruction(int opcode) {
+            switch (opcode) {
+                case Opcodes.ACONST_NULL:
+                case Opcodes.ICONST_M1:
+                case Opcodes.ICONST_0:
+                case Opcodes.ICONST_1:
+                case Opcodes.ICONST_2:
+                case Opcodes.ICONST_3:
+                case Opcodes.ICONST_4:
+                case Opcodes.ICONST_5:
+                case Opcodes.FCONST_0:
+                case Opcodes.FCONST_1:
+                case Opcodes.FCONST_2:
+                    push(1);
+                    break;
+                case Opcodes.LCONST_0:
+                case Opcodes.LCONST_1:
+                case Opcodes.DCONST_0:
+                case Opcodes.DCONST_1:
+                    push(2);
+                    break;
+                case Opcodes.IALOAD:
+                case Opcodes.FALOAD:
+                case Opcodes.AALOAD:
+                case Opcodes.BALOAD:
+                case Opcodes.CALOAD:
+                case Opcodes.SALOAD:
+                case Opcodes.IADD:
+                case Opcodes.FADD:
+                case Opcodes.ISUB:
+                case Opcodes.FSUB:
+                case Opcodes.IMUL:
+                case Opcodes.FMUL:
+                case Opcodes.IDIV:
+                case Opcodes.FDIV:
+                case Opcodes.IREM:
+                case Opcodes.FREM:
+                case Opcodes.ISHL:
+                case Opcodes.ISHR:
+                case Opcodes.IUSHR:
+                case Opcodes.IAND:
+                case Opcodes.IOR:
+                case Opcodes.IXOR:
+                case Opcodes.L2I:
+                case Opcodes.L2F:
+                case Opcodes.D2I:
+                case Opcodes.D2F:
+                case Opcodes.FCMPL:
+                case Opcodes.FCMPG:
+                    pop(2);
+                    push(1);
+                    break;
+                case Opcodes.LALOAD:
+                case Opcodes.DALOAD:
+                    pop(2);
+                    push(2);
+                    break;
+                case Opcodes.IASTORE:
+                case Opcodes.FASTORE:
+                case Opcodes.AASTORE:
+                case Opcodes.BASTORE:
+                case Opcodes.CASTORE:
+                case Opcodes.SASTORE:
+                    pop(3);
+                    break;
+                case Opcodes.LASTORE:
+                case Opcodes.DASTORE:
+                    pop(4);
+                    break;
+                case Opcodes.POP:
+                case Opcodes.MONITORENTER:
+                case Opcodes.MONITOREXIT:
+                    pop(1);
+                    break;
+                case Opcodes.POP2:
+                    pop(2);
+                    break;
+                case Opcodes.DUP:
+                    duplicate(1, 0);
+                    break;
+                case Opcodes.DUP_X1:
+                    duplicate(1, 1);
+                    break;
+                case Opcodes.DUP_X2:
+                    duplicate(1, 2);
+                    break;
+                case Opcodes.DUP2:
+                    duplicate(2, 0);
+                    break;
+                case Opcodes.DUP2_X1:
+                    duplicate(2, 1);
+                    break;
+                case Opcodes.DUP2_X2:
+                    duplicate(2, 2);
+                    break;
+                case Opcodes.LADD:
+                case Opcodes.DADD:
+                case Opcodes.LSUB:
+                case Opcodes.DSUB:
+                case Opcodes.LMUL:
+                case Opcodes.DMUL:
+                case Opcodes.LDIV:
+                case Opcodes.DDIV:
+                case Opcodes.LREM:
+                case Opcodes.DREM:
+                case Opcodes.LAND:
+                case Opcodes.LOR:
+                case Opcodes.LXOR:
+                    pop(4);
+                    push(2);
+                    break;
+                case Opcodes.LSHL:
+                case Opcodes.LSHR:
+                case Opcodes.LUSHR:
+                    pop(3);
+                    push(2);
+                    break;
+                case Opcodes.I2L:
+                case Opcodes.I2D:
+                case Opcodes.F2L:
+                case Opcodes.F2D:
+                    pop(1);
+                    push(2);
+                    break;
+                case Opcodes.LCMP:
+                case Opcodes.DCMPL:
+                case Opcodes.DCMPG:
+                    pop(4);
+                    push(1);
+                    break;
+                case Opcodes.IRETURN:
+                case Opcodes.LRETURN:
+                case Opcodes.FRETURN:
+                case Opcodes.DRETURN:
+                case Opcodes.ARETURN:
+                case Opcodes.RETURN:
+                case Opcodes.ATHROW:
+                    currentStack = null;
+                    break;
+                default:
+                    break; // Instructions that do not change the sizes of the stack's operands.
+            }
+        }
+
+        @Override
+        public void visitCode() {
+            super.visitCode();
+            if (advice.onMethodEnter.isAlive()) {
+                Label endOfAdvice = new Label();
+                List<Object> locals = new ArrayList<Object>(initialLocals);
+                for (int index = 0; index < enterSize; index++) {
+                    locals.add(Opcodes.TOP);
+                }
+                inline((Dispatcher.Active) advice.onMethodEnter, locals, argumentSize + enterSize, endOfAdvice, NO_RETURN_VALUE);
+                mv.visitLabel(endOfAdvice);
+                frame(withAdviceValues(initialLocals), EMPTY);
+            }
+        }
+
+        /**
+         * Copies the code of an advice method.
+         *
+         * @param dispatcher  The dispatcher of the advice method.
+         * @param locals      The local variables that precede the advice method's local variables in any frame.
+         * @param offset      The local variable index of the advice method's first non-parameter variable.
+         * @param endOfAdvice The label to jump to when the advice method returns.
+         * @param returnValue The local variable index of the advised method's return value.
+         */
+        private void inline(Dispatcher.Active dispatcher, List<Object> locals, int offset, Label endOfAdvice, int returnValue) {
+            List<ParameterBinding> parameterBindings = dispatcher.getParameterBindings();
+            Type[] parameterTypes = Type.getArgumentTypes(dispatcher.getDescriptor());
+            int parameterSize = 0;
+            for (Type parameterType : parameterTypes) {
+                parameterSize += parameterType.getSize();
+            }
+            int[] parameterOffsets = new int[parameterSize];
+            int parameterOffset = 0;
+            for (int index = 0; index < parameterTypes.length; index++) {
+                parameterOffsets[parameterOffset] = parameterBindings.get(index).resolve(this, returnValue);
+                parameterOffset += parameterTypes[index].getSize();
+            }
+            new ClassReader(advice.binaryRepresentation).accept(new CodeLocator(new CodeCopier(dispatcher,
+                    locals.toArray(new Object[locals.size()]),
+                    parameterTypes.length,
+                    parameterSize,
+                    parameterOffsets,
+                    offset,
+                    endOfAdvice)), ClassReader.SKIP_DEBUG | ClassReader.EXPAND_FRAMES);
+        }
+
+        @Override
+        public void visitFrame(int type, int localCount, Object[] local, int stackCount, Object[] stack) {
+            switch (type) {
+                case Opcodes.F_NEW:
+                case Opcodes.F_FULL:
+                    currentLocals = new ArrayList<Object>(Arrays.asList(local).subList(0, localCount));
+                    break;
+                case Opcodes.F_APPEND:
+                    currentLocals = new ArrayList<Object>(currentLocals);
+                    currentLocals.addAll(Arrays.asList(local).subList(0, localCount));
+                    break;
+                case Opcodes.F_CHOP:
+                    currentLocals = new ArrayList<Object>(currentLocals.subList(0, currentLocals.size() - localCount));
+                    break;
+                case Opcodes.F_SAME:
+                case Opcodes.F_SAME1:
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected frame type: " + type);
+            }
+            Object[] frameStack = new Object[type == Opcodes.F_SAME || type == Opcodes.F_CHOP || type == Opcodes.F_APPEND ? 0 : stackCount];
+            if (frameStack.length > 0) {
+                System.arraycopy(stack, 0, frameStack, 0, frameStack.length);
+            }
+            currentStack = new ArrayList<Integer>(frameStack.length);
+            for (Object operand : frameStack) {
+                currentStack.add(operand == Opcodes.LONG || operand == Opcodes.DOUBLE ? 2 : 1);
+            }
+            frame(withAdviceValues(currentLocals), frameStack);
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            if (currentStack == null) {
+                List<Integer> stack = jumpTargets.get(label);
+                currentStack = stack == null
+                        ? new ArrayList<Integer>()
+                        : new ArrayList<Integer>(stack);
+            }
+            mv.visitLabel(label);
+        }
+
+        @Override
+        public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            if (!jumpTargets.containsKey(handler)) {
+                jumpTargets.put(handler, Collections.singletonList(1));
+            }
+            mv.visitTryCatchBlock(start, end, handler, type);
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            onInstruction();
+            if (advice.onMethodExit.isAlive() && opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN) {
+                pop(returnType.getSize());
+                if (returnType.getSort() != Type.VOID) {
+                    mv.visitVarInsn(returnType.getOpcode(Opcodes.ISTORE), argumentSize + enterSize);
+                }
+                if (currentStack != null) {
+                    for (int index = currentStack.size() - 1; index >= 0; index--) {
+                        mv.visitInsn(currentStack.get(index) == 2 ? Opcodes.POP2 : Opcodes.POP);
+                    }
+                }
+                mv.visitJumpInsn(Opcodes.GOTO, exitAdvice);
+                currentStack = null;
+            } else {
+                mv.visitInsn(opcode);
+                onZeroOperandInstruction(opcode);
+            }
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            onInstruction();
+            mv.visitIntInsn(opcode, operand);
+            if (opcode != Opcodes.NEWARRAY) {
+                push(1);
+            }
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int index) {
+            onInstruction();
+            mv.visitVarInsn(opcode, translate(index));
+            switch (opcode) {
+                case Opcodes.ILOAD:
+                case Opcodes.FLOAD:
+                case Opcodes.ALOAD:
+                    push(1);
+                    break;
+                case Opcodes.LLOAD:
+                case Opcodes.DLOAD:
+                    push(2);
+                    break;
+                case Opcodes.ISTORE:
+                case Opcodes.FSTORE:
+                case Opcodes.ASTORE:
+                    pop(1);
+                    break;
+                case Opcodes.LSTORE:
+                case Opcodes.DSTORE:
+                    pop(2);
+                    break;
+                default:
+                    currentStack = null;
+            }
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            onInstruction();
+            mv.visitTypeInsn(opcode, type);
+            if (opcode == Opcodes.NEW) {
+                push(1);
+            }
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            onInstruction();
+            mv.visitFieldInsn(opcode, owner, name, descriptor);
+            int size = Type.getType(descriptor).getSize();
+            switch (opcode) {
+                case Opcodes.GETSTATIC:
+                    push(size);
+                    break;
+                case Opcodes.PUTSTATIC:
+                    pop(size);
+                    break;
+                case Opcodes.GETFIELD:
+                    pop(1);
+                    push(size);
+                    break;
+                default:
+                    pop(size + 1);
+            }
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            onInstruction();
+            mv.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            int sizes = Type.getArgumentsAndReturnSizes(descriptor);
+            pop((sizes >> 2) - (opcode == Opcodes.INVOKESTATIC ? 1 : 0));
+            push(sizes & 3);
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethod, Object... bootstrapArgument) {
+            onInstruction();
+            mv.visitInvokeDynamicInsn(name, descriptor, bootstrapMethod, bootstrapArgument);
+            int sizes = Type.getArgumentsAndReturnSizes(descriptor);
+            pop((sizes >> 2) - 1);
+            push(sizes & 3);
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            onInstruction();
+            mv.visitJumpInsn(opcode, label);
+            switch (opcode) {
+                case Opcodes.GOTO:
+                    jumpTo(label, 0);
+                    currentStack = null;
+                    break;
+                case Opcodes.JSR:
+                    jumpTo(label, 1);
+                    break;
+                case Opcodes.IF_ICMPEQ:
+                case Opcodes.IF_ICMPNE:
+                case Opcodes.IF_ICMPLT:
+                case Opcodes.IF_ICMPGE:
+                case Opcodes.IF_ICMPGT:
+                case Opcodes.IF_ICMPLE:
+                case Opcodes.IF_ACMPEQ:
+                case Opcodes.IF_ACMPNE:
+                    pop(2);
+                    jumpTo(label, 0);
+                    break;
+                default:
+                    pop(1);
+                    jumpTo(label, 0);
+            }
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            onInstruction();
+            mv.visitLdcInsn(value);
+            push(value instanceof Long || value instanceof Double ? 2 : 1);
+        }
+
+        @Override
+        public void visitIincInsn(int index, int increment) {
+            onInstruction();
+            mv.visitIincInsn(translate(index), increment);
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int minimum, int maximum, Label defaultOption, Label... option) {
+            onInstruction();
+            mv.visitTableSwitchInsn(minimum, maximum, defaultOption, option);
+            onSwitch(defaultOption, option);
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label defaultOption, int[] key, Label[] option) {
+            onInstruction();
+            mv.visitLookupSwitchInsn(defaultOption, key, option);
+            onSwitch(defaultOption, option);
+        }
+
+        /**
+         * Applies a switch instruction onto the tracked operand stack.
+         *
+         * @param defaultOption The switch's default target.
+         * @param option        The switch's other targets.
+         */
+        private void onSwitch(Label defaultOption, Label[] option) {
+            pop(1);
+            jumpTo(defaultOption, 0);
+            for (Label anOption : option) {
+                jumpTo(anOption, 0);
+            }
+            currentStack = null;
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int dimensions) {
+            onInstruction();
+            mv.visitMultiANewArrayInsn(descriptor, dimensions);
+            pop(dimensions);
+            push(1);
+        }
+
+        @Override
+        public void visitLocalVariable(String name, String descriptor, String signature, Label start, Label end, int index) {
+            mv.visitLocalVariable(name, descriptor, signature, start, end, translate(index));
+        }
+
+        @Override
+        public AnnotationVisitor visitLocalVariableAnnotation(int typeReference,
+                                                              TypePath typePath,
+                                                              Label[] start,
+                                                              Label[] end,
+                                                              int[] index,
+                                                              String descriptor,
+                                                              boolean visible) {
+            int[] translated = new int[index.length];
+            for (int anIndex = 0; anIndex < index.length; anIndex++) {
+                translated[anIndex] = translate(index[anIndex]);
+            }
+            return mv.visitLocalVariableAnnotation(typeReference, typePath, start, end, translated, descriptor, visible);
+        }
+
+        @Override
+        public void visitMaxs(int maxStack, int maxLocals) {
+            int stackSize = maxStack, localVariableLength = maxLocals + enterSize + returnSize;
+            if (advice.onMethodExit.isAlive()) {
+                int returnValue = argumentSize + enterSize;
+                List<Object> locals = new ArrayList<Object>(initialLocals);
+                if (enterSize != 0) {
+                    locals.add(enterValue);
+                }
+                if (returnType.getSort() != Type.VOID) {
+                    locals.add(toFrame(returnType));
+                }
+                mv.visitLabel(exitAdvice);
+                frame(locals, EMPTY);
+                Label endOfAdvice = new Label();
+                inline((Dispatcher.Active) advice.onMethodExit, locals, returnValue + returnSize, endOfAdvice, returnValue);
+                mv.visitLabel(endOfAdvice);
+                frame(locals, EMPTY);
+                onInstruction();
+                if (returnType.getSort() == Type.VOID) {
+                    mv.visitInsn(Opcodes.RETURN);
+                } else {
+                    mv.visitVarInsn(returnType.getOpcode(Opcodes.ILOAD), returnValue);
+                    mv.visitInsn(returnType.getOpcode(Opcodes.IRETURN));
+                }
+                stackSize = Math.max(stackSize, returnSize);
+            }
+            mv.visitMaxs(Math.max(stackSize, requiredStackSize), Math.max(localVariableLength, requiredLocalVariableLength));
+        }
+
+        @Override
+        public String toString() {
+            return "Advice.AdviceMethodVisitor{" +
+                    "owner='" + owner + '\'' +
+                    ", internalName='" + internalName + '\'' +
+                    ", descriptor='" + descriptor + '\'' +
+                    '}';
+        }
+
+        /**
+         * A class visitor that locates an advice method within the template's class file.
+         */
+        protected class CodeLocator extends ClassVisitor {
+
+            /**
+             * The code copier to apply onto the located method.
+             */
+            private final CodeCopier codeCopier;
+
+            /**
+             * Creates a new code locator.
+             *
+             * @param codeCopier The code copier to apply onto the located method.
+             */
+            protected CodeLocator(CodeCopier codeCopier) {
+                super(ASM_API_VERSION);
+                this.codeCopier = codeCopier;
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, String signature, String[] exceptionName) {
+                return codeCopier.matches(internalName, descriptor)
+                        ? codeCopier
+                        : null;
+            }
+
+            @Override
+            public String toString() {
+                return "Advice.AdviceMethodVisitor.CodeLocator{" +
+                        "adviceMethodVisitor=" + AdviceMethodVisitor.this +
+                        ", codeCopier=" + codeCopier +
+                        '}';
+            }
+        }
+
+        /**
+         * A method visitor that copies the code of an advice method into the advised method.
+         */
+        protected class CodeCopier extends MethodVisitor {
+
+            /**
+             * The dispatcher of the copied advice method.
+             */
+            private final Dispatcher.Active dispatcher;
+
+            /**
+             * The local variables that precede the advice method's local variables in any frame.
+             */
+            private final Object[] locals;
+
+            /**
+             * The number of the advice method's parameters.
+             */
+            private final int parameterCount;
+
+            /**
+             * The size of the advice method's parameters.
+             */
+            private final int parameterSize;
+
+            /**
+             * The local variable indices of the bound values by the advice method's parameter indices.
+             */
+            private final int[] parameterOffsets;
+
+            /**
+             * The local variable index of the advice method's first non-parameter variable.
+             */
+            private final int offset;
+
+            /**
+             * The label to jump to when the advice method returns.
+             */
+            private final Label endOfAdvice;
+
+            /**
+             * A mapping of the advice method's labels to the labels of the advised method.
+             */
+            private final Map<Label, Label> labels;
+
+            /**
+             * Creates a new code copier.
+             *
+             * @param dispatcher       The dispatcher of the copied advice method.
+             * @param locals           The local variables that precede the advice method's local variables in any frame.
+             * @param parameterCount   The number of the advice method's parameters.
+             * @param parameterSize    The size of the advice method's parameters.
+             * @param parameterOffsets The local variable indices of the bound values by the advice method's parameter indices.
+             * @param offset           The local variable index of the advice method's first non-parameter variable.
+             * @param endOfAdvice      The label to jump to when the advice method returns.
+             */
+            protected CodeCopier(Dispatcher.Active dispatcher,
+                                 Object[] locals,
+                                 int parameterCount,
+                                 int parameterSize,
+                                 int[] parameterOffsets,
+                                 int offset,
+                                 Label endOfAdvice) {
+                super(ASM_API_VERSION);
+                this.dispatcher = dispatcher;
+                this.locals = locals;
+                this.parameterCount = parameterCount;
+                this.parameterSize = parameterSize;
+                this.parameterOffsets = parameterOffsets;
+                this.offset = offset;
+                this.endOfAdvice = endOfAdvice;
+                labels = new HashMap<Label, Label>();
+            }
+
+            /**
+             * Checks if this code copier represents the given method.
+             *
+             * @param internalName The method's name.
+             * @param descriptor   The method's descriptor.
+             * @return {@code true} if this code copier represents the given method.
+             */
+            protected boolean matches(String internalName, String descriptor) {
+                return dispatcher.getName().equals(internalName) && dispatcher.getDescriptor().equals(descriptor);
+            }
+
+            /**
+             * Resolves the label of the advised method that represents a label of the advice method.
+             *
+             * @param label The advice method's label.
+             * @return The advised method's label.
+             */
+            private Label resolve(Label label) {
+                Label resolved = labels.get(label);
+                if (resolved == null) {
+                    resolved = new Label();
+                    labels.put(label, resolved);
+                }
+                return resolved;
+            }
+
+            /**
+             * Resolves the labels of the advised method that represent labels of the advice method.
+             *
+             * @param label The advice method's labels.
+             * @return The advised method's labels.
+             */
+            private Label[] resolve(Label[] label) {
+                Label[] resolved = new Label[label.length];
+                for (int index = 0; index < label.length; index++) {
+                    resolved[index] = resolve(label[index]);
+                }
+                return resolved;
+            }
+
+            /**
+             * Resolves a frame type of the advice method.
+             *
+             * @param count The number of frame types.
+             * @param type  The advice method's frame types.
+             * @param from  The index of the first frame type to resolve.
+             * @return The resolved frame types.
+             */
+            private List<Object> resolve(int count, Object[] type, int from) {
+                List<Object> resolved = new ArrayList<Object>(Math.max(0, count - from));
+                for (int index = from; index < count; index++) {
+                    resolved.add(type[index] instanceof Label
+                            ? resolve((Label) type[index])
+                            : type[index]);
+                }
+                return resolved;
+            }
+
+            /**
+             * Translates a local variable index of the advice method.
+             *
+             * @param index The advice method's local variable index.
+             * @return The advised method's local variable index.
+             */
+            private int translate(int index) {
+                return index < parameterSize
+                        ? parameterOffsets[index]
+                        : offset + index - parameterSize;
+            }
+
+            @Override
+            public void visitFrame(int type, int localCount, Object[] local, int stackCount, Object[] stack) {
+                List<Object> locals = new ArrayList<Object>(Arrays.asList(this.locals));
+                locals.addAll(resolve(localCount, local, parameterCount));
+                List<Object> operands = resolve(stackCount, stack, 0);
+                frame(locals, operands.toArray(new Object[operands.size()]));
+            }
+
+            @Override
+            public void visitInsn(int opcode) {
+                onInstruction();
+                switch (opcode) {
+                    case Opcodes.RETURN:
+                        break;
+                    case Opcodes.IRETURN:
+                    case Opcodes.LRETURN:
+                    case Opcodes.FRETURN:
+                    case Opcodes.DRETURN:
+                    case Opcodes.ARETURN:
+                        if (dispatcher == advice.onMethodEnter) {
+                            AdviceMethodVisitor.this.mv.visitVarInsn(dispatcher.getReturnType().getOpcode(Opcodes.ISTORE), argumentSize);
+                        } else {
+                            AdviceMethodVisitor.this.mv.visitInsn(dispatcher.getReturnType().getSize() == 2 ? Opcodes.POP2 : Opcodes.POP);
+                        }
+                        break;
+                    default:
+                        AdviceMethodVisitor.this.mv.visitInsn(opcode);
+                        return;
+                }
+                AdviceMethodVisitor.this.mv.visitJumpInsn(Opcodes.GOTO, endOfAdvice);
+            }
+
+            @Override
+            public void visitIntInsn(int opcode, int operand) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitIntInsn(opcode, operand);
+            }
+
+            @Override
+            public void visitVarInsn(int opcode, int index) {
+                if (index < parameterSize && opcode >= Opcodes.ISTORE && opcode <= Opcodes.ASTORE) {
+                    throw new IllegalStateException("Cannot write to parameter of advice method " + dispatcher);
+                }
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitVarInsn(opcode, translate(index));
+            }
+
+            @Override
+            public void visitTypeInsn(int opcode, String type) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitTypeInsn(opcode, type);
+            }
+
+            @Override
+            public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitFieldInsn(opcode, owner, name, descriptor);
+            }
+
+            @Override
+            public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            }
+
+            @Override
+            public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethod, Object... bootstrapArgument) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitInvokeDynamicInsn(name, descriptor, bootstrapMethod, bootstrapArgument);
+            }
+
+            @Override
+            public void visitJumpInsn(int opcode, Label label) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitJumpInsn(opcode, resolve(label));
+            }
+
+            @Override
+            public void visitLabel(Label label) {
+                AdviceMethodVisitor.this.mv.visitLabel(resolve(label));
+            }
+
+            @Override
+            public void visitLdcInsn(Object value) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitLdcInsn(value);
+            }
+
+            @Override
+            public void visitIincInsn(int index, int increment) {
+                if (index < parameterSize) {
+                    throw new IllegalStateException("Cannot write to parameter of advice method " + dispatcher);
+                }
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitIincInsn(translate(index), increment);
+            }
+
+            @Override
+            public void visitTableSwitchInsn(int minimum, int maximum, Label defaultOption, Label... option) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitTableSwitchInsn(minimum, maximum, resolve(defaultOption), resolve(option));
+            }
+
+            @Override
+            public void visitLookupSwitchInsn(Label defaultOption, int[] key, Label[] option) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitLookupSwitchInsn(resolve(defaultOption), key, resolve(option));
+            }
+
+            @Override
+            public void visitMultiANewArrayInsn(String descriptor, int dimensions) {
+                onInstruction();
+                AdviceMethodVisitor.this.mv.visitMultiANewArrayInsn(descriptor, dimensions);
+            }
+
+            @Override
+            public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+                AdviceMethodVisitor.this.mv.visitTryCatchBlock(resolve(start), resolve(end), resolve(handler), type);
+            }
+
+            @Override
+            public void visitMaxs(int maxStack, int maxLocals) {
+                requiredStackSize = Math.max(requiredStackSize, maxStack);
+                requiredLocalVariableLength = Math.max(requiredLocalVariableLength, offset + maxLocals - parameterSize);
+            }
+
+            @Override
+            public String toString() {
+                return "Advice.AdviceMethodVisitor.CodeCopier{" +
+                        "adviceMethodVisitor=" + AdviceMethodVisitor.this +
+                        ", dispatcher=" + dispatcher +
+                        ", offset=" + offset +
+                        '}';
+            }
+        }
+    }
+}
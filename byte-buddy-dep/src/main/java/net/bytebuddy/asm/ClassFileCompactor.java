@@ -0,0 +1,272 @@
+package net.bytebuddy.asm;
+
+import net.bytebuddy.implementation.Implementation;
+import org.objectweb.asm.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * A class visitor wrapper that reduces the size of a class file and therewith the memory that a loaded class occupies
+ * in the virtual machine's metaspace. This is meaningful for applications that generate a large number of classes. The
+ * compactor:
+ * </p>
+ * <ul>
+ * <li>Removes the source file and source debug extension of a type.</li>
+ * <li>Removes the line number, local variable and method parameter information of any method.</li>
+ * <li>Removes any non-standard attribute.</li>
+ * <li>Removes the generic signatures of the type and its members if this is configured.</li>
+ * <li>Replaces the randomly named field caches of an {@link Implementation.Context.Default} by short and deterministic
+ * names such that equal types are also represented by equal class files.</li>
+ * </ul>
+ * <p>
+ * <b>Important</b>: Removing generic signatures changes the result of reflective lookups of generic types such as
+ * {@link Class#getGenericSuperclass()}.
+ * </p>
+ * <p>
+ * <b>Note</b>: The compactor neither renames nor merges the accessor methods of an {@link Implementation.Context.Default}.
+ * Accessor methods are invoked by auxiliary types which are written without the class visitor wrapper of their
+ * instrumented type such that renaming an accessor method within the instrumented type would break these invocations.
+ * Also, the constant pool of a redefined or rebased type is copied from its original class file such that the compactor
+ * only reduces the size of the class file but not of its constant pool.
+ * </p>
+ */
+public enum ClassFileCompactor implements ClassVisitorWrapper {
+
+    /**
+     * A compactor that retains the generic signatures of a type and its members.
+     */
+    RETAINING_SIGNATURES(true),
+
+    /**
+     * A compactor that removes the generic signatures of a type and its members.
+     */
+    DISCARDING_SIGNATURES(false);
+
+    /**
+     * The ASM API version that is used by this compactor.
+     */
+    private static final int ASM_API_VERSION = Opcodes.ASM5;
+
+    /**
+     * Indicates that a signature is removed.
+     */
+    private static final String NO_SIGNATURE = null;
+
+    /**
+     * A pattern that matches the name of a field cache that is defined by an {@link Implementation.Context.Default}.
+     */
+    private static final Pattern FIELD_CACHE = Pattern.compile(Pattern.quote(Implementation.Context.Default.FIELD_CACHE_PREFIX + "$") + "[0-9a-zA-Z]{8}");
+
+    /**
+     * {@code true} if generic signatures are retained.
+     */
+    private final boolean retainSignatures;
+
+    /**
+     * Creates a new class file compactor.
+     *
+     * @param retainSignatures {@code true} if generic signatures are retained.
+     */
+    ClassFileCompactor(boolean retainSignatures) {
+        this.retainSignatures = retainSignatures;
+    }
+
+    @Override
+    public ClassVisitor wrap(ClassVisitor classVisitor) {
+        return new CompactingClassVisitor(classVisitor, retainSignatures);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassFileCompactor." + name();
+    }
+
+    /**
+     * A class visitor that compacts a class file.
+     */
+    protected static class CompactingClassVisitor extends ClassVisitor {
+
+        /**
+         * {@code true} if generic signatures are retained.
+         */
+        private final boolean retainSignatures;
+
+        /**
+         * A mapping of the original names of the visited type's field caches to their compacted names.
+         */
+        private final Map<String, String> fieldCaches;
+
+        /**
+         * The internal name of the visited type.
+         */
+        private String internalName;
+
+        /**
+         * Creates a new compacting class visitor.
+         *
+         * @param classVisitor     The class visitor to which the compacted class file is written.
+         * @param retainSignatures {@code true} if generic signatures are retained.
+         */
+        protected CompactingClassVisitor(ClassVisitor classVisitor, boolean retainSignatures) {
+            super(ASM_API_VERSION, classVisitor);
+            this.retainSignatures = retainSignatures;
+            fieldCaches = new HashMap<String, String>();
+        }
+
+        @Override
+        public void visit(int version, int modifiers, String internalName, String signature, String superTypeName, String[] interfaceName) {
+            this.internalName = internalName;
+            super.visit(version, modifiers, internalName, compact(signature), superTypeName, interfaceName);
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            /* do nothing */
+        }
+
+        @Override
+        public void visitAttribute(Attribute attribute) {
+            /* do nothing */
+        }
+
+        @Override
+        public FieldVisitor visitField(int modifiers, String internalName, String descriptor, String signature, Object defaultValue) {
+            FieldVisitor fieldVisitor = super.visitField(modifiers, compact(this.internalName, internalName), descriptor, compact(signature), defaultValue);
+            return fieldVisitor == null
+                    ? null
+                    : new CompactingFieldVisitor(fieldVisitor);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, String signature, String[] exception) {
+            MethodVisitor methodVisitor = super.visitMethod(modifiers, internalName, descriptor, compact(signature), exception);
+            return methodVisitor == null
+                    ? null
+                    : new CompactingMethodVisitor(methodVisitor, this);
+        }
+
+        /**
+         * Compacts a generic signature.
+         *
+         * @param signature The signature to compact.
+         * @return The compacted signature.
+         */
+        private String compact(String signature) {
+            return retainSignatures
+                    ? signature
+                    : NO_SIGNATURE;
+        }
+
+        /**
+         * Compacts the name of a field.
+         *
+         * @param owner        The internal name of the type that declares the field.
+         * @param internalName The internal name of the field.
+         * @return The compacted name of the field.
+         */
+        protected String compact(String owner, String internalName) {
+            if (!owner.equals(this.internalName) || !FIELD_CACHE.matcher(internalName).matches()) {
+                return internalName;
+            }
+            String compactName = fieldCaches.get(internalName);
+            if (compactName == null) {
+                compactName = Implementation.Context.Default.FIELD_CACHE_PREFIX + "$" + fieldCaches.size();
+                fieldCaches.put(internalName, compactName);
+            }
+            return compactName;
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileCompactor.CompactingClassVisitor{" +
+                    "classVisitor=" + cv +
+                    ", retainSignatures=" + retainSignatures +
+                    ", fieldCaches=" + fieldCaches +
+                    ", internalName='" + internalName + '\'' +
+                    '}';
+        }
+    }
+
+    /**
+     * A field visitor that removes any non-standard attribute of a field.
+     */
+    protected static class CompactingFieldVisitor extends FieldVisitor {
+
+        /**
+         * Creates a new compacting field visitor.
+         *
+         * @param fieldVisitor The field visitor to which the compacted field is written.
+         */
+        protected CompactingFieldVisitor(FieldVisitor fieldVisitor) {
+            super(ASM_API_VERSION, fieldVisitor);
+        }
+
+        @Override
+        public void visitAttribute(Attribute attribute) {
+            /* do nothing */
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileCompactor.CompactingFieldVisitor{fieldVisitor=" + fv + '}';
+        }
+    }
+
+    /**
+     * A method visitor that removes debugging information and any non-standard attribute of a method.
+     */
+    protected static class CompactingMethodVisitor extends MethodVisitor {
+
+        /**
+         * The class visitor that compacts the declaring type.
+         */
+        private final CompactingClassVisitor classVisitor;
+
+        /**
+         * Creates a new compacting method visitor.
+         *
+         * @param methodVisitor The method visitor to which the compacted method is written.
+         * @param classVisitor  The class visitor that compacts the declaring type.
+         */
+        protected CompactingMethodVisitor(MethodVisitor methodVisitor, CompactingClassVisitor classVisitor) {
+            super(ASM_API_VERSION, methodVisitor);
+            this.classVisitor = classVisitor;
+        }
+
+        @Override
+        public void visitParameter(String name, int modifiers) {
+            /* do nothing */
+        }
+
+        @Override
+        public void visitAttribute(Attribute attribute) {
+            /* do nothing */
+        }
+
+        @Override
+        public void visitLineNumber(int line, Label start) {
+            /* do nothing */
+        }
+
+        @Override
+        public void visitLocalVariable(String name, String descriptor, String signature, Label start, Label end, int index) {
+            /* do nothing */
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String internalName, String descriptor) {
+            super.visitFieldInsn(opcode, owner, classVisitor.compact(owner, internalName), descriptor);
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileCompactor.CompactingMethodVisitor{" +
+                    "methodVisitor=" + mv +
+                    ", classVisitor=" + classVisitor +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package net.bytebuddy.asm;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ * A class visitor wrapper that computes stack map frames and operand stack sizes for the methods of a type. Byte Buddy
+ * does not compute stack map frames by itself such that any custom {@link net.bytebuddy.implementation.bytecode.ByteCodeAppender}
+ * that emits branching code would need to write these frames manually when creating a class file of at least version
+ * {@link net.bytebuddy.ClassFileVersion#JAVA_V6}. Unlike ASM's {@link ClassWriter#COMPUTE_FRAMES} option, this
+ * frame computer resolves the common super class of two types by querying a {@link net.bytebuddy.pool.TypePool}
+ * instead of loading these types. Therefore, this frame computer can be applied from a Java agent without loading
+ * any classes prematurely. Any type that is referenced from a method must however be resolvable by the type pool.
+ * </p>
+ * <p>
+ * By default, stack map frames are computed for all methods. In its incremental form, this frame computer only
+ * computes the frames of methods that do not yet declare any frames, typically those that were generated by Byte Buddy
+ * while retaining the frames of any method that is copied from an original class file.
+ * </p>
+ */
+public class FrameComputer implements ClassVisitorWrapper {
+
+    /**
+     * The ASM API version that is used by this frame computer.
+     */
+    private static final int ASM_API_VERSION = Opcodes.ASM5;
+
+    /**
+     * A flag for ASM not to automatically compute any information such as operand stack sizes and stack map frames.
+     */
+    private static final int ASM_MANUAL_FLAG = 0;
+
+    /**
+     * The internal name of the {@link Object} type.
+     */
+    private static final String OBJECT_TYPE = "java/lang/Object";
+
+    /**
+     * The type pool that is used for resolving the hierarchy of referenced types.
+     */
+    private final TypePool typePool;
+
+    /**
+     * The scope of this frame computer.
+     */
+    private final Scope scope;
+
+    /**
+     * Creates a new frame computer that computes the stack map frames of all methods.
+     *
+     * @param typePool The type pool that is used for resolving the hierarchy of referenced types.
+     */
+    public FrameComputer(TypePool typePool) {
+        this(typePool, Scope.ALL);
+    }
+
+    /**
+     * Creates a new frame computer.
+     *
+     * @param typePool The type pool that is used for resolving the hierarchy of referenced types.
+     * @param scope    The scope of this frame computer.
+     */
+    protected FrameComputer(TypePool typePool, Scope scope) {
+        this.typePool = typePool;
+        this.scope = scope;
+    }
+
+    /**
+     * Creates a frame computer that resolves the hierarchy of referenced types from the system class path.
+     *
+     * @return A frame computer that resolves the hierarchy of referenced types from the system class path.
+     */
+    public static FrameComputer ofClassPath() {
+        return new FrameComputer(TypePool.Default.ofClassPath());
+    }
+
+    /**
+     * Returns a frame computer that only computes the stack map frames of methods that do not declare any frames.
+     *
+     * @return A frame computer that only computes the stack map frames of methods that do not declare any frames.
+     */
+    public FrameComputer incremental() {
+        return new FrameComputer(typePool, Scope.MISSING);
+    }
+
+    @Override
+    public ClassVisitor wrap(ClassVisitor classVisitor) {
+        return new FrameComputingClassVisitor(classVisitor, typePool, scope);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && typePool.equals(((FrameComputer) other).typePool)
+                && scope == ((FrameComputer) other).scope;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * typePool.hashCode() + scope.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FrameComputer{" +
+                "typePool=" + typePool +
+                ", scope=" + scope +
+                '}';
+    }
+
+    /**
+     * Describes the methods for which a frame computer computes stack map frames.
+     */
+    protected enum Scope {
+
+        /**
+         * Computes the stack map frames of all methods.
+         */
+        ALL(true),
+
+        /**
+         * Computes the stack map frames of methods that do not declare any frames.
+         */
+        MISSING(false);
+
+        /**
+         * {@code true} if the frames of methods that already declare frames are computed.
+         */
+        private final boolean recompute;
+
+        /**
+         * Creates a new scope.
+         *
+         * @param recompute {@code true} if the frames of methods that already declare frames are computed.
+         */
+        Scope(boolean recompute) {
+            this.recompute = recompute;
+        }
+
+        /**
+         * Determines if the stack map frames of a method are computed.
+         *
+         * @param declaresFrames {@code true} if the method already declares stack map frames.
+         * @return {@code true} if the stack map frames of the method are computed.
+         */
+        protected boolean isComputed(boolean declaresFrames) {
+            return recompute || !declaresFrames;
+        }
+
+        @Override
+        public String toString() {
+            return "FrameComputer.Scope." + name();
+        }
+    }
+
+    /**
+     * A class visitor that records each method that is written to it and computes the stack map frames of this
+     * method before replaying it to the underlying class visitor.
+     */
+    protected static class FrameComputingClassVisitor extends ClassVisitor {
+
+        /**
+         * The type pool that is used for resolving the hierarchy of referenced types.
+         */
+        private final TypePool typePool;
+
+        /**
+         * The scope of the frame computation.
+         */
+        private final Scope scope;
+
+        /**
+         * The class file version of the visited type.
+         */
+        private int version;
+
+        /**
+         * The modifiers of the visited type.
+         */
+        private int modifiers;
+
+        /**
+         * The internal name of the visited type.
+         */
+        private String internalName;
+
+        /**
+         * The internal name of the visited type's super class or {@code null} if no such super class exists.
+         */
+        private String superName;
+
+        /**
+         * The internal names of the visited type's interfaces.
+         */
+        private String[] interfaceName;
+
+        /**
+         * Creates a new frame computing class visitor.
+         *
+         * @param classVisitor The class visitor to delegate to.
+         * @param typePool     The type pool that is used for resolving the hierarchy of referenced types.
+         * @param scope        The scope of the frame computation.
+         */
+        protected FrameComputingClassVisitor(ClassVisitor classVisitor, TypePool typePool, Scope scope) {
+            super(ASM_API_VERSION, classVisitor);
+            this.typePool = typePool;
+            this.scope = scope;
+        }
+
+        @Override
+        public void visit(int version, int modifiers, String internalName, String signature, String superName, String[] interfaceName) {
+            this.version = version;
+            this.modifiers = modifiers;
+            this.internalName = internalName;
+            this.superName = superName;
+            this.interfaceName = interfaceName;
+            super.visit(version, modifiers, internalName, signature, superName, interfaceName);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, String signature, String[] exception) {
+            MethodVisitor methodVisitor = super.visitMethod(modifiers, internalName, descriptor, signature, exception);
+            if (methodVisitor == null || (version & 0xFFFF) < Opcodes.V1_6) {
+                return methodVisitor;
+            }
+            ClassWriter classWriter = new ClassWriter(ASM_MANUAL_FLAG);
+            classWriter.visit(version, this.modifiers, this.internalName, null, superName, interfaceName);
+            return new RecordingMethodVisitor(classWriter,
+                    classWriter.visitMethod(modifiers, internalName, descriptor, signature, exception),
+                    methodVisitor);
+        }
+
+        @Override
+        public String toString() {
+            return "FrameComputer.FrameComputingClassVisitor{" +
+                    "classVisitor=" + cv +
+                    ", typePool=" + typePool +
+                    ", scope=" + scope +
+                    ", version=" + version +
+                    ", modifiers=" + modifiers +
+                    ", internalName='" + internalName + '\'' +
+                    ", superName='" + superName + '\'' +
+                    ", interfaceName=" + (interfaceName == null ? null : Arrays.asList(interfaceName)) +
+                    '}';
+        }
+
+        /**
+         * A method visitor that records a method in a class writer of its own. When the method is completed, its
+         * stack map frames are computed, if required, before the method is replayed to the original method visitor.
+         */
+        protected class RecordingMethodVisitor extends MethodVisitor {
+
+            /**
+             * The class writer to which the method is recorded.
+             */
+            private final ClassWriter classWriter;
+
+            /**
+             * The method visitor to which the method is eventually replayed.
+             */
+            private final MethodVisitor methodVisitor;
+
+            /**
+             * {@code true} if the recorded method declares any stack map frames.
+             */
+            private boolean declaresFrames;
+
+            /**
+             * Creates a new recording method visitor.
+             *
+             * @param classWriter    The class writer to which the method is recorded.
+             * @param recorder       The method visitor of the class writer to which the method is recorded.
+             * @param methodVisitor  The method visitor to which the method is eventually replayed.
+             */
+            protected RecordingMethodVisitor(ClassWriter classWriter, MethodVisitor recorder, MethodVisitor methodVisitor) {
+                super(ASM_API_VERSION, recorder);
+                this.classWriter = classWriter;
+                this.methodVisitor = methodVisitor;
+            }
+
+            @Override
+            public void visitFrame(int type, int localVariableLength, Object[] localVariable, int stackSize, Object[] stack) {
+                declaresFrames = true;
+                super.visitFrame(type, localVariableLength, localVariable, stackSize, stack);
+            }
+
+            @Override
+            public void visitEnd() {
+                super.visitEnd();
+                classWriter.visitEnd();
+                byte[] binaryRepresentation = classWriter.toByteArray();
+                if (scope.isComputed(declaresFrames)) {
+                    ClassWriter frameComputingClassWriter = new TypePoolClassWriter(typePool,
+                            internalName,
+                            superName,
+                            (modifiers & Opcodes.ACC_INTERFACE) != 0);
+                    new ClassReader(binaryRepresentation).accept(frameComputingClassWriter, ClassReader.SKIP_FRAMES);
+                    binaryRepresentation = frameComputingClassWriter.toByteArray();
+                }
+                new ClassReader(binaryRepresentation).accept(new MethodReplay(methodVisitor), ASM_MANUAL_FLAG);
+            }
+
+            @Override
+            public String toString() {
+                return "FrameComputer.FrameComputingClassVisitor.RecordingMethodVisitor{" +
+                        "classVisitor=" + FrameComputingClassVisitor.this +
+                        ", methodVisitor=" + methodVisitor +
+                        ", declaresFrames=" + declaresFrames +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * A class visitor that replays the single method of a class file to a given method visitor.
+     */
+    protected static class MethodReplay extends ClassVisitor {
+
+        /**
+         * The method visitor to replay the method to.
+         */
+        private final MethodVisitor methodVisitor;
+
+        /**
+         * Creates a new method replay.
+         *
+         * @param methodVisitor The method visitor to replay the method to.
+         */
+        protected MethodReplay(MethodVisitor methodVisitor) {
+            super(ASM_API_VERSION);
+            this.methodVisitor = methodVisitor;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, String signature, String[] exception) {
+            return methodVisitor;
+        }
+
+        @Override
+        public String toString() {
+            return "FrameComputer.MethodReplay{methodVisitor=" + methodVisitor + '}';
+        }
+    }
+
+    /**
+     * A class writer that computes stack map frames where the common super class of two types is resolved by
+     * a type pool instead of loading these types.
+     */
+    protected static class TypePoolClassWriter extends ClassWriter {
+
+        /**
+         * The type pool that is used for resolving the hierarchy of referenced types.
+         */
+        private final TypePool typePool;
+
+        /**
+         * The internal name of the written type which is typically not known to the type pool.
+         */
+        private final String internalName;
+
+        /**
+         * The internal name of the written type's super class or {@code null} if no such super class exists.
+         */
+        private final String superName;
+
+        /**
+         * {@code true} if the written type is an interface.
+         */
+        private final boolean isInterface;
+
+        /**
+         * Creates a new type pool class writer.
+         *
+         * @param typePool     The type pool that is used for resolving the hierarchy of referenced types.
+         * @param internalName The internal name of the written type.
+         * @param superName    The internal name of the written type's super class or {@code null} if no such super class exists.
+         * @param isInterface  {@code true} if the written type is an interface.
+         */
+        protected TypePoolClassWriter(TypePool typePool, String internalName, String superName, boolean isInterface) {
+            super(COMPUTE_FRAMES);
+            this.typePool = typePool;
+            this.internalName = internalName;
+            this.superName = superName;
+            this.isInterface = isInterface;
+        }
+
+        /**
+         * Describes a type by its internal name.
+         *
+         * @param internalName The internal name of the type to describe.
+         * @return A description of the type.
+         */
+        private TypeDescription describe(String internalName) {
+            TypePool.Resolution resolution = typePool.describe(internalName.replace('/', '.'));
+            if (!resolution.isResolved()) {
+                throw new IllegalStateException("Cannot resolve " + internalName + " for computing stack map frames");
+            }
+            return resolution.resolve();
+        }
+
+        /**
+         * Checks if the given type is an interface.
+         *
+         * @param internalName The internal name of the type to check.
+         * @return {@code true} if the type is an interface.
+         */
+        private boolean isInterface(String internalName) {
+            return internalName.equals(this.internalName)
+                    ? isInterface
+                    : describe(internalName).isInterface();
+        }
+
+        /**
+         * Resolves the super class of the given type.
+         *
+         * @param internalName The internal name of the type for which to resolve the super class.
+         * @return The internal name of the super class or {@code null} if the type does not define a super class.
+         */
+        private String getSuperName(String internalName) {
+            if (internalName.equals(this.internalName)) {
+                return superName;
+            }
+            TypeDescription superType = describe(internalName).getSupertype();
+            return superType == null
+                    ? null
+                    : superType.getInternalName();
+        }
+
+        @Override
+        protected String getCommonSuperClass(String leftType, String rightType) {
+            if (leftType.equals(rightType)) {
+                return leftType;
+            } else if (isInterface(leftType) || isInterface(rightType)) {
+                return OBJECT_TYPE;
+            }
+            Set<String> superNames = new HashSet<String>();
+            for (String superName = leftType; superName != null; superName = getSuperName(superName)) {
+                superNames.add(superName);
+            }
+            for (String superName = rightType; superName != null; superName = getSuperName(superName)) {
+                if (superNames.contains(superName)) {
+                    return superName;
+                }
+            }
+            return OBJECT_TYPE;
+        }
+
+        @Override
+        public String toString() {
+            return "FrameComputer.TypePoolClassWriter{" +
+                    "typePool=" + typePool +
+                    ", internalName='" + internalName + '\'' +
+                    ", superName='" + superName + '\'' +
+                    ", isInterface=" + isInterface +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,898 @@
+package net.bytebuddy.asm;
+
+import org.objectweb.asm.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A class visitor wrapper that removes redundant instruction sequences from all methods of a type. Such sequences
+ * typically emerge from concatenating {@link net.bytebuddy.implementation.bytecode.StackManipulation}s. This optimizer
+ * removes:
+ * </p>
+ * <ul>
+ * <li>A boxing of a primitive value that is immediately followed by an unboxing of the same value.</li>
+ * <li>A boxing of a primitive value that is immediately discarded.</li>
+ * <li>A type casting to a type that is already known for the value on top of the operand stack.</li>
+ * <li>A duplication of a value that is immediately discarded.</li>
+ * <li>A loading of a constant or of a local variable that is immediately discarded.</li>
+ * </ul>
+ * <p>
+ * The optimizer only considers instructions that are not separated by a label, a stack map frame or any other
+ * instruction such that it never alters the control flow of a method. As any removed instruction sequence does not
+ * change the height of the operand stack, the maximum stack size and all stack map frames remain valid.
+ * </p>
+ */
+public enum PeepholeOptimizer implements ClassVisitorWrapper {
+
+    /**
+     * The singleton instance.
+     */
+    INSTANCE;
+
+    /**
+     * The ASM API version that is used by this optimizer.
+     */
+    private static final int ASM_API_VERSION = Opcodes.ASM5;
+
+    /**
+     * The internal name of the {@link Object} type.
+     */
+    private static final String OBJECT_TYPE = "java/lang/Object";
+
+    /**
+     * Indicates that an instruction does not push a value onto the operand stack without side effects.
+     */
+    private static final int NO_VALUE = -1;
+
+    @Override
+    public ClassVisitor wrap(ClassVisitor classVisitor) {
+        return new OptimizingClassVisitor(classVisitor);
+    }
+
+    @Override
+    public String toString() {
+        return "PeepholeOptimizer." + name();
+    }
+
+    /**
+     * A class visitor that optimizes all methods that are written to it.
+     */
+    protected static class OptimizingClassVisitor extends ClassVisitor {
+
+        /**
+         * Creates a new optimizing class visitor.
+         *
+         * @param classVisitor The class visitor to delegate to.
+         */
+        protected OptimizingClassVisitor(ClassVisitor classVisitor) {
+            super(ASM_API_VERSION, classVisitor);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, String signature, String[] exception) {
+            MethodVisitor methodVisitor = super.visitMethod(modifiers, internalName, descriptor, signature, exception);
+            return methodVisitor == null
+                    ? null
+                    : new OptimizingMethodVisitor(methodVisitor);
+        }
+
+        @Override
+        public String toString() {
+            return "PeepholeOptimizer.OptimizingClassVisitor{classVisitor=" + cv + '}';
+        }
+    }
+
+    /**
+     * A method visitor that holds back a sequence of instructions without side effects until this sequence is
+     * interrupted by any other instruction or by a label, a frame or any other structural element. Any redundant
+     * instructions are removed from such a sequence before it is written to the underlying method visitor.
+     */
+    protected static class OptimizingMethodVisitor extends MethodVisitor {
+
+        /**
+         * The instructions that were not yet written to the underlying method visitor.
+         */
+        private final List<Instruction> pending;
+
+        /**
+         * Creates a new optimizing method visitor.
+         *
+         * @param methodVisitor The method visitor to delegate to.
+         */
+        protected OptimizingMethodVisitor(MethodVisitor methodVisitor) {
+            super(ASM_API_VERSION, methodVisitor);
+            pending = new ArrayList<Instruction>();
+        }
+
+        /**
+         * Appends an instruction to the pending instructions while removing any redundancy with the most recently
+         * appended instruction.
+         *
+         * @param instruction The instruction to append.
+         */
+        private void append(Instruction instruction) {
+            if (instruction.isCheckedCastTo(OBJECT_TYPE)) {
+                return;
+            }
+            if (!pending.isEmpty()) {
+                Instruction previous = pending.get(pending.size() - 1);
+                int pushedSize = previous.getPushedSize();
+                if (pushedSize != NO_VALUE && (instruction.getOpcode() == Opcodes.POP && pushedSize == 1
+                        || instruction.getOpcode() == Opcodes.POP2 && pushedSize == 2)) {
+                    pending.remove(pending.size() - 1);
+                    return;
+                }
+                Wrapper wrapper = previous.getBoxedType();
+                if (wrapper != null) {
+                    if (instruction.getOpcode() == Opcodes.POP) {
+                        pending.remove(pending.size() - 1);
+                        append(new Instruction.Simple(wrapper.getSize() == 2 ? Opcodes.POP2 : Opcodes.POP));
+                        return;
+                    } else if (instruction.isUnboxing(wrapper)) {
+                        pending.remove(pending.size() - 1);
+                        return;
+                    } else if (instruction.isCheckedCastTo(wrapper.getInternalName())) {
+                        return;
+                    }
+                }
+                if (instruction.getOpcode() == Opcodes.CHECKCAST && (previous.getOpcode() == Opcodes.ACONST_NULL || previous.equals(instruction))) {
+                    return;
+                }
+            }
+            pending.add(instruction);
+        }
+
+        /**
+         * Writes all pending instructions to the underlying method visitor.
+         */
+        private void flush() {
+            for (Instruction instruction : pending) {
+                instruction.apply(mv);
+            }
+            pending.clear();
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            append(new Instruction.Simple(opcode));
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            append(new Instruction.WithOperand(opcode, operand));
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int index) {
+            append(new Instruction.OfVariable(opcode, index));
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            append(new Instruction.OfType(opcode, type));
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            append(new Instruction.OfMethod(opcode, owner, name, descriptor, isInterface));
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            append(new Instruction.OfConstant(value));
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            flush();
+            super.visitFieldInsn(opcode, owner, name, descriptor);
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethod, Object... bootstrapArgument) {
+            flush();
+            super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethod, bootstrapArgument);
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            flush();
+            super.visitJumpInsn(opcode, label);
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            flush();
+            super.visitLabel(label);
+        }
+
+        @Override
+        public void visitIincInsn(int index, int increment) {
+            flush();
+            super.visitIincInsn(index, increment);
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int minimum, int maximum, Label defaultTarget, Label... label) {
+            flush();
+            super.visitTableSwitchInsn(minimum, maximum, defaultTarget, label);
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label defaultTarget, int[] key, Label[] label) {
+            flush();
+            super.visitLookupSwitchInsn(defaultTarget, key, label);
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int dimensions) {
+            flush();
+            super.visitMultiANewArrayInsn(descriptor, dimensions);
+        }
+
+        @Override
+        public AnnotationVisitor visitInsnAnnotation(int typeReference, TypePath typePath, String descriptor, boolean visible) {
+            flush();
+            return super.visitInsnAnnotation(typeReference, typePath, descriptor, visible);
+        }
+
+        @Override
+        public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            flush();
+            super.visitTryCatchBlock(start, end, handler, type);
+        }
+
+        @Override
+        public AnnotationVisitor visitTryCatchAnnotation(int typeReference, TypePath typePath, String descriptor, boolean visible) {
+            flush();
+            return super.visitTryCatchAnnotation(typeReference, typePath, descriptor, visible);
+        }
+
+        @Override
+        public void visitLocalVariable(String name, String descriptor, String signature, Label start, Label end, int index) {
+            flush();
+            super.visitLocalVariable(name, descriptor, signature, start, end, index);
+        }
+
+        @Override
+        public AnnotationVisitor visitLocalVariableAnnotation(int typeReference,
+                                                              TypePath typePath,
+                                                              Label[] start,
+                                                              Label[] end,
+                                                              int[] index,
+                                                              String descriptor,
+                                                              boolean visible) {
+            flush();
+            return super.visitLocalVariableAnnotation(typeReference, typePath, start, end, index, descriptor, visible);
+        }
+
+        @Override
+        public void visitLineNumber(int line, Label start) {
+            flush();
+            super.visitLineNumber(line, start);
+        }
+
+        @Override
+        public void visitFrame(int type, int localVariableLength, Object[] localVariable, int stackSize, Object[] stack) {
+            flush();
+            super.visitFrame(type, localVariableLength, localVariable, stackSize, stack);
+        }
+
+        @Override
+        public void visitMaxs(int maximumStackSize, int maximumLocalVariableLength) {
+            flush();
+            super.visitMaxs(maximumStackSize, maximumLocalVariableLength);
+        }
+
+        @Override
+        public void visitEnd() {
+            flush();
+            super.visitEnd();
+        }
+
+        @Override
+        public String toString() {
+            return "PeepholeOptimizer.OptimizingMethodVisitor{" +
+                    "methodVisitor=" + mv +
+                    ", pending=" + pending +
+                    '}';
+        }
+    }
+
+    /**
+     * Represents a primitive wrapper type together with the methods for boxing and unboxing a value.
+     */
+    protected enum Wrapper {
+
+        /**
+         * The wrapper for a {@code boolean} value.
+         */
+        BOOLEAN("java/lang/Boolean", "Z", "booleanValue", 1),
+
+        /**
+         * The wrapper for a {@code byte} value.
+         */
+        BYTE("java/lang/Byte", "B", "byteValue", 1),
+
+        /**
+         * The wrapper for a {@code short} value.
+         */
+        SHORT("java/lang/Short", "S", "shortValue", 1),
+
+        /**
+         * The wrapper for a {@code char} value.
+         */
+        CHARACTER("java/lang/Character", "C", "charValue", 1),
+
+        /**
+         * The wrapper for an {@code int} value.
+         */
+        INTEGER("java/lang/Integer", "I", "intValue", 1),
+
+        /**
+         * The wrapper for a {@code long} value.
+         */
+        LONG("java/lang/Long", "J", "longValue", 2),
+
+        /**
+         * The wrapper for a {@code float} value.
+         */
+        FLOAT("java/lang/Float", "F", "floatValue", 1),
+
+        /**
+         * The wrapper for a {@code double} value.
+         */
+        DOUBLE("java/lang/Double", "D", "doubleValue", 2);
+
+        /**
+         * The name of the boxing method.
+         */
+        private static final String BOXING_METHOD = "valueOf";
+
+        /**
+         * The internal name of the wrapper type.
+         */
+        private final String internalName;
+
+        /**
+         * The descriptor of the wrapped primitive type.
+         */
+        private final String primitiveDescriptor;
+
+        /**
+         * The name of the unboxing method.
+         */
+        private final String unboxingMethod;
+
+        /**
+         * The size of the wrapped primitive type on the operand stack.
+         */
+        private final int size;
+
+        /**
+         * Creates a new wrapper.
+         *
+         * @param internalName        The internal name of the wrapper type.
+         * @param primitiveDescriptor The descriptor of the wrapped primitive type.
+         * @param unboxingMethod      The name of the unboxing method.
+         * @param size                The size of the wrapped primitive type on the operand stack.
+         */
+        Wrapper(String internalName, String primitiveDescriptor, String unboxingMethod, int size) {
+            this.internalName = internalName;
+            this.primitiveDescriptor = primitiveDescriptor;
+            this.unboxingMethod = unboxingMethod;
+            this.size = size;
+        }
+
+        /**
+         * Resolves the wrapper that is boxed by the given method invocation.
+         *
+         * @param opcode     The opcode of the method invocation.
+         * @param owner      The internal name of the method's owner.
+         * @param name       The name of the method.
+         * @param descriptor The descriptor of the method.
+         * @return The boxed wrapper or {@code null} if the method invocation does not represent a boxing.
+         */
+        protected static Wrapper ofBoxing(int opcode, String owner, String name, String descriptor) {
+            if (opcode == Opcodes.INVOKESTATIC && name.equals(BOXING_METHOD)) {
+                for (Wrapper wrapper : values()) {
+                    if (wrapper.internalName.equals(owner) && descriptor.equals("(" + wrapper.primitiveDescriptor + ")L" + owner + ";")) {
+                        return wrapper;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Checks if the given method invocation represents an unboxing of this wrapper.
+         *
+         * @param opcode     The opcode of the method invocation.
+         * @param owner      The internal name of the method's owner.
+         * @param name       The name of the method.
+         * @param descriptor The descriptor of the method.
+         * @return {@code true} if the method invocation represents an unboxing of this wrapper.
+         */
+        protected boolean isUnboxing(int opcode, String owner, String name, String descriptor) {
+            return opcode == Opcodes.INVOKEVIRTUAL
+                    && owner.equals(internalName)
+                    && name.equals(unboxingMethod)
+                    && descriptor.equals("()" + primitiveDescriptor);
+        }
+
+        /**
+         * Returns the internal name of the wrapper type.
+         *
+         * @return The internal name of the wrapper type.
+         */
+        protected String getInternalName() {
+            return internalName;
+        }
+
+        /**
+         * Returns the size of the wrapped primitive type on the operand stack.
+         *
+         * @return The size of the wrapped primitive type on the operand stack.
+         */
+        protected int getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "PeepholeOptimizer.Wrapper." + name();
+        }
+    }
+
+    /**
+     * Represents a pending instruction of a method.
+     */
+    protected abstract static class Instruction {
+
+        /**
+         * The opcode of this instruction.
+         */
+        protected final int opcode;
+
+        /**
+         * Creates a new instruction.
+         *
+         * @param opcode The opcode of this instruction.
+         */
+        protected Instruction(int opcode) {
+            this.opcode = opcode;
+        }
+
+        /**
+         * Returns the opcode of this instruction.
+         *
+         * @return The opcode of this instruction.
+         */
+        protected int getOpcode() {
+            return opcode;
+        }
+
+        /**
+         * Returns the size of a value that this instruction pushes onto the operand stack without consuming any values
+         * and without any side effects.
+         *
+         * @return The size of the pushed value or {@code -1} if this instruction does not only push a value.
+         */
+        protected int getPushedSize() {
+            return NO_VALUE;
+        }
+
+        /**
+         * Returns the wrapper that is boxed by this instruction.
+         *
+         * @return The wrapper that is boxed by this instruction or {@code null} if this instruction is not a boxing.
+         */
+        protected Wrapper getBoxedType() {
+            return null;
+        }
+
+        /**
+         * Checks if this instruction represents an unboxing of the given wrapper.
+         *
+         * @param wrapper The wrapper to check.
+         * @return {@code true} if this instruction represents an unboxing of the given wrapper.
+         */
+        protected boolean isUnboxing(Wrapper wrapper) {
+            return false;
+        }
+
+        /**
+         * Checks if this instruction represents a type casting to the given type.
+         *
+         * @param internalName The internal name of the type.
+         * @return {@code true} if this instruction represents a type casting to the given type.
+         */
+        protected boolean isCheckedCastTo(String internalName) {
+            return false;
+        }
+
+        /**
+         * Writes this instruction to the given method visitor.
+         *
+         * @param methodVisitor The method visitor to write this instruction to.
+         */
+        protected abstract void apply(MethodVisitor methodVisitor);
+
+        /**
+         * An instruction without an operand.
+         */
+        protected static class Simple extends Instruction {
+
+            /**
+             * Creates a new instruction without an operand.
+             *
+             * @param opcode The opcode of this instruction.
+             */
+            protected Simple(int opcode) {
+                super(opcode);
+            }
+
+            @Override
+            protected int getPushedSize() {
+                switch (opcode) {
+                    case Opcodes.ACONST_NULL:
+                    case Opcodes.ICONST_M1:
+                    case Opcodes.ICONST_0:
+                    case Opcodes.ICONST_1:
+                    case Opcodes.ICONST_2:
+                    case Opcodes.ICONST_3:
+                    case Opcodes.ICONST_4:
+                    case Opcodes.ICONST_5:
+                    case Opcodes.FCONST_0:
+                    case Opcodes.FCONST_1:
+                    case Opcodes.FCONST_2:
+                    case Opcodes.DUP:
+                        return 1;
+                    case Opcodes.LCONST_0:
+                    case Opcodes.LCONST_1:
+                    case Opcodes.DCONST_0:
+                    case Opcodes.DCONST_1:
+                    case Opcodes.DUP2:
+                        return 2;
+                    default:
+                        return NO_VALUE;
+                }
+            }
+
+            @Override
+            protected void apply(MethodVisitor methodVisitor) {
+                methodVisitor.visitInsn(opcode);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && opcode == ((Simple) other).opcode;
+            }
+
+            @Override
+            public int hashCode() {
+                return opcode;
+            }
+
+            @Override
+            public String toString() {
+                return "PeepholeOptimizer.Instruction.Simple{opcode=" + opcode + '}';
+            }
+        }
+
+        /**
+         * An instruction with a single integer operand.
+         */
+        protected static class WithOperand extends Instruction {
+
+            /**
+             * The operand of this instruction.
+             */
+            private final int operand;
+
+            /**
+             * Creates a new instruction with a single integer operand.
+             *
+             * @param opcode  The opcode of this instruction.
+             * @param operand The operand of this instruction.
+             */
+            protected WithOperand(int opcode, int operand) {
+                super(opcode);
+                this.operand = operand;
+            }
+
+            @Override
+            protected int getPushedSize() {
+                return opcode == Opcodes.BIPUSH || opcode == Opcodes.SIPUSH
+                        ? 1
+                        : NO_VALUE;
+            }
+
+            @Override
+            protected void apply(MethodVisitor methodVisitor) {
+                methodVisitor.visitIntInsn(opcode, operand);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && opcode == ((WithOperand) other).opcode
+                        && operand == ((WithOperand) other).operand;
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * opcode + operand;
+            }
+
+            @Override
+            public String toString() {
+                return "PeepholeOptimizer.Instruction.WithOperand{" +
+                        "opcode=" + opcode +
+                        ", operand=" + operand +
+                        '}';
+            }
+        }
+
+        /**
+         * An instruction that accesses a local variable.
+         */
+        protected static class OfVariable extends Instruction {
+
+            /**
+             * The index of the accessed local variable.
+             */
+            private final int index;
+
+            /**
+             * Creates a new instruction that accesses a local variable.
+             *
+             * @param opcode The opcode of this instruction.
+             * @param index  The index of the accessed local variable.
+             */
+            protected OfVariable(int opcode, int index) {
+                super(opcode);
+                this.index = index;
+            }
+
+            @Override
+            protected int getPushedSize() {
+                switch (opcode) {
+                    case Opcodes.ILOAD:
+                    case Opcodes.FLOAD:
+                    case Opcodes.ALOAD:
+                        return 1;
+                    case Opcodes.LLOAD:
+                    case Opcodes.DLOAD:
+                        return 2;
+                    default:
+                        return NO_VALUE;
+                }
+            }
+
+            @Override
+            protected void apply(MethodVisitor methodVisitor) {
+                methodVisitor.visitVarInsn(opcode, index);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && opcode == ((OfVariable) other).opcode
+                        && index == ((OfVariable) other).index;
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * opcode + index;
+            }
+
+            @Override
+            public String toString() {
+                return "PeepholeOptimizer.Instruction.OfVariable{" +
+                        "opcode=" + opcode +
+                        ", index=" + index +
+                        '}';
+            }
+        }
+
+        /**
+         * An instruction that references a type.
+         */
+        protected static class OfType extends Instruction {
+
+            /**
+             * The internal name of the referenced type.
+             */
+            private final String internalName;
+
+            /**
+             * Creates a new instruction that references a type.
+             *
+             * @param opcode       The opcode of this instruction.
+             * @param internalName The internal name of the referenced type.
+             */
+            protected OfType(int opcode, String internalName) {
+                super(opcode);
+                this.internalName = internalName;
+            }
+
+            @Override
+            protected boolean isCheckedCastTo(String internalName) {
+                return opcode == Opcodes.CHECKCAST && this.internalName.equals(internalName);
+            }
+
+            @Override
+            protected void apply(MethodVisitor methodVisitor) {
+                methodVisitor.visitTypeInsn(opcode, internalName);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && opcode == ((OfType) other).opcode
+                        && internalName.equals(((OfType) other).internalName);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * opcode + internalName.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "PeepholeOptimizer.Instruction.OfType{" +
+                        "opcode=" + opcode +
+                        ", internalName='" + internalName + '\'' +
+                        '}';
+            }
+        }
+
+        /**
+         * An instruction that invokes a method.
+         */
+        protected static class OfMethod extends Instruction {
+
+            /**
+             * The internal name of the method's owner.
+             */
+            private final String owner;
+
+            /**
+             * The name of the method.
+             */
+            private final String name;
+
+            /**
+             * The descriptor of the method.
+             */
+            private final String descriptor;
+
+            /**
+             * {@code true} if the method's owner is an interface.
+             */
+            private final boolean isInterface;
+
+            /**
+             * Creates a new instruction that invokes a method.
+             *
+             * @param opcode      The opcode of this instruction.
+             * @param owner       The internal name of the method's owner.
+             * @param name        The name of the method.
+             * @param descriptor  The descriptor of the method.
+             * @param isInterface {@code true} if the method's owner is an interface.
+             */
+            protected OfMethod(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                super(opcode);
+                this.owner = owner;
+                this.name = name;
+                this.descriptor = descriptor;
+                this.isInterface = isInterface;
+            }
+
+            @Override
+            protected Wrapper getBoxedType() {
+                return Wrapper.ofBoxing(opcode, owner, name, descriptor);
+            }
+
+            @Override
+            protected boolean isUnboxing(Wrapper wrapper) {
+                return wrapper.isUnboxing(opcode, owner, name, descriptor);
+            }
+
+            @Override
+            protected void apply(MethodVisitor methodVisitor) {
+                methodVisitor.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                OfMethod ofMethod = (OfMethod) other;
+                return opcode == ofMethod.opcode
+                        && isInterface == ofMethod.isInterface
+                        && owner.equals(ofMethod.owner)
+                        && name.equals(ofMethod.name)
+                        && descriptor.equals(ofMethod.descriptor);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = opcode;
+                result = 31 * result + owner.hashCode();
+                result = 31 * result + name.hashCode();
+                result = 31 * result + descriptor.hashCode();
+                result = 31 * result + (isInterface ? 1 : 0);
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "PeepholeOptimizer.Instruction.OfMethod{" +
+                        "opcode=" + opcode +
+                        ", owner='" + owner + '\'' +
+                        ", name='" + name + '\'' +
+                        ", descriptor='" + descriptor + '\'' +
+                        ", isInterface=" + isInterface +
+                        '}';
+            }
+        }
+
+        /**
+         * An instruction that loads a value from the constant pool.
+         */
+        protected static class OfConstant extends Instruction {
+
+            /**
+             * The loaded constant.
+             */
+            private final Object value;
+
+            /**
+             * Creates a new instruction that loads a value from the constant pool.
+             *
+             * @param value The loaded constant.
+             */
+            protected OfConstant(Object value) {
+                super(Opcodes.LDC);
+                this.value = value;
+            }
+
+            @Override
+            protected int getPushedSize() {
+                if (value instanceof Long || value instanceof Double) {
+                    return 2;
+                } else if (value instanceof String || value instanceof Integer || value instanceof Float) {
+                    return 1;
+                } else {
+                    return NO_VALUE; // Loading a class, a method type or a method handle might fail.
+                }
+            }
+
+            @Override
+            protected void apply(MethodVisitor methodVisitor) {
+                methodVisitor.visitLdcInsn(value);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && value.equals(((OfConstant) other).value);
+            }
+
+            @Override
+            public int hashCode() {
+                return value.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "PeepholeOptimizer.Instruction.OfConstant{value=" + value + '}';
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.description.type.TypeDescription;
+
+import java.io.*;
+import java.util.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * An exporter that collects dynamic types which are created at build time and writes them, including all of their
+ * auxiliary types, into a single <i>jar</i> file. Additionally, the exporter writes a class list that names every
+ * exported type by its internal name, one type per line. This list matches the format of the Java virtual machine's
+ * {@code -XX:SharedClassListFile} option such that the exported types can be included in an application class data
+ * sharing archive. This way, the exported types are neither parsed nor verified when an application starts up.
+ * </p>
+ * <p>
+ * At runtime, the exported types can be located by a {@link net.bytebuddy.dynamic.PrebuiltTypeLocator} before
+ * they are created when the exported <i>jar</i> file is visible to the class loader that is used for loading the
+ * dynamic types. For this to work, the exported dynamic types must be named deterministically, for example by
+ * {@link net.bytebuddy.dynamic.DynamicType.Builder#name(String)} or by a {@link net.bytebuddy.NamingStrategy.Fixed}
+ * strategy, using the name that is later given to the locator. Auxiliary types can be named randomly as they are
+ * referenced by the exported dynamic types. As a pre-built type is used as it is, only dynamic types without any
+ * alive {@link net.bytebuddy.implementation.LoadedTypeInitializer} can be exported.
+ * </p>
+ */
+public class ClassDataSharingExporter {
+
+    /**
+     * The file extension for Java class files.
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * The version of the manifest of any exported <i>jar</i> file.
+     */
+    private static final String MANIFEST_VERSION = "1.0";
+
+    /**
+     * The charset that is used for writing a class list.
+     */
+    private static final String CHARSET = "UTF-8";
+
+    /**
+     * The dynamic types to export.
+     */
+    private final List<? extends DynamicType> dynamicTypes;
+
+    /**
+     * Creates a new exporter without any dynamic types.
+     */
+    public ClassDataSharingExporter() {
+        this(Collections.<DynamicType>emptyList());
+    }
+
+    /**
+     * Creates a new exporter.
+     *
+     * @param dynamicTypes The dynamic types to export.
+     */
+    protected ClassDataSharingExporter(List<? extends DynamicType> dynamicTypes) {
+        this.dynamicTypes = dynamicTypes;
+    }
+
+    /**
+     * Adds the given dynamic types to the exported types.
+     *
+     * @param dynamicType The dynamic types to export.
+     * @return A new exporter that additionally exports the given dynamic types.
+     */
+    public ClassDataSharingExporter with(DynamicType... dynamicType) {
+        return with(Arrays.asList(dynamicType));
+    }
+
+    /**
+     * Adds the given dynamic types to the exported types.
+     *
+     * @param dynamicTypes The dynamic types to export.
+     * @return A new exporter that additionally exports the given dynamic types.
+     */
+    public ClassDataSharingExporter with(Collection<? extends DynamicType> dynamicTypes) {
+        List<DynamicType> exported = new ArrayList<DynamicType>(this.dynamicTypes.size() + dynamicTypes.size());
+        exported.addAll(this.dynamicTypes);
+        for (DynamicType dynamicType : dynamicTypes) {
+            if (nonNull(dynamicType).hasAliveLoadedTypeInitializers()) {
+                throw new IllegalArgumentException("Cannot export " + dynamicType.getTypeDescription()
+                        + " which requires initialization after it was loaded");
+            }
+            exported.add(dynamicType);
+        }
+        return new ClassDataSharingExporter(exported);
+    }
+
+    /**
+     * Returns the binary representations of all exported types in their export order. Any dynamic type is followed
+     * by its auxiliary types in the order of their names. Auxiliary types that are shared by several dynamic types
+     * are only exported once.
+     *
+     * @return The binary representations of all exported types.
+     */
+    public Map<TypeDescription, byte[]> getTypes() {
+        Map<TypeDescription, byte[]> types = new LinkedHashMap<TypeDescription, byte[]>();
+        for (DynamicType dynamicType : dynamicTypes) {
+            types.put(dynamicType.getTypeDescription(), dynamicType.getBytes());
+            Map<String, Map.Entry<TypeDescription, byte[]>> auxiliaryTypes = new TreeMap<String, Map.Entry<TypeDescription, byte[]>>();
+            for (Map.Entry<TypeDescription, byte[]> entry : dynamicType.getRawAuxiliaryTypes().entrySet()) {
+                auxiliaryTypes.put(entry.getKey().getName(), entry);
+            }
+            for (Map.Entry<TypeDescription, byte[]> entry : auxiliaryTypes.values()) {
+                if (!types.containsKey(entry.getKey())) {
+                    types.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Exports all types into the given <i>jar</i> file and writes a class list of all exported types.
+     *
+     * @param jar       The <i>jar</i> file to write. An existing file is overwritten.
+     * @param classList The class list file to write. An existing file is overwritten.
+     * @return The exported types in their export order.
+     * @throws IOException If an I/O error occurs.
+     */
+    public Map<TypeDescription, byte[]> export(File jar, File classList) throws IOException {
+        Map<TypeDescription, byte[]> types = getTypes();
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, MANIFEST_VERSION);
+        JarOutputStream jarOutputStream = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(jar)), manifest);
+        try {
+            for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                jarOutputStream.putNextEntry(new JarEntry(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION));
+                jarOutputStream.write(entry.getValue());
+                jarOutputStream.closeEntry();
+            }
+        } finally {
+            jarOutputStream.close();
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(classList), CHARSET));
+        try {
+            for (TypeDescription typeDescription : types.keySet()) {
+                writer.write(typeDescription.getInternalName());
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+        return types;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && dynamicTypes.equals(((ClassDataSharingExporter) other).dynamicTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return dynamicTypes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ClassDataSharingExporter{dynamicTypes=" + dynamicTypes + '}';
+    }
+}
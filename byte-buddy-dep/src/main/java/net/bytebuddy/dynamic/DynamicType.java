@@ -21,7 +21,13 @@ import net.bytebuddy.implementation.auxiliary.AuxiliaryType;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 import net.bytebuddy.matcher.LatentMethodMatcher;
+import net.bytebuddy.utility.PersistentList;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.commons.Remapper;
+import org.objectweb.asm.commons.RemappingClassAdapter;
+import org.objectweb.asm.commons.SimpleRemapper;
 
 import java.io.*;
 import java.lang.annotation.Annotation;
@@ -29,6 +35,10 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 import java.util.jar.JarOutputStream;
@@ -2441,7 +2451,7 @@ public interface DynamicType {
                             methodLookupEngineFactory,
                             defaultFieldAttributeAppenderFactory,
                             defaultMethodAttributeAppenderFactory,
-                            join(fieldTokens, fieldToken),
+                            PersistentList.append(fieldTokens, fieldToken),
                             methodTokens);
                 }
 
@@ -2745,7 +2755,7 @@ public interface DynamicType {
                  * @return A subclass matched method interception that represents the materialized method.
                  */
                 private DefaultMatchedMethodInterception materialize(MethodToken methodToken) {
-                    return new DefaultMatchedMethodInterception(methodToken, join(methodTokens, methodToken));
+                    return new DefaultMatchedMethodInterception(methodToken, PersistentList.append(methodTokens, methodToken));
                 }
 
                 @Override
@@ -3083,6 +3093,367 @@ public interface DynamicType {
         Loaded<T> load(ClassLoader classLoader, ClassLoadingStrategy classLoadingStrategy);
     }
 
+    /**
+     * <p>
+     * A template of a dynamic type that creates copies of this dynamic type with a different name. Creating a copy
+     * only requires a single pass over the binary representation of each type for replacing any reference to the
+     * dynamic type's name and the names of its auxiliary types. This is significantly cheaper than creating a new
+     * dynamic type from a {@link net.bytebuddy.dynamic.DynamicType.Builder} as the creation of an instrumented type
+     * and the preparation and compilation of its methods is avoided.
+     * </p>
+     * <p>
+     * <b>Note</b>: Auxiliary types are renamed by replacing the original dynamic type's name if it is the prefix of an
+     * auxiliary type's name. Otherwise, an auxiliary type is renamed to a member of the copied type with the simple
+     * name of the original auxiliary type. Any string constant is copied as it is, even if it contains the name of the
+     * dynamic type. The type descriptions of the copied types only describe their names, modifiers, super types and
+     * interfaces but none of their members.
+     * </p>
+     *
+     * @param <T> The most specific known loaded type that is implemented by the created dynamic types, usually the
+     *            type itself, an interface or the direct super class.
+     */
+    class Template<T> {
+
+        /**
+         * The separator of a nested type's name.
+         */
+        private static final char INNER_CLASS_SEPARATOR = '$';
+
+        /**
+         * A flag for ASM not to automatically compute any information such as operand stack sizes and stack map frames.
+         */
+        private static final int ASM_MANUAL_FLAG = 0;
+
+        /**
+         * The dynamic type that represents this template.
+         */
+        private final DynamicType dynamicType;
+
+        /**
+         * The binary representations of all auxiliary types of the dynamic type.
+         */
+        private final Map<TypeDescription, byte[]> auxiliaryTypes;
+
+        /**
+         * The loaded type initializers of the dynamic type and all of its auxiliary types.
+         */
+        private final Map<TypeDescription, LoadedTypeInitializer> loadedTypeInitializers;
+
+        /**
+         * Creates a new template.
+         *
+         * @param dynamicType The dynamic type that represents this template.
+         */
+        public Template(DynamicType dynamicType) {
+            this.dynamicType = dynamicType;
+            auxiliaryTypes = new LinkedHashMap<TypeDescription, byte[]>(dynamicType.getRawAuxiliaryTypes());
+            loadedTypeInitializers = dynamicType.getLoadedTypeInitializers();
+        }
+
+        /**
+         * Creates a template of an unloaded dynamic type that allows to create further dynamic types that only differ
+         * from this dynamic type by their name.
+         *
+         * @param dynamicType The unloaded dynamic type that represents the created template.
+         * @param <S>         The most specific known loaded type that is implemented by the dynamic type.
+         * @return A template of the given dynamic type.
+         */
+        public static <S> Template<S> of(DynamicType.Unloaded<S> dynamicType) {
+            return new Template<S>(nonNull(dynamicType));
+        }
+
+        /**
+         * Creates a copy of this template's dynamic type with the given name.
+         *
+         * @param name The fully qualified name of the copied type.
+         * @return A copy of this template's dynamic type with the given name.
+         */
+        public DynamicType.Unloaded<T> make(String name) {
+            TypeDescription typeDescription = dynamicType.getTypeDescription();
+            Map<String, String> internalNames = new HashMap<String, String>(1 + auxiliaryTypes.size());
+            internalNames.put(typeDescription.getInternalName(), nonNull(name).replace('.', '/'));
+            for (TypeDescription auxiliaryType : auxiliaryTypes.keySet()) {
+                String auxiliaryName = auxiliaryType.getName();
+                internalNames.put(auxiliaryType.getInternalName(), (auxiliaryName.startsWith(typeDescription.getName())
+                        ? name + auxiliaryName.substring(typeDescription.getName().length())
+                        : name + INNER_CLASS_SEPARATOR + auxiliaryName.substring(auxiliaryName.lastIndexOf('.') + 1)).replace('.', '/'));
+            }
+            Remapper remapper = new SimpleRemapper(internalNames);
+            List<DynamicType> auxiliaryTypes = new ArrayList<DynamicType>(this.auxiliaryTypes.size());
+            for (Map.Entry<TypeDescription, byte[]> entry : this.auxiliaryTypes.entrySet()) {
+                auxiliaryTypes.add(new Default(rename(entry.getKey(), internalNames),
+                        remap(entry.getValue(), remapper),
+                        loadedTypeInitializers.get(entry.getKey()),
+                        Collections.<DynamicType>emptyList()));
+            }
+            return new Default.Unloaded<T>(rename(typeDescription, internalNames),
+                    remap(dynamicType.getBytes(), remapper),
+                    loadedTypeInitializers.get(typeDescription),
+                    auxiliaryTypes);
+        }
+
+        /**
+         * Describes a renamed type.
+         *
+         * @param typeDescription The original type.
+         * @param internalNames   A mapping of original internal names to their renamed internal names.
+         * @return A description of the renamed type or the original type description if the type is not renamed.
+         */
+        private static TypeDescription rename(TypeDescription typeDescription, Map<String, String> internalNames) {
+            String internalName = internalNames.get(typeDescription.getInternalName());
+            if (internalName == null) {
+                return typeDescription;
+            }
+            TypeDescription superType = typeDescription.getSupertype();
+            List<TypeDescription> interfaceTypes = new ArrayList<TypeDescription>(typeDescription.getInterfaces().size());
+            for (TypeDescription interfaceType : typeDescription.getInterfaces()) {
+                interfaceTypes.add(rename(interfaceType, internalNames));
+            }
+            return new TypeDescription.Latent(internalName.replace('/', '.'),
+                    typeDescription.getModifiers(),
+                    superType == null ? null : rename(superType, internalNames),
+                    interfaceTypes);
+        }
+
+        /**
+         * Replaces all type references of a binary representation.
+         *
+         * @param binaryRepresentation The binary representation to rename.
+         * @param remapper             The remapper to apply.
+         * @return The binary representation with all type references replaced.
+         */
+        private static byte[] remap(byte[] binaryRepresentation, Remapper remapper) {
+            ClassReader classReader = new ClassReader(binaryRepresentation);
+            ClassWriter classWriter = new ClassWriter(ASM_MANUAL_FLAG);
+            classReader.accept(new RemappingClassAdapter(classWriter, remapper), ASM_MANUAL_FLAG);
+            return classWriter.toByteArray();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && dynamicType.equals(((Template<?>) other).dynamicType);
+        }
+
+        @Override
+        public int hashCode() {
+            return dynamicType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "DynamicType.Template{" +
+                    "dynamicType=" + dynamicType +
+                    ", auxiliaryTypes=" + auxiliaryTypes.keySet() +
+                    ", loadedTypeInitializers=" + loadedTypeInitializers +
+                    '}';
+        }
+    }
+
+    /**
+     * <p>
+     * A batch of unloaded dynamic types that are created concurrently and that are loaded together. Creating a batch
+     * runs the {@link net.bytebuddy.dynamic.DynamicType.Builder#make()} method of several independent builders on a
+     * given executor service. As builders are immutable, they can be made concurrently without any synchronization.
+     * Each builder applies the configuration of the {@link net.bytebuddy.ByteBuddy} instance that created it.
+     * When loading a batch, the dynamic types and all of their auxiliary types are handed to a single invocation of
+     * a {@link ClassLoadingStrategy} such that only a single class loader is created or only a single class injection
+     * is applied for all types.
+     * </p>
+     * <p>
+     * <b>Note</b>: The types of a batch must not require each other at load time when they are loaded by a class
+     * loading strategy that does not resolve such dependencies, as for example by injection.
+     * </p>
+     */
+    class Batch {
+
+        /**
+         * The unloaded dynamic types of this batch.
+         */
+        private final List<? extends DynamicType.Unloaded<?>> unloadedTypes;
+
+        /**
+         * Creates a new batch of unloaded dynamic types.
+         *
+         * @param unloadedTypes The unloaded dynamic types of this batch.
+         */
+        public Batch(List<? extends DynamicType.Unloaded<?>> unloadedTypes) {
+            this.unloadedTypes = unloadedTypes;
+        }
+
+        /**
+         * Makes all given builders concurrently by submitting their creation to the given executor service.
+         *
+         * @param builders        The builders to make.
+         * @param executorService The executor service to run the creation of the dynamic types on.
+         * @return A batch of the created dynamic types in the iteration order of the given builders.
+         */
+        public static Batch make(Collection<? extends DynamicType.Builder<?>> builders, ExecutorService executorService) {
+            List<Maker> makers = new ArrayList<Maker>(builders.size());
+            for (DynamicType.Builder<?> builder : builders) {
+                makers.add(new Maker(builder));
+            }
+            List<DynamicType.Unloaded<?>> unloadedTypes = new ArrayList<DynamicType.Unloaded<?>>(builders.size());
+            try {
+                for (Future<DynamicType.Unloaded<?>> future : executorService.invokeAll(makers)) {
+                    unloadedTypes.add(future.get());
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while creating dynamic types", exception);
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else {
+                    throw new IllegalStateException("Cannot create dynamic type", cause);
+                }
+            }
+            return new Batch(unloadedTypes);
+        }
+
+        /**
+         * Returns the unloaded dynamic types of this batch.
+         *
+         * @return The unloaded dynamic types of this batch in the order of their creation.
+         */
+        public List<DynamicType.Unloaded<?>> getUnloaded() {
+            return new ArrayList<DynamicType.Unloaded<?>>(unloadedTypes);
+        }
+
+        /**
+         * Loads all dynamic types of this batch and their auxiliary types by a single application of the given
+         * class loading strategy. Thereafter, the loaded type initializers of all types are applied.
+         *
+         * @param classLoader          The class loader to use for loading the types of this batch.
+         * @param classLoadingStrategy The class loading strategy to apply once for all types of this batch.
+         * @return The loaded dynamic types in the order of this batch's unloaded types.
+         */
+        public List<DynamicType.Loaded<?>> load(ClassLoader classLoader, ClassLoadingStrategy classLoadingStrategy) {
+            Map<TypeDescription, byte[]> types = new LinkedHashMap<TypeDescription, byte[]>();
+            for (DynamicType.Unloaded<?> unloadedType : unloadedTypes) {
+                types.putAll(unloadedType.getRawAuxiliaryTypes());
+                types.put(unloadedType.getTypeDescription(), unloadedType.getBytes());
+            }
+            ClassLoadingStrategy preloaded = new Preloaded(classLoadingStrategy.load(classLoader, types));
+            List<DynamicType.Loaded<?>> loadedTypes = new ArrayList<DynamicType.Loaded<?>>(unloadedTypes.size());
+            for (DynamicType.Unloaded<?> unloadedType : unloadedTypes) {
+                loadedTypes.add(unloadedType.load(classLoader, preloaded));
+            }
+            return loadedTypes;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && unloadedTypes.equals(((Batch) other).unloadedTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return unloadedTypes.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "DynamicType.Batch{unloadedTypes=" + unloadedTypes + '}';
+        }
+
+        /**
+         * A callable that makes a single builder.
+         */
+        protected static class Maker implements Callable<DynamicType.Unloaded<?>> {
+
+            /**
+             * The builder to make.
+             */
+            private final DynamicType.Builder<?> builder;
+
+            /**
+             * Creates a new maker.
+             *
+             * @param builder The builder to make.
+             */
+            protected Maker(DynamicType.Builder<?> builder) {
+                this.builder = builder;
+            }
+
+            @Override
+            public DynamicType.Unloaded<?> call() {
+                return builder.make();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && builder.equals(((Maker) other).builder);
+            }
+
+            @Override
+            public int hashCode() {
+                return builder.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "DynamicType.Batch.Maker{builder=" + builder + '}';
+            }
+        }
+
+        /**
+         * A class loading strategy that returns types that were already loaded by another class loading strategy.
+         * This strategy allows to apply the loaded type initializers of each dynamic type of a batch after all types
+         * were loaded at once.
+         */
+        protected static class Preloaded implements ClassLoadingStrategy {
+
+            /**
+             * The types that were already loaded.
+             */
+            private final Map<TypeDescription, Class<?>> loadedTypes;
+
+            /**
+             * Creates a new class loading strategy for already loaded types.
+             *
+             * @param loadedTypes The types that were already loaded.
+             */
+            protected Preloaded(Map<TypeDescription, Class<?>> loadedTypes) {
+                this.loadedTypes = loadedTypes;
+            }
+
+            @Override
+            public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+                Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+                for (TypeDescription typeDescription : types.keySet()) {
+                    Class<?> type = this.loadedTypes.get(typeDescription);
+                    if (type == null) {
+                        throw new IllegalArgumentException("Type was not loaded as a part of this batch: " + typeDescription);
+                    }
+                    loadedTypes.put(typeDescription, type);
+                }
+                return loadedTypes;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && loadedTypes.equals(((Preloaded) other).loadedTypes);
+            }
+
+            @Override
+            public int hashCode() {
+                return loadedTypes.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "DynamicType.Batch.Preloaded{loadedTypes=" + loadedTypes + '}';
+            }
+        }
+    }
+
     /**
      * A default implementation of a dynamic type.
      */
@@ -0,0 +1,196 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.objectweb.asm.ClassReader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A report on the size of the class files of a dynamic type and its auxiliary types. The size of a class file and
+ * the size of its constant pool give an estimate of the memory that a loaded class occupies in the virtual machine's
+ * metaspace. Comparing the reports of two equal types that are created with different configurations, for example with
+ * and without applying a {@link net.bytebuddy.asm.ClassFileCompactor}, allows to estimate the memory that is saved by
+ * a given configuration.
+ */
+public class FootprintReport {
+
+    /**
+     * The entries of this report, one for each type.
+     */
+    private final List<Entry> entries;
+
+    /**
+     * Creates a new footprint report.
+     *
+     * @param entries The entries of this report, one for each type.
+     */
+    protected FootprintReport(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Creates a report of the given dynamic type and all of its auxiliary types.
+     *
+     * @param dynamicType The dynamic type to report on.
+     * @return A report of the given dynamic type and all of its auxiliary types.
+     */
+    public static FootprintReport of(DynamicType dynamicType) {
+        return of(dynamicType.getAllTypes());
+    }
+
+    /**
+     * Creates a report of the given types.
+     *
+     * @param types The types to report on mapped to their binary representations.
+     * @return A report of the given types.
+     */
+    public static FootprintReport of(Map<TypeDescription, byte[]> types) {
+        List<Entry> entries = new ArrayList<Entry>(types.size());
+        for (Map.Entry<TypeDescription, byte[]> type : types.entrySet()) {
+            entries.add(new Entry(type.getKey(), type.getValue().length, new ClassReader(type.getValue()).getItemCount()));
+        }
+        return new FootprintReport(entries);
+    }
+
+    /**
+     * Returns all entries of this report, one for each type.
+     *
+     * @return All entries of this report.
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the accumulated class file size of all types of this report.
+     *
+     * @return The accumulated class file size of all types of this report.
+     */
+    public int getTotalSize() {
+        int totalSize = 0;
+        for (Entry entry : entries) {
+            totalSize += entry.getSize();
+        }
+        return totalSize;
+    }
+
+    /**
+     * Returns the accumulated number of constant pool entries of all types of this report.
+     *
+     * @return The accumulated number of constant pool entries of all types of this report.
+     */
+    public int getTotalConstantPoolSize() {
+        int totalConstantPoolSize = 0;
+        for (Entry entry : entries) {
+            totalConstantPoolSize += entry.getConstantPoolSize();
+        }
+        return totalConstantPoolSize;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && entries.equals(((FootprintReport) other).entries);
+    }
+
+    @Override
+    public int hashCode() {
+        return entries.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FootprintReport{entries=" + entries + '}';
+    }
+
+    /**
+     * An entry of a footprint report that represents a single type.
+     */
+    public static class Entry {
+
+        /**
+         * The represented type.
+         */
+        private final TypeDescription typeDescription;
+
+        /**
+         * The size of the represented type's class file in bytes.
+         */
+        private final int size;
+
+        /**
+         * The number of constant pool entries of the represented type's class file.
+         */
+        private final int constantPoolSize;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param typeDescription  The represented type.
+         * @param size             The size of the represented type's class file in bytes.
+         * @param constantPoolSize The number of constant pool entries of the represented type's class file.
+         */
+        protected Entry(TypeDescription typeDescription, int size, int constantPoolSize) {
+            this.typeDescription = typeDescription;
+            this.size = size;
+            this.constantPoolSize = constantPoolSize;
+        }
+
+        /**
+         * Returns the represented type.
+         *
+         * @return The represented type.
+         */
+        public TypeDescription getTypeDescription() {
+            return typeDescription;
+        }
+
+        /**
+         * Returns the size of the represented type's class file in bytes.
+         *
+         * @return The size of the represented type's class file in bytes.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the number of constant pool entries of the represented type's class file.
+         *
+         * @return The number of constant pool entries of the represented type's class file.
+         */
+        public int getConstantPoolSize() {
+            return constantPoolSize;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Entry entry = (Entry) other;
+            return size == entry.size
+                    && constantPoolSize == entry.constantPoolSize
+                    && typeDescription.equals(entry.typeDescription);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = typeDescription.hashCode();
+            result = 31 * result + size;
+            result = 31 * result + constantPoolSize;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "FootprintReport.Entry{" +
+                    "typeDescription=" + typeDescription +
+                    ", size=" + size +
+                    ", constantPoolSize=" + constantPoolSize +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.objectweb.asm.ClassReader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A report on the byte code size of all methods of a dynamic type and its auxiliary types. The HotSpot virtual machine
+ * only inlines a method if its byte code does not exceed a given size. A method is inlined regardless of its invocation
+ * frequency if its byte code does not exceed {@link InliningReport#MAX_INLINE_SIZE} bytes and only if the method is
+ * invoked frequently if its byte code does not exceed {@link InliningReport#FREQUENT_INLINE_SIZE} bytes. These
+ * thresholds can be adjusted by the {@code -XX:MaxInlineSize} and {@code -XX:FreqInlineSize} options.
+ * </p>
+ * <p>
+ * This report allows to identify generated methods that exceed these thresholds, for example because an
+ * {@link net.bytebuddy.implementation.Implementation} delegates to a method with many arguments, such that the
+ * implementation can be adjusted, for example by moving code into a separate method.
+ * </p>
+ * <p>
+ * <b>Note</b>: Byte Buddy only outlines the creation of an argument array automatically. If an
+ * {@link net.bytebuddy.implementation.InvocationHandlerAdapter} or an
+ * {@link net.bytebuddy.implementation.bind.annotation.AllArguments} parameter stores at least
+ * {@link net.bytebuddy.implementation.bytecode.collection.ArrayFactory#OUTLINING_THRESHOLD} arguments in an array,
+ * the array is created and the arguments are boxed by a synthetic {@code static} method of the instrumented type. Any
+ * other code of an instrumented method is not outlined as outlining the code of an arbitrary byte code appender would
+ * require a control flow analysis that Byte Buddy does not perform. An implementation that exceeds a threshold for
+ * other reasons must therefore be restructured explicitly, for example by using
+ * {@link net.bytebuddy.implementation.Implementation.Context.Outlining} from a custom stack manipulation.
+ * </p>
+ */
+public class InliningReport {
+
+    /**
+     * The default maximum byte code size of a method that is inlined regardless of its invocation frequency.
+     */
+    public static final int MAX_INLINE_SIZE = 35;
+
+    /**
+     * The default maximum byte code size of a frequently invoked method that is inlined.
+     */
+    public static final int FREQUENT_INLINE_SIZE = 325;
+
+    /**
+     * The name of the attribute that contains a method's byte code.
+     */
+    private static final String CODE_ATTRIBUTE = "Code";
+
+    /**
+     * The entries of this report, one for each non-abstract and non-native method.
+     */
+    private final List<Entry> entries;
+
+    /**
+     * Creates a new inlining report.
+     *
+     * @param entries The entries of this report, one for each non-abstract and non-native method.
+     */
+    protected InliningReport(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Creates a report of the given dynamic type and all of its auxiliary types.
+     *
+     * @param dynamicType The dynamic type to report on.
+     * @return A report of the given dynamic type and all of its auxiliary types.
+     */
+    public static InliningReport of(DynamicType dynamicType) {
+        return of(dynamicType.getAllTypes());
+    }
+
+    /**
+     * Creates a report of the given types.
+     *
+     * @param types The types to report on mapped to their binary representations.
+     * @return A report of the given types.
+     */
+    public static InliningReport of(Map<TypeDescription, byte[]> types) {
+        List<Entry> entries = new ArrayList<Entry>();
+        for (Map.Entry<TypeDescription, byte[]> type : types.entrySet()) {
+            ClassReader classReader = new ClassReader(type.getValue());
+            char[] buffer = new char[classReader.getMaxStringLength()];
+            int offset = classReader.header + 6;
+            offset += 2 + 2 * classReader.readUnsignedShort(offset);
+            int fieldCount = classReader.readUnsignedShort(offset);
+            offset += 2;
+            for (int field = 0; field < fieldCount; field++) {
+                offset = skipAttributes(classReader, offset + 6);
+            }
+            int methodCount = classReader.readUnsignedShort(offset);
+            offset += 2;
+            for (int method = 0; method < methodCount; method++) {
+                String internalName = classReader.readUTF8(offset + 2, buffer);
+                String descriptor = classReader.readUTF8(offset + 4, buffer);
+                int attributeCount = classReader.readUnsignedShort(offset + 6);
+                offset += 8;
+                for (int attribute = 0; attribute < attributeCount; attribute++) {
+                    if (classReader.readUTF8(offset, buffer).equals(CODE_ATTRIBUTE)) {
+                        entries.add(new Entry(type.getKey(), internalName, descriptor, classReader.readInt(offset + 10)));
+                    }
+                    offset += 6 + classReader.readInt(offset + 2);
+                }
+            }
+        }
+        return new InliningReport(entries);
+    }
+
+    /**
+     * Skips the attributes of a field or a method.
+     *
+     * @param classReader The class reader that reads the class file.
+     * @param offset      The offset of the attribute count.
+     * @return The offset after the last attribute.
+     */
+    private static int skipAttributes(ClassReader classReader, int offset) {
+        int attributeCount = classReader.readUnsignedShort(offset);
+        offset += 2;
+        for (int attribute = 0; attribute < attributeCount; attribute++) {
+            offset += 6 + classReader.readInt(offset + 2);
+        }
+        return offset;
+    }
+
+    /**
+     * Returns all entries of this report, one for each non-abstract and non-native method.
+     *
+     * @return All entries of this report.
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns all entries of methods that exceed the {@link InliningReport#MAX_INLINE_SIZE}.
+     *
+     * @return All entries of methods that exceed the {@link InliningReport#MAX_INLINE_SIZE}.
+     */
+    public List<Entry> exceedingMaxInlineSize() {
+        return exceeding(MAX_INLINE_SIZE);
+    }
+
+    /**
+     * Returns all entries of methods that exceed the {@link InliningReport#FREQUENT_INLINE_SIZE}.
+     *
+     * @return All entries of methods that exceed the {@link InliningReport#FREQUENT_INLINE_SIZE}.
+     */
+    public List<Entry> exceedingFrequentInlineSize() {
+        return exceeding(FREQUENT_INLINE_SIZE);
+    }
+
+    /**
+     * Returns all entries of methods with a byte code size that exceeds the given threshold.
+     *
+     * @param threshold The maximum byte code size.
+     * @return All entries of methods with a byte code size that exceeds the given threshold.
+     */
+    public List<Entry> exceeding(int threshold) {
+        List<Entry> exceeding = new ArrayList<Entry>();
+        for (Entry entry : entries) {
+            if (entry.getSize() > threshold) {
+                exceeding.add(entry);
+            }
+        }
+        return exceeding;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && entries.equals(((InliningReport) other).entries);
+    }
+
+    @Override
+    public int hashCode() {
+        return entries.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "InliningReport{entries=" + entries + '}';
+    }
+
+    /**
+     * An entry of an inlining report that represents a single method.
+     */
+    public static class Entry {
+
+        /**
+         * The type that declares the represented method.
+         */
+        private final TypeDescription typeDescription;
+
+        /**
+         * The internal name of the represented method.
+         */
+        private final String internalName;
+
+        /**
+         * The descriptor of the represented method.
+         */
+        private final String descriptor;
+
+        /**
+         * The byte code size of the represented method.
+         */
+        private final int size;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param typeDescription The type that declares the represented method.
+         * @param internalName    The internal name of the represented method.
+         * @param descriptor      The descriptor of the represented method.
+         * @param size            The byte code size of the represented method.
+         */
+        protected Entry(TypeDescription typeDescription, String internalName, String descriptor, int size) {
+            this.typeDescription = typeDescription;
+            this.internalName = internalName;
+            this.descriptor = descriptor;
+            this.size = size;
+        }
+
+        /**
+         * Returns the type that declares the represented method.
+         *
+         * @return The type that declares the represented method.
+         */
+        public TypeDescription getTypeDescription() {
+            return typeDescription;
+        }
+
+        /**
+         * Returns the internal name of the represented method.
+         *
+         * @return The internal name of the represented method.
+         */
+        public String getInternalName() {
+            return internalName;
+        }
+
+        /**
+         * Returns the descriptor of the represented method.
+         *
+         * @return The descriptor of the represented method.
+         */
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * Returns the byte code size of the represented method.
+         *
+         * @return The byte code size of the represented method.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Entry entry = (Entry) other;
+            return size == entry.size
+                    && typeDescription.equals(entry.typeDescription)
+                    && internalName.equals(entry.internalName)
+                    && descriptor.equals(entry.descriptor);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = typeDescription.hashCode();
+            result = 31 * result + internalName.hashCode();
+            result = 31 * result + descriptor.hashCode();
+            result = 31 * result + size;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "InliningReport.Entry{" +
+                    "typeDescription=" + typeDescription +
+                    ", internalName='" + internalName + '\'' +
+                    ", descriptor='" + descriptor + '\'' +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+}
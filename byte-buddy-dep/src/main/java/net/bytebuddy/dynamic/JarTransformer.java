@@ -0,0 +1,517 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.PersistentList;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * A jar transformer applies {@link net.bytebuddy.agent.builder.AgentBuilder}-like rules to all types of a
+ * <i>jar</i> file and writes the result to a target <i>jar</i> file. Other than
+ * {@link net.bytebuddy.dynamic.DynamicType#inject(java.io.File, java.io.File)}, the source file is only read once and
+ * the target file is only written once, independently of the number of transformed types.
+ * </p>
+ * <p>
+ * Every class file of the source <i>jar</i> is described by a {@link net.bytebuddy.pool.TypePool} without loading
+ * it. If a rule matches a type, the type is rebased and the rule's transformer is applied. All types are described and
+ * transformed by tasks that are submitted to an {@link java.util.concurrent.Executor} while the target file is written
+ * in the original order of the source file's entries. Any entry that is not transformed is copied as it is,
+ * auxiliary types of a transformed type are written directly after their instrumented type. This includes class
+ * files that cannot be parsed, for example a {@code module-info.class} file or a class file of a version that is
+ * not yet supported.
+ * </p>
+ * <p>
+ * When defining several rules, the jar transformer always applies the transformer that was supplied with the last
+ * applicable matcher. Therefore, more general transformers should be defined first.
+ * </p>
+ */
+public class JarTransformer {
+
+    /**
+     * The file extension for Java class files.
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * The size of a reading buffer.
+     */
+    private static final int BUFFER_SIZE = 1024;
+
+    /**
+     * A convenience index for the beginning of an array to improve the readability of the code.
+     */
+    private static final int FROM_BEGINNING = 0;
+
+    /**
+     * A convenience variable representing the end of a stream to improve the readability of the code.
+     */
+    private static final int END_OF_FILE = -1;
+
+    /**
+     * The Byte Buddy instance to use for rebasing types.
+     */
+    private final ByteBuddy byteBuddy;
+
+    /**
+     * A class file locator for types that are referenced by but not contained in a transformed <i>jar</i> file.
+     */
+    private final ClassFileLocator classFileLocator;
+
+    /**
+     * The rules of this jar transformer where the rule that was registered last is contained first.
+     */
+    private final List<Rule> rules;
+
+    /**
+     * Creates a new jar transformer that uses a default {@link net.bytebuddy.ByteBuddy} instance.
+     */
+    public JarTransformer() {
+        this(new ByteBuddy());
+    }
+
+    /**
+     * Creates a new jar transformer that resolves types that are not contained in a transformed <i>jar</i> file
+     * from the system class path.
+     *
+     * @param byteBuddy The Byte Buddy instance to use for rebasing types.
+     */
+    public JarTransformer(ByteBuddy byteBuddy) {
+        this(nonNull(byteBuddy), ClassFileLocator.ForClassLoader.ofClassPath(), Collections.<Rule>emptyList());
+    }
+
+    /**
+     * Creates a new jar transformer.
+     *
+     * @param byteBuddy        The Byte Buddy instance to use for rebasing types.
+     * @param classFileLocator A class file locator for types that are referenced by but not contained in a
+     *                         transformed <i>jar</i> file.
+     * @param rules            The rules of this jar transformer where the rule that was registered last is
+     *                         contained first.
+     */
+    protected JarTransformer(ByteBuddy byteBuddy, ClassFileLocator classFileLocator, List<Rule> rules) {
+        this.byteBuddy = byteBuddy;
+        this.classFileLocator = classFileLocator;
+        this.rules = rules;
+    }
+
+    /**
+     * Defines a class file locator for locating types that are referenced by but not contained in a transformed
+     * <i>jar</i> file, for example super types that are defined in another <i>jar</i> file.
+     *
+     * @param classFileLocator The class file locator to use.
+     * @return A new jar transformer that uses the given class file locator.
+     */
+    public JarTransformer withClassFileLocator(ClassFileLocator classFileLocator) {
+        return new JarTransformer(byteBuddy, nonNull(classFileLocator), rules);
+    }
+
+    /**
+     * Registers a rule for rebasing any type that is matched by the given matcher.
+     *
+     * @param matcher     The matcher that identifies the types to transform.
+     * @param transformer The transformer to apply onto any matched type.
+     * @return A new jar transformer that applies the given rule.
+     */
+    public JarTransformer rebase(ElementMatcher<? super TypeDescription> matcher, Transformer transformer) {
+        return new JarTransformer(byteBuddy, classFileLocator, PersistentList.prepend(new Rule(nonNull(matcher), nonNull(transformer)), rules));
+    }
+
+    /**
+     * Transforms the source <i>jar</i> file and writes the result to the target file. All types are transformed
+     * by the thread that writes the target file.
+     *
+     * @param sourceJar The <i>jar</i> file to transform.
+     * @param targetJar The file to which the transformed <i>jar</i> file is written.
+     * @return The target file.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public File transform(File sourceJar, File targetJar) throws IOException {
+        return transform(sourceJar, targetJar, WritingThread.INSTANCE);
+    }
+
+    /**
+     * Transforms the source <i>jar</i> file and writes the result to the target file. Any type is described and
+     * transformed by a task that is submitted to the given executor. If the executor did not yet start a task when
+     * its result is required for writing the target file, the task is executed by the writing thread.
+     *
+     * @param sourceJar The <i>jar</i> file to transform.
+     * @param targetJar The file to which the transformed <i>jar</i> file is written.
+     * @param executor  The executor to which transformation tasks are submitted.
+     * @return The target file.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public File transform(File sourceJar, File targetJar, Executor executor) throws IOException {
+        JarFile jarFile = new JarFile(sourceJar, false);
+        try {
+            ClassFileLocator classFileLocator = new ClassFileLocator.Compound(new ClassFileLocator.ForJarFile(jarFile), this.classFileLocator);
+            TypePool typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(), classFileLocator);
+            List<JarEntry> jarEntries = Collections.list(jarFile.entries());
+            Map<String, FutureTask<Map<String, byte[]>>> transformations = new HashMap<String, FutureTask<Map<String, byte[]>>>();
+            for (JarEntry jarEntry : jarEntries) {
+                String name = jarEntry.getName();
+                if (!jarEntry.isDirectory() && name.endsWith(CLASS_FILE_EXTENSION)) {
+                    FutureTask<Map<String, byte[]>> transformation = new FutureTask<Map<String, byte[]>>(new Transformation(typePool,
+                            classFileLocator,
+                            name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.')));
+                    transformations.put(name, transformation);
+                    executor.execute(transformation);
+                }
+            }
+            JarOutputStream jarOutputStream = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(targetJar)));
+            try {
+                Set<String> written = new HashSet<String>();
+                for (JarEntry jarEntry : jarEntries) {
+                    if (!written.add(jarEntry.getName())) {
+                        continue;
+                    }
+                    FutureTask<Map<String, byte[]>> transformation = transformations.get(jarEntry.getName());
+                    Map<String, byte[]> replacements = transformation == null
+                            ? Collections.<String, byte[]>emptyMap()
+                            : resolve(jarEntry.getName(), transformation);
+                    if (replacements.isEmpty()) {
+                        copy(jarFile, jarEntry, jarOutputStream);
+                    } else {
+                        for (Map.Entry<String, byte[]> replacement : replacements.entrySet()) {
+                            if (replacement.getKey().equals(jarEntry.getName()) || written.add(replacement.getKey())) {
+                                JarEntry replacementEntry = new JarEntry(replacement.getKey());
+                                replacementEntry.setTime(jarEntry.getTime());
+                                jarOutputStream.putNextEntry(replacementEntry);
+                                jarOutputStream.write(replacement.getValue());
+                                jarOutputStream.closeEntry();
+                            }
+                        }
+                    }
+                }
+            } finally {
+                jarOutputStream.close();
+            }
+        } finally {
+            jarFile.close();
+        }
+        return targetJar;
+    }
+
+    /**
+     * Resolves the result of a transformation. If the transformation was not yet started, it is executed by the
+     * current thread.
+     *
+     * @param name           The name of the transformed entry.
+     * @param transformation The transformation to resolve.
+     * @return The binary representations of the transformed type and its auxiliary types by their entry names or an
+     * empty map if the type was not transformed.
+     * @throws IOException If the transformation caused an I/O exception.
+     */
+    private static Map<String, byte[]> resolve(String name, FutureTask<Map<String, byte[]>> transformation) throws IOException {
+        transformation.run();
+        try {
+            return transformation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while transforming " + name, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Cannot transform " + name, e.getCause());
+        }
+    }
+
+    /**
+     * Copies an entry of the source file to the target file without altering its content or its compression method.
+     *
+     * @param jarFile         The source file.
+     * @param jarEntry        The entry to copy.
+     * @param jarOutputStream The output stream of the target file.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private static void copy(JarFile jarFile, JarEntry jarEntry, JarOutputStream jarOutputStream) throws IOException {
+        JarEntry copiedEntry = new JarEntry(jarEntry.getName());
+        copiedEntry.setTime(jarEntry.getTime());
+        copiedEntry.setExtra(jarEntry.getExtra());
+        copiedEntry.setComment(jarEntry.getComment());
+        if (jarEntry.getMethod() == ZipEntry.STORED) {
+            copiedEntry.setMethod(ZipEntry.STORED);
+            copiedEntry.setSize(jarEntry.getSize());
+            copiedEntry.setCompressedSize(jarEntry.getSize());
+            copiedEntry.setCrc(jarEntry.getCrc());
+        }
+        jarOutputStream.putNextEntry(copiedEntry);
+        InputStream inputStream = jarFile.getInputStream(jarEntry);
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int index;
+            while ((index = inputStream.read(buffer)) != END_OF_FILE) {
+                jarOutputStream.write(buffer, FROM_BEGINNING, index);
+            }
+        } finally {
+            inputStream.close();
+        }
+        jarOutputStream.closeEntry();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        JarTransformer that = (JarTransformer) other;
+        return byteBuddy.equals(that.byteBuddy)
+                && classFileLocator.equals(that.classFileLocator)
+                && rules.equals(that.rules);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = byteBuddy.hashCode();
+        result = 31 * result + classFileLocator.hashCode();
+        result = 31 * result + rules.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "JarTransformer{" +
+                "byteBuddy=" + byteBuddy +
+                ", classFileLocator=" + classFileLocator +
+                ", rules=" + rules +
+                '}';
+    }
+
+    /**
+     * A transformer is applied onto any type of a <i>jar</i> file that is matched by the transformer's rule.
+     */
+    public interface Transformer {
+
+        /**
+         * Allows for a transformation of a {@link net.bytebuddy.dynamic.DynamicType.Builder}.
+         *
+         * @param builder         The dynamic builder to transform.
+         * @param typeDescription The description of the type currently being transformed.
+         * @return A transformed version of the supplied {@code builder}.
+         */
+        DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription);
+
+        /**
+         * A no-op implementation of a {@link net.bytebuddy.dynamic.JarTransformer.Transformer} that does
+         * not modify the supplied dynamic type.
+         */
+        enum NoOp implements Transformer {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription) {
+                return builder;
+            }
+
+            @Override
+            public String toString() {
+                return "JarTransformer.Transformer.NoOp." + name();
+            }
+        }
+    }
+
+    /**
+     * An executor that does not execute any task such that all tasks are executed by the thread that writes the
+     * target file once their result is required.
+     */
+    protected enum WritingThread implements Executor {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        @Override
+        public void execute(Runnable command) {
+            /* do nothing */
+        }
+
+        @Override
+        public String toString() {
+            return "JarTransformer.WritingThread." + name();
+        }
+    }
+
+    /**
+     * A rule of a jar transformer as a combination of a matcher and a transformer.
+     */
+    protected static class Rule {
+
+        /**
+         * The matcher that identifies the types to transform.
+         */
+        private final ElementMatcher<? super TypeDescription> matcher;
+
+        /**
+         * The transformer to apply onto any matched type.
+         */
+        private final Transformer transformer;
+
+        /**
+         * Creates a new rule.
+         *
+         * @param matcher     The matcher that identifies the types to transform.
+         * @param transformer The transformer to apply onto any matched type.
+         */
+        protected Rule(ElementMatcher<? super TypeDescription> matcher, Transformer transformer) {
+            this.matcher = matcher;
+            this.transformer = transformer;
+        }
+
+        /**
+         * Checks if this rule matches the given type.
+         *
+         * @param typeDescription The type to match.
+         * @return {@code true} if this rule should be applied to the given type.
+         */
+        protected boolean matches(TypeDescription typeDescription) {
+            return matcher.matches(typeDescription);
+        }
+
+        /**
+         * Applies this rule's transformer.
+         *
+         * @param builder         The builder to transform.
+         * @param typeDescription The transformed type.
+         * @return The transformed builder.
+         */
+        protected DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription) {
+            return transformer.transform(builder, typeDescription);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && matcher.equals(((Rule) other).matcher)
+                    && transformer.equals(((Rule) other).transformer);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * matcher.hashCode() + transformer.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "JarTransformer.Rule{" +
+                    "matcher=" + matcher +
+                    ", transformer=" + transformer +
+                    '}';
+        }
+    }
+
+    /**
+     * A transformation of a single type of a transformed <i>jar</i> file.
+     */
+    protected class Transformation implements Callable<Map<String, byte[]>> {
+
+        /**
+         * The type pool to use for describing the transformed type.
+         */
+        private final TypePool typePool;
+
+        /**
+         * The class file locator for locating the transformed type's class file.
+         */
+        private final ClassFileLocator classFileLocator;
+
+        /**
+         * The binary name of the transformed type.
+         */
+        private final String typeName;
+
+        /**
+         * Creates a new transformation.
+         *
+         * @param typePool         The type pool to use for describing the transformed type.
+         * @param classFileLocator The class file locator for locating the transformed type's class file.
+         * @param typeName         The binary name of the transformed type.
+         */
+        protected Transformation(TypePool typePool, ClassFileLocator classFileLocator, String typeName) {
+            this.typePool = typePool;
+            this.classFileLocator = classFileLocator;
+            this.typeName = typeName;
+        }
+
+        @Override
+        public Map<String, byte[]> call() {
+            TypeDescription typeDescription;
+            try {
+                typeDescription = typePool.describe(typeName).resolve();
+            } catch (RuntimeException ignored) {
+                return Collections.emptyMap(); // The class file cannot be parsed and is therefore copied unaltered.
+            }
+            for (Rule rule : rules) {
+                if (rule.matches(typeDescription)) {
+                    DynamicType.Unloaded<?> dynamicType = rule.transform(byteBuddy.rebase(typeDescription, classFileLocator), typeDescription).make();
+                    Map<String, byte[]> binaryRepresentations = new LinkedHashMap<String, byte[]>();
+                    binaryRepresentations.put(dynamicType.getTypeDescription().getInternalName() + CLASS_FILE_EXTENSION, dynamicType.getBytes());
+                    for (Map.Entry<TypeDescription, byte[]> entry : dynamicType.getRawAuxiliaryTypes().entrySet()) {
+                        binaryRepresentations.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
+                    }
+                    return binaryRepresentations;
+                }
+            }
+            return Collections.emptyMap();
+        }
+
+        /**
+         * Returns the outer instance.
+         *
+         * @return The outer instance.
+         */
+        private JarTransformer getOuter() {
+            return JarTransformer.this;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && typePool.equals(((Transformation) other).typePool)
+                    && classFileLocator.equals(((Transformation) other).classFileLocator)
+                    && typeName.equals(((Transformation) other).typeName)
+                    && JarTransformer.this.equals(((Transformation) other).getOuter());
+        }
+
+        @Override
+        public int hashCode() {
+            int result = typePool.hashCode();
+            result = 31 * result + classFileLocator.hashCode();
+            result = 31 * result + typeName.hashCode();
+            result = 31 * result + JarTransformer.this.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "JarTransformer.Transformation{" +
+                    "jarTransformer=" + JarTransformer.this +
+                    ", typePool=" + typePool +
+                    ", classFileLocator=" + classFileLocator +
+                    ", typeName='" + typeName + '\'' +
+                    '}';
+        }
+    }
+}
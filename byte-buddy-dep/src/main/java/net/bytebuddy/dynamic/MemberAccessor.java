@@ -0,0 +1,753 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.loading.MultipleParentClassLoader;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.StackMapFrame;
+import net.bytebuddy.implementation.bytecode.Throw;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.collection.ArrayAccess;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.utility.RandomString;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+import static net.bytebuddy.matcher.ElementMatchers.isBootstrapClassLoader;
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * A member accessor invokes methods and reads or writes fields of a given type without using the Java reflection API.
+ * A member accessor is created by a {@link MemberAccessor.Factory} for a given list of methods and fields where a
+ * member is later identified by its index within this list. Any member accessor is a generated class that dispatches
+ * an access by a {@code tableswitch} instruction to byte code that accesses the member directly. Primitive field values
+ * can be read and written by specialized methods that do not box these values.
+ * </p>
+ * <p>
+ * Unlike {@link Method#invoke(Object, Object...)}, a member accessor does not wrap exceptions that are thrown by an
+ * invoked method. Any argument or value of an incompatible type results in a {@link ClassCastException} or in a
+ * {@link NullPointerException} when a {@code null} value is unboxed. An index that does not represent a member which
+ * is applicable for an access results in an {@link IllegalArgumentException}.
+ * </p>
+ */
+public abstract class MemberAccessor {
+
+    /**
+     * Invokes a method.
+     *
+     * @param target    The instance on which the method is invoked or {@code null} if the method is static.
+     * @param index     The index of the invoked method.
+     * @param arguments The arguments of the invocation.
+     * @return The method's return value where primitive values are boxed or {@code null} if the method is {@code void}.
+     */
+    public abstract Object invoke(Object target, int index, Object[] arguments);
+
+    /**
+     * Reads a field value where a primitive value is boxed.
+     *
+     * @param target The instance of which the field is read or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @return The field's value.
+     */
+    public abstract Object get(Object target, int index);
+
+    /**
+     * Reads the value of a {@code boolean} field.
+     *
+     * @param target The instance of which the field is read or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @return The field's value.
+     */
+    public abstract boolean getBoolean(Object target, int index);
+
+    /**
+     * Reads the value of a {@code byte} field.
+     *
+     * @param target The instance of which the field is read or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @return The field's value.
+     */
+    public abstract byte getByte(Object target, int index);
+
+    /**
+     * Reads the value of a {@code short} field.
+     *
+     * @param target The instance of which the field is read or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @return The field's value.
+     */
+    public abstract short getShort(Object target, int index);
+
+    /**
+     * Reads the value of a {@code char} field.
+     *
+     * @param target The instance of which the field is read or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @return The field's value.
+     */
+    public abstract char getChar(Object target, int index);
+
+    /**
+     * Reads the value of an {@code int} field.
+     *
+     * @param target The instance of which the field is read or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @return The field's value.
+     */
+    public abstract int getInt(Object target, int index);
+
+    /**
+     * Reads the value of a {@code long} field.
+     *
+     * @param target The instance of which the field is read or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @return The field's value.
+     */
+    public abstract long getLong(Object target, int index);
+
+    /**
+     * Reads the value of a {@code float} field.
+     *
+     * @param target The instance of which the field is read or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @return The field's value.
+     */
+    public abstract float getFloat(Object target, int index);
+
+    /**
+     * Reads the value of a {@code double} field.
+     *
+     * @param target The instance of which the field is read or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @return The field's value.
+     */
+    public abstract double getDouble(Object target, int index);
+
+    /**
+     * Writes a field value where a value of a primitive field is unboxed.
+     *
+     * @param target The instance of which the field is written or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @param value  The value to write.
+     */
+    public abstract void set(Object target, int index, Object value);
+
+    /**
+     * Writes the value of a {@code boolean} field.
+     *
+     * @param target The instance of which the field is written or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @param value  The value to write.
+     */
+    public abstract void setBoolean(Object target, int index, boolean value);
+
+    /**
+     * Writes the value of a {@code byte} field.
+     *
+     * @param target The instance of which the field is written or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @param value  The value to write.
+     */
+    public abstract void setByte(Object target, int index, byte value);
+
+    /**
+     * Writes the value of a {@code short} field.
+     *
+     * @param target The instance of which the field is written or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @param value  The value to write.
+     */
+    public abstract void setShort(Object target, int index, short value);
+
+    /**
+     * Writes the value of a {@code char} field.
+     *
+     * @param target The instance of which the field is written or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @param value  The value to write.
+     */
+    public abstract void setChar(Object target, int index, char value);
+
+    /**
+     * Writes the value of an {@code int} field.
+     *
+     * @param target The instance of which the field is written or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @param value  The value to write.
+     */
+    public abstract void setInt(Object target, int index, int value);
+
+    /**
+     * Writes the value of a {@code long} field.
+     *
+     * @param target The instance of which the field is written or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @param value  The value to write.
+     */
+    public abstract void setLong(Object target, int index, long value);
+
+    /**
+     * Writes the value of a {@code float} field.
+     *
+     * @param target The instance of which the field is written or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @param value  The value to write.
+     */
+    public abstract void setFloat(Object target, int index, float value);
+
+    /**
+     * Writes the value of a {@code double} field.
+     *
+     * @param target The instance of which the field is written or {@code null} if the field is static.
+     * @param index  The index of the field.
+     * @param value  The value to write.
+     */
+    public abstract void setDouble(Object target, int index, double value);
+
+    /**
+     * <p>
+     * A factory for member accessors. A factory caches any created member accessor per class loader of the accessed
+     * type such that an accessor is only generated once for any combination of a type and its accessed members. Cached
+     * accessors are referenced softly and do not prevent the unloading of a class loader.
+     * </p>
+     * <p>
+     * If the accessed type or any accessed member is not public, the member accessor is injected into the package of the
+     * accessed type. In this case, all non-public members must be declared by a type of this package and the accessed
+     * type's class loader must be able to load the {@link MemberAccessor} type. Private members cannot be accessed.
+     * </p>
+     */
+    public static class Factory {
+
+        /**
+         * The primitive types for which specialized accessor methods are defined.
+         */
+        private static final Class<?>[] PRIMITIVE_TYPES = new Class<?>[]{boolean.class,
+                byte.class,
+                short.class,
+                char.class,
+                int.class,
+                long.class,
+                float.class,
+                double.class};
+
+        /**
+         * The infix of the name of a member accessor that is injected into the package of an accessed type.
+         */
+        private static final String ACCESSOR_INFIX = "$ByteBuddy$MemberAccessor$";
+
+        /**
+         * The Byte Buddy configuration that is used for creating member accessors.
+         */
+        private final ByteBuddy byteBuddy;
+
+        /**
+         * The created member accessors mapped by the class loaders of their accessed types.
+         */
+        private final Map<ClassLoader, Map<Key, SoftReference<MemberAccessor>>> accessors;
+
+        /**
+         * Creates a new factory for member accessors using a default Byte Buddy configuration.
+         */
+        public Factory() {
+            this(new ByteBuddy());
+        }
+
+        /**
+         * Creates a new factory for member accessors.
+         *
+         * @param byteBuddy The Byte Buddy configuration that is used for creating member accessors.
+         */
+        public Factory(ByteBuddy byteBuddy) {
+            this.byteBuddy = nonNull(byteBuddy);
+            accessors = new WeakHashMap<ClassLoader, Map<Key, SoftReference<MemberAccessor>>>();
+        }
+
+        /**
+         * Returns a member accessor for the given methods and fields where a member is identified by its index within
+         * the given lists.
+         *
+         * @param type    The type of the accessed instances.
+         * @param methods The methods that are invoked by the returned accessor.
+         * @param fields  The fields that are read or written by the returned accessor.
+         * @return A member accessor for the given methods and fields.
+         */
+        public MemberAccessor make(Class<?> type, List<? extends Method> methods, List<? extends Field> fields) {
+            List<Method> accessedMethods = new ArrayList<Method>(nonNull(methods));
+            List<Field> accessedFields = new ArrayList<Field>(nonNull(fields));
+            Key key = Key.of(nonNull(type), accessedMethods, accessedFields);
+            synchronized (accessors) {
+                MemberAccessor memberAccessor = locate(type.getClassLoader(), key);
+                if (memberAccessor != null) {
+                    return memberAccessor;
+                }
+            }
+            MemberAccessor memberAccessor = generate(type, accessedMethods, accessedFields);
+            synchronized (accessors) {
+                MemberAccessor previous = locate(type.getClassLoader(), key);
+                if (previous != null) {
+                    return previous;
+                }
+                accessors.get(type.getClassLoader()).put(key, new SoftReference<MemberAccessor>(memberAccessor));
+                return memberAccessor;
+            }
+        }
+
+        /**
+         * Locates a previously created member accessor. This method must only be called while holding the monitor of
+         * the created accessors. If no accessors were yet registered for the given class loader, an empty registry
+         * is created for it.
+         *
+         * @param classLoader The class loader of the accessed type.
+         * @param key         The key of the member accessor.
+         * @return The previously created member accessor or {@code null} if no such accessor is available.
+         */
+        private MemberAccessor locate(ClassLoader classLoader, Key key) {
+            Map<Key, SoftReference<MemberAccessor>> accessors = this.accessors.get(classLoader);
+            if (accessors == null) {
+                accessors = new HashMap<Key, SoftReference<MemberAccessor>>();
+                this.accessors.put(classLoader, accessors);
+            }
+            SoftReference<MemberAccessor> reference = accessors.get(key);
+            return reference == null
+                    ? null
+                    : reference.get();
+        }
+
+        /**
+         * Creates a new member accessor.
+         *
+         * @param type    The type of the accessed instances.
+         * @param methods The methods that are invoked by the created accessor.
+         * @param fields  The fields that are read or written by the created accessor.
+         * @return A new member accessor for the given type and members.
+         */
+        private MemberAccessor generate(Class<?> type, List<Method> methods, List<Field> fields) {
+            boolean injection = !Modifier.isPublic(type.getModifiers());
+            List<Member> members = new ArrayList<Member>(methods.size() + fields.size());
+            members.addAll(methods);
+            members.addAll(fields);
+            for (Member member : members) {
+                if (!member.getDeclaringClass().isAssignableFrom(type)) {
+                    throw new IllegalArgumentException(member + " is not a member of " + type);
+                } else if (Modifier.isPrivate(member.getModifiers())) {
+                    throw new IllegalArgumentException("Cannot access private member " + member);
+                } else if (!Modifier.isPublic(member.getModifiers()) || !Modifier.isPublic(member.getDeclaringClass().getModifiers())) {
+                    if (member.getDeclaringClass().getClassLoader() != type.getClassLoader()
+                            || !packageName(member.getDeclaringClass()).equals(packageName(type))) {
+                        throw new IllegalArgumentException("Cannot access " + member + " from the package of " + type);
+                    }
+                    injection = true;
+                }
+            }
+            if (injection && type.getClassLoader() == null) {
+                throw new IllegalArgumentException("Cannot inject a member accessor for " + type + " into the bootstrap class loader");
+            }
+            TypeDescription typeDescription = new TypeDescription.ForLoadedType(type);
+            List<StackManipulation> invocations = new ArrayList<StackManipulation>(methods.size());
+            for (Method method : methods) {
+                invocations.add(invocation(typeDescription, new MethodDescription.ForLoadedMethod(method)));
+            }
+            DynamicType.Builder<MemberAccessor> builder = byteBuddy.subclass(MemberAccessor.class, ConstructorStrategy.Default.IMITATE_SUPER_TYPE_PUBLIC)
+                    .method(named("invoke")).intercept(new TableSwitch(invocations))
+                    .method(named("get")).intercept(new TableSwitch(reading(typeDescription, fields, TypeDescription.OBJECT)))
+                    .method(named("set")).intercept(new TableSwitch(writing(typeDescription, fields, TypeDescription.OBJECT)));
+            for (Class<?> primitiveType : PRIMITIVE_TYPES) {
+                String suffix = Character.toUpperCase(primitiveType.getName().charAt(0)) + primitiveType.getName().substring(1);
+                TypeDescription valueType = new TypeDescription.ForLoadedType(primitiveType);
+                builder = builder
+                        .method(named("get" + suffix).and(takesArguments(2))).intercept(new TableSwitch(reading(typeDescription, fields, valueType)))
+                        .method(named("set" + suffix).and(takesArguments(3))).intercept(new TableSwitch(writing(typeDescription, fields, valueType)));
+            }
+            Class<? extends MemberAccessor> accessorType;
+            if (injection) {
+                accessorType = builder.name(type.getName() + ACCESSOR_INFIX + RandomString.make())
+                        .make()
+                        .load(type.getClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                        .getLoaded();
+            } else {
+                accessorType = builder.make()
+                        .load(new MultipleParentClassLoader.Builder()
+                                .append(type, MemberAccessor.class)
+                                .filter(isBootstrapClassLoader())
+                                .build(), ClassLoadingStrategy.Default.WRAPPER)
+                        .getLoaded();
+            }
+            try {
+                return accessorType.getDeclaredConstructor().newInstance();
+            } catch (NoSuchMethodException exception) {
+                throw new IllegalStateException("Cannot locate constructor of " + accessorType, exception);
+            } catch (InstantiationException exception) {
+                throw new IllegalStateException("Cannot instantiate " + accessorType, exception);
+            } catch (IllegalAccessException exception) {
+                throw new IllegalStateException("Cannot access constructor of " + accessorType, exception);
+            } catch (InvocationTargetException exception) {
+                throw new IllegalStateException("Cannot invoke constructor of " + accessorType, exception.getCause());
+            }
+        }
+
+        /**
+         * Returns the name of a type's package.
+         *
+         * @param type The type of which to resolve the package name.
+         * @return The name of the type's package.
+         */
+        private static String packageName(Class<?> type) {
+            int index = type.getName().lastIndexOf('.');
+            return index == -1
+                    ? ""
+                    : type.getName().substring(0, index);
+        }
+
+        /**
+         * Creates the byte code for invoking a method.
+         *
+         * @param typeDescription   The accessed type.
+         * @param methodDescription The invoked method.
+         * @return A stack manipulation that invokes the method and returns its boxed return value.
+         */
+        private static StackManipulation invocation(TypeDescription typeDescription, MethodDescription methodDescription) {
+            List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>();
+            if (!methodDescription.isStatic()) {
+                stackManipulations.add(MethodVariableAccess.REFERENCE.loadOffset(1));
+                stackManipulations.add(TypeCasting.to(typeDescription));
+            }
+            int index = 0;
+            for (TypeDescription parameterType : methodDescription.getParameters().asTypeList()) {
+                stackManipulations.add(MethodVariableAccess.REFERENCE.loadOffset(3));
+                stackManipulations.add(IntegerConstant.forValue(index++));
+                stackManipulations.add(ArrayAccess.REFERENCE.load());
+                stackManipulations.add(Assigner.DEFAULT.assign(TypeDescription.OBJECT, parameterType, Assigner.DYNAMICALLY_TYPED));
+            }
+            stackManipulations.add(methodDescription.isStatic()
+                    ? MethodInvocation.invoke(methodDescription)
+                    : MethodInvocation.invoke(methodDescription).virtual(typeDescription));
+            stackManipulations.add(Assigner.DEFAULT.assign(methodDescription.getReturnType(), TypeDescription.OBJECT, Assigner.DYNAMICALLY_TYPED));
+            stackManipulations.add(MethodReturn.REFERENCE);
+            return new StackManipulation.Compound(stackManipulations.toArray(new StackManipulation[stackManipulations.size()]));
+        }
+
+        /**
+         * Creates the byte code for reading fields.
+         *
+         * @param typeDescription The accessed type.
+         * @param fields          The accessed fields.
+         * @param valueType       The type of the returned value.
+         * @return A list of stack manipulations that read a field and return its value or an illegal stack manipulation
+         * if a field's value is not returned as the given value type.
+         */
+        private static List<StackManipulation> reading(TypeDescription typeDescription, List<Field> fields, TypeDescription valueType) {
+            List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(fields.size());
+            for (Field field : fields) {
+                FieldDescription fieldDescription = new FieldDescription.ForLoadedField(field);
+                stackManipulations.add(valueType.represents(Object.class) || fieldDescription.getFieldType().equals(valueType)
+                        ? new StackManipulation.Compound(fieldDescription.isStatic() ? StackManipulation.LegalTrivial.INSTANCE : MethodVariableAccess.REFERENCE.loadOffset(1),
+                        fieldDescription.isStatic() ? StackManipulation.LegalTrivial.INSTANCE : TypeCasting.to(typeDescription),
+                        FieldAccess.forField(fieldDescription).getter(),
+                        Assigner.DEFAULT.assign(fieldDescription.getFieldType(), valueType, Assigner.DYNAMICALLY_TYPED),
+                        MethodReturn.returning(valueType))
+                        : StackManipulation.Illegal.INSTANCE);
+            }
+            return stackManipulations;
+        }
+
+        /**
+         * Creates the byte code for writing fields.
+         *
+         * @param typeDescription The accessed type.
+         * @param fields          The accessed fields.
+         * @param valueType       The type of the written value.
+         * @return A list of stack manipulations that write a field's value or an illegal stack manipulation if a field
+         * is {@code final} or if a value of the given value type is not written to the field.
+         */
+        private static List<StackManipulation> writing(TypeDescription typeDescription, List<Field> fields, TypeDescription valueType) {
+            List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(fields.size());
+            for (Field field : fields) {
+                FieldDescription fieldDescription = new FieldDescription.ForLoadedField(field);
+                stackManipulations.add(!fieldDescription.isFinal() && (valueType.represents(Object.class) || fieldDescription.getFieldType().equals(valueType))
+                        ? new StackManipulation.Compound(fieldDescription.isStatic() ? StackManipulation.LegalTrivial.INSTANCE : MethodVariableAccess.REFERENCE.loadOffset(1),
+                        fieldDescription.isStatic() ? StackManipulation.LegalTrivial.INSTANCE : TypeCasting.to(typeDescription),
+                        MethodVariableAccess.forType(valueType).loadOffset(3),
+                        Assigner.DEFAULT.assign(valueType, fieldDescription.getFieldType(), Assigner.DYNAMICALLY_TYPED),
+                        FieldAccess.forField(fieldDescription).putter(),
+                        MethodReturn.VOID)
+                        : StackManipulation.Illegal.INSTANCE);
+            }
+            return stackManipulations;
+        }
+
+        @Override
+        public String toString() {
+            return "MemberAccessor.Factory{" +
+                    "byteBuddy=" + byteBuddy +
+                    ", accessors=" + accessors +
+                    '}';
+        }
+
+        /**
+         * A key that identifies a member accessor by its accessed type and members. A key does not strongly reference
+         * the accessed type or any of its members such that a cached key does not prevent the unloading of the class
+         * loader it is mapped by. The accessed type is referenced weakly and is compared by its identity while
+         * members are represented by their declaring type's name and their signature. As keys are mapped by the
+         * accessed type's class loader, these names uniquely identify a member.
+         */
+        protected static class Key {
+
+            /**
+             * A weak reference to the type of the accessed instances.
+             */
+            private final WeakReference<Class<?>> type;
+
+            /**
+             * The identity hash code of the type of the accessed instances.
+             */
+            private final int typeHashCode;
+
+            /**
+             * The signatures of the invoked methods.
+             */
+            private final List<String> methods;
+
+            /**
+             * The signatures of the accessed fields.
+             */
+            private final List<String> fields;
+
+            /**
+             * Creates a new key.
+             *
+             * @param type    The type of the accessed instances.
+             * @param methods The signatures of the invoked methods.
+             * @param fields  The signatures of the accessed fields.
+             */
+            protected Key(Class<?> type, List<String> methods, List<String> fields) {
+                this.type = new WeakReference<Class<?>>(type);
+                typeHashCode = System.identityHashCode(type);
+                this.methods = methods;
+                this.fields = fields;
+            }
+
+            /**
+             * Creates a key for the given type and members.
+             *
+             * @param type    The type of the accessed instances.
+             * @param methods The invoked methods.
+             * @param fields  The accessed fields.
+             * @return A key for the given type and members.
+             */
+            protected static Key of(Class<?> type, List<Method> methods, List<Field> fields) {
+                List<String> methodSignatures = new ArrayList<String>(methods.size());
+                for (Method method : methods) {
+                    methodSignatures.add(method.getDeclaringClass().getName() + "." + method.getName() + Type.getMethodDescriptor(method));
+                }
+                List<String> fieldSignatures = new ArrayList<String>(fields.size());
+                for (Field field : fields) {
+                    fieldSignatures.add(field.getDeclaringClass().getName() + "." + field.getName());
+                }
+                return new Key(type, methodSignatures, fieldSignatures);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Key key = (Key) other;
+                Class<?> type = this.type.get();
+                return type != null
+                        && type == key.type.get()
+                        && methods.equals(key.methods)
+                        && fields.equals(key.fields);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = typeHashCode;
+                result = 31 * result + methods.hashCode();
+                result = 31 * result + fields.hashCode();
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "MemberAccessor.Factory.Key{" +
+                        "type=" + type.get() +
+                        ", methods=" + methods +
+                        ", fields=" + fields +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * An implementation that dispatches a member index, which is provided as the second argument of the implemented
+     * method, to a stack manipulation by a {@code tableswitch} instruction. Any stack manipulation must return from
+     * the implemented method. An index that is not represented by a valid stack manipulation results in an
+     * {@link IllegalArgumentException}.
+     */
+    protected static class TableSwitch implements Implementation {
+
+        /**
+         * The stack manipulations that represent the member indices.
+         */
+        private final List<StackManipulation> stackManipulations;
+
+        /**
+         * Creates a new table switch implementation.
+         *
+         * @param stackManipulations The stack manipulations that represent the member indices.
+         */
+        protected TableSwitch(List<StackManipulation> stackManipulations) {
+            this.stackManipulations = stackManipulations;
+        }
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target implementationTarget) {
+            return new Appender(implementationTarget.getTypeDescription(), stackManipulations);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && stackManipulations.equals(((TableSwitch) other).stackManipulations);
+        }
+
+        @Override
+        public int hashCode() {
+            return stackManipulations.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "MemberAccessor.TableSwitch{stackManipulations=" + stackManipulations + '}';
+        }
+
+        /**
+         * A byte code appender for a table switch.
+         */
+        protected static class Appender implements ByteCodeAppender {
+
+            /**
+             * The offset of the local variable that stores the member index.
+             */
+            private static final int INDEX_OFFSET = 2;
+
+            /**
+             * The instrumented type.
+             */
+            private final TypeDescription instrumentedType;
+
+            /**
+             * The stack manipulations that represent the member indices.
+             */
+            private final List<StackManipulation> stackManipulations;
+
+            /**
+             * Creates a new appender for a table switch.
+             *
+             * @param instrumentedType   The instrumented type.
+             * @param stackManipulations The stack manipulations that represent the member indices.
+             */
+            protected Appender(TypeDescription instrumentedType, List<StackManipulation> stackManipulations) {
+                this.instrumentedType = instrumentedType;
+                this.stackManipulations = stackManipulations;
+            }
+
+            @Override
+            public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                StackMapFrame frame = StackMapFrame.of(implementationContext, instrumentedType, instrumentedMethod);
+                Label illegalIndex = new Label();
+                Label[] labels = new Label[stackManipulations.size()];
+                boolean dispatching = false;
+                for (int current = 0; current < labels.length; current++) {
+                    if (stackManipulations.get(current).isValid()) {
+                        labels[current] = new Label();
+                        dispatching = true;
+                    } else {
+                        labels[current] = illegalIndex;
+                    }
+                }
+                int maximumStackSize = 0;
+                if (dispatching) {
+                    methodVisitor.visitVarInsn(Opcodes.ILOAD, INDEX_OFFSET);
+                    methodVisitor.visitTableSwitchInsn(0, labels.length - 1, illegalIndex, labels);
+                    maximumStackSize = 1;
+                    for (int current = 0; current < labels.length; current++) {
+                        if (labels[current] != illegalIndex) {
+                            frame.visit(methodVisitor, labels[current]);
+                            maximumStackSize = Math.max(maximumStackSize, stackManipulations.get(current)
+                                    .apply(methodVisitor, implementationContext)
+                                    .getMaximalSize());
+                        }
+                    }
+                    frame.visit(methodVisitor, illegalIndex);
+                }
+                TypeDescription exceptionType = new TypeDescription.ForLoadedType(IllegalArgumentException.class);
+                maximumStackSize = Math.max(maximumStackSize, new StackManipulation.Compound(TypeCreation.forType(exceptionType),
+                        Duplication.SINGLE,
+                        new TextConstant("Illegal member index for " + instrumentedMethod.getName()),
+                        MethodInvocation.invoke(exceptionType.getDeclaredMethods()
+                                .filter(isConstructor().and(takesArguments(String.class))).getOnly()),
+                        Throw.INSTANCE).apply(methodVisitor, implementationContext).getMaximalSize());
+                return new Size(maximumStackSize, instrumentedMethod.getStackSize());
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Appender appender = (Appender) other;
+                return instrumentedType.equals(appender.instrumentedType)
+                        && stackManipulations.equals(appender.stackManipulations);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = instrumentedType.hashCode();
+                result = 31 * result + stackManipulations.hashCode();
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "MemberAccessor.TableSwitch.Appender{" +
+                        "instrumentedType=" + instrumentedType +
+                        ", stackManipulations=" + stackManipulations +
+                        '}';
+            }
+        }
+    }
+}
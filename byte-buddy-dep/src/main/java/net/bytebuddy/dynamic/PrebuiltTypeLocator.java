@@ -0,0 +1,98 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+import static net.bytebuddy.utility.ByteBuddyCommons.isValidTypeName;
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * A locator for types that were built before, for example by a {@link net.bytebuddy.dynamic.ClassDataSharingExporter},
+ * and that are visible to a class loader. A type is located by a name that is given explicitly. Only if no type of
+ * this name is visible, the dynamic type is created from a builder that is assigned this name and is loaded by a
+ * class loading strategy. This way, a pre-built type is neither created nor defined at runtime such that it can be
+ * shared by a class data sharing archive.
+ * </p>
+ * <p>
+ * As a type is looked up by its name, the name of the type must be deterministic. For this reason, the name is
+ * always given explicitly and is applied to the builder before making it, what is equivalent to naming the type
+ * by a {@link net.bytebuddy.NamingStrategy.Fixed} strategy. The names of auxiliary types do not need to be
+ * deterministic as they are resolved by the Java virtual machine when they are referenced from a pre-built type.
+ * </p>
+ * <p>
+ * <b>Important</b>: A located type is not validated against the builder and no loaded type initializers are
+ * applied to it. Only dynamic types without any alive loaded type initializers should therefore be pre-built what
+ * is enforced by the {@link net.bytebuddy.dynamic.ClassDataSharingExporter}. Also, any pre-built type must be rebuilt
+ * when the creation of its dynamic type is changed.
+ * </p>
+ */
+public class PrebuiltTypeLocator {
+
+    /**
+     * Indicates that a type should not be initialized when it is located.
+     */
+    private static final boolean NO_INITIALIZATION = false;
+
+    /**
+     * The class loader to which pre-built types are visible and into which any other types are loaded.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The class loading strategy for loading dynamic types that are not pre-built.
+     */
+    private final ClassLoadingStrategy classLoadingStrategy;
+
+    /**
+     * Creates a new locator for pre-built types.
+     *
+     * @param classLoader          The class loader to which pre-built types are visible and into which any
+     *                             other types are loaded.
+     * @param classLoadingStrategy The class loading strategy for loading dynamic types that are not pre-built.
+     */
+    public PrebuiltTypeLocator(ClassLoader classLoader, ClassLoadingStrategy classLoadingStrategy) {
+        this.classLoader = classLoader;
+        this.classLoadingStrategy = nonNull(classLoadingStrategy);
+    }
+
+    /**
+     * Locates a pre-built type of the given name or creates and loads the type from the given builder if no such
+     * type is visible.
+     *
+     * @param name    The name of the type.
+     * @param builder The builder for creating the type if it is not pre-built. The builder is only made if no
+     *                pre-built type is found.
+     * @param <T>     The most specific known loaded type that is implemented by the located type.
+     * @return The located or created type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Class<? extends T> locate(String name, DynamicType.Builder<T> builder) {
+        try {
+            return (Class<? extends T>) Class.forName(isValidTypeName(name), NO_INITIALIZATION, classLoader);
+        } catch (ClassNotFoundException ignored) {
+            return nonNull(builder).name(name).make().load(classLoader, classLoadingStrategy).getLoaded();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        PrebuiltTypeLocator that = (PrebuiltTypeLocator) other;
+        return (classLoader == null ? that.classLoader == null : classLoader.equals(that.classLoader))
+                && classLoadingStrategy.equals(that.classLoadingStrategy);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (classLoader == null ? 0 : classLoader.hashCode()) + classLoadingStrategy.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PrebuiltTypeLocator{" +
+                "classLoader=" + classLoader +
+                ", classLoadingStrategy=" + classLoadingStrategy +
+                '}';
+    }
+}
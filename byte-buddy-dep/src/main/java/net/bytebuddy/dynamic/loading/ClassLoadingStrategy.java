@@ -1,11 +1,16 @@
 package net.bytebuddy.dynamic.loading;
 
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.utility.JavaType;
 
 import java.io.File;
 import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.security.ProtectionDomain;
-import java.util.Map;
+import java.util.*;
 
 /**
  * A strategy for loading a collection of types.
@@ -350,4 +355,759 @@ public interface ClassLoadingStrategy {
                     '}';
         }
     }
+
+    /**
+     * <p>
+     * A class loading strategy that defines a type as an anonymous class of a given host class. Such a type is defined
+     * by the host class's class loader and is granted the host class's access rights. Unlike a type that is injected
+     * into a class loader, an anonymous class is not registered under its name and can be unloaded as soon as it
+     * becomes unreachable, without requiring a dedicated class loader such as a {@link ByteArrayClassLoader}. Anonymous
+     * classes are defined by {@code java.lang.invoke.MethodHandles.Lookup#defineHiddenClass} if available and by
+     * {@code sun.misc.Unsafe#defineAnonymousClass} otherwise.
+     * </p>
+     * <p>
+     * <b>Important</b>: An anonymous class cannot be referenced by its name. Therefore, this strategy cannot load
+     * auxiliary types, which are always referenced by their name. Also, a loaded type should be named within the
+     * package of the host class.
+     * </p>
+     * <p>
+     * <b>Note</b>: A hidden class can only be defined by a lookup with full privilege access to its host class. Unless
+     * such a lookup is supplied by {@link ClassLoadingStrategy.ForAnonymousClass#of(Object)}, this strategy attempts to
+     * obtain a private lookup of the host class from Byte Buddy's own lookup. This only succeeds if the host class is
+     * defined in the same module as Byte Buddy what, for unnamed modules, requires the host class to be defined by the
+     * same class loader as Byte Buddy.
+     * </p>
+     */
+    class ForAnonymousClass implements ClassLoadingStrategy {
+
+        /**
+         * The dispatcher to use for defining anonymous classes.
+         */
+        private static final Dispatcher DISPATCHER;
+
+        /**
+         * Indicates that no lookup was supplied for the host class.
+         */
+        private static final Object NO_LOOKUP = null;
+
+        /*
+         * Locates a method for defining anonymous classes, preferring hidden classes over the internal API of the
+         * HotSpot virtual machine which is not available on newer versions of Java.
+         */
+        static {
+            Dispatcher dispatcher;
+            try {
+                Class<?> lookup = Class.forName("java.lang.invoke.MethodHandles$Lookup");
+                Class<?> methodHandles = Class.forName("java.lang.invoke.MethodHandles");
+                Object[] classOptions = (Object[]) Array.newInstance(Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption"), 0);
+                dispatcher = new Dispatcher.ForHiddenClass(methodHandles.getDeclaredMethod("lookup"),
+                        methodHandles.getDeclaredMethod("privateLookupIn", Class.class, lookup),
+                        lookup.getDeclaredMethod("defineHiddenClass", byte[].class, boolean.class, classOptions.getClass()),
+                        lookup.getDeclaredMethod("lookupClass"),
+                        classOptions);
+            } catch (Exception ignored) {
+                try {
+                    Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+                    Field theUnsafe = unsafeType.getDeclaredField("theUnsafe");
+                    theUnsafe.setAccessible(true);
+                    dispatcher = new Dispatcher.ForUnsafe(theUnsafe.get(null), unsafeType.getDeclaredMethod("defineAnonymousClass",
+                            Class.class,
+                            byte[].class,
+                            Object[].class));
+                } catch (Exception exception) {
+                    dispatcher = new Dispatcher.Faulty(exception);
+                }
+            }
+            DISPATCHER = dispatcher;
+        }
+
+        /**
+         * The host class of any anonymous class that is loaded by this strategy.
+         */
+        private final Class<?> hostClass;
+
+        /**
+         * A {@code java.lang.invoke.MethodHandles.Lookup} with full privilege access to the host class or {@code null}
+         * if no such lookup was supplied.
+         */
+        private final Object lookup;
+
+        /**
+         * Creates a new class loading strategy for anonymous classes.
+         *
+         * @param hostClass The host class of any anonymous class that is loaded by this strategy.
+         */
+        public ForAnonymousClass(Class<?> hostClass) {
+            this(hostClass, NO_LOOKUP);
+        }
+
+        /**
+         * Creates a new class loading strategy for anonymous classes.
+         *
+         * @param hostClass The host class of any anonymous class that is loaded by this strategy.
+         * @param lookup    A {@code java.lang.invoke.MethodHandles.Lookup} with full privilege access to the host class
+         *                  or {@code null} if no such lookup was supplied.
+         */
+        protected ForAnonymousClass(Class<?> hostClass, Object lookup) {
+            this.hostClass = hostClass;
+            this.lookup = lookup;
+        }
+
+        /**
+         * Creates a class loading strategy for anonymous classes of the given lookup's lookup class. The lookup must
+         * have full privilege access to its lookup class, as for example a lookup that is returned by an invocation of
+         * {@code java.lang.invoke.MethodHandles#lookup()} from within the host class. Such a lookup allows the definition
+         * of hidden classes for any host class, regardless of its module and class loader.
+         *
+         * @param lookup A {@code java.lang.invoke.MethodHandles.Lookup} with full privilege access to the host class.
+         * @return A class loading strategy for anonymous classes of the given lookup's lookup class.
+         */
+        public static ClassLoadingStrategy of(Object lookup) {
+            try {
+                Class<?> lookupType = JavaType.METHOD_HANDLES_LOOKUP.load();
+                if (!lookupType.isInstance(lookup)) {
+                    throw new IllegalArgumentException("Not a method handle lookup: " + lookup);
+                }
+                return new ForAnonymousClass((Class<?>) lookupType.getDeclaredMethod("lookupClass").invoke(lookup), lookup);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("The current VM does not support method handle lookups", e);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Cannot locate the lookup class of " + lookup, e);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access the lookup class of " + lookup, e);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("Cannot resolve the lookup class of " + lookup, e.getCause());
+            }
+        }
+
+        /**
+         * Checks if the current virtual machine is capable of defining anonymous classes. Even if the current virtual
+         * machine is capable of defining anonymous classes, defining a hidden class still requires a lookup with full
+         * privilege access to its host class. See {@link ClassLoadingStrategy.ForAnonymousClass} for details.
+         *
+         * @return {@code true} if the current virtual machine is capable of defining anonymous classes.
+         */
+        public static boolean isAvailable() {
+            return DISPATCHER.isAvailable();
+        }
+
+        @Override
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+            if (classLoader != hostClass.getClassLoader()) {
+                throw new IllegalArgumentException("Cannot define anonymous classes of " + hostClass + " in " + classLoader);
+            } else if (types.size() > 1) {
+                throw new IllegalArgumentException("Cannot define types that reference each other as anonymous classes: " + types.keySet());
+            }
+            Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+            for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                loadedTypes.put(entry.getKey(), DISPATCHER.define(hostClass, lookup, entry.getValue()));
+            }
+            return loadedTypes;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            ForAnonymousClass that = (ForAnonymousClass) other;
+            return hostClass.equals(that.hostClass)
+                    && (lookup == null ? that.lookup == null : lookup.equals(that.lookup));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * hostClass.hashCode() + (lookup == null ? 0 : lookup.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return "ClassLoadingStrategy.ForAnonymousClass{" +
+                    "hostClass=" + hostClass +
+                    ", lookup=" + lookup +
+                    '}';
+        }
+
+        /**
+         * A dispatcher for defining anonymous classes.
+         */
+        protected interface Dispatcher {
+
+            /**
+             * Checks if this dispatcher is capable of defining anonymous classes.
+             *
+             * @return {@code true} if this dispatcher is capable of defining anonymous classes.
+             */
+            boolean isAvailable();
+
+            /**
+             * Defines an anonymous class.
+             *
+             * @param hostClass            The host class of the anonymous class.
+             * @param lookup               A {@code java.lang.invoke.MethodHandles.Lookup} with full privilege access to
+             *                             the host class or {@code null} if no such lookup was supplied.
+             * @param binaryRepresentation The binary representation of the anonymous class.
+             * @return The defined anonymous class.
+             */
+            Class<?> define(Class<?> hostClass, Object lookup, byte[] binaryRepresentation);
+
+            /**
+             * A dispatcher that defines anonymous classes as hidden classes by a method handle lookup.
+             */
+            class ForHiddenClass implements Dispatcher {
+
+                /**
+                 * Indicates that a hidden class is initialized on its definition.
+                 */
+                private static final boolean INITIALIZE = true;
+
+                /**
+                 * The {@code java.lang.invoke.MethodHandles#lookup()} method.
+                 */
+                private final Method lookup;
+
+                /**
+                 * The {@code java.lang.invoke.MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)} method.
+                 */
+                private final Method privateLookupIn;
+
+                /**
+                 * The {@code java.lang.invoke.MethodHandles.Lookup#defineHiddenClass(byte[], boolean, ClassOption...)} method.
+                 */
+                private final Method defineHiddenClass;
+
+                /**
+                 * The {@code java.lang.invoke.MethodHandles.Lookup#lookupClass()} method.
+                 */
+                private final Method lookupClass;
+
+                /**
+                 * An empty array of class options.
+                 */
+                private final Object[] classOptions;
+
+                /**
+                 * Creates a new dispatcher for hidden classes.
+                 *
+                 * @param lookup            The {@code java.lang.invoke.MethodHandles#lookup()} method.
+                 * @param privateLookupIn   The {@code java.lang.invoke.MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)} method.
+                 * @param defineHiddenClass The {@code java.lang.invoke.MethodHandles.Lookup#defineHiddenClass(byte[], boolean, ClassOption...)} method.
+                 * @param lookupClass       The {@code java.lang.invoke.MethodHandles.Lookup#lookupClass()} method.
+                 * @param classOptions      An empty array of class options.
+                 */
+                protected ForHiddenClass(Method lookup, Method privateLookupIn, Method defineHiddenClass, Method lookupClass, Object[] classOptions) {
+                    this.lookup = lookup;
+                    this.privateLookupIn = privateLookupIn;
+                    this.defineHiddenClass = defineHiddenClass;
+                    this.lookupClass = lookupClass;
+                    this.classOptions = classOptions;
+                }
+
+                @Override
+                public boolean isAvailable() {
+                    return true;
+                }
+
+                @Override
+                public Class<?> define(Class<?> hostClass, Object lookup, byte[] binaryRepresentation) {
+                    try {
+                        if (lookup == NO_LOOKUP) {
+                            lookup = privateLookupIn.invoke(null, hostClass, this.lookup.invoke(null));
+                        }
+                        return (Class<?>) lookupClass.invoke(defineHiddenClass.invoke(lookup, binaryRepresentation, INITIALIZE, classOptions));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("Cannot access hidden class definition", e);
+                    } catch (InvocationTargetException e) {
+                        if (e.getCause() instanceof IllegalAccessException) {
+                            throw new IllegalStateException("Cannot define a hidden class of " + hostClass + " without full privilege "
+                                    + "access to the host class, for example because it is defined by another module or class loader "
+                                    + "than Byte Buddy: supply a lookup of the host class by ForAnonymousClass.of(Object)", e.getCause());
+                        }
+                        throw new IllegalStateException("Cannot define hidden class", e.getCause());
+                    }
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    ForHiddenClass that = (ForHiddenClass) other;
+                    return lookup.equals(that.lookup)
+                            && privateLookupIn.equals(that.privateLookupIn)
+                            && defineHiddenClass.equals(that.defineHiddenClass)
+                            && lookupClass.equals(that.lookupClass)
+                            && Arrays.equals(classOptions, that.classOptions);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = lookup.hashCode();
+                    result = 31 * result + privateLookupIn.hashCode();
+                    result = 31 * result + defineHiddenClass.hashCode();
+                    result = 31 * result + lookupClass.hashCode();
+                    result = 31 * result + Arrays.hashCode(classOptions);
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "ClassLoadingStrategy.ForAnonymousClass.Dispatcher.ForHiddenClass{" +
+                            "lookup=" + lookup +
+                            ", privateLookupIn=" + privateLookupIn +
+                            ", defineHiddenClass=" + defineHiddenClass +
+                            ", lookupClass=" + lookupClass +
+                            ", classOptions=" + Arrays.toString(classOptions) +
+                            '}';
+                }
+            }
+
+            /**
+             * A dispatcher that defines anonymous classes by {@code sun.misc.Unsafe}.
+             */
+            class ForUnsafe implements Dispatcher {
+
+                /**
+                 * Indicates that no constant pool entries are patched.
+                 */
+                private static final Object[] NO_PATCHES = null;
+
+                /**
+                 * The {@code sun.misc.Unsafe} instance.
+                 */
+                private final Object unsafe;
+
+                /**
+                 * The {@code sun.misc.Unsafe#defineAnonymousClass(Class, byte[], Object[])} method.
+                 */
+                private final Method defineAnonymousClass;
+
+                /**
+                 * Creates a new dispatcher for {@code sun.misc.Unsafe}.
+                 *
+                 * @param unsafe               The {@code sun.misc.Unsafe} instance.
+                 * @param defineAnonymousClass The {@code sun.misc.Unsafe#defineAnonymousClass(Class, byte[], Object[])} method.
+                 */
+                protected ForUnsafe(Object unsafe, Method defineAnonymousClass) {
+                    this.unsafe = unsafe;
+                    this.defineAnonymousClass = defineAnonymousClass;
+                }
+
+                @Override
+                public boolean isAvailable() {
+                    return true;
+                }
+
+                @Override
+                public Class<?> define(Class<?> hostClass, Object lookup, byte[] binaryRepresentation) {
+                    try {
+                        return (Class<?>) defineAnonymousClass.invoke(unsafe, hostClass, binaryRepresentation, NO_PATCHES);
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("Cannot access anonymous class definition", e);
+                    } catch (InvocationTargetException e) {
+                        throw new IllegalStateException("Cannot define anonymous class", e.getCause());
+                    }
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    ForUnsafe forUnsafe = (ForUnsafe) other;
+                    return unsafe.equals(forUnsafe.unsafe)
+                            && defineAnonymousClass.equals(forUnsafe.defineAnonymousClass);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = unsafe.hashCode();
+                    result = 31 * result + defineAnonymousClass.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "ClassLoadingStrategy.ForAnonymousClass.Dispatcher.ForUnsafe{" +
+                            "unsafe=" + unsafe +
+                            ", defineAnonymousClass=" + defineAnonymousClass +
+                            '}';
+                }
+            }
+
+            /**
+             * A dispatcher for a virtual machine that is not capable of defining anonymous classes.
+             */
+            class Faulty implements Dispatcher {
+
+                /**
+                 * The exception that was raised when attempting to locate a method for defining anonymous classes.
+                 */
+                private final Exception exception;
+
+                /**
+                 * Creates a new faulty dispatcher.
+                 *
+                 * @param exception The exception that was raised when attempting to locate a method for defining
+                 *                  anonymous classes.
+                 */
+                protected Faulty(Exception exception) {
+                    this.exception = exception;
+                }
+
+                @Override
+                public boolean isAvailable() {
+                    return false;
+                }
+
+                @Override
+                public Class<?> define(Class<?> hostClass, Object lookup, byte[] binaryRepresentation) {
+                    throw new IllegalStateException("The current VM is not capable of defining anonymous classes", exception);
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    return this == other || !(other == null || getClass() != other.getClass())
+                            && exception.equals(((Faulty) other).exception);
+                }
+
+                @Override
+                public int hashCode() {
+                    return exception.hashCode();
+                }
+
+                @Override
+                public String toString() {
+                    return "ClassLoadingStrategy.ForAnonymousClass.Dispatcher.Faulty{exception=" + exception + '}';
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * A class loading strategy that loads types into {@link ByteArrayClassLoader}s that are shared by many types. Types
+     * are grouped by their parent class loader and by a user-defined generation such that a shared class loader only
+     * loads types of a single generation. A shared class loader loads a limited number of types after which another
+     * class loader is created for the same group. This way, fewer class loaders are created than with
+     * {@link ClassLoadingStrategy.Default#WRAPPER} while types remain collectable, unlike when they are injected into
+     * the parent class loader.
+     * </p>
+     * <p>
+     * <b>Important</b>: This strategy references any shared class loader until its generation is released by
+     * {@link Grouping#release(Object)}. A released class loader and its types can only be garbage collected once all of
+     * its types and their instances are unreachable. As a shared class loader references its parent class loader, the
+     * parent class loader cannot be garbage collected before all generations that reference it are released.
+     * </p>
+     */
+    class Grouping implements ClassLoadingStrategy {
+
+        /**
+         * The generation of types that are loaded by this strategy directly.
+         */
+        private static final Object NO_GENERATION = null;
+
+        /**
+         * The maximum number of types that a shared class loader loads.
+         */
+        private final int maximumTypes;
+
+        /**
+         * The protection domain to apply where {@code null} references an implicit protection domain.
+         */
+        private final ProtectionDomain protectionDomain;
+
+        /**
+         * The persistence handler of any shared class loader.
+         */
+        private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
+
+        /**
+         * The shared class loaders that currently accept types mapped by their group.
+         */
+        private final Map<Group, GroupClassLoader> classLoaders;
+
+        /**
+         * Creates a new grouping class loading strategy with a default protection domain and a latent persistence handler.
+         *
+         * @param maximumTypes The maximum number of types that a shared class loader loads.
+         */
+        public Grouping(int maximumTypes) {
+            this(maximumTypes, ClassInjector.DEFAULT_PROTECTION_DOMAIN, ByteArrayClassLoader.PersistenceHandler.LATENT);
+        }
+
+        /**
+         * Creates a new grouping class loading strategy.
+         *
+         * @param maximumTypes       The maximum number of types that a shared class loader loads.
+         * @param protectionDomain   The protection domain to apply where {@code null} references an implicit
+         *                           protection domain.
+         * @param persistenceHandler The persistence handler of any shared class loader.
+         */
+        public Grouping(int maximumTypes, ProtectionDomain protectionDomain, ByteArrayClassLoader.PersistenceHandler persistenceHandler) {
+            if (maximumTypes < 1) {
+                throw new IllegalArgumentException("A class loader must be able to load at least one type: " + maximumTypes);
+            }
+            this.maximumTypes = maximumTypes;
+            this.protectionDomain = protectionDomain;
+            this.persistenceHandler = persistenceHandler;
+            classLoaders = new HashMap<Group, GroupClassLoader>();
+        }
+
+        /**
+         * Returns a class loading strategy that loads types into shared class loaders of the given generation.
+         *
+         * @param generation The generation of the loaded types which must define its own equality.
+         * @return A class loading strategy that loads types into shared class loaders of the given generation.
+         */
+        public ClassLoadingStrategy forGeneration(Object generation) {
+            return new ForGeneration(this, generation);
+        }
+
+        @Override
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+            return load(classLoader, types, NO_GENERATION);
+        }
+
+        /**
+         * Loads the given types into a shared class loader of the given generation.
+         *
+         * @param classLoader The parent class loader of the shared class loader.
+         * @param types       The types to load mapped to their binary representations.
+         * @param generation  The generation of the loaded types.
+         * @return The loaded types mapped by their descriptions.
+         */
+        protected Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types, Object generation) {
+            GroupClassLoader groupClassLoader;
+            synchronized (this) {
+                Group group = new Group(classLoader, generation);
+                groupClassLoader = classLoaders.get(group);
+                if (groupClassLoader == null || !groupClassLoader.register(types, maximumTypes)) {
+                    groupClassLoader = new GroupClassLoader(classLoader, protectionDomain, persistenceHandler);
+                    groupClassLoader.register(types, maximumTypes);
+                    classLoaders.put(group, groupClassLoader);
+                }
+            }
+            Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+            for (TypeDescription typeDescription : types.keySet()) {
+                try {
+                    loadedTypes.put(typeDescription, groupClassLoader.loadClass(typeDescription.getName()));
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Cannot load class " + typeDescription, e);
+                }
+            }
+            return loadedTypes;
+        }
+
+        /**
+         * Releases all shared class loaders of the given generation such that no further types are loaded by these
+         * class loaders. A released class loader can be garbage collected once all of its types and their instances
+         * are unreachable.
+         *
+         * @param generation The generation to release.
+         */
+        public synchronized void release(Object generation) {
+            Iterator<Group> iterator = classLoaders.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().represents(generation)) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        /**
+         * Returns the number of shared class loaders that currently accept types.
+         *
+         * @return The number of shared class loaders that currently accept types.
+         */
+        public synchronized int getClassLoaderCount() {
+            return classLoaders.size();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "ClassLoadingStrategy.Grouping{" +
+                    "maximumTypes=" + maximumTypes +
+                    ", protectionDomain=" + protectionDomain +
+                    ", persistenceHandler=" + persistenceHandler +
+                    ", classLoaders=" + classLoaders +
+                    '}';
+        }
+
+        /**
+         * A group of types that share a class loader.
+         */
+        protected static class Group {
+
+            /**
+             * The parent class loader of the shared class loader.
+             */
+            private final ClassLoader classLoader;
+
+            /**
+             * The generation of the types of this group.
+             */
+            private final Object generation;
+
+            /**
+             * Creates a new group.
+             *
+             * @param classLoader The parent class loader of the shared class loader.
+             * @param generation  The generation of the types of this group.
+             */
+            protected Group(ClassLoader classLoader, Object generation) {
+                this.classLoader = classLoader;
+                this.generation = generation;
+            }
+
+            /**
+             * Checks if this group represents the given generation.
+             *
+             * @param generation The generation to check.
+             * @return {@code true} if this group represents the given generation.
+             */
+            protected boolean represents(Object generation) {
+                return this.generation == null
+                        ? generation == null
+                        : this.generation.equals(generation);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Group group = (Group) other;
+                return classLoader == group.classLoader && group.represents(generation);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = System.identityHashCode(classLoader);
+                result = 31 * result + (generation != null ? generation.hashCode() : 0);
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassLoadingStrategy.Grouping.Group{" +
+                        "classLoader=" + classLoader +
+                        ", generation=" + generation +
+                        '}';
+            }
+        }
+
+        /**
+         * A class loading strategy that loads types into shared class loaders of a given generation.
+         */
+        protected static class ForGeneration implements ClassLoadingStrategy {
+
+            /**
+             * The grouping class loading strategy that maintains the shared class loaders.
+             */
+            private final Grouping grouping;
+
+            /**
+             * The generation of the loaded types.
+             */
+            private final Object generation;
+
+            /**
+             * Creates a new class loading strategy for a given generation.
+             *
+             * @param grouping   The grouping class loading strategy that maintains the shared class loaders.
+             * @param generation The generation of the loaded types.
+             */
+            protected ForGeneration(Grouping grouping, Object generation) {
+                this.grouping = grouping;
+                this.generation = generation;
+            }
+
+            @Override
+            public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+                return grouping.load(classLoader, types, generation);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                ForGeneration that = (ForGeneration) other;
+                return grouping.equals(that.grouping)
+                        && !(generation != null ? !generation.equals(that.generation) : that.generation != null);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = grouping.hashCode();
+                result = 31 * result + (generation != null ? generation.hashCode() : 0);
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassLoadingStrategy.Grouping.ForGeneration{" +
+                        "grouping=" + grouping +
+                        ", generation=" + generation +
+                        '}';
+            }
+        }
+
+        /**
+         * A byte array class loader that is shared by the types of a group and that accepts further types after its
+         * creation.
+         */
+        protected static class GroupClassLoader extends ByteArrayClassLoader {
+
+            /**
+             * The number of types that were registered with this class loader.
+             */
+            private int typeCount;
+
+            /**
+             * Creates a new class loader for a group of types.
+             *
+             * @param parent             The parent class loader.
+             * @param protectionDomain   The protection domain to apply where {@code null} references an implicit
+             *                           protection domain.
+             * @param persistenceHandler The persistence handler of this class loader.
+             */
+            protected GroupClassLoader(ClassLoader parent, ProtectionDomain protectionDomain, PersistenceHandler persistenceHandler) {
+                super(parent, Collections.<String, byte[]>emptyMap(), protectionDomain, persistenceHandler);
+            }
+
+            /**
+             * Registers the given types with this class loader unless this would exceed the maximum number of types
+             * or unless a type of the same name is already known to this class loader. A class loader that does not
+             * yet know any type accepts any number of types.
+             *
+             * @param types        The types to register mapped to their binary representations.
+             * @param maximumTypes The maximum number of types that this class loader loads.
+             * @return {@code true} if the types were registered.
+             */
+            protected synchronized boolean register(Map<TypeDescription, byte[]> types, int maximumTypes) {
+                if (typeCount > 0 && typeCount + types.size() > maximumTypes) {
+                    return false;
+                }
+                for (TypeDescription typeDescription : types.keySet()) {
+                    if (typeDefinitions.containsKey(typeDescription.getName()) || findLoadedClass(typeDescription.getName()) != null) {
+                        return false;
+                    }
+                }
+                for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                    typeDefinitions.put(entry.getKey().getName(), entry.getValue());
+                }
+                typeCount += types.size();
+                return true;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassLoadingStrategy.Grouping.GroupClassLoader{" +
+                        "parent=" + getParent() +
+                        ", typeDefinitions=" + typeDefinitions +
+                        ", persistenceHandler=" + persistenceHandler +
+                        ", protectionDomain=" + protectionDomain +
+                        ", accessControlContext=" + accessControlContext +
+                        ", typeCount=" + typeCount +
+                        '}';
+            }
+        }
+    }
 }
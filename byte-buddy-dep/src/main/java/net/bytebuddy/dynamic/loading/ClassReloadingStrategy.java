@@ -1,16 +1,16 @@
 package net.bytebuddy.dynamic.loading;
 
 import net.bytebuddy.description.type.TypeDescription;
-import net.bytebuddy.utility.StreamDrainer;
+import net.bytebuddy.dynamic.ClassFileLocator;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.lang.instrument.*;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.security.ProtectionDomain;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -26,6 +26,13 @@ import java.util.concurrent.ConcurrentHashMap;
  * adds a method if the original class contains an explicit <i>class initializer</i>. For these reasons, it is not
  * recommended to use this {@link ClassLoadingStrategy} with arbitrary classes.
  * </p>
+ * <p>
+ * All class reloading strategies that share an {@link java.lang.instrument.Instrumentation} remember the original and
+ * the last applied class file of a bounded number of redefined classes. A class is not redefined if it is known to
+ * already represent the requested class file. Furthermore, redefinitions that are requested concurrently are
+ * coalesced into a single redefinition such that the virtual machine only needs to reach a safepoint once for all of
+ * them. Redefinitions that are applied by other means than a class reloading strategy are not tracked.
+ * </p>
  */
 public class ClassReloadingStrategy implements ClassLoadingStrategy {
 
@@ -44,11 +51,6 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      */
     private static final Object STATIC_METHOD = null;
 
-    /**
-     * The class file extension.
-     */
-    private static final String CLASS_FILE_EXTENSION = ".class";
-
     /**
      * This instance's instrumentation.
      */
@@ -140,18 +142,18 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
     public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
         Map<TypeDescription, Class<?>> loadedClasses = new HashMap<TypeDescription, Class<?>>(types.size());
         Map<TypeDescription, byte[]> unloadedClasses = new HashMap<TypeDescription, byte[]>(types.size());
-        Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(types.size());
+        Map<Class<?>, byte[]> classFiles = new HashMap<Class<?>, byte[]>(types.size());
         for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
             try {
                 Class<?> type = classLoader.loadClass(entry.getKey().getName());
-                classDefinitions.put(type, new ClassDefinition(type, entry.getValue()));
+                classFiles.put(type, entry.getValue());
                 loadedClasses.put(entry.getKey(), type);
             } catch (ClassNotFoundException ignored) {
                 unloadedClasses.put(entry.getKey(), entry.getValue());
             }
         }
         try {
-            engine.apply(instrumentation, classDefinitions);
+            Coordinator.of(instrumentation).redefine(instrumentation, engine, classFiles);
             ClassInjector classInjector = classLoader == null
                     ? bootstrapInjection.make(instrumentation)
                     : new ClassInjector.UsingReflection(classLoader);
@@ -165,27 +167,24 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
     }
 
     /**
-     * Resets all classes to their original definition.
+     * Resets all classes to their original definition. Any type that is known to already represent its original
+     * definition is not redefined.
      *
      * @param type The types to reset.
      * @return This class reloading strategy.
      */
     public ClassReloadingStrategy reset(Class<?>... type) {
-        Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(type.length);
+        Coordinator coordinator = Coordinator.of(instrumentation);
+        Map<Class<?>, byte[]> classFiles = new HashMap<Class<?>, byte[]>(type.length);
         try {
             for (Class<?> aType : type) {
-                InputStream inputStream = aType.getClassLoader().getResourceAsStream(aType.getName().replace('.', '/') + CLASS_FILE_EXTENSION);
-                try {
-                    classDefinitions.put(aType, new ClassDefinition(aType, new StreamDrainer().drain(inputStream)));
-                } finally {
-                    inputStream.close();
-                }
+                classFiles.put(aType, coordinator.original(aType));
             }
         } catch (IOException e) {
             throw new IllegalStateException("Exception while resetting types " + Arrays.toString(type), e);
         }
         try {
-            engine.apply(instrumentation, classDefinitions);
+            coordinator.redefine(instrumentation, engine, classFiles);
         } catch (ClassNotFoundException e) {
             throw new IllegalArgumentException("Cannot locate types " + Arrays.toString(type), e);
         } catch (UnmodifiableClassException e) {
@@ -435,4 +434,515 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
             }
         }
     }
+
+    /**
+     * A coordinator for all redefinitions that are applied by class reloading strategies that share an
+     * {@link java.lang.instrument.Instrumentation}. A coordinator caches the original and the last applied class
+     * file of a bounded number of classes and coalesces concurrently requested redefinitions into batches. While one
+     * batch is applied, all redefinitions that are requested in the meantime are collected in a new batch which is
+     * applied by the first thread that is able to proceed once the previous batch was applied. Batches are always
+     * applied in the order of their creation and a class file that is requested while another class file for the
+     * same class is still pending is never merged into the pending batch but applied by a succeeding batch. Classes
+     * are only referenced weakly by the caches of a coordinator.
+     */
+    protected static class Coordinator {
+
+        /**
+         * The maximum number of classes for which a coordinator remembers an original or a last applied class file.
+         */
+        private static final int CACHE_SIZE = 512;
+
+        /**
+         * The coordinators of all known instrumentation instances.
+         */
+        private static final Map<Instrumentation, Coordinator> COORDINATORS = new WeakHashMap<Instrumentation, Coordinator>();
+
+        /**
+         * The original class files of redefined classes.
+         */
+        private final BoundedCache originalClassFiles;
+
+        /**
+         * The class files that were last applied to redefined classes.
+         */
+        private final BoundedCache appliedClassFiles;
+
+        /**
+         * The newest batch that is not yet applied for any class that is contained in such a batch.
+         */
+        private final Map<Class<?>, Batch> latestBatches;
+
+        /**
+         * The batches that are currently collecting redefinitions for a given engine.
+         */
+        private final Map<Engine, Batch> pendingBatches;
+
+        /**
+         * A lock that is held while applying a batch.
+         */
+        private final Object batchLock;
+
+        /**
+         * The most recently created batch or {@code null} if this batch was already applied.
+         */
+        private Batch lastBatch;
+
+        /**
+         * Creates a new coordinator.
+         *
+         * @param cacheSize The maximum number of classes for which an original or a last applied class file is remembered.
+         */
+        protected Coordinator(int cacheSize) {
+            originalClassFiles = new BoundedCache(cacheSize);
+            appliedClassFiles = new BoundedCache(cacheSize);
+            latestBatches = new HashMap<Class<?>, Batch>();
+            pendingBatches = new EnumMap<Engine, Batch>(Engine.class);
+            batchLock = new Object();
+        }
+
+        /**
+         * Returns the coordinator for the given instrumentation.
+         *
+         * @param instrumentation The instrumentation for which to locate a coordinator.
+         * @return The coordinator of the given instrumentation.
+         */
+        protected static Coordinator of(Instrumentation instrumentation) {
+            synchronized (COORDINATORS) {
+                Coordinator coordinator = COORDINATORS.get(instrumentation);
+                if (coordinator == null) {
+                    coordinator = new Coordinator(CACHE_SIZE);
+                    COORDINATORS.put(instrumentation, coordinator);
+                }
+                return coordinator;
+            }
+        }
+
+        /**
+         * Returns the original class file of the given type. A class file that is not yet cached is read from the
+         * type's class loader.
+         *
+         * @param type The type for which to locate the original class file.
+         * @return The original class file of the given type.
+         * @throws IOException If the class file cannot be read.
+         */
+        protected byte[] original(Class<?> type) throws IOException {
+            byte[] classFile;
+            synchronized (this) {
+                classFile = originalClassFiles.lookup(type);
+            }
+            if (classFile == null) {
+                classFile = ClassFileLocator.ForClassLoader.of(type.getClassLoader()).locate(type.getName()).resolve();
+                synchronized (this) {
+                    originalClassFiles.store(type, classFile);
+                }
+            }
+            return classFile;
+        }
+
+        /**
+         * Redefines the given classes unless they are known to already represent the given class files or unless
+         * the given class files are already pending for these classes. This method returns after the requested
+         * class files were applied, possibly as a part of a batch that was applied by another thread.
+         *
+         * @param instrumentation The instrumentation to use for redefining the classes.
+         * @param engine          The engine to apply.
+         * @param classFiles      A mapping of classes to their new class files.
+         * @throws UnmodifiableClassException If a class is not modifiable.
+         * @throws ClassNotFoundException     If a class was not found.
+         */
+        protected void redefine(Instrumentation instrumentation,
+                                Engine engine,
+                                Map<Class<?>, byte[]> classFiles) throws UnmodifiableClassException, ClassNotFoundException {
+            List<Batch> batches = new ArrayList<Batch>();
+            synchronized (this) {
+                Map<Class<?>, byte[]> changedClassFiles = new HashMap<Class<?>, byte[]>(classFiles.size());
+                for (Map.Entry<Class<?>, byte[]> entry : classFiles.entrySet()) {
+                    Batch latestBatch = latestBatches.get(entry.getKey());
+                    byte[] expectedClassFile = latestBatch == null
+                            ? appliedClassFiles.lookup(entry.getKey())
+                            : latestBatch.getClassFiles().get(entry.getKey());
+                    if (!Arrays.equals(expectedClassFile, entry.getValue())) {
+                        changedClassFiles.put(entry.getKey(), entry.getValue());
+                    } else if (latestBatch != null && !batches.contains(latestBatch)) {
+                        batches.add(latestBatch);
+                    }
+                }
+                if (!changedClassFiles.isEmpty()) {
+                    Batch batch = pendingBatches.get(engine);
+                    if (batch == null || batch.conflicts(changedClassFiles)) {
+                        batch = new Batch(engine, lastBatch);
+                        pendingBatches.put(engine, batch);
+                        lastBatch = batch;
+                    }
+                    batch.add(changedClassFiles);
+                    for (Class<?> type : changedClassFiles.keySet()) {
+                        latestBatches.put(type, batch);
+                    }
+                    if (!batches.contains(batch)) {
+                        batches.add(batch);
+                    }
+                }
+            }
+            if (batches.isEmpty()) {
+                return;
+            }
+            synchronized (batchLock) {
+                for (Batch batch : batches) {
+                    apply(instrumentation, batch);
+                }
+            }
+            for (Batch batch : batches) {
+                batch.assertApplied();
+            }
+        }
+
+        /**
+         * Applies a batch of redefinitions after applying all batches that were created before it, unless the batch
+         * was already applied. This method must only be called while holding the batch lock.
+         *
+         * @param instrumentation The instrumentation to use for redefining the classes.
+         * @param batch           The batch to apply.
+         */
+        private void apply(Instrumentation instrumentation, Batch batch) {
+            if (batch.isApplied()) {
+                return;
+            }
+            Batch predecessor = batch.getPredecessor();
+            if (predecessor != null) {
+                apply(instrumentation, predecessor);
+            }
+            synchronized (this) {
+                if (pendingBatches.get(batch.getEngine()) == batch) {
+                    pendingBatches.remove(batch.getEngine());
+                }
+            }
+            Map<Class<?>, byte[]> classFiles = batch.getClassFiles();
+            Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(classFiles.size());
+            for (Map.Entry<Class<?>, byte[]> entry : classFiles.entrySet()) {
+                classDefinitions.put(entry.getKey(), new ClassDefinition(entry.getKey(), entry.getValue()));
+            }
+            Throwable throwable = null;
+            try {
+                batch.getEngine().apply(instrumentation, classDefinitions);
+            } catch (Throwable t) {
+                throwable = t;
+            }
+            synchronized (this) {
+                for (Map.Entry<Class<?>, byte[]> entry : classFiles.entrySet()) {
+                    if (throwable == null) {
+                        appliedClassFiles.store(entry.getKey(), entry.getValue());
+                    } else {
+                        appliedClassFiles.discard(entry.getKey());
+                    }
+                    if (latestBatches.get(entry.getKey()) == batch) {
+                        latestBatches.remove(entry.getKey());
+                    }
+                }
+                if (lastBatch == batch) {
+                    lastBatch = null;
+                }
+            }
+            batch.onApplied(throwable);
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "ClassReloadingStrategy.Coordinator{" +
+                    "originalClassFiles=" + originalClassFiles.keySet() +
+                    ", appliedClassFiles=" + appliedClassFiles.keySet() +
+                    ", latestBatches=" + latestBatches.keySet() +
+                    ", pendingBatches=" + pendingBatches +
+                    ", batchLock=" + batchLock +
+                    ", lastBatch=" + lastBatch +
+                    '}';
+        }
+
+        /**
+         * A map that discards the least recently accessed entry once it exceeds its maximum size. Classes are only
+         * referenced weakly by this cache such that an entry is discarded once its class is garbage collected. This
+         * cache is not thread-safe.
+         */
+        protected static class BoundedCache extends LinkedHashMap<BoundedCache.WeakKey, byte[]> {
+
+            /**
+             * The serial version UID.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * The default load factor of a hash map.
+             */
+            private static final float LOAD_FACTOR = 0.75f;
+
+            /**
+             * Indicates that entries are ordered by their last access.
+             */
+            private static final boolean ACCESS_ORDER = true;
+
+            /**
+             * The maximum number of entries of this cache.
+             */
+            private final int maximumSize;
+
+            /**
+             * The reference queue that is notified about garbage collected classes.
+             */
+            private final transient ReferenceQueue<Class<?>> referenceQueue;
+
+            /**
+             * Creates a new bounded cache.
+             *
+             * @param maximumSize The maximum number of entries of this cache.
+             */
+            protected BoundedCache(int maximumSize) {
+                super(maximumSize, LOAD_FACTOR, ACCESS_ORDER);
+                this.maximumSize = maximumSize;
+                referenceQueue = new ReferenceQueue<Class<?>>();
+            }
+
+            /**
+             * Returns the class file that is cached for the given type.
+             *
+             * @param type The type for which to look up a class file.
+             * @return The cached class file or {@code null} if no class file is cached for the given type.
+             */
+            protected byte[] lookup(Class<?> type) {
+                expunge();
+                return get(new WeakKey(type, null));
+            }
+
+            /**
+             * Caches a class file for the given type.
+             *
+             * @param type      The type for which to cache a class file.
+             * @param classFile The class file to cache.
+             */
+            protected void store(Class<?> type, byte[] classFile) {
+                expunge();
+                put(new WeakKey(type, referenceQueue), classFile);
+            }
+
+            /**
+             * Discards any class file that is cached for the given type.
+             *
+             * @param type The type for which to discard a class file.
+             */
+            protected void discard(Class<?> type) {
+                expunge();
+                remove(new WeakKey(type, null));
+            }
+
+            /**
+             * Removes all entries of garbage collected classes.
+             */
+            private void expunge() {
+                Reference<?> reference;
+                while ((reference = referenceQueue.poll()) != null) {
+                    remove(reference);
+                }
+            }
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<WeakKey, byte[]> eldest) {
+                return size() > maximumSize;
+            }
+
+            /**
+             * A weak reference to a class that is compared by the identity of the referenced class.
+             */
+            protected static class WeakKey extends WeakReference<Class<?>> {
+
+                /**
+                 * The identity hash code of the referenced class.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new weak key.
+                 *
+                 * @param type           The referenced class.
+                 * @param referenceQueue The reference queue to notify when the class is garbage collected or
+                 *                       {@code null} if this key is only used for a lookup.
+                 */
+                protected WeakKey(Class<?> type, ReferenceQueue<? super Class<?>> referenceQueue) {
+                    super(type, referenceQueue);
+                    hashCode = System.identityHashCode(type);
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    Class<?> type = get();
+                    return type != null && type == ((WeakKey) other).get();
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                public String toString() {
+                    return "ClassReloadingStrategy.Coordinator.BoundedCache.WeakKey{" +
+                            "type=" + get() +
+                            '}';
+                }
+            }
+        }
+
+        /**
+         * A batch of redefinitions that are applied by a single invocation of an engine.
+         */
+        protected static class Batch {
+
+            /**
+             * The engine to apply.
+             */
+            private final Engine engine;
+
+            /**
+             * A mapping of classes to their new class files.
+             */
+            private final Map<Class<?>, byte[]> classFiles;
+
+            /**
+             * The batch that was created before this batch and that must be applied first or {@code null} if no
+             * such batch exists or if this batch was already applied.
+             */
+            private volatile Batch predecessor;
+
+            /**
+             * {@code true} if this batch was applied.
+             */
+            private volatile boolean applied;
+
+            /**
+             * The throwable that was thrown when applying this batch or {@code null} if the batch was applied
+             * successfully.
+             */
+            private volatile Throwable throwable;
+
+            /**
+             * Creates a new batch.
+             *
+             * @param engine      The engine to apply.
+             * @param predecessor The batch that was created before this batch or {@code null} if no such batch exists.
+             */
+            protected Batch(Engine engine, Batch predecessor) {
+                this.engine = engine;
+                this.predecessor = predecessor;
+                classFiles = new HashMap<Class<?>, byte[]>();
+            }
+
+            /**
+             * Checks if this batch already contains a different class file for any of the given classes. This method
+             * must only be called while holding the coordinator's monitor.
+             *
+             * @param classFiles A mapping of classes to their new class files.
+             * @return {@code true} if this batch contains a different class file for any of the given classes.
+             */
+            protected boolean conflicts(Map<Class<?>, byte[]> classFiles) {
+                for (Map.Entry<Class<?>, byte[]> entry : classFiles.entrySet()) {
+                    byte[] classFile = this.classFiles.get(entry.getKey());
+                    if (classFile != null && !Arrays.equals(classFile, entry.getValue())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            /**
+             * Adds redefinitions to this batch. This batch must not contain a different class file for any of the
+             * given classes. This method must only be called while holding the coordinator's monitor.
+             *
+             * @param classFiles A mapping of classes to their new class files.
+             */
+            protected void add(Map<Class<?>, byte[]> classFiles) {
+                this.classFiles.putAll(classFiles);
+            }
+
+            /**
+             * Returns the engine to apply.
+             *
+             * @return The engine to apply.
+             */
+            protected Engine getEngine() {
+                return engine;
+            }
+
+            /**
+             * Returns a mapping of classes to their new class files.
+             *
+             * @return A mapping of classes to their new class files.
+             */
+            protected Map<Class<?>, byte[]> getClassFiles() {
+                return classFiles;
+            }
+
+            /**
+             * Returns the batch that must be applied before this batch.
+             *
+             * @return The batch that must be applied before this batch or {@code null} if no such batch exists.
+             */
+            protected Batch getPredecessor() {
+                return predecessor;
+            }
+
+            /**
+             * Returns {@code true} if this batch was applied.
+             *
+             * @return {@code true} if this batch was applied.
+             */
+            protected boolean isApplied() {
+                return applied;
+            }
+
+            /**
+             * Marks this batch as applied.
+             *
+             * @param throwable The throwable that was thrown when applying this batch or {@code null} if the batch
+             *                  was applied successfully.
+             */
+            protected void onApplied(Throwable throwable) {
+                this.throwable = throwable;
+                predecessor = null;
+                applied = true;
+            }
+
+            /**
+             * Validates that this batch was applied successfully and rethrows any exception that was thrown when
+             * applying it otherwise.
+             *
+             * @throws UnmodifiableClassException If a class is not modifiable.
+             * @throws ClassNotFoundException     If a class was not found.
+             */
+            protected void assertApplied() throws UnmodifiableClassException, ClassNotFoundException {
+                if (!applied) {
+                    throw new IllegalStateException("Batch was not yet applied: " + this);
+                } else if (throwable instanceof UnmodifiableClassException) {
+                    throw (UnmodifiableClassException) throwable;
+                } else if (throwable instanceof ClassNotFoundException) {
+                    throw (ClassNotFoundException) throwable;
+                } else if (throwable instanceof RuntimeException) {
+                    throw (RuntimeException) throwable;
+                } else if (throwable instanceof Error) {
+                    throw (Error) throwable;
+                } else if (throwable != null) {
+                    throw new IllegalStateException("Cannot apply redefinition", throwable);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "ClassReloadingStrategy.Coordinator.Batch{" +
+                        "engine=" + engine +
+                        ", classFiles=" + classFiles.keySet() +
+                        ", predecessor=" + (predecessor != null) +
+                        ", applied=" + applied +
+                        ", throwable=" + throwable +
+                        '}';
+            }
+        }
+    }
 }
@@ -3,8 +3,11 @@ package net.bytebuddy.dynamic.loading;
 import net.bytebuddy.matcher.ElementMatcher;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.utility.ByteBuddyCommons.joinUnique;
 
@@ -28,7 +31,21 @@ public class MultipleParentClassLoader extends ClassLoader {
     /**
      * The parents of this class loader in their application order.
      */
-    private final List<? extends ClassLoader> parents;
+    protected final List<? extends ClassLoader> parents;
+
+    /*
+     * Registers this class loader as parallel capable, if possible, as it does not hold any state on its own. The
+     * registration is caller sensitive and must therefore be triggered from within this class.
+     */
+    static {
+        try {
+            Method method = ClassLoader.class.getDeclaredMethod("registerAsParallelCapable");
+            method.setAccessible(true);
+            method.invoke(null);
+        } catch (Exception ignored) {
+            /* Parallel capable class loaders are only supported as of Java 7 */
+        }
+    }
 
     /**
      * Creates a new class loader with multiple parents.
@@ -41,17 +58,17 @@ public class MultipleParentClassLoader extends ClassLoader {
     }
 
     @Override
-    public Class<?> loadClass(String name) throws ClassNotFoundException {
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
         for (ClassLoader parent : parents) {
             try {
                 return parent != null
                         ? parent.loadClass(name)
-                        : super.loadClass(name);
+                        : super.loadClass(name, resolve);
             } catch (ClassNotFoundException ignored) {
                 /* try next class loader */
             }
         }
-        return super.loadClass(name);
+        return super.loadClass(name, resolve);
     }
 
     @Override
@@ -86,6 +103,197 @@ public class MultipleParentClassLoader extends ClassLoader {
                 '}';
     }
 
+    /**
+     * <p>
+     * A parallel capable class loader with multiple parents that remembers which parent served a package. When loading
+     * a class, the parent that served the class's package before is queried before all other parents. The same index
+     * is applied when looking up a resource.
+     * </p>
+     * <p>
+     * Optionally, this class loader remembers which classes could not be found by any parent and does not look up
+     * these classes again. This option must only be enabled for parents that do not define any further classes after
+     * they were queried as, for example, a class that is later injected into a parent would remain unknown.
+     * </p>
+     * <p>
+     * <b>Important</b>: The package index assumes that every package is served by a single parent. A class of a package
+     * that is split among several parents might therefore be loaded from another parent than by a
+     * {@link net.bytebuddy.dynamic.loading.MultipleParentClassLoader} that always queries its parents in their
+     * application order.
+     * </p>
+     */
+    public static class Indexed extends MultipleParentClassLoader {
+
+        /**
+         * Represents the default package.
+         */
+        private static final String DEFAULT_PACKAGE = "";
+
+        /**
+         * Indicates that classes that could not be loaded by any parent are not remembered.
+         */
+        private static final Set<String> NO_UNKNOWN_TYPES = null;
+
+        /*
+         * Registers this class loader as parallel capable, if possible.
+         */
+        static {
+            try {
+                Method method = ClassLoader.class.getDeclaredMethod("registerAsParallelCapable");
+                method.setAccessible(true);
+                method.invoke(null);
+            } catch (Exception ignored) {
+                /* Parallel capable class loaders are only supported as of Java 7 */
+            }
+        }
+
+        /**
+         * The parents that served a package by the package's name.
+         */
+        private final ConcurrentMap<String, ClassLoader> packages;
+
+        /**
+         * The names of all classes that could not be loaded by any parent or {@code null} if such classes are not
+         * remembered.
+         */
+        private final Set<String> unknownTypes;
+
+        /**
+         * Creates a new indexed class loader with multiple parents that looks up a class that could not be found
+         * again on every request.
+         *
+         * @param parents The parents of this class loader in their application order.
+         */
+        public Indexed(List<? extends ClassLoader> parents) {
+            this(parents, false);
+        }
+
+        /**
+         * Creates a new indexed class loader with multiple parents.
+         *
+         * @param parents           The parents of this class loader in their application order.
+         * @param cacheUnknownTypes {@code true} if a class that could not be loaded by any parent should never be
+         *                          looked up again. This must only be set if the parents do not define any further
+         *                          classes after they were queried.
+         */
+        public Indexed(List<? extends ClassLoader> parents, boolean cacheUnknownTypes) {
+            super(parents);
+            packages = new ConcurrentHashMap<String, ClassLoader>();
+            unknownTypes = cacheUnknownTypes
+                    ? Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>())
+                    : NO_UNKNOWN_TYPES;
+        }
+
+        /**
+         * Returns the name of the package of a class or a resource.
+         *
+         * @param name      The name of the class or the resource.
+         * @param separator The separator of package names.
+         * @return The name of the package.
+         */
+        private static String packageOf(String name, char separator) {
+            int index = name.lastIndexOf(separator);
+            return index == -1
+                    ? DEFAULT_PACKAGE
+                    : name.substring(0, index);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (unknownTypes != null && unknownTypes.contains(name)) {
+                throw new UnknownTypeException(name);
+            }
+            String packageName = packageOf(name, '.');
+            ClassLoader indexed = packages.get(packageName);
+            if (indexed != null) {
+                try {
+                    return indexed.loadClass(name);
+                } catch (ClassNotFoundException ignored) {
+                    /* try other parents */
+                }
+            }
+            for (ClassLoader parent : parents) {
+                if (parent != indexed) {
+                    try {
+                        Class<?> type = parent == null
+                                ? Class.forName(name, false, null)
+                                : parent.loadClass(name);
+                        if (parent != null) {
+                            packages.putIfAbsent(packageName, parent);
+                        }
+                        return type;
+                    } catch (ClassNotFoundException ignored) {
+                        /* try next class loader */
+                    }
+                }
+            }
+            try {
+                return Class.forName(name, false, null);
+            } catch (ClassNotFoundException ignored) {
+                if (unknownTypes != null) {
+                    unknownTypes.add(name);
+                }
+                throw new UnknownTypeException(name);
+            }
+        }
+
+        @Override
+        public URL getResource(String name) {
+            String packageName = packageOf(name, '/').replace('/', '.');
+            ClassLoader indexed = packages.get(packageName);
+            if (indexed != null) {
+                URL url = indexed.getResource(name);
+                if (url != null) {
+                    return url;
+                }
+            }
+            for (ClassLoader parent : parents) {
+                if (parent != null && parent != indexed) {
+                    URL url = parent.getResource(name);
+                    if (url != null) {
+                        packages.putIfAbsent(packageName, parent);
+                        return url;
+                    }
+                }
+            }
+            return super.getResource(name);
+        }
+
+        @Override
+        public String toString() {
+            return "MultipleParentClassLoader.Indexed{" +
+                    "parents=" + parents +
+                    ", packages=" + packages +
+                    ", unknownTypes=" + unknownTypes +
+                    '}';
+        }
+
+        /**
+         * An exception that indicates that a class could not be found by any parent. This exception does not fill in
+         * a stack trace as it is thrown whenever the indexed class loader is queried for an unknown class.
+         */
+        protected static class UnknownTypeException extends ClassNotFoundException {
+
+            /**
+             * The class's serial version UID.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * Creates a new exception for an unknown type.
+             *
+             * @param name The name of the unknown type.
+             */
+            protected UnknownTypeException(String name) {
+                super(name);
+            }
+
+            @Override
+            public Throwable fillInStackTrace() {
+                return this;
+            }
+        }
+    }
+
     /**
      * A compound URL enumeration.
      */
@@ -251,6 +459,19 @@ public class MultipleParentClassLoader extends ClassLoader {
                     : new MultipleParentClassLoader(classLoaders);
         }
 
+        /**
+         * Returns an appropriate class loader that represents all the collected class loaders where a class loader
+         * with multiple parents is represented by an {@link net.bytebuddy.dynamic.loading.MultipleParentClassLoader.Indexed}
+         * class loader.
+         *
+         * @return A suitable class loader.
+         */
+        public ClassLoader buildIndexed() {
+            return classLoaders.size() == 1
+                    ? classLoaders.get(ONLY)
+                    : new Indexed(classLoaders);
+        }
+
         @Override
         public boolean equals(Object other) {
             if (this == other) return true;
@@ -3,6 +3,7 @@ package net.bytebuddy.dynamic.scaffold;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.implementation.attribute.FieldAttributeAppender;
+import net.bytebuddy.utility.PersistentMap;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -100,7 +101,8 @@ public interface FieldRegistry {
     class Default implements FieldRegistry {
 
         /**
-         * Contains all non-prepared field registry entries mapped by the field name. This map should never be mutated.
+         * Contains all non-prepared field registry entries mapped by the field name. This map should never be mutated such
+         * that it can be shared with the field registries that are derived from this registry.
          */
         private final Map<String, Entry> entries;
 
@@ -124,11 +126,10 @@ public interface FieldRegistry {
         public FieldRegistry include(LatentFieldMatcher latentFieldMatcher,
                                      FieldAttributeAppender.Factory attributeAppenderFactory,
                                      Object defaultValue) {
-            Map<String, Entry> entries = new HashMap<String, Entry>(this.entries);
-            if (entries.put(latentFieldMatcher.getFieldName(), new Entry(attributeAppenderFactory, defaultValue)) != null) {
+            if (entries.containsKey(latentFieldMatcher.getFieldName())) {
                 throw new IllegalArgumentException("the field name " + latentFieldMatcher.getFieldName() + " is already registered");
             }
-            return new Default(entries);
+            return new Default(PersistentMap.put(entries, latentFieldMatcher.getFieldName(), new Entry(attributeAppenderFactory, defaultValue)));
         }
 
         @Override
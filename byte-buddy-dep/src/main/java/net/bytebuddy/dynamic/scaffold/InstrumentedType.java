@@ -15,11 +15,17 @@ import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.LoadedTypeInitializer;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.utility.PersistentList;
+import net.bytebuddy.utility.PersistentMap;
 import org.objectweb.asm.MethodVisitor;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 
 /**
  * Implementations of this interface represent an instrumented type that is subject to change. Implementations
@@ -226,6 +232,12 @@ public interface InstrumentedType extends TypeDescription {
      */
     abstract class AbstractBase extends AbstractTypeDescription.OfSimpleType implements InstrumentedType {
 
+        /**
+         * Represents the name of an instrumented type that is not yet known. This name is only used for an instrumented
+         * type without any fields or methods.
+         */
+        private static final String NO_TYPE_NAME = null;
+
         /**
          * The loaded type initializer for this instrumented type.
          */
@@ -253,14 +265,18 @@ public interface InstrumentedType extends TypeDescription {
         protected AbstractBase() {
             loadedTypeInitializer = LoadedTypeInitializer.NoOp.INSTANCE;
             typeInitializer = TypeInitializer.None.INSTANCE;
-            fieldDescriptions = Collections.emptyList();
-            methodDescriptions = Collections.emptyList();
+            fieldDescriptions = new FieldTokenList(NO_TYPE_NAME, Collections.<FieldDescription>emptyList());
+            methodDescriptions = new MethodTokenList(NO_TYPE_NAME, Collections.<MethodDescription>emptyList());
         }
 
         /**
          * Creates a new instrumented type with the given loaded type initializer and field and methods. All field and
          * method descriptions will be replaced by new instances where type descriptions with the internalName of this
-         * type as given by {@code typeInternalName} are replaced by references to {@code this}.
+         * type as given by {@code typeInternalName} are replaced by references to {@code this}. These instances are
+         * only created when a field or method is read. If the fields or methods are the fields or methods of another
+         * instrumented type or if they were created by {@link AbstractBase#appendField(FieldDescription)} or by
+         * {@link AbstractBase#appendMethod(MethodDescription)}, the lists of the other instrumented type are shared
+         * with this instrumented type such that deriving an instrumented type does not require copying its members.
          *
          * @param loadedTypeInitializer A loaded type initializer for this instrumented type.
          * @param typeInitializer       A type initializer for this instrumented type.
@@ -275,14 +291,38 @@ public interface InstrumentedType extends TypeDescription {
                                List<? extends MethodDescription> methodDescriptions) {
             this.loadedTypeInitializer = loadedTypeInitializer;
             this.typeInitializer = typeInitializer;
-            this.fieldDescriptions = new ArrayList<FieldDescription>(fieldDescriptions.size());
-            for (FieldDescription fieldDescription : fieldDescriptions) {
-                this.fieldDescriptions.add(new FieldToken(typeName, fieldDescription));
-            }
-            this.methodDescriptions = new ArrayList<MethodDescription>(methodDescriptions.size());
-            for (MethodDescription methodDescription : methodDescriptions) {
-                this.methodDescriptions.add(new MethodToken(typeName, methodDescription));
-            }
+            this.fieldDescriptions = new FieldTokenList(typeName, fieldDescriptions);
+            this.methodDescriptions = new MethodTokenList(typeName, methodDescriptions);
+        }
+
+        /**
+         * Returns the fields of this instrumented type with an additional field. The returned list is meant to be
+         * handed to the constructor of a derived instrumented type which then shares the fields of this instrumented
+         * type instead of copying them.
+         *
+         * @param fieldDescription The additional field.
+         * @return A list of the fields of this instrumented type including the additional field.
+         */
+        protected List<? extends FieldDescription> appendField(FieldDescription fieldDescription) {
+            TokenList<FieldDescription> fieldTokenList = (TokenList<FieldDescription>) fieldDescriptions;
+            return new FieldTokenList(fieldTokenList.typeName,
+                    PersistentList.append(fieldTokenList.registered(), fieldDescription),
+                    PersistentMap.put(fieldTokenList.keys(), fieldDescription.getName(), fieldDescription));
+        }
+
+        /**
+         * Returns the methods of this instrumented type with an additional method. The returned list is meant to be
+         * handed to the constructor of a derived instrumented type which then shares the methods of this instrumented
+         * type instead of copying them.
+         *
+         * @param methodDescription The additional method.
+         * @return A list of the methods of this instrumented type including the additional method.
+         */
+        protected List<? extends MethodDescription> appendMethod(MethodDescription methodDescription) {
+            TokenList<MethodDescription> methodTokenList = (TokenList<MethodDescription>) methodDescriptions;
+            return new MethodTokenList(methodTokenList.typeName,
+                    PersistentList.append(methodTokenList.registered(), methodDescription),
+                    PersistentMap.put(methodTokenList.keys(), methodDescription.getUniqueSignature(), methodDescription));
         }
 
         /**
@@ -368,6 +408,243 @@ public interface InstrumentedType extends TypeDescription {
                     : new PackageDescription.Simple(packageName);
         }
 
+        /**
+         * A list of the fields or methods of the enclosing instrumented type. Each field or method is replaced by a token
+         * that is declared by the enclosing instrumented type when it is read for the first time. The list also keeps an
+         * index of the keys of its elements such that it can determine if it contains a field or method without
+         * iterating over its elements.
+         *
+         * @param <T> The type of the list's elements.
+         */
+        protected abstract class TokenList<T> extends AbstractList<T> implements RandomAccess {
+
+            /**
+             * The non-internal name of the enclosing instrumented type that is used when creating a token.
+             */
+            private final String typeName;
+
+            /**
+             * The fields or methods that are represented by this list and from which tokens are created.
+             */
+            private final List<? extends T> descriptions;
+
+            /**
+             * {@code true} if the represented fields or methods are already declared by a type with the name of the
+             * enclosing instrumented type such that they can be extended by a derived instrumented type.
+             */
+            private final boolean shared;
+
+            /**
+             * The size of this list.
+             */
+            private final int size;
+
+            /**
+             * The tokens that were already created where each element is {@code null} if its token was not yet created
+             * or {@code null} if no token was yet created.
+             */
+            private Object[] tokens;
+
+            /**
+             * An index of all elements of this list by their keys or {@code null} if this index was not yet created.
+             */
+            private volatile Map<String, T> keys;
+
+            /**
+             * Creates a new token list.
+             *
+             * @param typeName     The non-internal name of the enclosing instrumented type.
+             * @param descriptions The fields or methods of the enclosing instrumented type.
+             */
+            @SuppressWarnings("unchecked")
+            protected TokenList(String typeName, List<? extends T> descriptions) {
+                this.typeName = typeName;
+                if (descriptions instanceof AbstractBase.TokenList) {
+                    TokenList<T> tokenList = (TokenList<T>) descriptions;
+                    this.descriptions = tokenList.registered();
+                    keys = tokenList.keys;
+                    shared = true;
+                } else {
+                    this.descriptions = descriptions;
+                    shared = false;
+                }
+                size = descriptions.size();
+            }
+
+            /**
+             * Creates a new token list for fields or methods that are declared by a type with the name of the
+             * enclosing instrumented type.
+             *
+             * @param typeName     The non-internal name of the enclosing instrumented type.
+             * @param descriptions The fields or methods of the enclosing instrumented type.
+             * @param keys         An index of all fields or methods by their keys.
+             */
+            protected TokenList(String typeName, List<? extends T> descriptions, Map<String, T> keys) {
+                this.typeName = typeName;
+                this.descriptions = descriptions;
+                this.keys = keys;
+                shared = true;
+                size = descriptions.size();
+            }
+
+            /**
+             * Creates a token for a field or method that is declared by the enclosing instrumented type.
+             *
+             * @param typeName    The non-internal name of the enclosing instrumented type.
+             * @param description The field or method to represent.
+             * @return A token for the given field or method.
+             */
+            protected abstract T tokenize(String typeName, T description);
+
+            /**
+             * Returns the key of a field or method of the enclosing instrumented type.
+             *
+             * @param value The value for which to return a key.
+             * @return The key of the given value or {@code null} if the value is not a field or method of
+             * the enclosing instrumented type.
+             */
+            protected abstract String keyOf(Object value);
+
+            /**
+             * Returns a list of the fields or methods that this list represents such that this list can be extended
+             * by a derived instrumented type.
+             *
+             * @return A list of the fields or methods that this list represents.
+             */
+            protected List<? extends T> registered() {
+                return shared
+                        ? descriptions
+                        : this;
+            }
+
+            /**
+             * Returns an index of all fields or methods by their keys.
+             *
+             * @return An index of all fields or methods by their keys.
+             */
+            protected Map<String, T> keys() {
+                Map<String, T> keys = this.keys;
+                if (keys == null) {
+                    keys = new HashMap<String, T>(size());
+                    for (T element : this) {
+                        keys.put(keyOf(element), element);
+                    }
+                    this.keys = keys;
+                }
+                return keys;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+                }
+                Object[] tokens = this.tokens;
+                if (tokens == null) {
+                    tokens = new Object[size];
+                    this.tokens = tokens;
+                }
+                Object token = tokens[index];
+                if (token == null) {
+                    token = tokenize(typeName, descriptions.get(index));
+                    tokens[index] = token;
+                }
+                return (T) token;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object value) {
+                String key = keyOf(value);
+                return key != null && keys().containsKey(key);
+            }
+        }
+
+        /**
+         * A list of the fields of the enclosing instrumented type.
+         */
+        protected class FieldTokenList extends TokenList<FieldDescription> {
+
+            /**
+             * Creates a new field token list.
+             *
+             * @param typeName          The non-internal name of the enclosing instrumented type.
+             * @param fieldDescriptions The fields of the enclosing instrumented type.
+             */
+            protected FieldTokenList(String typeName, List<? extends FieldDescription> fieldDescriptions) {
+                super(typeName, fieldDescriptions);
+            }
+
+            /**
+             * Creates a new field token list for fields that are declared by a type with the name of the enclosing
+             * instrumented type.
+             *
+             * @param typeName          The non-internal name of the enclosing instrumented type.
+             * @param fieldDescriptions The fields of the enclosing instrumented type.
+             * @param keys              An index of all fields by their names.
+             */
+            protected FieldTokenList(String typeName, List<? extends FieldDescription> fieldDescriptions, Map<String, FieldDescription> keys) {
+                super(typeName, fieldDescriptions, keys);
+            }
+
+            @Override
+            protected FieldDescription tokenize(String typeName, FieldDescription fieldDescription) {
+                return new FieldToken(typeName, fieldDescription);
+            }
+
+            @Override
+            protected String keyOf(Object value) {
+                return value instanceof FieldDescription && AbstractBase.this.equals(((FieldDescription) value).getDeclaringType())
+                        ? ((FieldDescription) value).getName()
+                        : null;
+            }
+        }
+
+        /**
+         * A list of the methods of the enclosing instrumented type.
+         */
+        protected class MethodTokenList extends TokenList<MethodDescription> {
+
+            /**
+             * Creates a new method token list.
+             *
+             * @param typeName           The non-internal name of the enclosing instrumented type.
+             * @param methodDescriptions The methods of the enclosing instrumented type.
+             */
+            protected MethodTokenList(String typeName, List<? extends MethodDescription> methodDescriptions) {
+                super(typeName, methodDescriptions);
+            }
+
+            /**
+             * Creates a new method token list for methods that are declared by a type with the name of the enclosing
+             * instrumented type.
+             *
+             * @param typeName           The non-internal name of the enclosing instrumented type.
+             * @param methodDescriptions The methods of the enclosing instrumented type.
+             * @param keys               An index of all methods by their unique signatures.
+             */
+            protected MethodTokenList(String typeName, List<? extends MethodDescription> methodDescriptions, Map<String, MethodDescription> keys) {
+                super(typeName, methodDescriptions, keys);
+            }
+
+            @Override
+            protected MethodDescription tokenize(String typeName, MethodDescription methodDescription) {
+                return new MethodToken(typeName, methodDescription);
+            }
+
+            @Override
+            protected String keyOf(Object value) {
+                return value instanceof MethodDescription && AbstractBase.this.equals(((MethodDescription) value).getDeclaringType())
+                        ? ((MethodDescription) value).getUniqueSignature()
+                        : null;
+            }
+        }
+
         /**
          * An implementation of a new field for the enclosing instrumented type.
          */
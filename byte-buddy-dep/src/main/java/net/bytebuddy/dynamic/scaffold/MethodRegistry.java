@@ -9,6 +9,7 @@ import net.bytebuddy.implementation.attribute.MethodAttributeAppender;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.LatentMethodMatcher;
+import net.bytebuddy.utility.PersistentList;
 
 import java.util.*;
 
@@ -388,14 +389,14 @@ public interface MethodRegistry {
         public MethodRegistry prepend(LatentMethodMatcher methodMatcher,
                                       Handler handler,
                                       MethodAttributeAppender.Factory attributeAppenderFactory) {
-            return new Default(join(new Entry(methodMatcher, handler, attributeAppenderFactory), entries));
+            return new Default(PersistentList.prepend(new Entry(methodMatcher, handler, attributeAppenderFactory), entries));
         }
 
         @Override
         public MethodRegistry append(LatentMethodMatcher methodMatcher,
                                      Handler handler,
                                      MethodAttributeAppender.Factory attributeAppenderFactory) {
-            return new Default(join(entries, new Entry(methodMatcher, handler, attributeAppenderFactory)));
+            return new Default(PersistentList.append(entries, new Entry(methodMatcher, handler, attributeAppenderFactory)));
         }
 
         @Override
@@ -112,13 +112,11 @@ public class InlineInstrumentedType extends InstrumentedType.AbstractBase {
         if (fieldDescriptions.contains(additionalField)) {
             throw new IllegalArgumentException("Field " + additionalField + " is already defined on " + this);
         }
-        List<FieldDescription> fieldDescriptions = new ArrayList<FieldDescription>(this.fieldDescriptions);
-        fieldDescriptions.add(additionalField);
         return new InlineInstrumentedType(levelType,
                 name,
                 interfaces,
                 this.modifiers,
-                fieldDescriptions,
+                appendField(additionalField),
                 methodDescriptions,
                 loadedTypeInitializer,
                 typeInitializer);
@@ -139,14 +137,12 @@ public class InlineInstrumentedType extends InstrumentedType.AbstractBase {
         if (methodDescriptions.contains(additionalMethod)) {
             throw new IllegalArgumentException("Method " + additionalMethod + " is already defined on " + this);
         }
-        List<MethodDescription> methodDescriptions = new ArrayList<MethodDescription>(this.methodDescriptions);
-        methodDescriptions.add(additionalMethod);
         return new InlineInstrumentedType(levelType,
                 name,
                 interfaces,
                 this.modifiers,
                 fieldDescriptions,
-                methodDescriptions,
+                appendMethod(additionalMethod),
                 loadedTypeInitializer,
                 typeInitializer);
     }
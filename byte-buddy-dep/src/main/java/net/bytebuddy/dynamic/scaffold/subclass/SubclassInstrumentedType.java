@@ -11,7 +11,6 @@ import net.bytebuddy.dynamic.scaffold.InstrumentedType;
 import net.bytebuddy.implementation.LoadedTypeInitializer;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -113,14 +112,12 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
         if (fieldDescriptions.contains(additionalField)) {
             throw new IllegalArgumentException("Field " + additionalField + " is already defined on " + this);
         }
-        List<FieldDescription> fieldDescriptions = new ArrayList<FieldDescription>(this.fieldDescriptions);
-        fieldDescriptions.add(additionalField);
         return new SubclassInstrumentedType(classFileVersion,
                 superClass,
                 interfaces,
                 this.modifiers,
                 name,
-                fieldDescriptions,
+                appendField(additionalField),
                 methodDescriptions,
                 loadedTypeInitializer,
                 typeInitializer);
@@ -141,15 +138,13 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
         if (methodDescriptions.contains(additionalMethod)) {
             throw new IllegalArgumentException("Method " + additionalMethod + " is already defined on " + this);
         }
-        List<MethodDescription> methodDescriptions = new ArrayList<MethodDescription>(this.methodDescriptions);
-        methodDescriptions.add(additionalMethod);
         return new SubclassInstrumentedType(classFileVersion,
                 superClass,
                 interfaces,
                 this.modifiers,
                 name,
                 fieldDescriptions,
-                methodDescriptions,
+                appendMethod(additionalMethod),
                 loadedTypeInitializer,
                 typeInitializer);
     }
@@ -0,0 +1,259 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.field.FieldList;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.description.type.TypeList;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.StackMapFrame;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import static net.bytebuddy.matcher.ElementMatchers.any;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * An implementation of {@link Object#equals(Object)} that compares the non-static fields that are declared by the
+ * instrumented type. Two instances are considered equal if they are instances of the same class and if all compared
+ * fields are equal. Primitive fields are compared without boxing, where {@code float} and {@code double} values are
+ * compared as by {@link Float#compare(float, float)} and {@link Double#compare(double, double)}. Arrays are compared
+ * by their content and any other reference is compared by its {@link Object#equals(Object)} method where two
+ * {@code null} references are considered equal.
+ * </p>
+ * <p>
+ * This implementation is applicable to any non-static method that returns a {@code boolean} and that takes a single
+ * reference argument.
+ * </p>
+ */
+public class EqualsMethod implements Implementation {
+
+    /**
+     * A matcher to identify the fields that are compared.
+     */
+    private final ElementMatcher<? super FieldDescription> matcher;
+
+    /**
+     * Creates a new equals method implementation.
+     *
+     * @param matcher A matcher to identify the fields that are compared.
+     */
+    protected EqualsMethod(ElementMatcher<? super FieldDescription> matcher) {
+        this.matcher = matcher;
+    }
+
+    /**
+     * Creates an equals method implementation that compares all non-static fields of the instrumented type.
+     *
+     * @return An equals method implementation that compares all non-static fields of the instrumented type.
+     */
+    public static Implementation ofAllFields() {
+        return ofFields(any());
+    }
+
+    /**
+     * Creates an equals method implementation that compares all non-static fields of the instrumented type that
+     * are matched by the given matcher.
+     *
+     * @param matcher A matcher to identify the fields that are compared.
+     * @return An equals method implementation that compares all matched non-static fields of the instrumented type.
+     */
+    public static Implementation ofFields(ElementMatcher<? super FieldDescription> matcher) {
+        return new EqualsMethod(nonNull(matcher));
+    }
+
+    @Override
+    public InstrumentedType prepare(InstrumentedType instrumentedType) {
+        return instrumentedType;
+    }
+
+    @Override
+    public ByteCodeAppender appender(Target implementationTarget) {
+        return new Appender(implementationTarget.getTypeDescription(), implementationTarget.getTypeDescription()
+                .getDeclaredFields()
+                .filter(not(isStatic()).and(matcher)));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && matcher.equals(((EqualsMethod) other).matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        return matcher.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "EqualsMethod{matcher=" + matcher + '}';
+    }
+
+    /**
+     * A byte code appender that implements an equals method.
+     */
+    protected static class Appender implements ByteCodeAppender {
+
+        /**
+         * The maximum size of the operand stack that is required for comparing two values.
+         */
+        private static final int MAXIMUM_STACK_SIZE = 4;
+
+        /**
+         * The instrumented type.
+         */
+        private final TypeDescription instrumentedType;
+
+        /**
+         * The fields that are compared.
+         */
+        private final FieldList fieldList;
+
+        /**
+         * Creates a new appender for an equals method.
+         *
+         * @param instrumentedType The instrumented type.
+         * @param fieldList        The fields that are compared.
+         */
+        protected Appender(TypeDescription instrumentedType, FieldList fieldList) {
+            this.instrumentedType = instrumentedType;
+            this.fieldList = fieldList;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+            TypeList parameterTypes = instrumentedMethod.getParameters().asTypeList();
+            if (instrumentedMethod.isStatic()
+                    || !instrumentedMethod.getReturnType().represents(boolean.class)
+                    || parameterTypes.size() != 1
+                    || parameterTypes.getOnly().isPrimitive()) {
+                throw new IllegalStateException("Cannot implement an equals method for " + instrumentedMethod);
+            }
+            StackMapFrame frame = StackMapFrame.of(implementationContext, instrumentedType, instrumentedMethod);
+            Label notIdentical = new Label(), unequal = new Label();
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+            methodVisitor.visitJumpInsn(Opcodes.IF_ACMPNE, notIdentical);
+            methodVisitor.visitInsn(Opcodes.ICONST_1);
+            methodVisitor.visitInsn(Opcodes.IRETURN);
+            frame.visit(methodVisitor, notIdentical);
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+            methodVisitor.visitJumpInsn(Opcodes.IFNULL, unequal);
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Object", "getClass", "()Ljava/lang/Class;", false);
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Object", "getClass", "()Ljava/lang/Class;", false);
+            methodVisitor.visitJumpInsn(Opcodes.IF_ACMPNE, unequal);
+            for (FieldDescription fieldDescription : fieldList) {
+                TypeDescription fieldType = fieldDescription.getFieldType();
+                if (fieldType.isPrimitive()) {
+                    loadValues(methodVisitor, implementationContext, fieldDescription);
+                    if (fieldType.represents(long.class)) {
+                        methodVisitor.visitInsn(Opcodes.LCMP);
+                        methodVisitor.visitJumpInsn(Opcodes.IFNE, unequal);
+                    } else if (fieldType.represents(float.class)) {
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Float", "compare", "(FF)I", false);
+                        methodVisitor.visitJumpInsn(Opcodes.IFNE, unequal);
+                    } else if (fieldType.represents(double.class)) {
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Double", "compare", "(DD)I", false);
+                        methodVisitor.visitJumpInsn(Opcodes.IFNE, unequal);
+                    } else {
+                        methodVisitor.visitJumpInsn(Opcodes.IF_ICMPNE, unequal);
+                    }
+                } else if (fieldType.isArray()) {
+                    loadValues(methodVisitor, implementationContext, fieldDescription);
+                    if (fieldType.getComponentType().isPrimitive()) {
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC,
+                                "java/util/Arrays",
+                                "equals",
+                                "(" + fieldType.getDescriptor() + fieldType.getDescriptor() + ")Z",
+                                false);
+                    } else {
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Arrays", "deepEquals", "([Ljava/lang/Object;[Ljava/lang/Object;)Z", false);
+                    }
+                    methodVisitor.visitJumpInsn(Opcodes.IFEQ, unequal);
+                } else {
+                    Label nonNull = new Label(), next = new Label();
+                    loadValue(methodVisitor, implementationContext, fieldDescription, 0);
+                    methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, nonNull);
+                    loadValue(methodVisitor, implementationContext, fieldDescription, 1);
+                    methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, unequal);
+                    methodVisitor.visitJumpInsn(Opcodes.GOTO, next);
+                    frame.visit(methodVisitor, nonNull);
+                    loadValues(methodVisitor, implementationContext, fieldDescription);
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Object", "equals", "(Ljava/lang/Object;)Z", false);
+                    methodVisitor.visitJumpInsn(Opcodes.IFEQ, unequal);
+                    frame.visit(methodVisitor, next);
+                }
+            }
+            methodVisitor.visitInsn(Opcodes.ICONST_1);
+            methodVisitor.visitInsn(Opcodes.IRETURN);
+            frame.visit(methodVisitor, unequal);
+            methodVisitor.visitInsn(Opcodes.ICONST_0);
+            methodVisitor.visitInsn(Opcodes.IRETURN);
+            return new Size(MAXIMUM_STACK_SIZE, instrumentedMethod.getStackSize());
+        }
+
+        /**
+         * Loads the values of a field of both the instance and the compared instance onto the operand stack.
+         *
+         * @param methodVisitor         The method visitor to write to.
+         * @param implementationContext The implementation context to use.
+         * @param fieldDescription      The field to load.
+         */
+        private void loadValues(MethodVisitor methodVisitor, Context implementationContext, FieldDescription fieldDescription) {
+            loadValue(methodVisitor, implementationContext, fieldDescription, 0);
+            loadValue(methodVisitor, implementationContext, fieldDescription, 1);
+        }
+
+        /**
+         * Loads the value of a field of an instance that is stored in a local variable onto the operand stack.
+         *
+         * @param methodVisitor         The method visitor to write to.
+         * @param implementationContext The implementation context to use.
+         * @param fieldDescription      The field to load.
+         * @param offset                The offset of the local variable that stores the instance.
+         */
+        private void loadValue(MethodVisitor methodVisitor, Context implementationContext, FieldDescription fieldDescription, int offset) {
+            MethodVariableAccess.REFERENCE.loadOffset(offset).apply(methodVisitor, implementationContext);
+            if (offset > 0) {
+                TypeCasting.to(instrumentedType).apply(methodVisitor, implementationContext);
+            }
+            FieldAccess.forField(fieldDescription).getter().apply(methodVisitor, implementationContext);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Appender appender = (Appender) other;
+            return instrumentedType.equals(appender.instrumentedType)
+                    && fieldList.equals(appender.fieldList);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = instrumentedType.hashCode();
+            result = 31 * result + fieldList.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "EqualsMethod.Appender{" +
+                    "instrumentedType=" + instrumentedType +
+                    ", fieldList=" + fieldList +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.field.FieldList;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.StackMapFrame;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.Arrays;
+
+import static net.bytebuddy.matcher.ElementMatchers.any;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * An implementation of {@link Object#hashCode()} that computes a hash code from the non-static fields that are declared
+ * by the instrumented type. Starting from an initial value of {@code 17}, the hash code of each field is added after
+ * multiplying the intermediate result by {@code 31}. Primitive fields are hashed without boxing where a field's hash
+ * code equals the hash code of its wrapper type with the exception of {@code boolean} values which are represented by
+ * {@code 1} and {@code 0}. Arrays are hashed by their content and any other reference is hashed by its
+ * {@link Object#hashCode()} method where {@code null} is represented by {@code 0}.
+ * </p>
+ * <p>
+ * This implementation is applicable to any non-static method that returns an {@code int}.
+ * </p>
+ */
+public class HashCodeMethod implements Implementation {
+
+    /**
+     * A matcher to identify the fields that are hashed.
+     */
+    private final ElementMatcher<? super FieldDescription> matcher;
+
+    /**
+     * Creates a new hash code method implementation.
+     *
+     * @param matcher A matcher to identify the fields that are hashed.
+     */
+    protected HashCodeMethod(ElementMatcher<? super FieldDescription> matcher) {
+        this.matcher = matcher;
+    }
+
+    /**
+     * Creates a hash code method implementation that hashes all non-static fields of the instrumented type.
+     *
+     * @return A hash code method implementation that hashes all non-static fields of the instrumented type.
+     */
+    public static Implementation ofAllFields() {
+        return ofFields(any());
+    }
+
+    /**
+     * Creates a hash code method implementation that hashes all non-static fields of the instrumented type that
+     * are matched by the given matcher.
+     *
+     * @param matcher A matcher to identify the fields that are hashed.
+     * @return A hash code method implementation that hashes all matched non-static fields of the instrumented type.
+     */
+    public static Implementation ofFields(ElementMatcher<? super FieldDescription> matcher) {
+        return new HashCodeMethod(nonNull(matcher));
+    }
+
+    @Override
+    public InstrumentedType prepare(InstrumentedType instrumentedType) {
+        return instrumentedType;
+    }
+
+    @Override
+    public ByteCodeAppender appender(Target implementationTarget) {
+        return new Appender(implementationTarget.getTypeDescription(), implementationTarget.getTypeDescription()
+                .getDeclaredFields()
+                .filter(not(isStatic()).and(matcher)));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && matcher.equals(((HashCodeMethod) other).matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        return matcher.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "HashCodeMethod{matcher=" + matcher + '}';
+    }
+
+    /**
+     * A byte code appender that implements a hash code method.
+     */
+    protected static class Appender implements ByteCodeAppender {
+
+        /**
+         * The initial value of the computed hash code.
+         */
+        private static final int INITIAL_VALUE = 17;
+
+        /**
+         * The multiplier that is applied to the intermediate hash code before adding a field's hash code.
+         */
+        private static final int MULTIPLIER = 31;
+
+        /**
+         * The maximum size of the operand stack that is required for hashing a field.
+         */
+        private static final int MAXIMUM_STACK_SIZE = 6;
+
+        /**
+         * A description of the {@code int} type.
+         */
+        private static final TypeDescription INTEGER = new TypeDescription.ForLoadedType(int.class);
+
+        /**
+         * The instrumented type.
+         */
+        private final TypeDescription instrumentedType;
+
+        /**
+         * The fields that are hashed.
+         */
+        private final FieldList fieldList;
+
+        /**
+         * Creates a new appender for a hash code method.
+         *
+         * @param instrumentedType The instrumented type.
+         * @param fieldList        The fields that are hashed.
+         */
+        protected Appender(TypeDescription instrumentedType, FieldList fieldList) {
+            this.instrumentedType = instrumentedType;
+            this.fieldList = fieldList;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+            if (instrumentedMethod.isStatic() || !instrumentedMethod.getReturnType().represents(int.class)) {
+                throw new IllegalStateException("Cannot implement a hash code method for " + instrumentedMethod);
+            }
+            StackMapFrame frame = StackMapFrame.of(implementationContext, instrumentedType, instrumentedMethod);
+            methodVisitor.visitIntInsn(Opcodes.BIPUSH, INITIAL_VALUE);
+            for (FieldDescription fieldDescription : fieldList) {
+                TypeDescription fieldType = fieldDescription.getFieldType();
+                methodVisitor.visitIntInsn(Opcodes.BIPUSH, MULTIPLIER);
+                methodVisitor.visitInsn(Opcodes.IMUL);
+                MethodVariableAccess.REFERENCE.loadOffset(0).apply(methodVisitor, implementationContext);
+                FieldAccess.forField(fieldDescription).getter().apply(methodVisitor, implementationContext);
+                if (fieldType.represents(long.class)) {
+                    foldLong(methodVisitor);
+                } else if (fieldType.represents(float.class)) {
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Float", "floatToIntBits", "(F)I", false);
+                } else if (fieldType.represents(double.class)) {
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Double", "doubleToLongBits", "(D)J", false);
+                    foldLong(methodVisitor);
+                } else if (fieldType.isArray()) {
+                    if (fieldType.getComponentType().isPrimitive()) {
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Arrays", "hashCode", "(" + fieldType.getDescriptor() + ")I", false);
+                    } else {
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Arrays", "deepHashCode", "([Ljava/lang/Object;)I", false);
+                    }
+                } else if (!fieldType.isPrimitive()) {
+                    Label nonNull = new Label(), hashed = new Label();
+                    methodVisitor.visitInsn(Opcodes.DUP);
+                    methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, nonNull);
+                    methodVisitor.visitInsn(Opcodes.POP);
+                    methodVisitor.visitInsn(Opcodes.ICONST_0);
+                    methodVisitor.visitJumpInsn(Opcodes.GOTO, hashed);
+                    frame.visit(methodVisitor, nonNull, Arrays.asList(INTEGER, fieldType));
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Object", "hashCode", "()I", false);
+                    frame.visit(methodVisitor, hashed, Arrays.asList(INTEGER, INTEGER));
+                }
+                methodVisitor.visitInsn(Opcodes.IADD);
+            }
+            methodVisitor.visitInsn(Opcodes.IRETURN);
+            return new Size(MAXIMUM_STACK_SIZE, instrumentedMethod.getStackSize());
+        }
+
+        /**
+         * Folds a {@code long} value on top of the operand stack into an {@code int} value as by {@link Long#hashCode()}.
+         *
+         * @param methodVisitor The method visitor to write to.
+         */
+        private static void foldLong(MethodVisitor methodVisitor) {
+            methodVisitor.visitInsn(Opcodes.DUP2);
+            methodVisitor.visitIntInsn(Opcodes.BIPUSH, 32);
+            methodVisitor.visitInsn(Opcodes.LUSHR);
+            methodVisitor.visitInsn(Opcodes.LXOR);
+            methodVisitor.visitInsn(Opcodes.L2I);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Appender appender = (Appender) other;
+            return instrumentedType.equals(appender.instrumentedType)
+                    && fieldList.equals(appender.fieldList);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = instrumentedType.hashCode();
+            result = 31 * result + fieldList.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "HashCodeMethod.Appender{" +
+                    "instrumentedType=" + instrumentedType +
+                    ", fieldList=" + fieldList +
+                    '}';
+        }
+    }
+}
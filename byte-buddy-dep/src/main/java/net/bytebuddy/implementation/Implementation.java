@@ -479,6 +479,54 @@ public interface Implementation {
          */
         FieldDescription cache(StackManipulation fieldValue, TypeDescription fieldType);
 
+        /**
+         * An optional extension of an implementation context that exposes the class file version of the instrumented
+         * type. A stack manipulation that emits byte code instructions which are not available to every class file
+         * version must not expect an implementation context to implement this interface.
+         */
+        interface Versioned extends Context {
+
+            /**
+             * Returns the class file version of the instrumented type. The class file version determines what byte code
+             * instructions a stack manipulation is allowed to emit.
+             *
+             * @return The class file version of the instrumented type.
+             */
+            ClassFileVersion getClassFileVersion();
+        }
+
+        /**
+         * An optional extension of an implementation context that allows to move code of an instrumented method into a
+         * synthetic {@code static} method of the instrumented type. Outlining code keeps the byte code of an
+         * instrumented method small such that the method remains below a virtual machine's inlining thresholds. A stack
+         * manipulation must not expect an implementation context to implement this interface.
+         */
+        interface Outlining extends Context {
+
+            /**
+             * Checks if code can be outlined into the instrumented type. An interface can only declare a {@code static}
+             * method if its class file version is at least Java 8.
+             *
+             * @return {@code true} if code can be outlined into the instrumented type.
+             */
+            boolean canOutline();
+
+            /**
+             * Registers a synthetic {@code static} method on the instrumented type that applies the given stack
+             * manipulation and returns the value that this stack manipulation puts onto the operand stack. Registering
+             * an equal stack manipulation with equal parameter types and an equal return type twice yields the same
+             * method.
+             *
+             * @param stackManipulation The stack manipulation to apply within the outlined method. This stack manipulation
+             *                          must only read the outlined method's parameters and must not register any field
+             *                          cache.
+             * @param parameterTypes    The parameter types of the outlined method.
+             * @param returnType        The type of the value that the stack manipulation puts onto the operand stack.
+             * @return A description of the outlined method.
+             */
+            MethodDescription outline(StackManipulation stackManipulation, List<? extends TypeDescription> parameterTypes, TypeDescription returnType);
+        }
+
         /**
          * Represents an extractable view of an {@link Implementation.Context} which
          * allows the retrieval of any registered auxiliary type.
@@ -563,7 +611,10 @@ public interface Implementation {
          * A default implementation of an {@link Implementation.Context.ExtractableView}
          * which serves as its own {@link net.bytebuddy.implementation.auxiliary.AuxiliaryType.MethodAccessorFactory}.
          */
-        class Default implements Implementation.Context.ExtractableView, AuxiliaryType.MethodAccessorFactory {
+        class Default implements Implementation.Context.ExtractableView,
+                Implementation.Context.Versioned,
+                Implementation.Context.Outlining,
+                AuxiliaryType.MethodAccessorFactory {
 
             /**
              * The name suffix to be appended to an accessor method.
@@ -575,6 +626,17 @@ public interface Implementation {
              */
             public static final String FIELD_CACHE_PREFIX = "cachedValue";
 
+            /**
+             * The name prefix to be prepended to an outlined method.
+             */
+            public static final String OUTLINED_METHOD_PREFIX = "outlined";
+
+            /**
+             * The modifiers of an outlined method besides its visibility. An outlined method is {@code public} if the
+             * instrumented type is an interface and {@code private} otherwise.
+             */
+            private static final int OUTLINED_METHOD_MODIFIER = Opcodes.ACC_SYNTHETIC | Opcodes.ACC_STATIC;
+
             /**
              * Indicates that a field should be defined without a default value.
              */
@@ -616,7 +678,12 @@ public interface Implementation {
             private final Map<FieldDescription, MethodDescription> registeredSetters;
 
             /**
-             * A map of accessor methods to a method pool entry that represents their implementation.
+             * A mapping of outlined code to the outlined methods that each apply their mapped code.
+             */
+            private final Map<OutlinedCode, MethodDescription> registeredOutlinedMethods;
+
+            /**
+             * A map of accessor methods and outlined methods to a method pool entry that represents their implementation.
              */
             private final Map<MethodDescription, TypeWriter.MethodPool.Entry> accessorMethodEntries;
 
@@ -661,6 +728,7 @@ public interface Implementation {
                 registeredAccessorMethods = new HashMap<Implementation.SpecialMethodInvocation, MethodDescription>();
                 registeredGetters = new HashMap<FieldDescription, MethodDescription>();
                 registeredSetters = new HashMap<FieldDescription, MethodDescription>();
+                registeredOutlinedMethods = new HashMap<OutlinedCode, MethodDescription>();
                 accessorMethodEntries = new HashMap<MethodDescription, TypeWriter.MethodPool.Entry>();
                 auxiliaryTypes = new HashMap<AuxiliaryType, DynamicType>();
                 registeredFieldCacheEntries = new HashMap<FieldCacheEntry, FieldDescription>();
@@ -765,13 +833,40 @@ public interface Implementation {
                 accessorMethodEntries.put(accessorMethod, new FieldSetter(fieldDescription));
             }
 
+            @Override
+            public boolean canOutline() {
+                return !instrumentedType.isInterface() || classFileVersion.compareTo(ClassFileVersion.JAVA_V8) >= 0;
+            }
+
+            @Override
+            public MethodDescription outline(StackManipulation stackManipulation,
+                                             List<? extends TypeDescription> parameterTypes,
+                                             TypeDescription returnType) {
+                if (!canOutline()) {
+                    throw new IllegalStateException("Cannot outline code into " + instrumentedType);
+                }
+                OutlinedCode outlinedCode = new OutlinedCode(stackManipulation, new ArrayList<TypeDescription>(parameterTypes), returnType);
+                MethodDescription outlinedMethod = registeredOutlinedMethods.get(outlinedCode);
+                if (outlinedMethod == null) {
+                    outlinedMethod = new MethodDescription.Latent(String.format("%s$%s", OUTLINED_METHOD_PREFIX, randomString.nextString()),
+                            instrumentedType,
+                            returnType,
+                            outlinedCode.getParameterTypes(),
+                            OUTLINED_METHOD_MODIFIER | (instrumentedType.isInterface() ? Opcodes.ACC_PUBLIC : Opcodes.ACC_PRIVATE),
+                            Collections.<TypeDescription>emptyList());
+                    registeredOutlinedMethods.put(outlinedCode, outlinedMethod);
+                    accessorMethodEntries.put(outlinedMethod, outlinedCode);
+                }
+                return outlinedMethod;
+            }
+
             @Override
             public TypeDescription register(AuxiliaryType auxiliaryType) {
                 DynamicType dynamicType = auxiliaryTypes.get(auxiliaryType);
                 if (dynamicType == null) {
-                    dynamicType = auxiliaryType.make(auxiliaryTypeNamingStrategy.name(auxiliaryType, instrumentedType),
-                            classFileVersion,
-                            this);
+                    dynamicType = auxiliaryTypeNamingStrategy instanceof AuxiliaryType.NamingStrategy.Creating
+                            ? ((AuxiliaryType.NamingStrategy.Creating) auxiliaryTypeNamingStrategy).make(auxiliaryType, instrumentedType, classFileVersion, this)
+                            : auxiliaryType.make(auxiliaryTypeNamingStrategy.name(auxiliaryType, instrumentedType), classFileVersion, this);
                     auxiliaryTypes.put(auxiliaryType, dynamicType);
                 }
                 return dynamicType.getTypeDescription();
@@ -798,6 +893,11 @@ public interface Implementation {
                 return fieldCache;
             }
 
+            @Override
+            public ClassFileVersion getClassFileVersion() {
+                return classFileVersion;
+            }
+
             /**
              * Validates that the field cache is still accessible. Once the type initializer of a class is written, no
              * additional field caches can be defined. See
@@ -850,6 +950,7 @@ public interface Implementation {
                         ", registeredAccessorMethods=" + registeredAccessorMethods +
                         ", registeredGetters=" + registeredGetters +
                         ", registeredSetters=" + registeredSetters +
+                        ", registeredOutlinedMethods=" + registeredOutlinedMethods +
                         ", accessorMethodEntries=" + accessorMethodEntries +
                         ", auxiliaryTypes=" + auxiliaryTypes +
                         ", registeredFieldCacheEntries=" + registeredFieldCacheEntries +
@@ -1110,6 +1211,85 @@ public interface Implementation {
                             '}';
                 }
             }
+
+            /**
+             * An implementation of an outlined method that applies a stack manipulation and returns its value.
+             */
+            protected static class OutlinedCode extends AbstractDelegationEntry {
+
+                /**
+                 * The stack manipulation that is applied by the outlined method.
+                 */
+                private final StackManipulation stackManipulation;
+
+                /**
+                 * The parameter types of the outlined method.
+                 */
+                private final List<TypeDescription> parameterTypes;
+
+                /**
+                 * The return type of the outlined method.
+                 */
+                private final TypeDescription returnType;
+
+                /**
+                 * Creates a new outlined code entry.
+                 *
+                 * @param stackManipulation The stack manipulation that is applied by the outlined method.
+                 * @param parameterTypes    The parameter types of the outlined method.
+                 * @param returnType        The return type of the outlined method.
+                 */
+                protected OutlinedCode(StackManipulation stackManipulation, List<TypeDescription> parameterTypes, TypeDescription returnType) {
+                    this.stackManipulation = stackManipulation;
+                    this.parameterTypes = parameterTypes;
+                    this.returnType = returnType;
+                }
+
+                /**
+                 * Returns the parameter types of the outlined method.
+                 *
+                 * @return The parameter types of the outlined method.
+                 */
+                protected List<TypeDescription> getParameterTypes() {
+                    return parameterTypes;
+                }
+
+                @Override
+                public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                    StackManipulation.Size stackSize = new StackManipulation.Compound(
+                            stackManipulation,
+                            MethodReturn.returning(returnType)
+                    ).apply(methodVisitor, implementationContext);
+                    return new Size(stackSize.getMaximalSize(), instrumentedMethod.getStackSize());
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    OutlinedCode outlinedCode = (OutlinedCode) other;
+                    return stackManipulation.equals(outlinedCode.stackManipulation)
+                            && parameterTypes.equals(outlinedCode.parameterTypes)
+                            && returnType.equals(outlinedCode.returnType);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = stackManipulation.hashCode();
+                    result = 31 * result + parameterTypes.hashCode();
+                    result = 31 * result + returnType.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "Implementation.Context.Default.OutlinedCode{" +
+                            "stackManipulation=" + stackManipulation +
+                            ", parameterTypes=" + parameterTypes +
+                            ", returnType=" + returnType +
+                            '}';
+                }
+            }
         }
     }
 
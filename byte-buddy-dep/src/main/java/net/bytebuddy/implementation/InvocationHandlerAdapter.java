@@ -57,6 +57,12 @@ public abstract class InvocationHandlerAdapter implements Implementation {
      */
     protected final boolean cacheMethods;
 
+    /**
+     * Determines if cached {@link java.lang.reflect.Method} instances are only resolved when they are first
+     * requested instead of when the instrumented type is initialized.
+     */
+    protected final boolean lazyMethodCache;
+
     /**
      * Creates a new invocation handler for a given field.
      *
@@ -66,8 +72,23 @@ public abstract class InvocationHandlerAdapter implements Implementation {
      * @param assigner     The assigner to apply when defining this implementation.
      */
     protected InvocationHandlerAdapter(String fieldName, boolean cacheMethods, Assigner assigner) {
+        this(fieldName, cacheMethods, NO_CACHING, assigner);
+    }
+
+    /**
+     * Creates a new invocation handler for a given field.
+     *
+     * @param fieldName       The name of the field.
+     * @param cacheMethods    Determines if the {@link java.lang.reflect.Method} instances that are handed to the
+     *                        intercepted methods are cached.
+     * @param lazyMethodCache Determines if cached {@link java.lang.reflect.Method} instances are only resolved when
+     *                        they are first requested.
+     * @param assigner        The assigner to apply when defining this implementation.
+     */
+    protected InvocationHandlerAdapter(String fieldName, boolean cacheMethods, boolean lazyMethodCache, Assigner assigner) {
         this.fieldName = fieldName;
         this.cacheMethods = cacheMethods;
+        this.lazyMethodCache = lazyMethodCache;
         this.assigner = assigner;
     }
 
@@ -108,19 +129,19 @@ public abstract class InvocationHandlerAdapter implements Implementation {
     }
 
     /**
-     * Returns a list of stack manipulations that loads all arguments of an instrumented method.
+     * Returns a list of argument values that represent all arguments of an instrumented method.
      *
      * @param instrumentedMethod The method that is instrumented.
-     * @return A list of stack manipulation that loads all arguments of an instrumented method.
+     * @return A list of argument values that represent all arguments of an instrumented method.
      */
-    private List<StackManipulation> argumentValuesOf(MethodDescription instrumentedMethod) {
+    private List<ArrayFactory.ArgumentValue> argumentValuesOf(MethodDescription instrumentedMethod) {
         TypeList parameterTypes = instrumentedMethod.getParameters().asTypeList();
-        List<StackManipulation> instruction = new ArrayList<StackManipulation>(parameterTypes.size());
+        List<ArrayFactory.ArgumentValue> instruction = new ArrayList<ArrayFactory.ArgumentValue>(parameterTypes.size());
         TypeDescription objectType = TypeDescription.OBJECT;
         int currentIndex = 1;
         for (TypeDescription parameterType : parameterTypes) {
-            instruction.add(new StackManipulation.Compound(
-                    MethodVariableAccess.forType(parameterType).loadOffset(currentIndex),
+            instruction.add(new ArrayFactory.ArgumentValue(parameterType,
+                    currentIndex,
                     assigner.assign(parameterType, objectType, Assigner.STATICALLY_TYPED)));
             currentIndex += parameterType.getStackSize().getSize();
         }
@@ -143,6 +164,37 @@ public abstract class InvocationHandlerAdapter implements Implementation {
      */
     public abstract AssignerConfigurable withMethodCache();
 
+    /**
+     * Caches any {@link java.lang.reflect.Method} instance that is handed over to an
+     * {@link java.lang.reflect.InvocationHandler} similarly to {@link InvocationHandlerAdapter#withMethodCache()}
+     * but only looks up a method when it is intercepted for the first time. For this purpose, the method is loaded
+     * by a dynamic method invocation that is bound to a constant call site what requires the instrumented type to be
+     * defined in a class file of at least Java 7. For older class files, the method is cached in a {@code static}
+     * field as if {@link InvocationHandlerAdapter#withMethodCache()} was specified. This avoids resolving methods
+     * that are never intercepted when a type with many methods is initialized.
+     *
+     * @return A similar invocation handler adapter which lazily caches any {@link java.lang.reflect.Method} instance.
+     * @see MethodConstant#lazilyCachedFor(MethodDescription)
+     */
+    public abstract AssignerConfigurable withLazyMethodCache();
+
+    /**
+     * Returns a stack manipulation that loads the given method onto the operand stack according to this adapter's
+     * caching configuration.
+     *
+     * @param instrumentedMethod The method that is instrumented.
+     * @return A stack manipulation that loads the instrumented method as a {@link java.lang.reflect.Method}.
+     */
+    private StackManipulation methodConstant(MethodDescription instrumentedMethod) {
+        MethodConstant.CanCache methodConstant = MethodConstant.forMethod(instrumentedMethod);
+        if (!cacheMethods) {
+            return methodConstant;
+        }
+        return lazyMethodCache
+                ? MethodConstant.lazilyCachedFor(instrumentedMethod)
+                : methodConstant.cached();
+    }
+
     /**
      * Applies an implementation that delegates to a invocation handler.
      *
@@ -164,10 +216,8 @@ public abstract class InvocationHandlerAdapter implements Implementation {
                 FieldAccess.forField(instrumentedType.getDeclaredFields()
                         .filter((named(fieldName))).getOnly()).getter(),
                 MethodVariableAccess.forType(TypeDescription.OBJECT).loadOffset(0),
-                cacheMethods
-                        ? MethodConstant.forMethod(instrumentedMethod).cached()
-                        : MethodConstant.forMethod(instrumentedMethod),
-                ArrayFactory.forType(TypeDescription.OBJECT).withValues(argumentValuesOf(instrumentedMethod)),
+                methodConstant(instrumentedMethod),
+                ArrayFactory.forType(TypeDescription.OBJECT).withArguments(argumentValuesOf(instrumentedMethod)),
                 MethodInvocation.invoke(invocationHandlerType.getDeclaredMethods().getOnly()),
                 assigner.assign(TypeDescription.OBJECT, instrumentedMethod.getReturnType(), Assigner.DYNAMICALLY_TYPED),
                 MethodReturn.returning(instrumentedMethod.getReturnType())
@@ -181,6 +231,7 @@ public abstract class InvocationHandlerAdapter implements Implementation {
         if (other == null || getClass() != other.getClass()) return false;
         InvocationHandlerAdapter that = (InvocationHandlerAdapter) other;
         return cacheMethods == that.cacheMethods
+                && lazyMethodCache == that.lazyMethodCache
                 && assigner.equals(that.assigner)
                 && fieldName.equals(that.fieldName);
     }
@@ -190,6 +241,7 @@ public abstract class InvocationHandlerAdapter implements Implementation {
         int result = fieldName.hashCode();
         result = 31 * result + assigner.hashCode();
         result = 31 * result + (cacheMethods ? 1 : 0);
+        result = 31 * result + (lazyMethodCache ? 1 : 0);
         return result;
     }
 
@@ -233,18 +285,43 @@ public abstract class InvocationHandlerAdapter implements Implementation {
                                       boolean cacheMethods,
                                       Assigner assigner,
                                       InvocationHandler invocationHandler) {
-            super(fieldName, cacheMethods, assigner);
+            this(fieldName, cacheMethods, NO_CACHING, assigner, invocationHandler);
+        }
+
+        /**
+         * Creates a new invocation handler adapter for delegating invocations to an invocation handler that is stored
+         * in a static field.
+         *
+         * @param fieldName         The name of the field.
+         * @param cacheMethods      Determines if the {@link java.lang.reflect.Method} instances that are handed to the
+         *                          intercepted methods are cached.
+         * @param lazyMethodCache   Determines if cached {@link java.lang.reflect.Method} instances are only resolved
+         *                          when they are first requested.
+         * @param assigner          The assigner to apply when defining this implementation.
+         * @param invocationHandler The invocation handler to which all method calls are delegated.
+         */
+        protected ForStaticDelegation(String fieldName,
+                                      boolean cacheMethods,
+                                      boolean lazyMethodCache,
+                                      Assigner assigner,
+                                      InvocationHandler invocationHandler) {
+            super(fieldName, cacheMethods, lazyMethodCache, assigner);
             this.invocationHandler = invocationHandler;
         }
 
         @Override
         public AssignerConfigurable withMethodCache() {
-            return new ForStaticDelegation(fieldName, true, assigner, invocationHandler);
+            return new ForStaticDelegation(fieldName, true, NO_CACHING, assigner, invocationHandler);
+        }
+
+        @Override
+        public AssignerConfigurable withLazyMethodCache() {
+            return new ForStaticDelegation(fieldName, true, true, assigner, invocationHandler);
         }
 
         @Override
         public Implementation withAssigner(Assigner assigner) {
-            return new ForStaticDelegation(fieldName, cacheMethods, nonNull(assigner), invocationHandler);
+            return new ForStaticDelegation(fieldName, cacheMethods, lazyMethodCache, nonNull(assigner), invocationHandler);
         }
 
         @Override
@@ -276,6 +353,7 @@ public abstract class InvocationHandlerAdapter implements Implementation {
             return "InvocationHandlerAdapter.ForStaticDelegation{" +
                     "fieldName=" + fieldName +
                     ", cacheMethods=" + cacheMethods +
+                    ", lazyMethodCache=" + lazyMethodCache +
                     ", invocationHandler=" + invocationHandler +
                     '}';
         }
@@ -357,17 +435,37 @@ public abstract class InvocationHandlerAdapter implements Implementation {
          * @param assigner     The assigner to apply when defining this implementation.
          */
         protected ForInstanceDelegation(String fieldName, boolean cacheMethods, Assigner assigner) {
-            super(fieldName, cacheMethods, assigner);
+            this(fieldName, cacheMethods, NO_CACHING, assigner);
+        }
+
+        /**
+         * Creates a new invocation handler adapter for delegating invocations to an invocation handler that is stored
+         * in an instance field.
+         *
+         * @param fieldName       The name of the field.
+         * @param cacheMethods    Determines if the {@link java.lang.reflect.Method} instances that are handed to the
+         *                        intercepted methods are cached.
+         * @param lazyMethodCache Determines if cached {@link java.lang.reflect.Method} instances are only resolved
+         *                        when they are first requested.
+         * @param assigner        The assigner to apply when defining this implementation.
+         */
+        protected ForInstanceDelegation(String fieldName, boolean cacheMethods, boolean lazyMethodCache, Assigner assigner) {
+            super(fieldName, cacheMethods, lazyMethodCache, assigner);
         }
 
         @Override
         public AssignerConfigurable withMethodCache() {
-            return new ForInstanceDelegation(fieldName, true, assigner);
+            return new ForInstanceDelegation(fieldName, true, NO_CACHING, assigner);
+        }
+
+        @Override
+        public AssignerConfigurable withLazyMethodCache() {
+            return new ForInstanceDelegation(fieldName, true, true, assigner);
         }
 
         @Override
         public Implementation withAssigner(Assigner assigner) {
-            return new ForInstanceDelegation(fieldName, cacheMethods, nonNull(assigner));
+            return new ForInstanceDelegation(fieldName, cacheMethods, lazyMethodCache, nonNull(assigner));
         }
 
         @Override
@@ -387,6 +485,7 @@ public abstract class InvocationHandlerAdapter implements Implementation {
             return "InvocationHandlerAdapter.ForInstanceDelegation{" +
                     "fieldName=" + fieldName +
                     "cacheMethods=" + cacheMethods +
+                    ", lazyMethodCache=" + lazyMethodCache +
                     '}';
         }
 
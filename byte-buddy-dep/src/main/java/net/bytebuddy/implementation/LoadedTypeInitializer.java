@@ -1,9 +1,29 @@
 package net.bytebuddy.implementation;
 
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.ClassConstant;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import org.objectweb.asm.MethodVisitor;
+
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
 
 /**
  * Implementations of this interface explicitly initialize a loaded type. Usually, such implementations inject runtime
@@ -166,6 +186,194 @@ public interface LoadedTypeInitializer {
         }
     }
 
+    /**
+     * <p>
+     * A type initializer for setting a value for a static field without using the reflection API. Instead of
+     * setting the field's value after the instrumented type was loaded, the value is only registered in a global
+     * registry once the type is loaded. The instrumented type's type initializer then retrieves the value from this
+     * registry and assigns it to the field. Once the values were registered, the instrumented type is initialized
+     * and its values are removed from the registry, even if the initialization fails, such that the registry never
+     * holds a reference to a loaded type after this initializer was applied. A {@code null} value is supported.
+     * </p>
+     * <p>
+     * A type is initialized when the first of its values is registered. A {@link LoadedTypeInitializer.Compound}
+     * therefore registers the values of all its registered field initializers under a single entry for the loaded
+     * type before the type is initialized once. Registered field initializers must therefore only be combined by
+     * such a compound initializer.
+     * </p>
+     * <p>
+     * In order to apply this initializer, it must be registered as both a loaded type initializer and as a byte code
+     * appender for the instrumented type's type initializer what is achieved by calling
+     * {@link net.bytebuddy.implementation.LoadedTypeInitializer.ForRegisteredField#prepare(InstrumentedType)}.
+     * </p>
+     * <p>
+     * <b>Important</b>: The instrumented type must be able to see this class in order to access the registry. If
+     * the instrumented type was already initialized before this loaded type initializer is applied, for example
+     * because it was loaded with initialization, the field is set by reflection instead what requires the field
+     * to be non-{@code final}.
+     * </p>
+     */
+    class ForRegisteredField implements LoadedTypeInitializer, ByteCodeAppender {
+
+        /**
+         * The values that are registered for loaded types which were not yet initialized by their field names.
+         */
+        private static final ConcurrentMap<Class<?>, Map<String, Object>> REGISTRY = new ConcurrentHashMap<Class<?>, Map<String, Object>>();
+
+        /**
+         * A placeholder for a {@code null} value as the registry does not accept {@code null} values.
+         */
+        private static final Object NULL_VALUE = new Object();
+
+        /**
+         * Indicates that a type should be initialized when it is looked up.
+         */
+        private static final boolean INITIALIZE = true;
+
+        /**
+         * Indicates that a resolved value is assigned to its field by a dynamic type casting and, for a primitive
+         * field, by unboxing the resolved value.
+         */
+        private static final boolean DYNAMICALLY_TYPED = true;
+
+        /**
+         * The name of the method that resolves a registered value.
+         */
+        private static final String RESOLVE = "resolve";
+
+        /**
+         * The name of the field.
+         */
+        private final String fieldName;
+
+        /**
+         * The value that is set to the field.
+         */
+        private final Object value;
+
+        /**
+         * Creates a new loaded type initializer for setting a static field's value by a registry lookup.
+         *
+         * @param fieldName The name of the field.
+         * @param value     The value that is set to the field.
+         */
+        public ForRegisteredField(String fieldName, Object value) {
+            this.fieldName = fieldName;
+            this.value = value;
+        }
+
+        /**
+         * Resolves and removes a value that was registered for a given type's field. This method is meant to be
+         * invoked from a type's type initializer and must not be called directly.
+         *
+         * @param type      The type for which a value was registered.
+         * @param fieldName The name of the field for which a value was registered.
+         * @return The registered value or {@code null} if no value or a {@code null} value was registered.
+         */
+        public static Object resolve(Class<?> type, String fieldName) {
+            Map<String, Object> values = REGISTRY.get(type);
+            Object value = values == null
+                    ? null
+                    : values.remove(fieldName);
+            return value == NULL_VALUE
+                    ? null
+                    : value;
+        }
+
+        /**
+         * Registers the values of all given registered field initializers for the given type before initializing the
+         * type once. Any value that the type initializer did not resolve, for example because the type was already
+         * initialized, is set by reflection instead.
+         *
+         * @param type             The loaded type.
+         * @param registeredFields The registered field initializers to apply to the loaded type.
+         */
+        protected static void onLoad(Class<?> type, List<ForRegisteredField> registeredFields) {
+            if (registeredFields.isEmpty()) {
+                return;
+            }
+            Map<String, Object> values = new ConcurrentHashMap<String, Object>();
+            for (ForRegisteredField registeredField : registeredFields) {
+                values.put(registeredField.fieldName, registeredField.value == null
+                        ? NULL_VALUE
+                        : registeredField.value);
+            }
+            REGISTRY.put(type, values);
+            try {
+                Class.forName(type.getName(), INITIALIZE, type.getClassLoader());
+            } catch (ClassNotFoundException ignored) {
+                /* The type is not visible by its name such that the values are set by reflection. */
+            } finally {
+                REGISTRY.remove(type);
+            }
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                ForStaticField.nonAccessible(entry.getKey(), entry.getValue() == NULL_VALUE
+                        ? null
+                        : entry.getValue()).onLoad(type);
+            }
+        }
+
+        /**
+         * Registers this loaded type initializer with the given instrumented type such that the represented
+         * field's value is set in the type initializer.
+         *
+         * @param instrumentedType The instrumented type that declares the field.
+         * @return The given instrumented type with this initializer registered.
+         */
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType.withInitializer((LoadedTypeInitializer) this).withInitializer((ByteCodeAppender) this);
+        }
+
+        @Override
+        public void onLoad(Class<?> type) {
+            onLoad(type, Collections.singletonList(this));
+        }
+
+        @Override
+        public boolean isAlive() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+            TypeDescription instrumentedType = instrumentedMethod.getDeclaringType();
+            FieldDescription fieldDescription = instrumentedType.getDeclaredFields().filter(named(fieldName)).getOnly();
+            StackManipulation assignment = Assigner.DEFAULT.assign(TypeDescription.OBJECT, fieldDescription.getFieldType(), DYNAMICALLY_TYPED);
+            if (!assignment.isValid()) {
+                throw new IllegalStateException("Cannot assign a registered value to " + fieldDescription);
+            }
+            StackManipulation.Size size = new StackManipulation.Compound(
+                    ClassConstant.of(instrumentedType),
+                    new TextConstant(fieldName),
+                    MethodInvocation.invoke(new TypeDescription.ForLoadedType(ForRegisteredField.class).getDeclaredMethods()
+                            .filter(named(RESOLVE)).getOnly()),
+                    assignment,
+                    FieldAccess.forField(fieldDescription).putter()
+            ).apply(methodVisitor, implementationContext);
+            return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && fieldName.equals(((ForRegisteredField) other).fieldName)
+                    && (value == null ? ((ForRegisteredField) other).value == null : value.equals(((ForRegisteredField) other).value));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * fieldName.hashCode() + (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return "LoadedTypeInitializer.ForRegisteredField{" +
+                    "fieldName='" + fieldName + '\'' +
+                    ", value=" + value +
+                    '}';
+        }
+    }
+
     /**
      * A compound loaded type initializer that combines several type initializers.
      */
@@ -196,11 +404,35 @@ public interface LoadedTypeInitializer {
 
         @Override
         public void onLoad(Class<?> type) {
-            for (LoadedTypeInitializer loadedTypeInitializer : this.loadedTypeInitializer) {
+            List<ForRegisteredField> registeredFields = new ArrayList<ForRegisteredField>();
+            List<LoadedTypeInitializer> loadedTypeInitializers = new ArrayList<LoadedTypeInitializer>();
+            flatten(registeredFields, loadedTypeInitializers);
+            ForRegisteredField.onLoad(type, registeredFields);
+            for (LoadedTypeInitializer loadedTypeInitializer : loadedTypeInitializers) {
                 loadedTypeInitializer.onLoad(type);
             }
         }
 
+        /**
+         * Collects the loaded type initializers of this compound and of any nested compound. Registered field
+         * initializers are collected separately such that their values can be registered before the loaded type
+         * is initialized.
+         *
+         * @param registeredFields       The list to which any registered field initializer is added.
+         * @param loadedTypeInitializers The list to which any other loaded type initializer is added in its invocation order.
+         */
+        private void flatten(List<ForRegisteredField> registeredFields, List<LoadedTypeInitializer> loadedTypeInitializers) {
+            for (LoadedTypeInitializer loadedTypeInitializer : this.loadedTypeInitializer) {
+                if (loadedTypeInitializer instanceof ForRegisteredField) {
+                    registeredFields.add((ForRegisteredField) loadedTypeInitializer);
+                } else if (loadedTypeInitializer instanceof Compound) {
+                    ((Compound) loadedTypeInitializer).flatten(registeredFields, loadedTypeInitializers);
+                } else {
+                    loadedTypeInitializers.add(loadedTypeInitializer);
+                }
+            }
+        }
+
         @Override
         public boolean isAlive() {
             for (LoadedTypeInitializer loadedTypeInitializer : this.loadedTypeInitializer) {
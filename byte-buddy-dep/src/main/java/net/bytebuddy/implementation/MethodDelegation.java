@@ -1,5 +1,7 @@
 package net.bytebuddy.implementation;
 
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodList;
 import net.bytebuddy.description.type.TypeDescription;
@@ -10,15 +12,23 @@ import net.bytebuddy.implementation.bind.annotation.*;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
 import net.bytebuddy.implementation.bytecode.Duplication;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.StackMapFrame;
+import net.bytebuddy.implementation.bytecode.Throw;
 import net.bytebuddy.implementation.bytecode.TypeCreation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.JavaType;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
@@ -324,6 +334,47 @@ public class MethodDelegation implements Implementation {
                         .filter(not(isStatic().or(isPrivate()).or(isConstructor()))));
     }
 
+    /**
+     * Creates an implementation that binds the same target methods as {@link MethodDelegation#to(Object)} but
+     * that loads the delegate instance from a {@code java.lang.invoke.ConstantCallSite} instead of reading a
+     * {@code static} field on every invocation. This allows the just-in-time compiler to treat the delegate
+     * instance as a constant. The call site is bound by a synthetic bootstrap method of the instrumented type
+     * when an intercepted method is executed for the first time. At this point, the delegate instance must
+     * already be set by the {@link net.bytebuddy.implementation.LoadedTypeInitializer} of the instrumented type,
+     * i.e. an intercepted method must not be invoked before the type is fully loaded, for example from the
+     * instrumented type's type initializer. This dispatch mode requires a class file version of at least Java 7.
+     *
+     * @param delegate A delegate instance which will be injected by a
+     *                 {@link net.bytebuddy.implementation.LoadedTypeInitializer}. All intercepted method calls are
+     *                 then delegated to this instance.
+     * @return A method delegation implementation to the given instance methods.
+     */
+    public static MethodDelegation toConstantCallSite(Object delegate) {
+        return toConstantCallSite(nonNull(delegate), MethodLookupEngine.Default.DEFAULT_LOOKUP_DISABLED);
+    }
+
+    /**
+     * Identical to {@link net.bytebuddy.implementation.MethodDelegation#toConstantCallSite(Object)} but uses an
+     * explicit {@link MethodLookupEngine}.
+     *
+     * @param delegate           A delegate instance which will be injected by a
+     *                           {@link net.bytebuddy.implementation.LoadedTypeInitializer}. All intercepted method
+     *                           calls are then delegated to this instance.
+     * @param methodLookupEngine The method lookup engine to use.
+     * @return A method delegation implementation to the given instance methods.
+     */
+    public static MethodDelegation toConstantCallSite(Object delegate, MethodLookupEngine methodLookupEngine) {
+        return new MethodDelegation(new ImplementationDelegate.ForConstantCallSite(nonNull(delegate)),
+                defaultParameterBinders(),
+                defaultDefaultsProvider(),
+                TargetMethodAnnotationDrivenBinder.TerminationHandler.Returning.INSTANCE,
+                defaultAmbiguityResolver(),
+                Assigner.DEFAULT,
+                methodLookupEngine.process(new TypeDescription.ForLoadedType(delegate.getClass()))
+                        .getInvokableMethods()
+                        .filter(not(isStatic().or(isPrivate()).or(isConstructor()))));
+    }
+
     /**
      * Creates an implementation where method calls are delegated to an instance that is manually stored in a field
      * {@code fieldName} that is defined for the instrumented type. The field belongs to any instance of the instrumented
@@ -614,7 +665,7 @@ public class MethodDelegation implements Implementation {
         if (methodList.size() == 0) {
             throw new IllegalStateException("No bindable method is visible to " + implementationTarget.getTypeDescription());
         }
-        return new Appender(implementationDelegate.getPreparingStackAssignment(implementationTarget.getTypeDescription()),
+        ByteCodeAppender byteCodeAppender = new Appender(implementationDelegate.getPreparingStackAssignment(implementationTarget.getTypeDescription()),
                 implementationTarget,
                 methodList,
                 new MethodDelegationBinder.Processor(new TargetMethodAnnotationDrivenBinder(
@@ -625,6 +676,9 @@ public class MethodDelegation implements Implementation {
                         implementationDelegate.getMethodInvoker(implementationTarget.getTypeDescription())
                 ), ambiguityResolver)
         );
+        return implementationDelegate instanceof ImplementationDelegate.Wrapping
+                ? ((ImplementationDelegate.Wrapping) implementationDelegate).wrap(byteCodeAppender, implementationTarget.getTypeDescription())
+                : byteCodeAppender;
     }
 
     @Override
@@ -695,6 +749,25 @@ public class MethodDelegation implements Implementation {
          */
         MethodDelegationBinder.MethodInvoker getMethodInvoker(TypeDescription instrumentedType);
 
+        /**
+         * An implementation delegate that adds helper methods to the instrumented type when preparing it and that
+         * implements these methods by wrapping the byte code appender of the method delegation. Any implementation
+         * delegate that does not implement this interface applies the byte code appender of the method delegation
+         * as it is.
+         */
+        interface Wrapping extends ImplementationDelegate {
+
+            /**
+             * Wraps the byte code appender of a method delegation in order to implement any helper method that was
+             * added to the instrumented type when it was prepared by this implementation delegate.
+             *
+             * @param byteCodeAppender The byte code appender of the method delegation.
+             * @param instrumentedType The instrumented type to which the implementation is applied.
+             * @return A byte code appender for all methods that are implemented by the method delegation.
+             */
+            ByteCodeAppender wrap(ByteCodeAppender byteCodeAppender, TypeDescription instrumentedType);
+        }
+
         /**
          * An implementation applied to a static method.
          */
@@ -926,6 +999,276 @@ public class MethodDelegation implements Implementation {
                         '}';
             }
         }
+
+        /**
+         * An implementation that loads a delegate instance from a {@code java.lang.invoke.ConstantCallSite} which is
+         * bound to the value of a {@code static} field of the instrumented type. The call site is bound by a synthetic
+         * bootstrap method that is added to the instrumented type. Using this implementation requires a class file
+         * version of at least Java 7. If a delegation is invoked before the field's loaded type initializer was applied,
+         * the bootstrap method throws an {@link IllegalStateException} which is wrapped in a
+         * {@code java.lang.BootstrapMethodError} by the Java virtual machine.
+         */
+        class ForConstantCallSite implements ImplementationDelegate.Wrapping {
+
+            /**
+             * The name prefix for the {@code static} field that is containing the delegation target.
+             */
+            private static final String PREFIX = "methodDelegate";
+
+            /**
+             * The suffix that is appended to the field name for naming the bootstrap method.
+             */
+            private static final String BOOTSTRAP_SUFFIX = "bootstrap";
+
+            /**
+             * The name of the dynamically bound method that returns the delegate instance.
+             */
+            private static final String METHOD_NAME = "delegate";
+
+            /**
+             * The name of the field that is containing the delegation target.
+             */
+            private final String fieldName;
+
+            /**
+             * The delegation target.
+             */
+            private final Object delegate;
+
+            /**
+             * Creates a new implementation for delegating to an instance that is loaded from a constant call site.
+             * The field name will be created randomly.
+             *
+             * @param delegate The actual delegation target.
+             */
+            public ForConstantCallSite(Object delegate) {
+                this(delegate, String.format("%s$%d", PREFIX, delegate.hashCode()));
+            }
+
+            /**
+             * Creates a new implementation for delegating to an instance that is loaded from a constant call site.
+             *
+             * @param delegate  The actual delegation target.
+             * @param fieldName The name of the field for storing the delegate instance.
+             */
+            public ForConstantCallSite(Object delegate, String fieldName) {
+                this.delegate = delegate;
+                this.fieldName = fieldName;
+            }
+
+            /**
+             * Returns the name of the bootstrap method that binds the constant call site.
+             *
+             * @return The name of the bootstrap method.
+             */
+            private String getBootstrapMethodName() {
+                return String.format("%s$%s", fieldName, BOOTSTRAP_SUFFIX);
+            }
+
+            @Override
+            public InstrumentedType prepare(InstrumentedType instrumentedType) {
+                return instrumentedType.withField(fieldName,
+                        new TypeDescription.ForLoadedType(delegate.getClass()),
+                        Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC)
+                        .withMethod(getBootstrapMethodName(),
+                                JavaType.CALL_SITE.getTypeStub(),
+                                Arrays.asList(JavaType.METHOD_HANDLES_LOOKUP.getTypeStub(),
+                                        new TypeDescription.ForLoadedType(String.class),
+                                        JavaType.METHOD_TYPE.getTypeStub()),
+                                Collections.<TypeDescription>emptyList(),
+                                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC)
+                        .withInitializer(LoadedTypeInitializer.ForStaticField.nonAccessible(fieldName, delegate));
+            }
+
+            @Override
+            public StackManipulation getPreparingStackAssignment(TypeDescription instrumentedType) {
+                return MethodInvocation.invoke(instrumentedType.getDeclaredMethods().filter(named(getBootstrapMethodName())).getOnly())
+                        .dynamic(METHOD_NAME,
+                                new TypeDescription.ForLoadedType(delegate.getClass()),
+                                Collections.<TypeDescription>emptyList(),
+                                Collections.emptyList());
+            }
+
+            @Override
+            public MethodDelegationBinder.MethodInvoker getMethodInvoker(TypeDescription instrumentedType) {
+                return new MethodDelegationBinder.MethodInvoker.Virtual(new TypeDescription.ForLoadedType(delegate.getClass()));
+            }
+
+            @Override
+            public ByteCodeAppender wrap(ByteCodeAppender byteCodeAppender, TypeDescription instrumentedType) {
+                return new Appender(byteCodeAppender,
+                        getBootstrapMethodName(),
+                        instrumentedType.getDeclaredFields().filter(named(fieldName)).getOnly());
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && delegate.equals(((ForConstantCallSite) other).delegate)
+                        && fieldName.equals(((ForConstantCallSite) other).fieldName);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * fieldName.hashCode() + delegate.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodDelegation.ImplementationDelegate.ForConstantCallSite{" +
+                        "fieldName='" + fieldName + '\'' +
+                        ", delegate=" + delegate +
+                        '}';
+            }
+
+            /**
+             * A byte code appender that implements the bootstrap method of a constant call site and that applies
+             * the method delegation to any other method.
+             */
+            protected static class Appender implements ByteCodeAppender {
+
+                /**
+                 * A description of the {@code java.lang.invoke.ConstantCallSite} type.
+                 */
+                private static final TypeDescription CONSTANT_CALL_SITE = new TypeDescription.Latent("java.lang.invoke.ConstantCallSite",
+                        Opcodes.ACC_PUBLIC,
+                        JavaType.CALL_SITE.getTypeStub(),
+                        Collections.<TypeDescription>emptyList());
+
+                /**
+                 * A description of the {@code java.lang.invoke.MethodHandles} type.
+                 */
+                private static final TypeDescription METHOD_HANDLES = new TypeDescription.Latent("java.lang.invoke.MethodHandles",
+                        Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                        TypeDescription.OBJECT,
+                        Collections.<TypeDescription>emptyList());
+
+                /**
+                 * A description of the {@code java.lang.invoke.ConstantCallSite#ConstantCallSite(MethodHandle)} constructor.
+                 */
+                private static final MethodDescription CONSTANT_CALL_SITE_CONSTRUCTOR = new MethodDescription.Latent(MethodDescription.CONSTRUCTOR_INTERNAL_NAME,
+                        CONSTANT_CALL_SITE,
+                        TypeDescription.VOID,
+                        Collections.singletonList(JavaType.METHOD_HANDLE.getTypeStub()),
+                        Opcodes.ACC_PUBLIC,
+                        Collections.<TypeDescription>emptyList());
+
+                /**
+                 * A description of the {@code java.lang.invoke.MethodHandles#constant(Class, Object)} method.
+                 */
+                private static final MethodDescription CONSTANT = new MethodDescription.Latent("constant",
+                        METHOD_HANDLES,
+                        JavaType.METHOD_HANDLE.getTypeStub(),
+                        Arrays.asList(TypeDescription.CLASS, TypeDescription.OBJECT),
+                        Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC,
+                        Collections.<TypeDescription>emptyList());
+
+                /**
+                 * A description of the {@code java.lang.invoke.MethodType#returnType()} method.
+                 */
+                private static final MethodDescription RETURN_TYPE = new MethodDescription.Latent("returnType",
+                        JavaType.METHOD_TYPE.getTypeStub(),
+                        TypeDescription.CLASS,
+                        Collections.<TypeDescription>emptyList(),
+                        Opcodes.ACC_PUBLIC,
+                        Collections.<TypeDescription>emptyList());
+
+                /**
+                 * A description of the {@link IllegalStateException} type.
+                 */
+                private static final TypeDescription ILLEGAL_STATE_EXCEPTION = new TypeDescription.ForLoadedType(IllegalStateException.class);
+
+                /**
+                 * The index of the bootstrap method's parameter that represents the bound method type.
+                 */
+                private static final int METHOD_TYPE_INDEX = 2;
+
+                /**
+                 * The byte code appender that applies the method delegation.
+                 */
+                private final ByteCodeAppender byteCodeAppender;
+
+                /**
+                 * The name of the bootstrap method.
+                 */
+                private final String bootstrapMethodName;
+
+                /**
+                 * The field that is containing the delegation target.
+                 */
+                private final FieldDescription fieldDescription;
+
+                /**
+                 * Creates a new appender for a constant call site delegation.
+                 *
+                 * @param byteCodeAppender    The byte code appender that applies the method delegation.
+                 * @param bootstrapMethodName The name of the bootstrap method.
+                 * @param fieldDescription    The field that is containing the delegation target.
+                 */
+                protected Appender(ByteCodeAppender byteCodeAppender, String bootstrapMethodName, FieldDescription fieldDescription) {
+                    this.byteCodeAppender = byteCodeAppender;
+                    this.bootstrapMethodName = bootstrapMethodName;
+                    this.fieldDescription = fieldDescription;
+                }
+
+                @Override
+                public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                    if (implementationContext instanceof Context.Versioned
+                            && ((Context.Versioned) implementationContext).getClassFileVersion().compareTo(ClassFileVersion.JAVA_V7) < 0) {
+                        throw new IllegalStateException("Cannot bind a constant call site for a class file version prior to Java 7: "
+                                + ((Context.Versioned) implementationContext).getClassFileVersion());
+                    } else if (!instrumentedMethod.isStatic() || !instrumentedMethod.getInternalName().equals(bootstrapMethodName)) {
+                        return byteCodeAppender.apply(methodVisitor, implementationContext, instrumentedMethod);
+                    }
+                    Label initialized = new Label();
+                    int maximumStackSize = FieldAccess.forField(fieldDescription).getter().apply(methodVisitor, implementationContext).getMaximalSize();
+                    methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, initialized);
+                    maximumStackSize = Math.max(maximumStackSize, new StackManipulation.Compound(TypeCreation.forType(ILLEGAL_STATE_EXCEPTION),
+                            Duplication.SINGLE,
+                            new TextConstant("Cannot bind a constant call site to the uninitialized delegate field "
+                                    + fieldDescription.getName() + " of " + fieldDescription.getDeclaringType()),
+                            MethodInvocation.invoke(ILLEGAL_STATE_EXCEPTION.getDeclaredMethods().filter(isConstructor().and(takesArguments(String.class))).getOnly()),
+                            Throw.INSTANCE).apply(methodVisitor, implementationContext).getMaximalSize());
+                    StackMapFrame.of(implementationContext, fieldDescription.getDeclaringType(), instrumentedMethod).visit(methodVisitor, initialized);
+                    maximumStackSize = Math.max(maximumStackSize, new StackManipulation.Compound(TypeCreation.forType(CONSTANT_CALL_SITE),
+                            Duplication.SINGLE,
+                            MethodVariableAccess.REFERENCE.loadOffset(METHOD_TYPE_INDEX),
+                            MethodInvocation.invoke(RETURN_TYPE),
+                            FieldAccess.forField(fieldDescription).getter(),
+                            MethodInvocation.invoke(CONSTANT),
+                            MethodInvocation.invoke(CONSTANT_CALL_SITE_CONSTRUCTOR),
+                            MethodReturn.REFERENCE).apply(methodVisitor, implementationContext).getMaximalSize());
+                    return new Size(maximumStackSize, instrumentedMethod.getStackSize());
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    Appender appender = (Appender) other;
+                    return byteCodeAppender.equals(appender.byteCodeAppender)
+                            && bootstrapMethodName.equals(appender.bootstrapMethodName)
+                            && fieldDescription.equals(appender.fieldDescription);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = byteCodeAppender.hashCode();
+                    result = 31 * result + bootstrapMethodName.hashCode();
+                    result = 31 * result + fieldDescription.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "MethodDelegation.ImplementationDelegate.ForConstantCallSite.Appender{" +
+                            "byteCodeAppender=" + byteCodeAppender +
+                            ", bootstrapMethodName='" + bootstrapMethodName + '\'' +
+                            ", fieldDescription=" + fieldDescription +
+                            '}';
+                }
+            }
+        }
     }
 
     /**
@@ -0,0 +1,718 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.utility.JavaMethod;
+import net.bytebuddy.utility.JavaType;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * An implementation that links the instrumented method to a named switch by a dynamic method invocation. Any
+ * method that is implemented by a switch of a given name is bound to a {@code MutableCallSite} that invokes the
+ * interceptor that is currently installed on this switch. Interceptors can be installed, enabled and disabled at
+ * runtime without redefining the instrumented types. As the target of a call site is only changed when a switch
+ * is modified, the just-in-time compiler is able to inline the current interceptor. A disabled switch or a switch
+ * without an interceptor returns the default value of the instrumented method's return type, i.e. {@code null},
+ * {@code 0} or {@code false}. Disabling a switch invalidates a {@code SwitchPoint} such that all call sites fall
+ * back to this default at once.
+ * </p>
+ * <p>
+ * An interceptor is represented by a {@code MethodHandle} that is adapted to the type of each call site. Any
+ * instrumented method passes its {@code this} reference, if available, and all of its arguments to an interceptor.
+ * </p>
+ * <p>
+ * <b>Important</b>: Switches are only available on Java virtual machines of version 7 or newer and require the
+ * instrumented type to be defined in a class file of at least this version. Furthermore, the instrumented type must
+ * be able to see this class which implements the bootstrap method for all switches.
+ * </p>
+ * <p>
+ * The state of a switch is only retained while it differs from the default state, i.e. while an interceptor is
+ * installed, while the switch is disabled or while any linked call site was not yet garbage collected. A switch
+ * in its default state is forgotten such that using arbitrary switch names does not leak memory.
+ * </p>
+ */
+public class Switchable implements Implementation {
+
+    /**
+     * The name of the bootstrap method.
+     */
+    private static final String BOOTSTRAP = "bootstrap";
+
+    /**
+     * The entries of all switches that are not in their default state by their names. Any access to this map
+     * or to any of its entries must be synchronized on this map.
+     */
+    private static final Map<String, Entry> ENTRIES = new HashMap<String, Entry>();
+
+    /**
+     * A reference queue that is notified when a linked call site is garbage collected.
+     */
+    private static final ReferenceQueue<Object> COLLECTED_CALL_SITES = new ReferenceQueue<Object>();
+
+    /**
+     * The {@code MethodHandles#publicLookup()} method.
+     */
+    private static final JavaMethod PUBLIC_LOOKUP;
+
+    /**
+     * The {@code MethodHandles.Lookup#unreflect(Method)} method.
+     */
+    private static final JavaMethod UNREFLECT;
+
+    /**
+     * The {@code MethodHandles#constant(Class, Object)} method.
+     */
+    private static final JavaMethod CONSTANT;
+
+    /**
+     * The {@code MethodHandles#dropArguments(MethodHandle, int, List)} method.
+     */
+    private static final JavaMethod DROP_ARGUMENTS;
+
+    /**
+     * The {@code MethodHandle#asType(MethodType)} method.
+     */
+    private static final JavaMethod AS_TYPE;
+
+    /**
+     * The {@code MethodType#methodType(Class)} method.
+     */
+    private static final JavaMethod METHOD_TYPE;
+
+    /**
+     * The {@code MethodType#returnType()} method.
+     */
+    private static final JavaMethod RETURN_TYPE;
+
+    /**
+     * The {@code MethodType#parameterList()} method.
+     */
+    private static final JavaMethod PARAMETER_LIST;
+
+    /**
+     * The {@code MutableCallSite(MethodType)} constructor.
+     */
+    private static final JavaMethod NEW_MUTABLE_CALL_SITE;
+
+    /**
+     * The {@code CallSite#type()} method.
+     */
+    private static final JavaMethod TYPE;
+
+    /**
+     * The {@code MutableCallSite#setTarget(MethodHandle)} method.
+     */
+    private static final JavaMethod SET_TARGET;
+
+    /**
+     * The {@code MutableCallSite#syncAll(MutableCallSite[])} method.
+     */
+    private static final JavaMethod SYNC_ALL;
+
+    /**
+     * The {@code SwitchPoint()} constructor.
+     */
+    private static final JavaMethod NEW_SWITCH_POINT;
+
+    /**
+     * The {@code SwitchPoint#guardWithTest(MethodHandle, MethodHandle)} method.
+     */
+    private static final JavaMethod GUARD_WITH_TEST;
+
+    /**
+     * The {@code SwitchPoint#invalidateAll(SwitchPoint[])} method.
+     */
+    private static final JavaMethod INVALIDATE_ALL;
+
+    /*
+     * Locates the Java methods for creating and modifying call sites, if those are available.
+     */
+    static {
+        JavaMethod publicLookup, unreflect, constant, dropArguments, asType, methodType, returnType, parameterList,
+                newMutableCallSite, type, setTarget, syncAll, newSwitchPoint, guardWithTest, invalidateAll;
+        try {
+            Class<?> methodHandle = JavaType.METHOD_HANDLE.load();
+            Class<?> methodTypeType = JavaType.METHOD_TYPE.load();
+            Class<?> methodHandles = Class.forName("java.lang.invoke.MethodHandles");
+            Class<?> mutableCallSite = Class.forName("java.lang.invoke.MutableCallSite");
+            Class<?> switchPoint = Class.forName("java.lang.invoke.SwitchPoint");
+            publicLookup = new JavaMethod.ForLoadedMethod(methodHandles.getDeclaredMethod("publicLookup"));
+            unreflect = new JavaMethod.ForLoadedMethod(JavaType.METHOD_HANDLES_LOOKUP.load().getDeclaredMethod("unreflect", Method.class));
+            constant = new JavaMethod.ForLoadedMethod(methodHandles.getDeclaredMethod("constant", Class.class, Object.class));
+            dropArguments = new JavaMethod.ForLoadedMethod(methodHandles.getDeclaredMethod("dropArguments", methodHandle, int.class, List.class));
+            asType = new JavaMethod.ForLoadedMethod(methodHandle.getDeclaredMethod("asType", methodTypeType));
+            methodType = new JavaMethod.ForLoadedMethod(methodTypeType.getDeclaredMethod("methodType", Class.class));
+            returnType = new JavaMethod.ForLoadedMethod(methodTypeType.getDeclaredMethod("returnType"));
+            parameterList = new JavaMethod.ForLoadedMethod(methodTypeType.getDeclaredMethod("parameterList"));
+            newMutableCallSite = new JavaMethod.ForLoadedConstructor(mutableCallSite.getDeclaredConstructor(methodTypeType));
+            type = new JavaMethod.ForLoadedMethod(JavaType.CALL_SITE.load().getDeclaredMethod("type"));
+            setTarget = new JavaMethod.ForLoadedMethod(mutableCallSite.getDeclaredMethod("setTarget", methodHandle));
+            syncAll = new JavaMethod.ForLoadedMethod(mutableCallSite.getDeclaredMethod("syncAll", Array.newInstance(mutableCallSite, 0).getClass()));
+            newSwitchPoint = new JavaMethod.ForLoadedConstructor(switchPoint.getDeclaredConstructor());
+            guardWithTest = new JavaMethod.ForLoadedMethod(switchPoint.getDeclaredMethod("guardWithTest", methodHandle, methodHandle));
+            invalidateAll = new JavaMethod.ForLoadedMethod(switchPoint.getDeclaredMethod("invalidateAll", Array.newInstance(switchPoint, 0).getClass()));
+        } catch (Exception ignored) {
+            publicLookup = JavaMethod.ForUnavailableMethod.INSTANCE;
+            unreflect = JavaMethod.ForUnavailableMethod.INSTANCE;
+            constant = JavaMethod.ForUnavailableMethod.INSTANCE;
+            dropArguments = JavaMethod.ForUnavailableMethod.INSTANCE;
+            asType = JavaMethod.ForUnavailableMethod.INSTANCE;
+            methodType = JavaMethod.ForUnavailableMethod.INSTANCE;
+            returnType = JavaMethod.ForUnavailableMethod.INSTANCE;
+            parameterList = JavaMethod.ForUnavailableMethod.INSTANCE;
+            newMutableCallSite = JavaMethod.ForUnavailableMethod.INSTANCE;
+            type = JavaMethod.ForUnavailableMethod.INSTANCE;
+            setTarget = JavaMethod.ForUnavailableMethod.INSTANCE;
+            syncAll = JavaMethod.ForUnavailableMethod.INSTANCE;
+            newSwitchPoint = JavaMethod.ForUnavailableMethod.INSTANCE;
+            guardWithTest = JavaMethod.ForUnavailableMethod.INSTANCE;
+            invalidateAll = JavaMethod.ForUnavailableMethod.INSTANCE;
+        }
+        PUBLIC_LOOKUP = publicLookup;
+        UNREFLECT = unreflect;
+        CONSTANT = constant;
+        DROP_ARGUMENTS = dropArguments;
+        AS_TYPE = asType;
+        METHOD_TYPE = methodType;
+        RETURN_TYPE = returnType;
+        PARAMETER_LIST = parameterList;
+        NEW_MUTABLE_CALL_SITE = newMutableCallSite;
+        TYPE = type;
+        SET_TARGET = setTarget;
+        SYNC_ALL = syncAll;
+        NEW_SWITCH_POINT = newSwitchPoint;
+        GUARD_WITH_TEST = guardWithTest;
+        INVALIDATE_ALL = invalidateAll;
+    }
+
+    /**
+     * The name of this switch.
+     */
+    private final String name;
+
+    /**
+     * Creates a new switchable implementation.
+     *
+     * @param name The name of this switch.
+     */
+    protected Switchable(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a switch of the given name. All switches of the same name represent the same interceptor.
+     *
+     * @param name The name of the switch.
+     * @return A switch of the given name.
+     */
+    public static Switchable named(String name) {
+        return new Switchable(nonNull(name));
+    }
+
+    /**
+     * Links a dynamic method invocation to the call site of a switch. This method is invoked by the Java virtual
+     * machine and should not be called directly.
+     *
+     * @param lookup     The lookup of the type that contains the linked invocation.
+     * @param methodName The name of the linked method.
+     * @param methodType The type of the linked invocation.
+     * @param name       The name of the switch.
+     * @return A call site that invokes the switch's current interceptor.
+     */
+    public static Object bootstrap(Object lookup, String methodName, Object methodType, String name) {
+        synchronized (ENTRIES) {
+            Entry entry = entry(name);
+            try {
+                return entry.bind(methodType);
+            } finally {
+                release(entry);
+            }
+        }
+    }
+
+    /**
+     * Returns the entry of the switch of the given name and creates such an entry if it does not yet exist. This
+     * method must only be called while holding the monitor of {@link Switchable#ENTRIES}.
+     *
+     * @param name The name of the switch.
+     * @return The entry of the switch of the given name.
+     */
+    private static Entry entry(String name) {
+        expungeCollectedCallSites();
+        Entry entry = ENTRIES.get(name);
+        if (entry == null) {
+            entry = new Entry(name);
+            ENTRIES.put(name, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Removes the given entry if it is in its default state. This method must only be called while holding the
+     * monitor of {@link Switchable#ENTRIES}.
+     *
+     * @param entry The entry to release.
+     */
+    private static void release(Entry entry) {
+        if (entry.isDefault() && ENTRIES.get(entry.getName()) == entry) {
+            ENTRIES.remove(entry.getName());
+        }
+    }
+
+    /**
+     * Removes all garbage collected call sites from their entries and releases any entry that is thereby returned
+     * to its default state. This method must only be called while holding the monitor of
+     * {@link Switchable#ENTRIES}.
+     */
+    private static void expungeCollectedCallSites() {
+        Reference<?> reference;
+        while ((reference = COLLECTED_CALL_SITES.poll()) != null) {
+            Entry entry = ((Entry.CallSiteReference) reference).getEntry();
+            entry.expunge(reference);
+            release(entry);
+        }
+    }
+
+    /**
+     * Returns the number of switches that are currently retained as they are not in their default state.
+     *
+     * @return The number of retained switches.
+     */
+    protected static int retained() {
+        synchronized (ENTRIES) {
+            expungeCollectedCallSites();
+            return ENTRIES.size();
+        }
+    }
+
+    /**
+     * Returns the name of this switch.
+     *
+     * @return The name of this switch.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Installs the given method as the interceptor of this switch. The method must be public and be declared by a
+     * public type.
+     *
+     * @param method The method to install.
+     * @return This switch.
+     */
+    public Switchable install(Method method) {
+        return install(UNREFLECT.invoke(PUBLIC_LOOKUP.invokeStatic(), nonNull(method)));
+    }
+
+    /**
+     * Installs the given method handle as the interceptor of this switch. The handle is adapted to the type of any
+     * call site that is linked to this switch.
+     *
+     * @param methodHandle The {@code java.lang.invoke.MethodHandle} to install.
+     * @return This switch.
+     */
+    public Switchable install(Object methodHandle) {
+        if (!JavaType.METHOD_HANDLE.getTypeStub().isInstance(nonNull(methodHandle))) {
+            throw new IllegalArgumentException("Expected method handle: " + methodHandle);
+        }
+        synchronized (ENTRIES) {
+            Entry entry = entry(name);
+            try {
+                entry.install(methodHandle);
+            } finally {
+                release(entry);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Removes any interceptor of this switch such that all linked call sites return their default value.
+     *
+     * @return This switch.
+     */
+    public Switchable uninstall() {
+        synchronized (ENTRIES) {
+            Entry entry = entry(name);
+            try {
+                entry.install(null);
+            } finally {
+                release(entry);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Enables this switch. Switches are enabled by default.
+     *
+     * @return This switch.
+     */
+    public Switchable enable() {
+        synchronized (ENTRIES) {
+            Entry entry = entry(name);
+            try {
+                entry.enable();
+            } finally {
+                release(entry);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Disables this switch such that all linked call sites return their default value until the switch is enabled.
+     *
+     * @return This switch.
+     */
+    public Switchable disable() {
+        synchronized (ENTRIES) {
+            Entry entry = entry(name);
+            try {
+                entry.disable();
+            } finally {
+                release(entry);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Checks if this switch is enabled.
+     *
+     * @return {@code true} if this switch is enabled.
+     */
+    public boolean isEnabled() {
+        synchronized (ENTRIES) {
+            Entry entry = ENTRIES.get(name);
+            return entry == null || entry.isEnabled();
+        }
+    }
+
+    /**
+     * Returns an implementation that links the instrumented method to this switch.
+     *
+     * @return An implementation that links the instrumented method to this switch.
+     */
+    private Implementation invokeDynamic() {
+        return InvokeDynamic.bootstrap(new TypeDescription.ForLoadedType(Switchable.class).getDeclaredMethods()
+                .filter(ElementMatchers.named(BOOTSTRAP))
+                .getOnly(), name);
+    }
+
+    @Override
+    public InstrumentedType prepare(InstrumentedType instrumentedType) {
+        return invokeDynamic().prepare(instrumentedType);
+    }
+
+    @Override
+    public ByteCodeAppender appender(Target implementationTarget) {
+        return invokeDynamic().appender(implementationTarget);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && name.equals(((Switchable) other).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Switchable{" +
+                "name='" + name + '\'' +
+                '}';
+    }
+
+    /**
+     * The runtime state of a switch. An entry references all call sites that are linked to its switch weakly such
+     * that a call site can be collected together with its linked type. An entry is not thread-safe but is only
+     * accessed while holding the monitor of {@link Switchable#ENTRIES}.
+     */
+    protected static class Entry {
+
+        /**
+         * The name of this entry's switch.
+         */
+        private final String name;
+
+        /**
+         * The call sites that are linked to this entry's switch.
+         */
+        private final Set<CallSiteReference> callSites;
+
+        /**
+         * The currently installed interceptor or {@code null} if no interceptor is installed.
+         */
+        private Object methodHandle;
+
+        /**
+         * {@code true} if this entry's switch is enabled.
+         */
+        private boolean enabled;
+
+        /**
+         * The switch point that guards the installed interceptor or {@code null} if no such switch point is required.
+         */
+        private Object switchPoint;
+
+        /**
+         * Creates a new enabled entry without an interceptor.
+         *
+         * @param name The name of this entry's switch.
+         */
+        protected Entry(String name) {
+            this.name = name;
+            callSites = new HashSet<CallSiteReference>();
+            enabled = true;
+        }
+
+        /**
+         * Returns a method handle that ignores all arguments of the given type and returns the default value of its
+         * return type.
+         *
+         * @param methodType The type of the method handle.
+         * @return A method handle that returns a default value.
+         */
+        private static Object defaultValue(Object methodType) {
+            Class<?> returnType = (Class<?>) RETURN_TYPE.invoke(methodType);
+            Object methodHandle;
+            if (returnType == void.class) {
+                methodHandle = AS_TYPE.invoke(CONSTANT.invokeStatic(Object.class, null), METHOD_TYPE.invokeStatic(void.class));
+            } else {
+                methodHandle = CONSTANT.invokeStatic(returnType, returnType.isPrimitive()
+                        ? Array.get(Array.newInstance(returnType, 1), 0)
+                        : null);
+            }
+            return DROP_ARGUMENTS.invokeStatic(methodHandle, 0, PARAMETER_LIST.invoke(methodType));
+        }
+
+        /**
+         * Resolves the target of a call site of the given type. An interceptor is always adapted to the call site's
+         * type, even if the switch is disabled, such that an incompatible interceptor is never installed.
+         *
+         * @param methodType   The type of the call site.
+         * @param methodHandle The interceptor or {@code null} if no interceptor is installed.
+         * @param switchPoint  The switch point that guards the interceptor or {@code null} if the switch is disabled.
+         * @return The target of the call site.
+         */
+        private static Object target(Object methodType, Object methodHandle, Object switchPoint) {
+            Object defaultValue = defaultValue(methodType);
+            if (methodHandle == null) {
+                return defaultValue;
+            }
+            Object adapted = AS_TYPE.invoke(methodHandle, methodType);
+            return switchPoint == null
+                    ? defaultValue
+                    : GUARD_WITH_TEST.invoke(switchPoint, adapted, defaultValue);
+        }
+
+        /**
+         * Returns the name of this entry's switch.
+         *
+         * @return The name of this entry's switch.
+         */
+        protected String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the switch point to apply for the given state without changing this entry.
+         *
+         * @param methodHandle The interceptor or {@code null} if no interceptor is installed.
+         * @param enabled      {@code true} if the switch is enabled.
+         * @return The switch point to apply or {@code null} if no switch point is required.
+         */
+        private Object switchPoint(Object methodHandle, boolean enabled) {
+            if (methodHandle == null || !enabled) {
+                return null;
+            }
+            return switchPoint == null
+                    ? NEW_SWITCH_POINT.invokeStatic()
+                    : switchPoint;
+        }
+
+        /**
+         * Creates a call site for the given type that invokes this entry's current interceptor.
+         *
+         * @param methodType The type of the call site.
+         * @return A call site that invokes this entry's current interceptor.
+         */
+        protected Object bind(Object methodType) {
+            Object switchPoint = switchPoint(methodHandle, enabled);
+            Object target = target(methodType, methodHandle, switchPoint);
+            Object callSite = NEW_MUTABLE_CALL_SITE.invokeStatic(methodType);
+            SET_TARGET.invoke(callSite, target);
+            callSites.add(new CallSiteReference(callSite, this));
+            if (switchPoint != null) {
+                this.switchPoint = switchPoint;
+            }
+            return callSite;
+        }
+
+        /**
+         * Applies the given state to this entry and all of its linked call sites. The state is only applied if the
+         * interceptor can be adapted to the type of all linked call sites. Otherwise, neither this entry nor any
+         * call site is changed.
+         *
+         * @param methodHandle The interceptor or {@code null} if no interceptor should be installed.
+         * @param enabled      {@code true} if the switch should be enabled.
+         */
+        private void update(Object methodHandle, boolean enabled) {
+            Object switchPoint = switchPoint(methodHandle, enabled);
+            List<Object> liveCallSites = new ArrayList<Object>(callSites.size());
+            List<Object> targets = new ArrayList<Object>(callSites.size());
+            for (CallSiteReference callSiteReference : callSites) {
+                Object callSite = callSiteReference.get();
+                if (callSite != null) {
+                    try {
+                        targets.add(target(TYPE.invoke(callSite), methodHandle, switchPoint));
+                    } catch (IllegalStateException exception) {
+                        throw new IllegalArgumentException("Cannot adapt " + methodHandle + " to " + callSite, exception);
+                    }
+                    liveCallSites.add(callSite);
+                }
+            }
+            if (!enabled && this.switchPoint != null) {
+                Object[] switchPoints = (Object[]) Array.newInstance(this.switchPoint.getClass(), 1);
+                switchPoints[0] = this.switchPoint;
+                INVALIDATE_ALL.invokeStatic((Object) switchPoints);
+            }
+            this.methodHandle = methodHandle;
+            this.enabled = enabled;
+            this.switchPoint = switchPoint;
+            if (!liveCallSites.isEmpty()) {
+                Object[] callSite = (Object[]) Array.newInstance(liveCallSites.get(0).getClass(), liveCallSites.size());
+                for (int index = 0; index < callSite.length; index++) {
+                    callSite[index] = liveCallSites.get(index);
+                    SET_TARGET.invoke(callSite[index], targets.get(index));
+                }
+                SYNC_ALL.invokeStatic((Object) callSite);
+            }
+        }
+
+        /**
+         * Installs an interceptor.
+         *
+         * @param methodHandle The interceptor or {@code null} if any interceptor should be removed.
+         */
+        protected void install(Object methodHandle) {
+            update(methodHandle, enabled);
+        }
+
+        /**
+         * Enables this entry's switch.
+         */
+        protected void enable() {
+            if (!enabled) {
+                update(methodHandle, true);
+            }
+        }
+
+        /**
+         * Disables this entry's switch by invalidating the switch point that guards the current interceptor.
+         */
+        protected void disable() {
+            if (enabled) {
+                update(methodHandle, false);
+            }
+        }
+
+        /**
+         * Checks if this entry's switch is enabled.
+         *
+         * @return {@code true} if this entry's switch is enabled.
+         */
+        protected boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Removes a collected call site from this entry.
+         *
+         * @param callSiteReference The reference to the collected call site.
+         */
+        protected void expunge(Reference<?> callSiteReference) {
+            callSites.remove(callSiteReference);
+        }
+
+        /**
+         * Checks if this entry is in its default state such that it is equivalent to a newly created entry.
+         *
+         * @return {@code true} if this entry is in its default state.
+         */
+        protected boolean isDefault() {
+            return methodHandle == null && enabled && callSites.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "Switchable.Entry{" +
+                    "name='" + name + '\'' +
+                    ", callSites=" + callSites.size() +
+                    ", methodHandle=" + methodHandle +
+                    ", enabled=" + enabled +
+                    ", switchPoint=" + switchPoint +
+                    '}';
+        }
+
+        /**
+         * A weak reference to a linked call site that is enqueued once the call site is garbage collected.
+         */
+        protected static class CallSiteReference extends WeakReference<Object> {
+
+            /**
+             * The entry that linked the referenced call site.
+             */
+            private final Entry entry;
+
+            /**
+             * Creates a new call site reference.
+             *
+             * @param callSite The referenced call site.
+             * @param entry    The entry that linked the referenced call site.
+             */
+            protected CallSiteReference(Object callSite, Entry entry) {
+                super(callSite, COLLECTED_CALL_SITES);
+                this.entry = entry;
+            }
+
+            /**
+             * Returns the entry that linked the referenced call site.
+             *
+             * @return The entry that linked the referenced call site.
+             */
+            protected Entry getEntry() {
+                return entry;
+            }
+
+            @Override
+            public String toString() {
+                return "Switchable.Entry.CallSiteReference{" +
+                        "entry=" + entry.getName() +
+                        '}';
+            }
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.field.FieldList;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import static net.bytebuddy.matcher.ElementMatchers.any;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * An implementation of {@link Object#toString()} that describes the non-static fields that are declared by the
+ * instrumented type in the form {@code Prefix{first=value, second=value}} where the prefix is the instrumented type's
+ * simple name by default. The string is assembled by a single {@link StringBuilder} where primitive fields are appended
+ * without boxing. Arrays are described by their content.
+ * </p>
+ * <p>
+ * This implementation is applicable to any non-static method that returns a {@link String} or one of its super types
+ * and that does not take any arguments.
+ * </p>
+ */
+public class ToStringMethod implements Implementation {
+
+    /**
+     * The internal name of the {@link StringBuilder} type.
+     */
+    private static final String STRING_BUILDER = "java/lang/StringBuilder";
+
+    /**
+     * The name of the {@link StringBuilder#append(Object)} method and its overloads.
+     */
+    private static final String APPEND = "append";
+
+    /**
+     * The resolver for the prefix of the created string.
+     */
+    private final PrefixResolver prefixResolver;
+
+    /**
+     * A matcher to identify the fields that are described.
+     */
+    private final ElementMatcher<? super FieldDescription> matcher;
+
+    /**
+     * Creates a new to string method implementation.
+     *
+     * @param prefixResolver The resolver for the prefix of the created string.
+     * @param matcher        A matcher to identify the fields that are described.
+     */
+    protected ToStringMethod(PrefixResolver prefixResolver, ElementMatcher<? super FieldDescription> matcher) {
+        this.prefixResolver = prefixResolver;
+        this.matcher = matcher;
+    }
+
+    /**
+     * Creates a to string method implementation that describes all non-static fields of the instrumented type.
+     *
+     * @return A to string method implementation that describes all non-static fields of the instrumented type.
+     */
+    public static ToStringMethod ofAllFields() {
+        return ofFields(any());
+    }
+
+    /**
+     * Creates a to string method implementation that describes all non-static fields of the instrumented type that
+     * are matched by the given matcher.
+     *
+     * @param matcher A matcher to identify the fields that are described.
+     * @return A to string method implementation that describes all matched non-static fields of the instrumented type.
+     */
+    public static ToStringMethod ofFields(ElementMatcher<? super FieldDescription> matcher) {
+        return new ToStringMethod(PrefixResolver.Default.SIMPLE_TYPE_NAME, nonNull(matcher));
+    }
+
+    /**
+     * Returns a to string method implementation that uses the given prefix instead of the instrumented type's name.
+     *
+     * @param prefix The prefix of the created string.
+     * @return A to string method implementation that uses the given prefix.
+     */
+    public ToStringMethod prefixedBy(String prefix) {
+        return new ToStringMethod(new PrefixResolver.ForFixedValue(nonNull(prefix)), matcher);
+    }
+
+    @Override
+    public InstrumentedType prepare(InstrumentedType instrumentedType) {
+        return instrumentedType;
+    }
+
+    @Override
+    public ByteCodeAppender appender(Target implementationTarget) {
+        return new Appender(prefixResolver.resolve(implementationTarget.getTypeDescription()), implementationTarget.getTypeDescription()
+                .getDeclaredFields()
+                .filter(not(isStatic()).and(matcher)));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        ToStringMethod that = (ToStringMethod) other;
+        return prefixResolver.equals(that.prefixResolver)
+                && matcher.equals(that.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = prefixResolver.hashCode();
+        result = 31 * result + matcher.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ToStringMethod{" +
+                "prefixResolver=" + prefixResolver +
+                ", matcher=" + matcher +
+                '}';
+    }
+
+    /**
+     * A resolver for the prefix of a string that is created by a {@link ToStringMethod}.
+     */
+    public interface PrefixResolver {
+
+        /**
+         * Resolves the prefix of a string that describes an instance of the given type.
+         *
+         * @param instrumentedType The instrumented type.
+         * @return The prefix of the created string.
+         */
+        String resolve(TypeDescription instrumentedType);
+
+        /**
+         * Default implementations of a prefix resolver.
+         */
+        enum Default implements PrefixResolver {
+
+            /**
+             * A prefix resolver that resolves the simple name of the instrumented type.
+             */
+            SIMPLE_TYPE_NAME;
+
+            @Override
+            public String resolve(TypeDescription instrumentedType) {
+                return instrumentedType.getSimpleName();
+            }
+
+            @Override
+            public String toString() {
+                return "ToStringMethod.PrefixResolver.Default." + name();
+            }
+        }
+
+        /**
+         * A prefix resolver that returns a fixed value.
+         */
+        class ForFixedValue implements PrefixResolver {
+
+            /**
+             * The prefix to return.
+             */
+            private final String prefix;
+
+            /**
+             * Creates a new prefix resolver for a fixed value.
+             *
+             * @param prefix The prefix to return.
+             */
+            public ForFixedValue(String prefix) {
+                this.prefix = prefix;
+            }
+
+            @Override
+            public String resolve(TypeDescription instrumentedType) {
+                return prefix;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && prefix.equals(((ForFixedValue) other).prefix);
+            }
+
+            @Override
+            public int hashCode() {
+                return prefix.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "ToStringMethod.PrefixResolver.ForFixedValue{prefix='" + prefix + '\'' + '}';
+            }
+        }
+    }
+
+    /**
+     * A byte code appender that implements a to string method.
+     */
+    protected static class Appender implements ByteCodeAppender {
+
+        /**
+         * The maximum size of the operand stack that is required for appending a field's value.
+         */
+        private static final int MAXIMUM_STACK_SIZE = 3;
+
+        /**
+         * The prefix of the created string.
+         */
+        private final String prefix;
+
+        /**
+         * The fields that are described.
+         */
+        private final FieldList fieldList;
+
+        /**
+         * Creates a new appender for a to string method.
+         *
+         * @param prefix    The prefix of the created string.
+         * @param fieldList The fields that are described.
+         */
+        protected Appender(String prefix, FieldList fieldList) {
+            this.prefix = prefix;
+            this.fieldList = fieldList;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+            if (instrumentedMethod.isStatic()
+                    || !instrumentedMethod.getReturnType().isAssignableFrom(String.class)
+                    || instrumentedMethod.getParameters().size() > 0) {
+                throw new IllegalStateException("Cannot implement a to string method for " + instrumentedMethod);
+            }
+            methodVisitor.visitTypeInsn(Opcodes.NEW, STRING_BUILDER);
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitLdcInsn(prefix + "{");
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, STRING_BUILDER, MethodDescription.CONSTRUCTOR_INTERNAL_NAME, "(Ljava/lang/String;)V", false);
+            boolean first = true;
+            for (FieldDescription fieldDescription : fieldList) {
+                methodVisitor.visitLdcInsn((first ? "" : ", ") + fieldDescription.getName() + "=");
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING_BUILDER, APPEND, "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+                MethodVariableAccess.REFERENCE.loadOffset(0).apply(methodVisitor, implementationContext);
+                FieldAccess.forField(fieldDescription).getter().apply(methodVisitor, implementationContext);
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING_BUILDER, APPEND, "(" + toAppendedDescriptor(methodVisitor, fieldDescription.getFieldType()) + ")Ljava/lang/StringBuilder;", false);
+                first = false;
+            }
+            methodVisitor.visitLdcInsn("}");
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING_BUILDER, APPEND, "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING_BUILDER, "toString", "()Ljava/lang/String;", false);
+            methodVisitor.visitInsn(Opcodes.ARETURN);
+            return new Size(MAXIMUM_STACK_SIZE, instrumentedMethod.getStackSize());
+        }
+
+        /**
+         * Resolves the descriptor of the parameter of the {@link StringBuilder#append(Object)} overload that is
+         * invoked for a value of the given type. Arrays are converted into a {@link String} representation of
+         * their content before they are appended.
+         *
+         * @param methodVisitor The method visitor to write to.
+         * @param fieldType     The type of the appended value that is on top of the operand stack.
+         * @return The descriptor of the parameter of the {@link StringBuilder#append(Object)} overload to invoke.
+         */
+        private static String toAppendedDescriptor(MethodVisitor methodVisitor, TypeDescription fieldType) {
+            if (fieldType.represents(boolean.class)
+                    || fieldType.represents(char.class)
+                    || fieldType.represents(long.class)
+                    || fieldType.represents(float.class)
+                    || fieldType.represents(double.class)) {
+                return fieldType.getDescriptor();
+            } else if (fieldType.isPrimitive()) {
+                return "I";
+            } else if (fieldType.isArray()) {
+                if (fieldType.getComponentType().isPrimitive()) {
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Arrays", "toString", "(" + fieldType.getDescriptor() + ")Ljava/lang/String;", false);
+                } else {
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Arrays", "deepToString", "([Ljava/lang/Object;)Ljava/lang/String;", false);
+                }
+                return "Ljava/lang/String;";
+            } else if (fieldType.represents(String.class)) {
+                return "Ljava/lang/String;";
+            } else {
+                return "Ljava/lang/Object;";
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Appender appender = (Appender) other;
+            return prefix.equals(appender.prefix)
+                    && fieldList.equals(appender.fieldList);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = prefix.hashCode();
+            result = 31 * result + fieldList.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "ToStringMethod.Appender{" +
+                    "prefix='" + prefix + '\'' +
+                    ", fieldList=" + fieldList +
+                    '}';
+        }
+    }
+}
@@ -9,7 +9,10 @@ import org.objectweb.asm.*;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.*;
 
 import static net.bytebuddy.matcher.ElementMatchers.none;
 import static net.bytebuddy.matcher.ElementMatchers.not;
@@ -340,7 +343,8 @@ public interface AnnotationAppender {
         }
 
         /**
-         * Handles the writing of a single annotation to an annotation visitor.
+         * Handles the writing of a single annotation to an annotation visitor. The values of loaded annotations are
+         * only encoded once and are replayed from an {@link Encoding} for any subsequent write.
          *
          * @param annotationVisitor The annotation visitor the write process is to be applied on.
          * @param annotation        The annotation to be written.
@@ -349,8 +353,13 @@ public interface AnnotationAppender {
         private static void handle(AnnotationVisitor annotationVisitor,
                                    AnnotationDescription annotation,
                                    ElementMatcher<? super MethodDescription> defaultProperties) {
+            Map<String, Encoding> encodings = Encoding.Cache.INSTANCE.find(annotation);
             for (MethodDescription methodDescription : annotation.getAnnotationType().getDeclaredMethods().filter(not(defaultProperties))) {
-                apply(annotationVisitor, methodDescription.getReturnType(), methodDescription.getName(), annotation.getValue(methodDescription));
+                if (encodings == null) {
+                    apply(annotationVisitor, methodDescription.getReturnType(), methodDescription.getName(), annotation.getValue(methodDescription));
+                } else {
+                    encodings.get(methodDescription.getName()).replay(annotationVisitor);
+                }
             }
             annotationVisitor.visitEnd();
         }
@@ -422,4 +431,413 @@ public interface AnnotationAppender {
             return "AnnotationAppender.Default{target=" + target + '}';
         }
     }
+
+    /**
+     * <p>
+     * A pre-encoded annotation value that records the events an annotation value emits onto an {@link AnnotationVisitor}
+     * such that they can be replayed onto any other annotation visitor without reading the value again. An encoding
+     * does not reference any {@link Class} or {@link Annotation} instances but only describes values by their descriptors.
+     * </p>
+     * <p>
+     * <b>Note</b>: An annotation's binary representation cannot be copied into another class file directly as it
+     * references constant pool entries of the class file it was written to.
+     * </p>
+     */
+    class Encoding extends AnnotationVisitor {
+
+        /**
+         * The events that were recorded by this encoding.
+         */
+        private final List<Event> events;
+
+        /**
+         * Creates a new, empty encoding.
+         */
+        public Encoding() {
+            super(Opcodes.ASM5);
+            events = new ArrayList<Event>();
+        }
+
+        /**
+         * Creates an encoding of all properties of the given annotation.
+         *
+         * @param annotation The annotation to encode.
+         * @return A mapping of the annotation's property names to their encoded values.
+         */
+        public static Map<String, Encoding> of(AnnotationDescription annotation) {
+            Map<String, Encoding> encodings = new HashMap<String, Encoding>();
+            for (MethodDescription methodDescription : annotation.getAnnotationType().getDeclaredMethods()) {
+                Encoding encoding = new Encoding();
+                Default.apply(encoding, methodDescription.getReturnType(), methodDescription.getName(), annotation.getValue(methodDescription));
+                encodings.put(methodDescription.getName(), encoding);
+            }
+            return encodings;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            events.add(new Event.OfValue(name, value));
+        }
+
+        @Override
+        public void visitEnum(String name, String descriptor, String value) {
+            events.add(new Event.OfEnumeration(name, descriptor, value));
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+            Encoding encoding = new Encoding();
+            events.add(new Event.OfAnnotation(name, descriptor, encoding));
+            return encoding;
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            Encoding encoding = new Encoding();
+            events.add(new Event.OfArray(name, encoding));
+            return encoding;
+        }
+
+        /**
+         * Replays all recorded events onto the given annotation visitor. The end of the annotation is not
+         * visited such that further values can be written to the annotation visitor.
+         *
+         * @param annotationVisitor The annotation visitor onto which the recorded events are replayed.
+         */
+        public void replay(AnnotationVisitor annotationVisitor) {
+            for (Event event : events) {
+                event.replay(annotationVisitor);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && events.equals(((Encoding) other).events);
+        }
+
+        @Override
+        public int hashCode() {
+            return events.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "AnnotationAppender.Encoding{events=" + events + '}';
+        }
+
+        /**
+         * A recorded event of an annotation visitor.
+         */
+        protected interface Event {
+
+            /**
+             * Replays this event onto the given annotation visitor.
+             *
+             * @param annotationVisitor The annotation visitor onto which this event is replayed.
+             */
+            void replay(AnnotationVisitor annotationVisitor);
+
+            /**
+             * An event that represents a primitive, {@link String} or {@link Type} value.
+             */
+            class OfValue implements Event {
+
+                /**
+                 * The name of the value or {@code null} if the value is an array element.
+                 */
+                private final String name;
+
+                /**
+                 * The value that was visited.
+                 */
+                private final Object value;
+
+                /**
+                 * Creates a new event for a value.
+                 *
+                 * @param name  The name of the value or {@code null} if the value is an array element.
+                 * @param value The value that was visited.
+                 */
+                protected OfValue(String name, Object value) {
+                    this.name = name;
+                    this.value = value;
+                }
+
+                @Override
+                public void replay(AnnotationVisitor annotationVisitor) {
+                    annotationVisitor.visit(name, value);
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    OfValue ofValue = (OfValue) other;
+                    return !(name != null ? !name.equals(ofValue.name) : ofValue.name != null) && value.equals(ofValue.value);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = name != null ? name.hashCode() : 0;
+                    result = 31 * result + value.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "AnnotationAppender.Encoding.Event.OfValue{" +
+                            "name='" + name + '\'' +
+                            ", value=" + value +
+                            '}';
+                }
+            }
+
+            /**
+             * An event that represents an enumeration value.
+             */
+            class OfEnumeration implements Event {
+
+                /**
+                 * The name of the value or {@code null} if the value is an array element.
+                 */
+                private final String name;
+
+                /**
+                 * The descriptor of the enumeration type.
+                 */
+                private final String descriptor;
+
+                /**
+                 * The name of the enumeration constant.
+                 */
+                private final String value;
+
+                /**
+                 * Creates a new event for an enumeration value.
+                 *
+                 * @param name       The name of the value or {@code null} if the value is an array element.
+                 * @param descriptor The descriptor of the enumeration type.
+                 * @param value      The name of the enumeration constant.
+                 */
+                protected OfEnumeration(String name, String descriptor, String value) {
+                    this.name = name;
+                    this.descriptor = descriptor;
+                    this.value = value;
+                }
+
+                @Override
+                public void replay(AnnotationVisitor annotationVisitor) {
+                    annotationVisitor.visitEnum(name, descriptor, value);
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    OfEnumeration ofEnumeration = (OfEnumeration) other;
+                    return !(name != null ? !name.equals(ofEnumeration.name) : ofEnumeration.name != null)
+                            && descriptor.equals(ofEnumeration.descriptor)
+                            && value.equals(ofEnumeration.value);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = name != null ? name.hashCode() : 0;
+                    result = 31 * result + descriptor.hashCode();
+                    result = 31 * result + value.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "AnnotationAppender.Encoding.Event.OfEnumeration{" +
+                            "name='" + name + '\'' +
+                            ", descriptor='" + descriptor + '\'' +
+                            ", value='" + value + '\'' +
+                            '}';
+                }
+            }
+
+            /**
+             * An event that represents a nested annotation value.
+             */
+            class OfAnnotation implements Event {
+
+                /**
+                 * The name of the value or {@code null} if the value is an array element.
+                 */
+                private final String name;
+
+                /**
+                 * The descriptor of the annotation type.
+                 */
+                private final String descriptor;
+
+                /**
+                 * The encoding of the nested annotation's values.
+                 */
+                private final Encoding encoding;
+
+                /**
+                 * Creates a new event for a nested annotation value.
+                 *
+                 * @param name       The name of the value or {@code null} if the value is an array element.
+                 * @param descriptor The descriptor of the annotation type.
+                 * @param encoding   The encoding of the nested annotation's values.
+                 */
+                protected OfAnnotation(String name, String descriptor, Encoding encoding) {
+                    this.name = name;
+                    this.descriptor = descriptor;
+                    this.encoding = encoding;
+                }
+
+                @Override
+                public void replay(AnnotationVisitor annotationVisitor) {
+                    AnnotationVisitor nestedVisitor = annotationVisitor.visitAnnotation(name, descriptor);
+                    encoding.replay(nestedVisitor);
+                    nestedVisitor.visitEnd();
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    OfAnnotation ofAnnotation = (OfAnnotation) other;
+                    return !(name != null ? !name.equals(ofAnnotation.name) : ofAnnotation.name != null)
+                            && descriptor.equals(ofAnnotation.descriptor)
+                            && encoding.equals(ofAnnotation.encoding);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = name != null ? name.hashCode() : 0;
+                    result = 31 * result + descriptor.hashCode();
+                    result = 31 * result + encoding.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "AnnotationAppender.Encoding.Event.OfAnnotation{" +
+                            "name='" + name + '\'' +
+                            ", descriptor='" + descriptor + '\'' +
+                            ", encoding=" + encoding +
+                            '}';
+                }
+            }
+
+            /**
+             * An event that represents an array value.
+             */
+            class OfArray implements Event {
+
+                /**
+                 * The name of the value.
+                 */
+                private final String name;
+
+                /**
+                 * The encoding of the array's elements.
+                 */
+                private final Encoding encoding;
+
+                /**
+                 * Creates a new event for an array value.
+                 *
+                 * @param name     The name of the value.
+                 * @param encoding The encoding of the array's elements.
+                 */
+                protected OfArray(String name, Encoding encoding) {
+                    this.name = name;
+                    this.encoding = encoding;
+                }
+
+                @Override
+                public void replay(AnnotationVisitor annotationVisitor) {
+                    AnnotationVisitor arrayVisitor = annotationVisitor.visitArray(name);
+                    encoding.replay(arrayVisitor);
+                    arrayVisitor.visitEnd();
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    OfArray ofArray = (OfArray) other;
+                    return !(name != null ? !name.equals(ofArray.name) : ofArray.name != null)
+                            && encoding.equals(ofArray.encoding);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = name != null ? name.hashCode() : 0;
+                    result = 31 * result + encoding.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "AnnotationAppender.Encoding.Event.OfArray{" +
+                            "name='" + name + '\'' +
+                            ", encoding=" + encoding +
+                            '}';
+                }
+            }
+        }
+
+        /**
+         * A cache of the encodings of loaded annotations. Only annotations that are implemented by the Java runtime
+         * are cached as their {@link Object#equals(Object)} and {@link Object#hashCode()} methods are known to compare
+         * annotation values. Annotations are only referenced weakly such that the cache does not prevent the unloading
+         * of annotation types. As encodings do not reference any classes, an annotation is not referenced by its values.
+         */
+        protected enum Cache {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * The cached encodings mapped by their annotations.
+             */
+            private final Map<Annotation, Map<String, Encoding>> encodings = Collections.synchronizedMap(new WeakHashMap<Annotation, Map<String, Encoding>>());
+
+            /**
+             * Locates the encodings of the given annotation's properties.
+             *
+             * @param annotation The annotation for which to locate encodings.
+             * @return A mapping of the annotation's property names to their encodings or {@code null} if the given
+             * annotation cannot be cached.
+             */
+            protected Map<String, Encoding> find(AnnotationDescription annotation) {
+                if (!(annotation instanceof AnnotationDescription.ForLoadedAnnotation)) {
+                    return null;
+                }
+                Annotation loadedAnnotation = ((AnnotationDescription.ForLoadedAnnotation<?>) annotation).load();
+                if (!Proxy.isProxyClass(loadedAnnotation.getClass())) {
+                    return null;
+                }
+                Map<String, Encoding> encodings = this.encodings.get(loadedAnnotation);
+                if (encodings == null) {
+                    encodings = Encoding.of(annotation);
+                    this.encodings.put(loadedAnnotation, encodings);
+                }
+                return encodings;
+            }
+
+            /**
+             * Removes all cached encodings.
+             */
+            public void clear() {
+                encodings.clear();
+            }
+
+            @Override
+            public String toString() {
+                return "AnnotationAppender.Encoding.Cache." + name();
+            }
+        }
+    }
 }
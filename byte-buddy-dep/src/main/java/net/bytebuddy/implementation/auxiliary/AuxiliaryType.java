@@ -11,6 +11,11 @@ import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.utility.RandomString;
 import org.objectweb.asm.Opcodes;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * An auxiliary type that provides services to the instrumentation of another type. Implementations should provide
  * meaningful {@code equals(Object)} and {@code hashCode()} implementations in order to avoid multiple creations
@@ -114,6 +119,16 @@ public interface AuxiliaryType {
         }
     }
 
+    /**
+     * An auxiliary type that does not depend on the instrumented type for which it is registered. Two equal
+     * shareable auxiliary types must create equal types for the same name such that a single type can be used by any
+     * instrumented type of the same package. A shareable auxiliary type must therefore never register an accessor
+     * method on the instrumented type.
+     */
+    interface Shareable extends AuxiliaryType {
+        /* empty */
+    }
+
     /**
      * Representation of a naming strategy for an auxiliary type.
      */
@@ -175,5 +190,245 @@ public interface AuxiliaryType {
                 return "Instrumentation.Context.Default.AuxiliaryTypeNamingStrategySuffixingRandom{suffix='" + suffix + '\'' + '}';
             }
         }
+
+        /**
+         * A naming strategy that additionally creates the auxiliary types that it names. An implementation context that
+         * is configured with such a naming strategy delegates the creation of any registered auxiliary type to it.
+         */
+        interface Creating extends NamingStrategy {
+
+            /**
+             * Creates an auxiliary type for an instrumented type.
+             *
+             * @param auxiliaryType         The auxiliary type to create.
+             * @param instrumentedType      The instrumented type for which an auxiliary type is registered.
+             * @param classFileVersion      The class file version the auxiliary class should be written in.
+             * @param methodAccessorFactory A factory for accessor methods on the instrumented type.
+             * @return A dynamically created type representing the auxiliary type.
+             */
+            DynamicType make(AuxiliaryType auxiliaryType,
+                             TypeDescription instrumentedType,
+                             ClassFileVersion classFileVersion,
+                             MethodAccessorFactory methodAccessorFactory);
+        }
+
+        /**
+         * <p>
+         * A registry of naming strategies that share any equal {@link AuxiliaryType.Shareable} auxiliary type among all
+         * instrumented types of the same package that are loaded by the same class loader. Such instrumented types
+         * reference the very same dynamic type which is only created once and which is only defined once by the class
+         * loader, as an injection skips any type that was already defined. Any other auxiliary type is named by the
+         * delegate strategy and created for each instrumented type.
+         * </p>
+         * <p>
+         * <b>Important</b>: Shared auxiliary types are only remembered for as long as their class loader is reachable. A
+         * scope should only be used for instrumented types that are injected into the class loader it was created for.
+         * Instrumented types of the same package must not be loaded by class loaders where one is the parent of the other
+         * as the child loader would otherwise resolve a package-private auxiliary type of its parent.
+         * </p>
+         */
+        class Sharing {
+
+            /**
+             * The naming strategy that names any auxiliary type for the first time.
+             */
+            private final NamingStrategy namingStrategy;
+
+            /**
+             * The scopes of all class loaders for which shared auxiliary types were requested.
+             */
+            private final Map<ClassLoader, Scope> scopes;
+
+            /**
+             * Creates a new registry of sharing naming strategies.
+             *
+             * @param namingStrategy The naming strategy that names any auxiliary type for the first time.
+             */
+            public Sharing(NamingStrategy namingStrategy) {
+                this.namingStrategy = namingStrategy;
+                scopes = new WeakHashMap<ClassLoader, Scope>();
+            }
+
+            /**
+             * Returns a naming strategy that shares auxiliary types among instrumented types that are loaded by the given
+             * class loader.
+             *
+             * @param classLoader The class loader that loads the instrumented types or {@code null} for the bootstrap class loader.
+             * @return A naming strategy that shares auxiliary types among instrumented types of the given class loader.
+             */
+            public NamingStrategy.Creating scopedTo(ClassLoader classLoader) {
+                synchronized (scopes) {
+                    Scope scope = scopes.get(classLoader);
+                    if (scope == null) {
+                        scope = new Scope(namingStrategy);
+                        scopes.put(classLoader, scope);
+                    }
+                    return scope;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "AuxiliaryType.NamingStrategy.Sharing{" +
+                        "namingStrategy=" + namingStrategy +
+                        ", scopes=" + scopes +
+                        '}';
+            }
+
+            /**
+             * A naming strategy that shares auxiliary types among the instrumented types of a single class loader. A scope
+             * must never reference its class loader as it would otherwise never be released by its registry.
+             */
+            protected static class Scope implements NamingStrategy.Creating {
+
+                /**
+                 * The naming strategy that names any auxiliary type for the first time.
+                 */
+                private final NamingStrategy namingStrategy;
+
+                /**
+                 * The shareable auxiliary types that were created within this scope.
+                 */
+                private final ConcurrentMap<Key, DynamicType> dynamicTypes;
+
+                /**
+                 * Creates a new scope.
+                 *
+                 * @param namingStrategy The naming strategy that names any auxiliary type for the first time.
+                 */
+                protected Scope(NamingStrategy namingStrategy) {
+                    this.namingStrategy = namingStrategy;
+                    dynamicTypes = new ConcurrentHashMap<Key, DynamicType>();
+                }
+
+                @Override
+                public String name(AuxiliaryType auxiliaryType, TypeDescription instrumentedType) {
+                    if (auxiliaryType instanceof Shareable) {
+                        for (Map.Entry<Key, DynamicType> entry : dynamicTypes.entrySet()) {
+                            if (entry.getKey().represents(auxiliaryType, instrumentedType)) {
+                                return entry.getValue().getTypeDescription().getName();
+                            }
+                        }
+                    }
+                    return namingStrategy.name(auxiliaryType, instrumentedType);
+                }
+
+                @Override
+                public DynamicType make(AuxiliaryType auxiliaryType,
+                                        TypeDescription instrumentedType,
+                                        ClassFileVersion classFileVersion,
+                                        MethodAccessorFactory methodAccessorFactory) {
+                    if (!(auxiliaryType instanceof Shareable)) {
+                        return auxiliaryType.make(namingStrategy.name(auxiliaryType, instrumentedType), classFileVersion, methodAccessorFactory);
+                    }
+                    Key key = new Key(instrumentedType, auxiliaryType, classFileVersion);
+                    DynamicType dynamicType = dynamicTypes.get(key);
+                    if (dynamicType == null) {
+                        dynamicType = auxiliaryType.make(namingStrategy.name(auxiliaryType, instrumentedType),
+                                classFileVersion,
+                                MethodAccessorFactory.Illegal.INSTANCE);
+                        DynamicType previous = dynamicTypes.putIfAbsent(key, dynamicType);
+                        if (previous != null) {
+                            dynamicType = previous;
+                        }
+                    }
+                    return dynamicType;
+                }
+
+                @Override
+                public String toString() {
+                    return "AuxiliaryType.NamingStrategy.Sharing.Scope{" +
+                            "namingStrategy=" + namingStrategy +
+                            ", dynamicTypes=" + dynamicTypes +
+                            '}';
+                }
+            }
+
+            /**
+             * A key that identifies a shareable auxiliary type for the package of an instrumented type.
+             */
+            protected static class Key {
+
+                /**
+                 * The package name of the instrumented type or an empty string for the default package.
+                 */
+                private final String packageName;
+
+                /**
+                 * The shareable auxiliary type.
+                 */
+                private final AuxiliaryType auxiliaryType;
+
+                /**
+                 * The class file version of the shareable auxiliary type.
+                 */
+                private final ClassFileVersion classFileVersion;
+
+                /**
+                 * Creates a new key.
+                 *
+                 * @param instrumentedType The instrumented type for which the auxiliary type is registered.
+                 * @param auxiliaryType    The shareable auxiliary type.
+                 * @param classFileVersion The class file version of the shareable auxiliary type.
+                 */
+                protected Key(TypeDescription instrumentedType, AuxiliaryType auxiliaryType, ClassFileVersion classFileVersion) {
+                    packageName = packageNameOf(instrumentedType);
+                    this.auxiliaryType = auxiliaryType;
+                    this.classFileVersion = classFileVersion;
+                }
+
+                /**
+                 * Resolves the package name of a type.
+                 *
+                 * @param typeDescription The type for which to resolve the package name.
+                 * @return The package name of the given type or an empty string for the default package.
+                 */
+                private static String packageNameOf(TypeDescription typeDescription) {
+                    String name = typeDescription.getName();
+                    int packageIndex = name.lastIndexOf('.');
+                    return packageIndex == -1
+                            ? ""
+                            : name.substring(0, packageIndex);
+                }
+
+                /**
+                 * Checks if this key represents the given auxiliary type for the package of the given instrumented type.
+                 *
+                 * @param auxiliaryType    The auxiliary type to check.
+                 * @param instrumentedType The instrumented type for which the auxiliary type is registered.
+                 * @return {@code true} if this key represents the given auxiliary type for the given instrumented type's package.
+                 */
+                protected boolean represents(AuxiliaryType auxiliaryType, TypeDescription instrumentedType) {
+                    return this.auxiliaryType.equals(auxiliaryType) && packageName.equals(packageNameOf(instrumentedType));
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    Key key = (Key) other;
+                    return packageName.equals(key.packageName)
+                            && auxiliaryType.equals(key.auxiliaryType)
+                            && classFileVersion.equals(key.classFileVersion);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = packageName.hashCode();
+                    result = 31 * result + auxiliaryType.hashCode();
+                    result = 31 * result + classFileVersion.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "AuxiliaryType.NamingStrategy.Sharing.Key{" +
+                            "packageName='" + packageName + '\'' +
+                            ", auxiliaryType=" + auxiliaryType +
+                            ", classFileVersion=" + classFileVersion +
+                            '}';
+                }
+            }
+        }
     }
 }
@@ -9,7 +9,6 @@ import net.bytebuddy.implementation.bind.MethodDelegationBinder;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
 import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
-import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 
 import java.lang.annotation.*;
 import java.util.ArrayList;
@@ -137,22 +136,20 @@ public @interface AllArguments {
             }
             ArrayFactory arrayFactory = ArrayFactory.forType(target.getTypeDescription().getComponentType());
             boolean includeThis = !source.isStatic() && annotation.loadSilent().includeSelf();
-            List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(source.getParameters().size() + (includeThis ? 1 : 0));
+            List<ArrayFactory.ArgumentValue> argumentValues = new ArrayList<ArrayFactory.ArgumentValue>(source.getParameters().size() + (includeThis ? 1 : 0));
             int offset = source.isStatic() || includeThis ? 0 : 1;
             for (TypeDescription sourceParameter : includeThis
                     ? join(implementationTarget.getTypeDescription(), source.getParameters().asTypeList())
                     : source.getParameters().asTypeList()) {
-                StackManipulation stackManipulation = new StackManipulation.Compound(
-                        MethodVariableAccess.forType(sourceParameter).loadOffset(offset),
-                        assigner.assign(sourceParameter, arrayFactory.getComponentType(), RuntimeType.Verifier.check(target)));
-                if (stackManipulation.isValid()) {
-                    stackManipulations.add(stackManipulation);
+                StackManipulation assignment = assigner.assign(sourceParameter, arrayFactory.getComponentType(), RuntimeType.Verifier.check(target));
+                if (assignment.isValid()) {
+                    argumentValues.add(new ArrayFactory.ArgumentValue(sourceParameter, offset, assignment));
                 } else if (annotation.loadSilent().value().isStrict()) {
                     return MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
                 }
                 offset += sourceParameter.getStackSize().getSize();
             }
-            return new MethodDelegationBinder.ParameterBinding.Anonymous(arrayFactory.withValues(stackManipulations));
+            return new MethodDelegationBinder.ParameterBinding.Anonymous(arrayFactory.withArguments(argumentValues));
         }
 
         @Override
@@ -51,6 +51,17 @@ public @interface Origin {
      */
     boolean cache() default true;
 
+    /**
+     * Determines if a cached value is only resolved when it is first requested instead of when the instrumented type
+     * is initialized. A lazily cached {@link Method} is loaded by a dynamic method invocation that is bound to a constant
+     * call site what requires the instrumented type to be defined in a class file of at least Java 7. For older class
+     * files, this value is ignored and the value is cached in a {@code static} field. This value is also ignored if the
+     * value is not cached.
+     *
+     * @return {@code true} if a cached value should only be resolved when it is first requested.
+     */
+    boolean lazy() default false;
+
     /**
      * A binder for binding parameters that are annotated with
      * {@link net.bytebuddy.implementation.bind.annotation.Origin}.
@@ -79,9 +90,14 @@ public @interface Origin {
             if (parameterType.represents(Class.class)) {
                 return new MethodDelegationBinder.ParameterBinding.Anonymous(ClassConstant.of(implementationTarget.getOriginType()));
             } else if (parameterType.represents(Method.class)) {
-                return new MethodDelegationBinder.ParameterBinding.Anonymous(annotation.loadSilent().cache()
-                        ? MethodConstant.forMethod(source).cached()
-                        : MethodConstant.forMethod(source));
+                Origin origin = annotation.loadSilent();
+                MethodConstant.CanCache methodConstant = MethodConstant.forMethod(source);
+                if (!origin.cache()) {
+                    return new MethodDelegationBinder.ParameterBinding.Anonymous(methodConstant);
+                }
+                return new MethodDelegationBinder.ParameterBinding.Anonymous(origin.lazy()
+                        ? MethodConstant.lazilyCachedFor(source)
+                        : methodConstant.cached());
             } else if (parameterType.represents(String.class)) {
                 return new MethodDelegationBinder.ParameterBinding.Anonymous(new TextConstant(source.toString()));
             } else if (parameterType.represents(int.class)) {
@@ -227,7 +227,7 @@ public @interface Pipe {
          * An auxiliary type for performing the redirection of a method invocation as requested by the
          * {@link net.bytebuddy.implementation.bind.annotation.Pipe} annotation.
          */
-        protected static class Redirection implements AuxiliaryType, StackManipulation {
+        protected static class Redirection implements AuxiliaryType.Shareable, StackManipulation {
 
             /**
              * The prefix for naming fields to store method arguments.
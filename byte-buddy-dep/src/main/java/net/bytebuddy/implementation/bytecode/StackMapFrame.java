@@ -0,0 +1,149 @@
+package net.bytebuddy.implementation.bytecode;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * Writes full stack map frames for jump targets of a method that does not declare any local variables beyond its
+ * {@code this} reference and its parameters. Such frames are required for any class file of at least Java 6 when an
+ * appender emits jump instructions directly instead of by a {@link StackManipulation} that computes its own frames.
+ * For older class file versions, only the labels are visited. If an implementation context does not expose its class
+ * file version, frames are always written.
+ * </p>
+ * <p>
+ * <b>Important</b>: A frame does not represent any local variable that is declared by the appender itself. Any jump
+ * target where such a local variable is still in use must therefore not be visited by this frame.
+ * </p>
+ */
+public class StackMapFrame {
+
+    /**
+     * An empty array that represents an empty operand stack.
+     */
+    private static final Object[] EMPTY_STACK = new Object[0];
+
+    /**
+     * The verification types of the method's local variables.
+     */
+    private final Object[] locals;
+
+    /**
+     * {@code true} if frames are written, {@code false} if only labels are visited.
+     */
+    private final boolean writeFrames;
+
+    /**
+     * Creates a new stack map frame.
+     *
+     * @param locals      The verification types of the method's local variables.
+     * @param writeFrames {@code true} if frames are written, {@code false} if only labels are visited.
+     */
+    protected StackMapFrame(Object[] locals, boolean writeFrames) {
+        this.locals = locals;
+        this.writeFrames = writeFrames;
+    }
+
+    /**
+     * Creates a stack map frame for an instrumented method where the local variable array contains the method's
+     * {@code this} reference, if the method is not static, and the method's parameters.
+     *
+     * @param implementationContext The implementation context that determines the class file version.
+     * @param instrumentedType      The instrumented type.
+     * @param instrumentedMethod    The instrumented method.
+     * @return A stack map frame for the instrumented method's arguments.
+     */
+    public static StackMapFrame of(Implementation.Context implementationContext,
+                                   TypeDescription instrumentedType,
+                                   MethodDescription instrumentedMethod) {
+        List<TypeDescription> parameterTypes = instrumentedMethod.getParameters().asTypeList();
+        int offset = instrumentedMethod.isStatic() ? 0 : 1;
+        Object[] locals = new Object[offset + parameterTypes.size()];
+        if (!instrumentedMethod.isStatic()) {
+            locals[0] = instrumentedType.getInternalName();
+        }
+        for (TypeDescription parameterType : parameterTypes) {
+            locals[offset++] = toFrame(parameterType);
+        }
+        return new StackMapFrame(locals, !(implementationContext instanceof Implementation.Context.Versioned)
+                || ((Implementation.Context.Versioned) implementationContext).getClassFileVersion().compareTo(ClassFileVersion.JAVA_V6) >= 0);
+    }
+
+    /**
+     * Represents a type as a verification type of a stack map frame.
+     *
+     * @param typeDescription The type to represent.
+     * @return The verification type of the given type.
+     */
+    public static Object toFrame(TypeDescription typeDescription) {
+        if (typeDescription.represents(long.class)) {
+            return Opcodes.LONG;
+        } else if (typeDescription.represents(float.class)) {
+            return Opcodes.FLOAT;
+        } else if (typeDescription.represents(double.class)) {
+            return Opcodes.DOUBLE;
+        } else if (typeDescription.isPrimitive()) {
+            return Opcodes.INTEGER;
+        } else {
+            return typeDescription.getInternalName();
+        }
+    }
+
+    /**
+     * Visits a jump target where the operand stack is empty.
+     *
+     * @param methodVisitor The method visitor to write to.
+     * @param label         The label of the jump target.
+     */
+    public void visit(MethodVisitor methodVisitor, Label label) {
+        visit(methodVisitor, label, Collections.<TypeDescription>emptyList());
+    }
+
+    /**
+     * Visits a jump target with the given operand stack.
+     *
+     * @param methodVisitor The method visitor to write to.
+     * @param label         The label of the jump target.
+     * @param stack         The types of the values on the operand stack, starting with the value at its bottom.
+     */
+    public void visit(MethodVisitor methodVisitor, Label label, List<? extends TypeDescription> stack) {
+        methodVisitor.visitLabel(label);
+        if (writeFrames) {
+            Object[] frame = stack.isEmpty() ? EMPTY_STACK : new Object[stack.size()];
+            int index = 0;
+            for (TypeDescription typeDescription : stack) {
+                frame[index++] = toFrame(typeDescription);
+            }
+            methodVisitor.visitFrame(Opcodes.F_FULL, locals.length, locals, frame.length, frame);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && writeFrames == ((StackMapFrame) other).writeFrames
+                && Arrays.equals(locals, ((StackMapFrame) other).locals);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(locals) + (writeFrames ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "StackMapFrame{" +
+                "locals=" + Arrays.toString(locals) +
+                ", writeFrames=" + writeFrames +
+                '}';
+    }
+}
@@ -1,13 +1,17 @@
 package net.bytebuddy.implementation.bytecode.collection;
 
+import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.StackSize;
 import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,6 +20,13 @@ import java.util.List;
  */
 public class ArrayFactory implements CollectionFactory {
 
+    /**
+     * The minimal number of values of an array of method arguments that is created by an outlined method if the
+     * implementation context supports outlining. Storing five or more boxed arguments in an array typically exceeds
+     * the byte code size of a method that HotSpot inlines regardless of its invocation frequency.
+     */
+    public static final int OUTLINING_THRESHOLD = 5;
+
     /**
      * The component type of the array this array factory is creating.
      */
@@ -96,6 +107,19 @@ public class ArrayFactory implements CollectionFactory {
         return new ArrayStackManipulation(stackManipulations);
     }
 
+    /**
+     * Creates a stack manipulation that creates an array of the given arguments of the instrumented method. If the
+     * implementation context supports outlining into the instrumented type and at least {@link ArrayFactory#OUTLINING_THRESHOLD} arguments are
+     * stored in the array, the array is created and filled by a synthetic method of the instrumented type to which
+     * the arguments are passed. Otherwise, the array is created within the instrumented method.
+     *
+     * @param argumentValues The arguments to store in the array.
+     * @return A stack manipulation that creates the array.
+     */
+    public StackManipulation withArguments(List<ArgumentValue> argumentValues) {
+        return new ArgumentArrayStackManipulation(argumentValues);
+    }
+
     @Override
     public TypeDescription getComponentType() {
         return componentType;
@@ -359,5 +383,163 @@ public class ArrayFactory implements CollectionFactory {
                     '}';
         }
     }
-}
 
+    /**
+     * Represents an argument of the instrumented method that is stored in an array.
+     */
+    public static class ArgumentValue {
+
+        /**
+         * The type of the argument.
+         */
+        private final TypeDescription argumentType;
+
+        /**
+         * The offset of the argument within the instrumented method's local variable array.
+         */
+        private final int offset;
+
+        /**
+         * The stack manipulation that assigns the loaded argument to the array's component type.
+         */
+        private final StackManipulation assignment;
+
+        /**
+         * Creates a new argument value.
+         *
+         * @param argumentType The type of the argument.
+         * @param offset       The offset of the argument within the instrumented method's local variable array.
+         * @param assignment   The stack manipulation that assigns the loaded argument to the array's component type.
+         */
+        public ArgumentValue(TypeDescription argumentType, int offset, StackManipulation assignment) {
+            this.argumentType = argumentType;
+            this.offset = offset;
+            this.assignment = assignment;
+        }
+
+        /**
+         * Returns a stack manipulation that loads the argument and assigns it to the array's component type.
+         *
+         * @param offset The offset of the argument within the local variable array of the method that creates the array.
+         * @return A stack manipulation that loads and assigns the argument.
+         */
+        protected StackManipulation loadFrom(int offset) {
+            return new StackManipulation.Compound(MethodVariableAccess.forType(argumentType).loadOffset(offset), assignment);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            ArgumentValue argumentValue = (ArgumentValue) other;
+            return offset == argumentValue.offset
+                    && argumentType.equals(argumentValue.argumentType)
+                    && assignment.equals(argumentValue.assignment);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = argumentType.hashCode();
+            result = 31 * result + offset;
+            result = 31 * result + assignment.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "ArrayFactory.ArgumentValue{" +
+                    "argumentType=" + argumentType +
+                    ", offset=" + offset +
+                    ", assignment=" + assignment +
+                    '}';
+        }
+    }
+
+    /**
+     * A stack manipulation for creating an array of arguments of the instrumented method as defined by the enclosing
+     * array factory where the array might be created by an outlined method.
+     */
+    protected class ArgumentArrayStackManipulation implements StackManipulation {
+
+        /**
+         * The arguments to store in the array.
+         */
+        private final List<ArgumentValue> argumentValues;
+
+        /**
+         * Creates a new argument array stack manipulation.
+         *
+         * @param argumentValues The arguments to store in the array.
+         */
+        protected ArgumentArrayStackManipulation(List<ArgumentValue> argumentValues) {
+            this.argumentValues = argumentValues;
+        }
+
+        @Override
+        public boolean isValid() {
+            for (ArgumentValue argumentValue : argumentValues) {
+                if (!argumentValue.assignment.isValid()) {
+                    return false;
+                }
+            }
+            return arrayCreator.isValid();
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            List<StackManipulation> values = new ArrayList<StackManipulation>(argumentValues.size());
+            if (argumentValues.size() >= OUTLINING_THRESHOLD
+                    && implementationContext instanceof Implementation.Context.Outlining
+                    && ((Implementation.Context.Outlining) implementationContext).canOutline()) {
+                List<TypeDescription> parameterTypes = new ArrayList<TypeDescription>(argumentValues.size());
+                List<StackManipulation> arguments = new ArrayList<StackManipulation>(argumentValues.size() + 1);
+                int offset = 0;
+                for (ArgumentValue argumentValue : argumentValues) {
+                    parameterTypes.add(argumentValue.argumentType);
+                    arguments.add(MethodVariableAccess.forType(argumentValue.argumentType).loadOffset(argumentValue.offset));
+                    values.add(argumentValue.loadFrom(offset));
+                    offset += argumentValue.argumentType.getStackSize().getSize();
+                }
+                MethodDescription outlinedMethod = ((Implementation.Context.Outlining) implementationContext).outline(withValues(values),
+                        parameterTypes,
+                        TypeDescription.ArrayProjection.of(componentType, 1));
+                arguments.add(MethodInvocation.invoke(outlinedMethod));
+                return new Compound(arguments.toArray(new StackManipulation[arguments.size()])).apply(methodVisitor, implementationContext);
+            } else {
+                for (ArgumentValue argumentValue : argumentValues) {
+                    values.add(argumentValue.loadFrom(argumentValue.offset));
+                }
+                return withValues(values).apply(methodVisitor, implementationContext);
+            }
+        }
+
+        /**
+         * Returns the outer instance.
+         *
+         * @return The outer instance.
+         */
+        private ArrayFactory getArrayFactory() {
+            return ArrayFactory.this;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && ArrayFactory.this.equals(((ArgumentArrayStackManipulation) other).getArrayFactory())
+                    && argumentValues.equals(((ArgumentArrayStackManipulation) other).argumentValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return argumentValues.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ArrayFactory.ArgumentArrayStackManipulation{" +
+                    "arrayFactory=" + ArrayFactory.this +
+                    ", argumentValues=" + argumentValues +
+                    '}';
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package net.bytebuddy.implementation.bytecode.constant;
 
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.utility.JavaMethod;
+import net.bytebuddy.utility.JavaType;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
 /**
  * Represents the creation of a {@link java.lang.reflect.Method} value which can be created from a given
  * set of constant pool values and can therefore be considered a constant in the broader meaning.
@@ -25,6 +34,56 @@ public abstract class MethodConstant implements StackManipulation {
      */
     private static final String CLASS_TYPE_INTERNAL_NAME = "java/lang/Class";
 
+    /**
+     * The name of the bootstrap method for lazily resolved method constants.
+     */
+    private static final String BOOTSTRAP = "bootstrap";
+
+    /**
+     * The {@code MethodType#parameterArray()} method.
+     */
+    private static final JavaMethod PARAMETER_ARRAY;
+
+    /**
+     * The {@code MethodType#returnType()} method.
+     */
+    private static final JavaMethod RETURN_TYPE;
+
+    /**
+     * The {@code MethodHandles#constant(Class, Object)} method.
+     */
+    private static final JavaMethod CONSTANT;
+
+    /**
+     * The {@code ConstantCallSite#ConstantCallSite(MethodHandle)} constructor.
+     */
+    private static final JavaMethod NEW_CONSTANT_CALL_SITE;
+
+    /*
+     * Locates the Java methods for creating constant call sites, if those are available.
+     */
+    static {
+        JavaMethod parameterArray, returnType, constant, newConstantCallSite;
+        try {
+            Class<?> methodType = JavaType.METHOD_TYPE.load();
+            parameterArray = new JavaMethod.ForLoadedMethod(methodType.getDeclaredMethod("parameterArray"));
+            returnType = new JavaMethod.ForLoadedMethod(methodType.getDeclaredMethod("returnType"));
+            constant = new JavaMethod.ForLoadedMethod(Class.forName("java.lang.invoke.MethodHandles")
+                    .getDeclaredMethod("constant", Class.class, Object.class));
+            newConstantCallSite = new JavaMethod.ForLoadedConstructor(Class.forName("java.lang.invoke.ConstantCallSite")
+                    .getDeclaredConstructor(JavaType.METHOD_HANDLE.load()));
+        } catch (Exception ignored) {
+            parameterArray = JavaMethod.ForUnavailableMethod.INSTANCE;
+            returnType = JavaMethod.ForUnavailableMethod.INSTANCE;
+            constant = JavaMethod.ForUnavailableMethod.INSTANCE;
+            newConstantCallSite = JavaMethod.ForUnavailableMethod.INSTANCE;
+        }
+        PARAMETER_ARRAY = parameterArray;
+        RETURN_TYPE = returnType;
+        CONSTANT = constant;
+        NEW_CONSTANT_CALL_SITE = newConstantCallSite;
+    }
+
     /**
      * A description of the method to be loaded onto the stack.
      */
@@ -56,6 +115,21 @@ public abstract class MethodConstant implements StackManipulation {
         }
     }
 
+    /**
+     * Creates a stack manipulation that loads a lazily cached method constant onto the operand stack as specified by
+     * {@link net.bytebuddy.implementation.bytecode.constant.MethodConstant.LazilyCached}. A lazily cached method
+     * constant is not resolved when the instrumented type is initialized but when the constant is requested for the
+     * first time.
+     *
+     * @param methodDescription The method to be loaded onto the stack.
+     * @return A stack manipulation that loads a lazily cached method constant for the given method description.
+     */
+    public static StackManipulation lazilyCachedFor(MethodDescription methodDescription) {
+        return methodDescription.isTypeInitializer()
+                ? Illegal.INSTANCE
+                : new LazilyCached(forMethod(methodDescription), methodDescription);
+    }
+
     /**
      * Returns a list of type constant load operations for the given list of parameters.
      *
@@ -122,6 +196,41 @@ public abstract class MethodConstant implements StackManipulation {
         return new Cached(this);
     }
 
+    /**
+     * <p>
+     * Bootstraps a call site that represents a lazily resolved method constant. The method or constructor is only
+     * looked up when the call site is linked, i.e. when the constant is requested for the first time. Thereafter,
+     * the call site is bound to a constant method handle that returns the resolved value.
+     * </p>
+     * <p>
+     * <b>Important</b>: This method is only meant to be invoked by the Java virtual machine for linking a call site
+     * that was emitted by a {@link net.bytebuddy.implementation.bytecode.constant.MethodConstant.LazilyCached}
+     * stack manipulation. Its parameters are typed as {@link Object} in order to avoid a dependency on the
+     * {@code java.lang.invoke} API.
+     * </p>
+     *
+     * @param lookup        The lookup of the type that defines the call site.
+     * @param name          The name of the call site.
+     * @param callSiteType  The {@code MethodType} of the call site.
+     * @param declaringType The type that declares the method or constructor.
+     * @param internalName  The internal name of the method or constructor.
+     * @param methodType    The {@code MethodType} that describes the parameter types of the method or constructor.
+     * @return A {@code ConstantCallSite} that returns the resolved method or constructor.
+     * @throws Exception If the method or constructor cannot be resolved.
+     */
+    public static Object bootstrap(Object lookup,
+                                   String name,
+                                   Object callSiteType,
+                                   Class<?> declaringType,
+                                   String internalName,
+                                   Object methodType) throws Exception {
+        Class<?>[] parameterType = (Class<?>[]) PARAMETER_ARRAY.invoke(methodType);
+        Object constant = internalName.equals(MethodDescription.CONSTRUCTOR_INTERNAL_NAME)
+                ? declaringType.getDeclaredConstructor(parameterType)
+                : declaringType.getDeclaredMethod(internalName, parameterType);
+        return NEW_CONSTANT_CALL_SITE.invokeStatic(CONSTANT.invokeStatic(RETURN_TYPE.invoke(callSiteType), constant));
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
@@ -331,4 +440,96 @@ public abstract class MethodConstant implements StackManipulation {
             return "MethodConstant.Cached{methodConstant=" + methodConstant + '}';
         }
     }
+
+    /**
+     * <p>
+     * Represents a lazily cached {@link net.bytebuddy.implementation.bytecode.constant.MethodConstant}. Instead of
+     * resolving a method constant in the instrumented type's type initializer, the constant is loaded by a dynamic
+     * method invocation that is linked to a constant call site on its first execution. This way, a type with many
+     * method constants does not need to resolve any constant that is never requested while the just-in-time compiler
+     * can still treat any resolved constant as such.
+     * </p>
+     * <p>
+     * Dynamic method invocations are only available for class files of at least Java 7. For any older class file
+     * version or for an implementation context that does not expose its class file version, this stack manipulation
+     * falls back to an eager cache as represented by
+     * {@link net.bytebuddy.implementation.bytecode.constant.MethodConstant.Cached}. Furthermore, the instrumented
+     * type must be able to see the {@link MethodConstant} type which implements the bootstrap method.
+     * </p>
+     */
+    protected static class LazilyCached implements StackManipulation {
+
+        /**
+         * The name of the dynamic method invocation that loads a lazily cached constant.
+         */
+        private static final String NAME = "methodConstant";
+
+        /**
+         * A description of the bootstrap method for lazily cached constants.
+         */
+        private static final MethodDescription BOOTSTRAP_METHOD = new TypeDescription.ForLoadedType(MethodConstant.class)
+                .getDeclaredMethods()
+                .filter(named(BOOTSTRAP))
+                .getOnly();
+
+        /**
+         * The method constant that is represented by this caching wrapper.
+         */
+        private final StackManipulation methodConstant;
+
+        /**
+         * The method or constructor that is represented by the method constant.
+         */
+        private final MethodDescription methodDescription;
+
+        /**
+         * Creates a new lazily cached {@link net.bytebuddy.implementation.bytecode.constant.MethodConstant}.
+         *
+         * @param methodConstant    The method constant that is represented by this caching wrapper.
+         * @param methodDescription The method or constructor that is represented by the method constant.
+         */
+        protected LazilyCached(StackManipulation methodConstant, MethodDescription methodDescription) {
+            this.methodConstant = methodConstant;
+            this.methodDescription = methodDescription;
+        }
+
+        @Override
+        public boolean isValid() {
+            return methodConstant.isValid();
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            if (!(implementationContext instanceof Implementation.Context.Versioned)
+                    || ((Implementation.Context.Versioned) implementationContext).getClassFileVersion().compareTo(ClassFileVersion.JAVA_V7) < 0) {
+                return new Cached(methodConstant).apply(methodVisitor, implementationContext);
+            }
+            return MethodInvocation.invoke(BOOTSTRAP_METHOD).dynamic(NAME,
+                    new TypeDescription.ForLoadedType(methodDescription.isConstructor() ? Constructor.class : Method.class),
+                    Collections.<TypeDescription>emptyList(),
+                    Arrays.asList(Type.getType(methodDescription.getDeclaringType().getDescriptor()),
+                            methodDescription.getInternalName(),
+                            Type.getMethodType(methodDescription.getDescriptor()))).apply(methodVisitor, implementationContext);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && methodConstant.equals(((LazilyCached) other).methodConstant)
+                    && methodDescription.equals(((LazilyCached) other).methodDescription);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * methodConstant.hashCode() + methodDescription.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "MethodConstant.LazilyCached{" +
+                    "methodConstant=" + methodConstant +
+                    ", methodDescription=" + methodDescription +
+                    '}';
+        }
+    }
 }
@@ -0,0 +1,135 @@
+package net.bytebuddy.utility;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * An immutable list that is created by adding a single element to the beginning or the end of another list without
+ * copying this other list. This allows immutable builders to add an element in constant time where the builder
+ * chain shares the structure of all its lists. The elements of a persistent list are collected into an array
+ * once any element is read for the first time.
+ * </p>
+ * <p>
+ * <b>Note</b>: The list that is extended by a persistent list must never be mutated.
+ * </p>
+ *
+ * @param <T> The type of the list's elements.
+ */
+public class PersistentList<T> extends AbstractList<T> implements RandomAccess {
+
+    /**
+     * The list that is extended by this list.
+     */
+    private final List<? extends T> list;
+
+    /**
+     * The element that is added to the extended list.
+     */
+    private final T element;
+
+    /**
+     * {@code true} if the element is added to the beginning of the extended list.
+     */
+    private final boolean prepended;
+
+    /**
+     * The size of this list.
+     */
+    private final int size;
+
+    /**
+     * The elements of this list or {@code null} if the elements were not yet collected.
+     */
+    private volatile Object[] elements;
+
+    /**
+     * Creates a new persistent list.
+     *
+     * @param list      The list that is extended by this list.
+     * @param element   The element that is added to the extended list.
+     * @param prepended {@code true} if the element is added to the beginning of the extended list.
+     */
+    protected PersistentList(List<? extends T> list, T element, boolean prepended) {
+        this.list = list;
+        this.element = element;
+        this.prepended = prepended;
+        size = list.size() + 1;
+    }
+
+    /**
+     * Creates a list that contains all elements of a given list with an additional appended element.
+     *
+     * @param list    The list of elements to be appended first. This list must never be mutated.
+     * @param element The additional element.
+     * @param <S>     The list's generic type.
+     * @return A list containing all elements.
+     */
+    public static <S> List<S> append(List<? extends S> list, S element) {
+        return new PersistentList<S>(list, element, false);
+    }
+
+    /**
+     * Creates a list that contains all elements of a given list with an additional prepended element.
+     *
+     * @param element The additional element.
+     * @param list    The list of elements to be appended last. This list must never be mutated.
+     * @param <S>     The list's generic type.
+     * @return A list containing all elements.
+     */
+    public static <S> List<S> prepend(S element, List<? extends S> list) {
+        return new PersistentList<S>(list, element, true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return (T) resolve()[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Collects the elements of this list into an array. This is done by iterating over the chain of extended
+     * lists until reaching a list that is not a persistent list or a persistent list that already collected its
+     * elements. This way, the collection does not require a recursion.
+     *
+     * @return An array containing the elements of this list.
+     */
+    private Object[] resolve() {
+        Object[] elements = this.elements;
+        if (elements == null) {
+            elements = new Object[size];
+            int head = 0, tail = size;
+            List<?> current = this;
+            while (current instanceof PersistentList) {
+                PersistentList<?> persistentList = (PersistentList<?>) current;
+                Object[] resolved = persistentList.elements;
+                if (resolved != null) {
+                    System.arraycopy(resolved, 0, elements, head, resolved.length);
+                    head += resolved.length;
+                    break;
+                } else if (persistentList.prepended) {
+                    elements[head++] = persistentList.element;
+                } else {
+                    elements[--tail] = persistentList.element;
+                }
+                current = persistentList.list;
+            }
+            if (head < tail) {
+                for (Object element : current) {
+                    elements[head++] = element;
+                }
+            }
+            this.elements = elements;
+        }
+        return elements;
+    }
+}
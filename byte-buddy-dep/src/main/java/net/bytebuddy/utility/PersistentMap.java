@@ -0,0 +1,388 @@
+package net.bytebuddy.utility;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * An immutable map that is created by adding a single mapping to another map without copying this other map. The
+ * mappings are stored in a hash trie of which only the nodes on the path to an added mapping are copied. This allows
+ * immutable builders to add a mapping and to look up a key in a time that does not grow with the number of mappings
+ * that a builder chain collected before.
+ * </p>
+ * <p>
+ * <b>Note</b>: A map that is not a persistent map is copied into a persistent map once when it is extended. Such
+ * a map must not be mutated while it is copied.
+ * </p>
+ *
+ * @param <K> The type of the map's keys.
+ * @param <V> The type of the map's values.
+ */
+public class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The number of hash code bits that are consumed by each level of the hash trie.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * The number of children of each node of the hash trie.
+     */
+    private static final int WIDTH = 1 << BITS;
+
+    /**
+     * A mask for extracting the index of a child node from a hash code.
+     */
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * The root node of the hash trie. Each slot of a node is either {@code null}, a {@link Leaf} or another node.
+     */
+    private final Object[] root;
+
+    /**
+     * The number of mappings of this map.
+     */
+    private final int size;
+
+    /**
+     * Creates a new persistent map.
+     *
+     * @param root The root node of the hash trie.
+     * @param size The number of mappings of this map.
+     */
+    protected PersistentMap(Object[] root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Creates a map that contains all mappings of a given map with an additional mapping. If the given map already
+     * contains a mapping for the given key, this mapping is replaced.
+     *
+     * @param map   The mappings to be contained by the created map. This map must never be mutated.
+     * @param key   The key of the additional mapping.
+     * @param value The value of the additional mapping.
+     * @param <S>   The type of the map's keys.
+     * @param <T>   The type of the map's values.
+     * @return A map containing all mappings.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> Map<S, T> put(Map<? extends S, ? extends T> map, S key, T value) {
+        PersistentMap<S, T> persistentMap;
+        if (map instanceof PersistentMap) {
+            persistentMap = (PersistentMap<S, T>) map;
+        } else {
+            persistentMap = new PersistentMap<S, T>(new Object[WIDTH], 0);
+            for (Map.Entry<? extends S, ? extends T> entry : map.entrySet()) {
+                persistentMap = persistentMap.with(entry.getKey(), entry.getValue());
+            }
+        }
+        return persistentMap.with(key, value);
+    }
+
+    /**
+     * Computes the hash code of a key.
+     *
+     * @param key The key for which to compute the hash code.
+     * @return The key's hash code.
+     */
+    private static int hash(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Creates a map that contains all mappings of this map with an additional mapping.
+     *
+     * @param key   The key of the additional mapping.
+     * @param value The value of the additional mapping.
+     * @return A map containing all mappings.
+     */
+    private PersistentMap<K, V> with(K key, V value) {
+        int hash = hash(key), shift = 0;
+        Object[] root = this.root.clone(), node = root;
+        while (true) {
+            int index = (hash >>> shift) & MASK;
+            Object slot = node[index];
+            if (slot == null) {
+                node[index] = new Leaf<K, V>(hash, key, value, null);
+                return new PersistentMap<K, V>(root, size + 1);
+            } else if (slot instanceof Leaf) {
+                @SuppressWarnings("unchecked")
+                Leaf<K, V> leaf = (Leaf<K, V>) slot;
+                if (leaf.hash == hash) {
+                    node[index] = new Leaf<K, V>(hash, key, value, leaf.without(key));
+                    return new PersistentMap<K, V>(root, leaf.find(key) == null
+                            ? size + 1
+                            : size);
+                }
+                Object[] child = new Object[WIDTH];
+                child[(leaf.hash >>> (shift + BITS)) & MASK] = leaf;
+                node[index] = child;
+                node = child;
+            } else {
+                Object[] child = ((Object[]) slot).clone();
+                node[index] = child;
+                node = child;
+            }
+            shift += BITS;
+        }
+    }
+
+    /**
+     * Locates the leaf of a key.
+     *
+     * @param key The key to locate.
+     * @return The leaf representing the key's mapping or {@code null} if this map does not contain the key.
+     */
+    private Leaf<K, V> find(Object key) {
+        int hash = hash(key), shift = 0;
+        Object[] node = root;
+        while (true) {
+            Object slot = node[(hash >>> shift) & MASK];
+            if (slot == null) {
+                return null;
+            } else if (slot instanceof Leaf) {
+                @SuppressWarnings("unchecked")
+                Leaf<K, V> leaf = (Leaf<K, V>) slot;
+                return leaf.hash == hash
+                        ? leaf.find(key)
+                        : null;
+            }
+            node = (Object[]) slot;
+            shift += BITS;
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        Leaf<K, V> leaf = find(key);
+        return leaf == null
+                ? null
+                : leaf.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * A leaf of the hash trie that represents all mappings of keys with an identical hash code.
+     *
+     * @param <S> The type of the map's keys.
+     * @param <T> The type of the map's values.
+     */
+    protected static class Leaf<S, T> implements Map.Entry<S, T> {
+
+        /**
+         * The hash code of the represented key.
+         */
+        private final int hash;
+
+        /**
+         * The represented key.
+         */
+        private final S key;
+
+        /**
+         * The represented value.
+         */
+        private final T value;
+
+        /**
+         * The next leaf with an identical hash code or {@code null} if no such leaf exists.
+         */
+        private final Leaf<S, T> next;
+
+        /**
+         * Creates a new leaf.
+         *
+         * @param hash  The hash code of the represented key.
+         * @param key   The represented key.
+         * @param value The represented value.
+         * @param next  The next leaf with an identical hash code or {@code null} if no such leaf exists.
+         */
+        protected Leaf(int hash, S key, T value, Leaf<S, T> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        /**
+         * Locates the leaf of a key among this leaf and its successors.
+         *
+         * @param key The key to locate.
+         * @return The leaf representing the key's mapping or {@code null} if no such leaf exists.
+         */
+        protected Leaf<S, T> find(Object key) {
+            Leaf<S, T> leaf = this;
+            while (leaf != null && !(leaf.key == null ? key == null : leaf.key.equals(key))) {
+                leaf = leaf.next;
+            }
+            return leaf;
+        }
+
+        /**
+         * Returns this leaf and its successors without a mapping for the given key.
+         *
+         * @param key The key of the mapping to exclude.
+         * @return This leaf and its successors without a mapping for the given key or {@code null} if no leaf remains.
+         */
+        protected Leaf<S, T> without(Object key) {
+            if (find(key) == null) {
+                return this;
+            } else if (this.key == null ? key == null : this.key.equals(key)) {
+                return next;
+            } else {
+                return new Leaf<S, T>(hash, this.key, value, next.without(key));
+            }
+        }
+
+        @Override
+        public S getKey() {
+            return key;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public T setValue(T value) {
+            throw new UnsupportedOperationException("A persistent map is immutable");
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) other;
+            return (key == null ? entry.getKey() == null : key.equals(entry.getKey()))
+                    && (value == null ? entry.getValue() == null : value.equals(entry.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * A set of all mappings of this map.
+     */
+    protected class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * An iterator over all mappings of this map that traverses the hash trie without a recursion.
+     */
+    protected class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        /**
+         * The nodes that were not yet traversed completely.
+         */
+        private final LinkedList<Object[]> nodes;
+
+        /**
+         * The indices of the next slot to traverse of each node that was not yet traversed completely.
+         */
+        private final LinkedList<Integer> indices;
+
+        /**
+         * The next leaf to return or {@code null} if the current leaf was traversed completely.
+         */
+        private Leaf<K, V> leaf;
+
+        /**
+         * Creates a new entry iterator.
+         */
+        protected EntryIterator() {
+            nodes = new LinkedList<Object[]>();
+            indices = new LinkedList<Integer>();
+            nodes.push(root);
+            indices.push(0);
+            advance();
+        }
+
+        /**
+         * Advances this iterator to the next leaf if the current leaf was traversed completely.
+         */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (leaf == null && !nodes.isEmpty()) {
+                int index = indices.pop();
+                if (index == WIDTH) {
+                    nodes.pop();
+                    continue;
+                }
+                indices.push(index + 1);
+                Object slot = nodes.peek()[index];
+                if (slot instanceof Leaf) {
+                    leaf = (Leaf<K, V>) slot;
+                } else if (slot != null) {
+                    nodes.push((Object[]) slot);
+                    indices.push(0);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+            Leaf<K, V> leaf = this.leaf;
+            this.leaf = leaf.next;
+            advance();
+            return leaf;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("A persistent map is immutable");
+        }
+    }
+}
@@ -81,7 +81,10 @@ public class AgentBuilderDefaultTest {
     private TypePool.Resolution resolution;
 
     @Mock
-    private AgentBuilder.Listener listener;
+    private AgentBuilder.Listener.PhaseAware listener;
+
+    @Mock
+    private AgentBuilder.Listener plainListener;
 
     private List<ClassFileTransformer> classFileTransformers;
 
@@ -122,12 +125,53 @@ public class AgentBuilderDefaultTest {
         assertThat(classFileTransformers.size(), is(1));
         assertThat(classFileTransformers.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
         verify(listener).onTransformation(typeDescription, unloaded);
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.DESCRIPTION), eq(AgentBuilder.Listener.PhaseAware.NO_RULE), anyLong(), eq(QUX.length));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.MATCHING), eq(0), anyLong(), eq(0));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.TRANSFORMATION), eq(0), anyLong(), eq(0));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.CREATION), eq(0), anyLong(), eq(BAZ.length));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.REGISTRATION), eq(0), anyLong(), eq(0));
         verify(listener).onComplete(FOO);
         verifyNoMoreInteractions(listener);
         verify(instrumentation).addTransformer(classFileTransformer, false);
         verifyNoMoreInteractions(instrumentation);
     }
 
+    @Test
+    public void testMatchingIsReportedPerRule() throws Exception {
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        AgentBuilder.RawMatcher otherMatcher = mock(AgentBuilder.RawMatcher.class);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withListener(listener)
+                .rebase(rawMatcher).transform(transformer)
+                .rebase(otherMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(classFileTransformers.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.MATCHING), eq(0), anyLong(), eq(0));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.MATCHING), eq(1), anyLong(), eq(0));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.CREATION), eq(1), anyLong(), eq(BAZ.length));
+    }
+
+    @Test
+    public void testPlainListenerIsNotNotifiedAboutPhases() throws Exception {
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withListener(plainListener)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(classFileTransformers.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(plainListener).onTransformation(typeDescription, unloaded);
+        verify(plainListener).onComplete(FOO);
+        verifyNoMoreInteractions(plainListener);
+    }
+
     @Test
     public void testSuccessfulWithRetransformation() throws Exception {
         when(unloaded.getBytes()).thenReturn(BAZ);
@@ -143,6 +187,11 @@ public class AgentBuilderDefaultTest {
         assertThat(classFileTransformers.size(), is(1));
         assertThat(classFileTransformers.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
         verify(listener).onTransformation(typeDescription, unloaded);
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.DESCRIPTION), eq(AgentBuilder.Listener.PhaseAware.NO_RULE), anyLong(), eq(QUX.length));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.MATCHING), eq(0), anyLong(), eq(0));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.TRANSFORMATION), eq(0), anyLong(), eq(0));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.CREATION), eq(0), anyLong(), eq(BAZ.length));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.REGISTRATION), eq(0), anyLong(), eq(0));
         verify(listener).onComplete(FOO);
         verifyNoMoreInteractions(listener);
         verify(instrumentation).addTransformer(classFileTransformer, true);
@@ -183,6 +232,8 @@ public class AgentBuilderDefaultTest {
                 .installOn(instrumentation);
         assertThat(classFileTransformers.size(), is(1));
         assertThat(classFileTransformers.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), nullValue(byte[].class));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.DESCRIPTION), eq(AgentBuilder.Listener.PhaseAware.NO_RULE), anyLong(), eq(QUX.length));
+        verify(listener).onPhase(eq(FOO), eq(AgentBuilder.Listener.Phase.MATCHING), eq(0), anyLong(), eq(0));
         verify(listener).onIgnored(FOO);
         verify(listener).onComplete(FOO);
         verifyNoMoreInteractions(listener);
@@ -9,12 +9,23 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
 public class AgentBuilderListenerTest {
 
     private static final String FOO = "foo";
 
+    private static final long DURATION = 100L;
+
+    private static final int BYTES = 42;
+
+    private static final int RULE = 1;
+
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
 
@@ -41,6 +52,7 @@ public class AgentBuilderListenerTest {
         verifyZeroInteractions(throwable);
         AgentBuilder.Listener.NoOp.INSTANCE.onIgnored(FOO);
         AgentBuilder.Listener.NoOp.INSTANCE.onComplete(FOO);
+        assertThat((Object) AgentBuilder.Listener.NoOp.INSTANCE instanceof AgentBuilder.Listener.PhaseAware, is(false));
     }
 
     @Test
@@ -79,9 +91,110 @@ public class AgentBuilderListenerTest {
         verifyNoMoreInteractions(second);
     }
 
+    @Test
+    public void testCompoundWithoutPhaseAwareListener() throws Exception {
+        assertThat(new AgentBuilder.Listener.Compound(first, second) instanceof AgentBuilder.Listener.PhaseAware, is(false));
+        assertThat(AgentBuilder.Listener.Compound.of(first, second), is((AgentBuilder.Listener) new AgentBuilder.Listener.Compound(first, second)));
+        assertThat(AgentBuilder.Listener.Compound.of(AgentBuilder.Listener.NoOp.INSTANCE, first) instanceof AgentBuilder.Listener.PhaseAware, is(false));
+    }
+
+    @Test
+    public void testCompoundWithPhaseAwareListener() throws Exception {
+        AgentBuilder.Listener.PhaseAware phaseAware = mock(AgentBuilder.Listener.PhaseAware.class);
+        assertThat(AgentBuilder.Listener.Compound.of(first, phaseAware),
+                is((AgentBuilder.Listener) new AgentBuilder.Listener.Compound.ForPhases(first, phaseAware)));
+    }
+
+    @Test
+    public void testCompoundOnPhase() throws Exception {
+        AgentBuilder.Listener.PhaseAware phaseAware = mock(AgentBuilder.Listener.PhaseAware.class);
+        ((AgentBuilder.Listener.PhaseAware) AgentBuilder.Listener.Compound.of(first, phaseAware))
+                .onPhase(FOO, AgentBuilder.Listener.Phase.CREATION, RULE, DURATION, BYTES);
+        verifyZeroInteractions(first);
+        verify(phaseAware).onPhase(FOO, AgentBuilder.Listener.Phase.CREATION, RULE, DURATION, BYTES);
+        verifyNoMoreInteractions(phaseAware);
+    }
+
+    @Test
+    public void testMetricsRecordsPhases() throws Exception {
+        AgentBuilder.Listener.Metrics metrics = new AgentBuilder.Listener.Metrics();
+        metrics.onPhase(FOO, AgentBuilder.Listener.Phase.CREATION, RULE, DURATION, BYTES);
+        metrics.onPhase(FOO, AgentBuilder.Listener.Phase.CREATION, RULE, DURATION * 4, BYTES);
+        AgentBuilder.Listener.Metrics.Histogram.Snapshot snapshot = metrics.snapshot(AgentBuilder.Listener.Phase.CREATION);
+        assertThat(snapshot.getCount(), is(2L));
+        assertThat(snapshot.getTotalDuration(), is(DURATION * 5));
+        assertThat(snapshot.getMaximumDuration(), is(DURATION * 4));
+        assertThat(snapshot.getTotalBytes(), is(BYTES * 2L));
+        assertThat(snapshot.getPercentile(0.5d), is(127L));
+        assertThat(snapshot.getPercentile(1d), is(DURATION * 4));
+        assertThat(metrics.snapshot(AgentBuilder.Listener.Phase.MATCHING).getCount(), is(0L));
+        assertThat(metrics.snapshot(AgentBuilder.Listener.Phase.MATCHING).getPercentile(0.5d), is(0L));
+    }
+
+    @Test
+    public void testMetricsRecordsMatchingPerRule() throws Exception {
+        AgentBuilder.Listener.Metrics metrics = new AgentBuilder.Listener.Metrics();
+        metrics.onPhase(FOO, AgentBuilder.Listener.Phase.MATCHING, RULE, DURATION, 0);
+        metrics.onPhase(FOO, AgentBuilder.Listener.Phase.MATCHING, RULE, DURATION, 0);
+        metrics.onPhase(FOO, AgentBuilder.Listener.Phase.MATCHING, 0, DURATION * 4, 0);
+        metrics.onPhase(FOO, AgentBuilder.Listener.Phase.CREATION, RULE, DURATION, BYTES);
+        assertThat(metrics.snapshot(AgentBuilder.Listener.Phase.MATCHING).getCount(), is(3L));
+        assertThat(metrics.snapshotMatching(RULE).getCount(), is(2L));
+        assertThat(metrics.snapshotMatching(RULE).getTotalDuration(), is(DURATION * 2));
+        assertThat(metrics.snapshotMatching(0).getMaximumDuration(), is(DURATION * 4));
+        assertThat(metrics.snapshotMatching(RULE + 1).getCount(), is(0L));
+        AgentBuilder.Listener.Metrics.Exporter exporter = mock(AgentBuilder.Listener.Metrics.Exporter.class);
+        metrics.export(exporter);
+        verify(exporter).onMatching(0, metrics.snapshotMatching(0));
+        verify(exporter).onMatching(RULE, metrics.snapshotMatching(RULE));
+        verify(exporter, never()).onMatching(RULE + 1, metrics.snapshotMatching(RULE + 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMetricsIllegalPercentile() throws Exception {
+        new AgentBuilder.Listener.Metrics().snapshot(AgentBuilder.Listener.Phase.CREATION).getPercentile(2d);
+    }
+
+    @Test
+    public void testMetricsExport() throws Exception {
+        AgentBuilder.Listener.Metrics metrics = new AgentBuilder.Listener.Metrics();
+        metrics.onTransformation(typeDescription, dynamicType);
+        metrics.onIgnored(FOO);
+        metrics.onIgnored(FOO);
+        metrics.onError(FOO, throwable);
+        metrics.onComplete(FOO);
+        metrics.onPhase(FOO, AgentBuilder.Listener.Phase.DESCRIPTION, AgentBuilder.Listener.PhaseAware.NO_RULE, DURATION, BYTES);
+        AgentBuilder.Listener.Metrics.Exporter exporter = mock(AgentBuilder.Listener.Metrics.Exporter.class);
+        metrics.export(exporter);
+        for (AgentBuilder.Listener.Phase phase : AgentBuilder.Listener.Phase.values()) {
+            verify(exporter).onPhase(phase, metrics.snapshot(phase));
+        }
+        verify(exporter).onSummary(1L, 2L, 1L);
+        verifyNoMoreInteractions(exporter);
+        verifyZeroInteractions(dynamicType);
+        verifyZeroInteractions(throwable);
+    }
+
+    @Test
+    public void testMetricsPrintStreamExporter() throws Exception {
+        AgentBuilder.Listener.Metrics metrics = new AgentBuilder.Listener.Metrics();
+        metrics.onPhase(FOO, AgentBuilder.Listener.Phase.DESCRIPTION, AgentBuilder.Listener.PhaseAware.NO_RULE, DURATION, BYTES);
+        metrics.onPhase(FOO, AgentBuilder.Listener.Phase.MATCHING, RULE, DURATION, 0);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        metrics.export(new AgentBuilder.Listener.Metrics.Exporter.ForPrintStream(new PrintStream(outputStream)));
+        String report = outputStream.toString();
+        assertThat(report.contains(AgentBuilder.Listener.Phase.DESCRIPTION.name() + ": count=1"), is(true));
+        assertThat(report.contains(AgentBuilder.Listener.Phase.MATCHING.name() + "[" + RULE + "]: count=1"), is(true));
+        assertThat(report.contains("transformed=0, ignored=0, failed=0"), is(true));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AgentBuilder.Listener.Phase.class).apply();
+        ObjectPropertyAssertion.of(AgentBuilder.Listener.Metrics.Exporter.ForPrintStream.class).apply();
+        ObjectPropertyAssertion.of(AgentBuilder.Listener.Metrics.Histogram.Snapshot.class).apply();
         ObjectPropertyAssertion.of(AgentBuilder.Listener.NoOp.class).apply();
         ObjectPropertyAssertion.of(AgentBuilder.Listener.Compound.class).apply();
+        ObjectPropertyAssertion.of(AgentBuilder.Listener.Compound.ForPhases.class).apply();
     }
 }
@@ -0,0 +1,420 @@
+package net.bytebuddy.asm;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class AdviceTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    public static final List<Object> EVENTS = new ArrayList<Object>();
+
+    @Before
+    public void setUp() throws Exception {
+        EVENTS.clear();
+    }
+
+    private static Class<?> advise(Class<?> advice, String name) throws Exception {
+        DynamicType.Unloaded<Sample> dynamicType = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .redefine(Sample.class)
+                .classVisitor(Advice.to(advice).on(named(name)))
+                .make();
+        assertThat(dynamicType.getRawAuxiliaryTypes().size(), is(0));
+        Class<?> type = dynamicType.load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST).getLoaded();
+        assertThat(type.getDeclaredMethods().length, is(Sample.class.getDeclaredMethods().length));
+        assertThat(type.getDeclaredFields().length, is(Sample.class.getDeclaredFields().length));
+        return type;
+    }
+
+    @Test
+    public void testEnterAndExit() throws Exception {
+        Class<?> type = advise(EnterExitAdvice.class, FOO);
+        Object instance = type.newInstance();
+        assertThat(type.getDeclaredMethod(FOO, String.class).invoke(instance, BAR), is((Object) (BAR + QUX)));
+        assertThat(EVENTS, is(Arrays.<Object>asList(BAR, 42L, BAR + QUX, instance)));
+    }
+
+    @Test
+    public void testEnterOnly() throws Exception {
+        Class<?> type = advise(EnterAdvice.class, FOO);
+        assertThat(type.getDeclaredMethod(FOO, String.class).invoke(type.newInstance(), BAR), is((Object) (BAR + QUX)));
+        assertThat(EVENTS, is(Collections.<Object>singletonList(BAR)));
+    }
+
+    @Test
+    public void testExitOnly() throws Exception {
+        Class<?> type = advise(ExitAdvice.class, FOO);
+        assertThat(type.getDeclaredMethod(FOO, String.class).invoke(type.newInstance(), BAR), is((Object) (BAR + QUX)));
+        assertThat(EVENTS, is(Collections.<Object>singletonList(BAR + QUX)));
+    }
+
+    @Test
+    public void testBranchesLoopsAndMultipleReturns() throws Exception {
+        Class<?> type = advise(LoopAdvice.class, BAR);
+        Object instance = type.newInstance();
+        assertThat(type.getDeclaredMethod(BAR, int.class).invoke(instance, 3), is((Object) 6));
+        assertThat(type.getDeclaredMethod(BAR, int.class).invoke(instance, -1), is((Object) (-1)));
+        assertThat(type.getDeclaredMethod(BAR, int.class).invoke(instance, 0), is((Object) 0));
+        assertThat(EVENTS, is(Arrays.<Object>asList(6, 6, -1, -1, 0, 0)));
+    }
+
+    @Test
+    public void testWideArgumentsOfStaticMethod() throws Exception {
+        Class<?> type = advise(WideAdvice.class, QUX);
+        assertThat(type.getDeclaredMethod(QUX, long.class, double.class, int.class).invoke(null, 1L, 2d, 3), is((Object) 6d));
+        assertThat(EVENTS, is(Arrays.<Object>asList(1L, 2d, 3, 3d, 6d)));
+    }
+
+    @Test
+    public void testVoidMethod() throws Exception {
+        Class<?> type = advise(VoidAdvice.class, BAZ);
+        Object instance = type.newInstance();
+        type.getDeclaredMethod(BAZ, boolean.class).invoke(instance, true);
+        type.getDeclaredMethod(BAZ, boolean.class).invoke(instance, false);
+        assertThat(EVENTS, is(Arrays.<Object>asList(true, BAZ, true, false, false, false)));
+    }
+
+    @Test
+    public void testReturnWithRemainingOperands() throws Exception {
+        String name = AdviceTest.class.getName() + "$" + BAZ;
+        ClassWriter classWriter = new ClassWriter(0);
+        new ClassReader(operandsOnReturn(name)).accept(Advice.to(EnterExitAdvice.class).on(named(FOO)).wrap(classWriter), 0);
+        Class<?> type = new ByteArrayClassLoader(getClass().getClassLoader(),
+                Collections.singletonMap(name, classWriter.toByteArray()),
+                null,
+                ByteArrayClassLoader.PersistenceHandler.MANIFEST).loadClass(name);
+        Object instance = type.newInstance();
+        assertThat(type.getDeclaredMethod(FOO, String.class, boolean.class).invoke(instance, BAR, true), is((Object) BAR));
+        assertThat(type.getDeclaredMethod(FOO, String.class, boolean.class).invoke(instance, BAR, false), is((Object) (BAR + QUX)));
+        assertThat(EVENTS, is(Arrays.<Object>asList(BAR, 42L, BAR, instance, BAR, 42L, BAR + QUX, instance)));
+    }
+
+    private static byte[] operandsOnReturn(String name) {
+        String internalName = name.replace('.', '/');
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V1_7, Opcodes.ACC_PUBLIC, internalName, null, Type.getInternalName(Object.class), null);
+        MethodVisitor methodVisitor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        methodVisitor.visitCode();
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        methodVisitor.visitInsn(Opcodes.RETURN);
+        methodVisitor.visitMaxs(1, 1);
+        methodVisitor.visitEnd();
+        methodVisitor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, FOO, "(Ljava/lang/String;Z)Ljava/lang/String;", null, null);
+        methodVisitor.visitCode();
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+        methodVisitor.visitVarInsn(Opcodes.ASTORE, 3);
+        methodVisitor.visitInsn(Opcodes.LCONST_1);
+        methodVisitor.visitVarInsn(Opcodes.ILOAD, 2);
+        Label label = new Label();
+        methodVisitor.visitJumpInsn(Opcodes.IFEQ, label);
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 3);
+        methodVisitor.visitInsn(Opcodes.ARETURN);
+        methodVisitor.visitLabel(label);
+        methodVisitor.visitFrame(Opcodes.F_FULL,
+                4,
+                new Object[]{internalName, Type.getInternalName(String.class), Opcodes.INTEGER, Type.getInternalName(String.class)},
+                1,
+                new Object[]{Opcodes.LONG});
+        methodVisitor.visitInsn(Opcodes.ICONST_0);
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 3);
+        methodVisitor.visitLdcInsn(QUX);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                Type.getInternalName(String.class),
+                "concat",
+                "(Ljava/lang/String;)Ljava/lang/String;",
+                false);
+        methodVisitor.visitInsn(Opcodes.ARETURN);
+        methodVisitor.visitMaxs(5, 4);
+        methodVisitor.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    @Test
+    public void testExitNotAppliedOnException() throws Exception {
+        Class<?> type = advise(EnterExitAdvice.class, FOO);
+        try {
+            type.getDeclaredMethod(FOO, String.class).invoke(type.newInstance(), (Object) null);
+            fail();
+        } catch (InvocationTargetException exception) {
+            assertThat(exception.getCause() instanceof NullPointerException, is(true));
+        }
+        assertThat(EVENTS, is(Arrays.<Object>asList(null, 42L)));
+    }
+
+    @Test
+    public void testUnmatchedMethodUnchanged() throws Exception {
+        Class<?> type = advise(EnterExitAdvice.class, FOO + BAR);
+        assertThat(type.getDeclaredMethod(FOO, String.class).invoke(type.newInstance(), BAR), is((Object) (BAR + QUX)));
+        assertThat(EVENTS.isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoAdvice() throws Exception {
+        Advice.to(Object.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateAdvice() throws Exception {
+        Advice.to(DuplicateAdvice.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonStaticAdvice() throws Exception {
+        Advice.to(NonStaticAdvice.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnboundParameter() throws Exception {
+        Advice.to(UnboundAdvice.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompatibleEnterParameter() throws Exception {
+        Advice.to(IncompatibleEnterAdvice.class);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWriteToParameter() throws Exception {
+        advise(WritingAdvice.class, FOO);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReturnOfVoidMethod() throws Exception {
+        advise(ExitAdvice.class, BAZ);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIncompatibleArgument() throws Exception {
+        advise(EnterAdvice.class, BAR);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testThisOfStaticMethod() throws Exception {
+        advise(ThisAdvice.class, QUX);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(Advice.class).apply();
+        ObjectPropertyAssertion.of(Advice.Weaver.class).apply();
+        ObjectPropertyAssertion.of(Advice.Dispatcher.Inactive.class).apply();
+        ObjectPropertyAssertion.of(Advice.Dispatcher.Active.class).create(new ObjectPropertyAssertion.Creator<List<?>>() {
+            @Override
+            public List<?> create() {
+                return Collections.singletonList(new Object());
+            }
+        }).apply();
+        ObjectPropertyAssertion.of(Advice.ParameterBinding.class).create(new ObjectPropertyAssertion.Creator<Type>() {
+            @Override
+            public Type create() {
+                return Type.getType("L" + FOO + new Object().hashCode() + ";");
+            }
+        }).apply();
+        ObjectPropertyAssertion.of(Advice.ParameterBinding.Sort.class).apply();
+        ObjectPropertyAssertion.of(Advice.AdviceClassVisitor.class).applyMutable();
+    }
+
+    public static class Sample {
+
+        public String foo(String value) {
+            return value.concat(QUX);
+        }
+
+        public int bar(int value) {
+            if (value < 0) {
+                return value;
+            }
+            int sum = 0;
+            for (int index = 1; index <= value; index++) {
+                sum += index;
+            }
+            return sum;
+        }
+
+        public static double qux(long first, double second, int third) {
+            double result = first;
+            result += second;
+            return result + third;
+        }
+
+        public void baz(boolean flag) {
+            if (flag) {
+                EVENTS.add(BAZ);
+                return;
+            }
+            EVENTS.add(flag);
+        }
+    }
+
+    public static class EnterExitAdvice {
+
+        @Advice.OnMethodEnter
+        public static long enter(@Advice.Argument(0) String value) {
+            EVENTS.add(value);
+            EVENTS.add(42L);
+            return 42L;
+        }
+
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Enter long enter, @Advice.Return String value, @Advice.This Object self) {
+            if (enter != 42L) {
+                throw new AssertionError();
+            }
+            EVENTS.add(value);
+            EVENTS.add(self);
+        }
+    }
+
+    public static class EnterAdvice {
+
+        @Advice.OnMethodEnter
+        public static void enter(@Advice.Argument(0) String value) {
+            EVENTS.add(value);
+        }
+    }
+
+    public static class ExitAdvice {
+
+        @Advice.OnMethodExit
+        public static String exit(@Advice.Return Object value) {
+            EVENTS.add(value);
+            return null;
+        }
+    }
+
+    public static class LoopAdvice {
+
+        @Advice.OnMethodEnter
+        public static int enter(@Advice.Argument(0) int value) {
+            if (value < 0) {
+                return -1;
+            }
+            int sum = 0;
+            for (int index = 1; index <= value; index++) {
+                sum += index;
+            }
+            return sum;
+        }
+
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Enter int enter, @Advice.Return int value) {
+            EVENTS.add(enter);
+            EVENTS.add(value);
+        }
+    }
+
+    public static class WideAdvice {
+
+        @Advice.OnMethodEnter
+        public static double enter(@Advice.Argument(0) long first, @Advice.Argument(1) double second, @Advice.Argument(2) int third) {
+            EVENTS.add(first);
+            EVENTS.add(second);
+            EVENTS.add(third);
+            return first + second;
+        }
+
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Enter double enter, @Advice.Return double value) {
+            EVENTS.add(enter);
+            EVENTS.add(value);
+        }
+    }
+
+    public static class VoidAdvice {
+
+        @Advice.OnMethodEnter
+        public static boolean enter(@Advice.Argument(0) boolean flag) {
+            EVENTS.add(flag);
+            return flag;
+        }
+
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Enter boolean enter) {
+            EVENTS.add(enter);
+        }
+    }
+
+    public static class DuplicateAdvice {
+
+        @Advice.OnMethodEnter
+        public static void first() {
+            /* empty */
+        }
+
+        @Advice.OnMethodEnter
+        public static void second() {
+            /* empty */
+        }
+    }
+
+    public static class NonStaticAdvice {
+
+        @Advice.OnMethodEnter
+        public void enter() {
+            /* empty */
+        }
+    }
+
+    public static class UnboundAdvice {
+
+        @Advice.OnMethodEnter
+        public static void enter(Object value) {
+            /* empty */
+        }
+    }
+
+    public static class IncompatibleEnterAdvice {
+
+        @Advice.OnMethodEnter
+        public static int enter() {
+            return 0;
+        }
+
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Enter long value) {
+            /* empty */
+        }
+    }
+
+    public static class WritingAdvice {
+
+        @Advice.OnMethodEnter
+        @SuppressWarnings("all")
+        public static void enter(@Advice.Argument(0) String value) {
+            value = null;
+        }
+    }
+
+    public static class ThisAdvice {
+
+        @Advice.OnMethodEnter
+        public static void enter(@Advice.This Object self) {
+            /* empty */
+        }
+    }
+}
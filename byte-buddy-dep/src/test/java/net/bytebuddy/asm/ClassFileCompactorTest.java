@@ -0,0 +1,186 @@
+package net.bytebuddy.asm;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.FootprintReport;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.objectweb.asm.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ClassFileCompactorTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    private static final String FIELD_CACHE = "cachedValue$abcdefgh", OTHER_FIELD_CACHE = "cachedValue$ABCDEFGH";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ClassVisitor classVisitor;
+
+    @Mock
+    private MethodVisitor methodVisitor;
+
+    @Mock
+    private FieldVisitor fieldVisitor;
+
+    @Mock
+    private Attribute attribute;
+
+    @Before
+    public void setUp() throws Exception {
+        when(classVisitor.visitMethod(anyInt(), anyString(), anyString(), anyString(), any(String[].class))).thenReturn(methodVisitor);
+        when(classVisitor.visitField(anyInt(), anyString(), anyString(), anyString(), any())).thenReturn(fieldVisitor);
+    }
+
+    @Test
+    public void testOptionalAttributesAreRemoved() throws Exception {
+        ClassVisitor classVisitor = ClassFileCompactor.RETAINING_SIGNATURES.wrap(this.classVisitor);
+        classVisitor.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, FOO, QUX, BAR, null);
+        classVisitor.visitSource(FOO, BAR);
+        classVisitor.visitAttribute(attribute);
+        classVisitor.visitField(Opcodes.ACC_PUBLIC, BAR, BAZ, QUX, null).visitAttribute(attribute);
+        MethodVisitor methodVisitor = classVisitor.visitMethod(Opcodes.ACC_PUBLIC, BAR, BAZ, QUX, null);
+        Label label = new Label();
+        methodVisitor.visitParameter(FOO, 0);
+        methodVisitor.visitAttribute(attribute);
+        methodVisitor.visitCode();
+        methodVisitor.visitLabel(label);
+        methodVisitor.visitLineNumber(42, label);
+        methodVisitor.visitInsn(Opcodes.RETURN);
+        methodVisitor.visitLocalVariable(FOO, BAR, QUX, label, label, 0);
+        methodVisitor.visitMaxs(0, 1);
+        methodVisitor.visitEnd();
+        classVisitor.visitEnd();
+        verify(this.classVisitor).visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, FOO, QUX, BAR, null);
+        verify(this.classVisitor).visitField(Opcodes.ACC_PUBLIC, BAR, BAZ, QUX, null);
+        verify(this.classVisitor).visitMethod(Opcodes.ACC_PUBLIC, BAR, BAZ, QUX, null);
+        verify(this.classVisitor).visitEnd();
+        verifyNoMoreInteractions(this.classVisitor);
+        verifyZeroInteractions(fieldVisitor);
+        verify(this.methodVisitor).visitCode();
+        verify(this.methodVisitor).visitLabel(label);
+        verify(this.methodVisitor).visitInsn(Opcodes.RETURN);
+        verify(this.methodVisitor).visitMaxs(0, 1);
+        verify(this.methodVisitor).visitEnd();
+        verifyNoMoreInteractions(this.methodVisitor);
+    }
+
+    @Test
+    public void testSignaturesAreRemoved() throws Exception {
+        ClassVisitor classVisitor = ClassFileCompactor.DISCARDING_SIGNATURES.wrap(this.classVisitor);
+        classVisitor.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, FOO, QUX, BAR, null);
+        classVisitor.visitField(Opcodes.ACC_PUBLIC, BAR, BAZ, QUX, null);
+        classVisitor.visitMethod(Opcodes.ACC_PUBLIC, BAR, BAZ, QUX, null);
+        verify(this.classVisitor).visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, FOO, null, BAR, null);
+        verify(this.classVisitor).visitField(Opcodes.ACC_PUBLIC, BAR, BAZ, null, null);
+        verify(this.classVisitor).visitMethod(Opcodes.ACC_PUBLIC, BAR, BAZ, null, null);
+        verifyNoMoreInteractions(this.classVisitor);
+    }
+
+    @Test
+    public void testFieldCachesAreRenamed() throws Exception {
+        ClassVisitor classVisitor = ClassFileCompactor.RETAINING_SIGNATURES.wrap(this.classVisitor);
+        classVisitor.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, FOO, null, BAR, null);
+        MethodVisitor methodVisitor = classVisitor.visitMethod(Opcodes.ACC_PUBLIC, BAR, BAZ, null, null);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, FOO, FIELD_CACHE, QUX);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, FOO, OTHER_FIELD_CACHE, QUX);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, BAR, FIELD_CACHE, QUX);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, FOO, BAR, QUX);
+        classVisitor.visitField(Opcodes.ACC_STATIC, FIELD_CACHE, QUX, null, null);
+        classVisitor.visitField(Opcodes.ACC_STATIC, OTHER_FIELD_CACHE, QUX, null, null);
+        verify(this.methodVisitor).visitFieldInsn(Opcodes.GETSTATIC, FOO, "cachedValue$0", QUX);
+        verify(this.methodVisitor).visitFieldInsn(Opcodes.GETSTATIC, FOO, "cachedValue$1", QUX);
+        verify(this.methodVisitor).visitFieldInsn(Opcodes.GETSTATIC, BAR, FIELD_CACHE, QUX);
+        verify(this.methodVisitor).visitFieldInsn(Opcodes.GETSTATIC, FOO, BAR, QUX);
+        verifyNoMoreInteractions(this.methodVisitor);
+        verify(this.classVisitor).visitField(Opcodes.ACC_STATIC, "cachedValue$0", QUX, null, null);
+        verify(this.classVisitor).visitField(Opcodes.ACC_STATIC, "cachedValue$1", QUX, null, null);
+    }
+
+    @Test
+    public void testNoVisitors() throws Exception {
+        ClassVisitor classVisitor = ClassFileCompactor.RETAINING_SIGNATURES.wrap(mock(ClassVisitor.class));
+        classVisitor.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, FOO, null, BAR, null);
+        assertThat(classVisitor.visitMethod(Opcodes.ACC_ABSTRACT, FOO, BAR, QUX, null), nullValue(MethodVisitor.class));
+        assertThat(classVisitor.visitField(Opcodes.ACC_PUBLIC, FOO, BAR, QUX, null), nullValue(FieldVisitor.class));
+    }
+
+    @Test
+    public void testCompactedTypeWithFieldCache() throws Exception {
+        DynamicType.Loaded<Foo> dynamicType = new ByteBuddy()
+                .subclass(Foo.class)
+                .classVisitor(ClassFileCompactor.DISCARDING_SIGNATURES)
+                .method(named(FOO))
+                .intercept(MethodDelegation.to(Bar.class))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(dynamicType.getLoaded().newInstance().foo(), is((Object) FOO));
+        Field field = dynamicType.getLoaded().getDeclaredField("cachedValue$0");
+        assertThat(field.getType() == Method.class, is(true));
+    }
+
+    @Test
+    public void testCompactedTypeIsSmaller() throws Exception {
+        DynamicType.Unloaded<Qux> original = new ByteBuddy()
+                .redefine(Qux.class, ClassFileLocator.ForClassLoader.ofClassPath())
+                .make();
+        DynamicType.Unloaded<Qux> compacted = new ByteBuddy()
+                .redefine(Qux.class, ClassFileLocator.ForClassLoader.ofClassPath())
+                .classVisitor(ClassFileCompactor.DISCARDING_SIGNATURES)
+                .make();
+        FootprintReport originalReport = FootprintReport.of(original), compactedReport = FootprintReport.of(compacted);
+        assertThat(compactedReport.getTotalSize() < originalReport.getTotalSize(), is(true));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassFileCompactor.class).apply();
+        ObjectPropertyAssertion.of(ClassFileCompactor.CompactingClassVisitor.class).applyMutable();
+        ObjectPropertyAssertion.of(ClassFileCompactor.CompactingFieldVisitor.class).applyMutable();
+        ObjectPropertyAssertion.of(ClassFileCompactor.CompactingMethodVisitor.class).applyMutable();
+    }
+
+    public static class Foo {
+
+        public Object foo() {
+            return null;
+        }
+    }
+
+    public static class Bar {
+
+        public static Object bar(@Origin Method method) {
+            return method.getName();
+        }
+    }
+
+    public static class Qux implements Callable<String> {
+
+        @Override
+        public String call() throws Exception {
+            String value = FOO;
+            return value + BAR;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package net.bytebuddy.asm;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.objectweb.asm.*;
+
+import java.io.Serializable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class FrameComputerTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ClassVisitor classVisitor;
+
+    @Mock
+    private MethodVisitor methodVisitor;
+
+    @Mock
+    private TypePool typePool;
+
+    @Before
+    public void setUp() throws Exception {
+        when(classVisitor.visitMethod(anyInt(), anyString(), anyString(), anyString(), any(String[].class))).thenReturn(methodVisitor);
+    }
+
+    @Test(expected = VerifyError.class)
+    public void testBranchingCodeWithoutFrames() throws Exception {
+        new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Foo.class)
+                .method(named(FOO))
+                .intercept(new BranchingImplementation())
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .newInstance();
+    }
+
+    @Test
+    public void testBranchingCodeWithComputedFrames() throws Exception {
+        Class<? extends Foo> type = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Foo.class)
+                .classVisitor(FrameComputer.ofClassPath())
+                .method(named(FOO))
+                .intercept(new BranchingImplementation())
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.newInstance().foo(42), is((Number) 42));
+        assertThat(type.newInstance().foo(null), is((Number) 0L));
+    }
+
+    @Test
+    public void testBranchingCodeWithIncrementallyComputedFrames() throws Exception {
+        DynamicType.Loaded<Foo> dynamicType = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Foo.class)
+                .classVisitor(FrameComputer.ofClassPath().incremental())
+                .method(named(FOO))
+                .intercept(new BranchingImplementation())
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(dynamicType.getLoaded().newInstance().foo(null), is((Number) 0L));
+    }
+
+    @Test
+    public void testLegacyClassFileIsNotComputed() throws Exception {
+        ClassVisitor classVisitor = new FrameComputer(typePool).wrap(this.classVisitor);
+        classVisitor.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC, FOO, null, BAR, null);
+        assertThat(classVisitor.visitMethod(Opcodes.ACC_PUBLIC, QUX, "()V", null, null), is(methodVisitor));
+    }
+
+    @Test
+    public void testDeclaredFramesAreRetainedIncrementally() throws Exception {
+        ClassVisitor classVisitor = new FrameComputer(typePool).incremental().wrap(this.classVisitor);
+        classVisitor.visit(Opcodes.V1_7, Opcodes.ACC_PUBLIC, FOO, null, BAR, null);
+        writeMethodWithFrame(classVisitor.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, QUX, "(I)V", null, null));
+        verify(methodVisitor).visitFrame(eq(Opcodes.F_SAME), eq(0), any(Object[].class), eq(0), any(Object[].class));
+        verify(methodVisitor).visitMaxs(5, 5);
+        verifyZeroInteractions(typePool);
+    }
+
+    @Test
+    public void testDeclaredFramesAreRecomputed() throws Exception {
+        ClassVisitor classVisitor = new FrameComputer(typePool).wrap(this.classVisitor);
+        classVisitor.visit(Opcodes.V1_7, Opcodes.ACC_PUBLIC, FOO, null, BAR, null);
+        writeMethodWithFrame(classVisitor.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, QUX, "(I)V", null, null));
+        verify(methodVisitor).visitFrame(eq(Opcodes.F_SAME), eq(0), any(Object[].class), eq(0), any(Object[].class));
+        verify(methodVisitor).visitMaxs(1, 1);
+    }
+
+    @Test
+    public void testCommonSuperClass() throws Exception {
+        FrameComputer.TypePoolClassWriter classWriter = new FrameComputer.TypePoolClassWriter(TypePool.Default.ofClassPath(),
+                FOO,
+                Type.getInternalName(Integer.class),
+                false);
+        assertThat(classWriter.getCommonSuperClass(Type.getInternalName(Integer.class), Type.getInternalName(Long.class)),
+                is(Type.getInternalName(Number.class)));
+        assertThat(classWriter.getCommonSuperClass(FOO, Type.getInternalName(Long.class)), is(Type.getInternalName(Number.class)));
+        assertThat(classWriter.getCommonSuperClass(Type.getInternalName(Long.class), FOO), is(Type.getInternalName(Number.class)));
+        assertThat(classWriter.getCommonSuperClass(FOO, FOO), is(FOO));
+        assertThat(classWriter.getCommonSuperClass(Type.getInternalName(String.class), Type.getInternalName(Serializable.class)),
+                is(Type.getInternalName(Object.class)));
+        assertThat(classWriter.getCommonSuperClass(Type.getInternalName(Integer.class), Type.getInternalName(String.class)),
+                is(Type.getInternalName(Object.class)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCommonSuperClassOfUnknownType() throws Exception {
+        when(typePool.describe(BAR)).thenReturn(new TypePool.Resolution.Illegal(BAR));
+        new FrameComputer.TypePoolClassWriter(typePool, FOO, null, false).getCommonSuperClass(BAR, BAZ);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(FrameComputer.class).apply();
+        ObjectPropertyAssertion.of(FrameComputer.Scope.class).apply();
+        ObjectPropertyAssertion.of(FrameComputer.FrameComputingClassVisitor.class).applyMutable();
+        ObjectPropertyAssertion.of(FrameComputer.MethodReplay.class).applyMutable();
+    }
+
+    private static void writeMethodWithFrame(MethodVisitor methodVisitor) {
+        Label label = new Label();
+        methodVisitor.visitCode();
+        methodVisitor.visitVarInsn(Opcodes.ILOAD, 0);
+        methodVisitor.visitJumpInsn(Opcodes.IFEQ, label);
+        methodVisitor.visitLabel(label);
+        methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+        methodVisitor.visitInsn(Opcodes.RETURN);
+        methodVisitor.visitMaxs(5, 5);
+        methodVisitor.visitEnd();
+    }
+
+    public static class Foo {
+
+        public Number foo(Integer value) {
+            return null;
+        }
+    }
+
+    private static class BranchingImplementation implements Implementation, ByteCodeAppender {
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target implementationTarget) {
+            return this;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+            Label isNull = new Label(), end = new Label();
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+            methodVisitor.visitJumpInsn(Opcodes.IFNULL, isNull);
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+            methodVisitor.visitJumpInsn(Opcodes.GOTO, end);
+            methodVisitor.visitLabel(isNull);
+            methodVisitor.visitInsn(Opcodes.LCONST_0);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Long.class), "valueOf", "(J)Ljava/lang/Long;", false);
+            methodVisitor.visitLabel(end);
+            methodVisitor.visitInsn(Opcodes.ARETURN);
+            return new Size(2, instrumentedMethod.getStackSize());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package net.bytebuddy.asm;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.objectweb.asm.*;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class PeepholeOptimizerTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final String INTEGER = "java/lang/Integer", LONG = "java/lang/Long", OBJECT = "java/lang/Object";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ClassVisitor classVisitor;
+
+    @Mock
+    private MethodVisitor methodVisitor;
+
+    private MethodVisitor optimizer;
+
+    @Before
+    public void setUp() throws Exception {
+        when(classVisitor.visitMethod(anyInt(), anyString(), anyString(), anyString(), any(String[].class))).thenReturn(methodVisitor);
+        optimizer = PeepholeOptimizer.INSTANCE.wrap(classVisitor).visitMethod(Opcodes.ACC_PUBLIC, FOO, BAR, QUX, null);
+    }
+
+    @Test
+    public void testBoxingAndUnboxingIsRemoved() throws Exception {
+        optimizer.visitVarInsn(Opcodes.ILOAD, 1);
+        optimizer.visitMethodInsn(Opcodes.INVOKESTATIC, INTEGER, "valueOf", "(I)L" + INTEGER + ";", false);
+        optimizer.visitTypeInsn(Opcodes.CHECKCAST, INTEGER);
+        optimizer.visitMethodInsn(Opcodes.INVOKEVIRTUAL, INTEGER, "intValue", "()I", false);
+        optimizer.visitInsn(Opcodes.IRETURN);
+        optimizer.visitMaxs(1, 2);
+        verify(methodVisitor).visitVarInsn(Opcodes.ILOAD, 1);
+        verify(methodVisitor).visitInsn(Opcodes.IRETURN);
+        verify(methodVisitor).visitMaxs(1, 2);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testBoxingOfDiscardedValueIsRemoved() throws Exception {
+        optimizer.visitVarInsn(Opcodes.LLOAD, 1);
+        optimizer.visitMethodInsn(Opcodes.INVOKESTATIC, LONG, "valueOf", "(J)L" + LONG + ";", false);
+        optimizer.visitInsn(Opcodes.POP);
+        optimizer.visitInsn(Opcodes.RETURN);
+        optimizer.visitEnd();
+        verify(methodVisitor).visitInsn(Opcodes.RETURN);
+        verify(methodVisitor).visitEnd();
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testBoxingOfNonDiscardedValueIsRetained() throws Exception {
+        optimizer.visitMethodInsn(Opcodes.INVOKESTATIC, LONG, "valueOf", "(J)L" + LONG + ";", false);
+        optimizer.visitInsn(Opcodes.POP);
+        optimizer.visitEnd();
+        verify(methodVisitor).visitInsn(Opcodes.POP2);
+        verify(methodVisitor).visitEnd();
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testMismatchedUnboxingIsRetained() throws Exception {
+        optimizer.visitMethodInsn(Opcodes.INVOKESTATIC, INTEGER, "valueOf", "(I)L" + INTEGER + ";", false);
+        optimizer.visitMethodInsn(Opcodes.INVOKEVIRTUAL, INTEGER, "longValue", "()J", false);
+        optimizer.visitEnd();
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKESTATIC, INTEGER, "valueOf", "(I)L" + INTEGER + ";", false);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKEVIRTUAL, INTEGER, "longValue", "()J", false);
+        verify(methodVisitor).visitEnd();
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testDuplicationAndRemovalIsRemoved() throws Exception {
+        optimizer.visitInsn(Opcodes.DUP);
+        optimizer.visitInsn(Opcodes.POP);
+        optimizer.visitInsn(Opcodes.DUP2);
+        optimizer.visitInsn(Opcodes.POP2);
+        optimizer.visitEnd();
+        verify(methodVisitor).visitEnd();
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testDiscardedConstantIsRemoved() throws Exception {
+        optimizer.visitInsn(Opcodes.ICONST_0);
+        optimizer.visitIntInsn(Opcodes.BIPUSH, 42);
+        optimizer.visitLdcInsn(FOO);
+        optimizer.visitLdcInsn(42L);
+        optimizer.visitInsn(Opcodes.POP2);
+        optimizer.visitInsn(Opcodes.POP);
+        optimizer.visitInsn(Opcodes.POP);
+        optimizer.visitInsn(Opcodes.POP);
+        optimizer.visitEnd();
+        verify(methodVisitor).visitEnd();
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testDiscardedClassConstantIsRetained() throws Exception {
+        optimizer.visitLdcInsn(Type.getType(Object.class));
+        optimizer.visitInsn(Opcodes.POP);
+        optimizer.visitEnd();
+        verify(methodVisitor).visitLdcInsn(Type.getType(Object.class));
+        verify(methodVisitor).visitInsn(Opcodes.POP);
+        verify(methodVisitor).visitEnd();
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testRedundantCastingIsRemoved() throws Exception {
+        optimizer.visitVarInsn(Opcodes.ALOAD, 1);
+        optimizer.visitTypeInsn(Opcodes.CHECKCAST, INTEGER);
+        optimizer.visitTypeInsn(Opcodes.CHECKCAST, INTEGER);
+        optimizer.visitTypeInsn(Opcodes.CHECKCAST, OBJECT);
+        optimizer.visitInsn(Opcodes.ACONST_NULL);
+        optimizer.visitTypeInsn(Opcodes.CHECKCAST, INTEGER);
+        optimizer.visitEnd();
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 1);
+        verify(methodVisitor).visitTypeInsn(Opcodes.CHECKCAST, INTEGER);
+        verify(methodVisitor).visitInsn(Opcodes.ACONST_NULL);
+        verify(methodVisitor).visitEnd();
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testLabelInterruptsOptimization() throws Exception {
+        Label label = new Label();
+        optimizer.visitInsn(Opcodes.ICONST_0);
+        optimizer.visitLabel(label);
+        optimizer.visitInsn(Opcodes.POP);
+        optimizer.visitEnd();
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_0);
+        verify(methodVisitor).visitLabel(label);
+        verify(methodVisitor).visitInsn(Opcodes.POP);
+        verify(methodVisitor).visitEnd();
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testSideEffectIsRetained() throws Exception {
+        optimizer.visitVarInsn(Opcodes.ALOAD, 0);
+        optimizer.visitFieldInsn(Opcodes.GETFIELD, FOO, BAR, QUX);
+        optimizer.visitInsn(Opcodes.POP);
+        optimizer.visitEnd();
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 0);
+        verify(methodVisitor).visitFieldInsn(Opcodes.GETFIELD, FOO, BAR, QUX);
+        verify(methodVisitor).visitInsn(Opcodes.POP);
+        verify(methodVisitor).visitEnd();
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testNoMethodVisitor() throws Exception {
+        ClassVisitor classVisitor = mock(ClassVisitor.class);
+        assertThat(PeepholeOptimizer.INSTANCE.wrap(classVisitor).visitMethod(Opcodes.ACC_ABSTRACT, FOO, BAR, QUX, null), is((MethodVisitor) null));
+    }
+
+    @Test
+    public void testOptimizedType() throws Exception {
+        DynamicType.Unloaded<Foo> unoptimized = new ByteBuddy()
+                .subclass(Foo.class)
+                .name(Foo.class.getName() + "$Unoptimized")
+                .method(named(FOO))
+                .intercept(new BoxingImplementation())
+                .make();
+        DynamicType.Unloaded<Foo> optimized = new ByteBuddy()
+                .subclass(Foo.class)
+                .name(Foo.class.getName() + "$Optimized")
+                .classVisitor(PeepholeOptimizer.INSTANCE)
+                .method(named(FOO))
+                .intercept(new BoxingImplementation())
+                .make();
+        assertThat(optimized.getBytes().length < unoptimized.getBytes().length, is(true));
+        assertThat(optimized.load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .newInstance()
+                .foo(42), is(42));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(PeepholeOptimizer.class).apply();
+        ObjectPropertyAssertion.of(PeepholeOptimizer.OptimizingClassVisitor.class).applyMutable();
+        ObjectPropertyAssertion.of(PeepholeOptimizer.OptimizingMethodVisitor.class).applyMutable();
+        ObjectPropertyAssertion.of(PeepholeOptimizer.Wrapper.class).apply();
+        ObjectPropertyAssertion.of(PeepholeOptimizer.Instruction.Simple.class).apply();
+        ObjectPropertyAssertion.of(PeepholeOptimizer.Instruction.WithOperand.class).apply();
+        ObjectPropertyAssertion.of(PeepholeOptimizer.Instruction.OfVariable.class).apply();
+        ObjectPropertyAssertion.of(PeepholeOptimizer.Instruction.OfType.class).apply();
+        ObjectPropertyAssertion.of(PeepholeOptimizer.Instruction.OfMethod.class).apply();
+        ObjectPropertyAssertion.of(PeepholeOptimizer.Instruction.OfConstant.class).apply();
+    }
+
+    public static class Foo {
+
+        public int foo(int value) {
+            return 0;
+        }
+    }
+
+    private static class BoxingImplementation implements Implementation {
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target implementationTarget) {
+            TypeDescription primitiveType = new TypeDescription.ForLoadedType(int.class);
+            return new ByteCodeAppender.Simple(MethodVariableAccess.INTEGER.loadOffset(1),
+                    Assigner.DEFAULT.assign(primitiveType, TypeDescription.OBJECT, false),
+                    Assigner.DEFAULT.assign(TypeDescription.OBJECT, primitiveType, true),
+                    MethodReturn.INTEGER);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import net.bytebuddy.utility.RandomString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassDataSharingExporterTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private File jar, classList;
+
+    private DynamicType.Unloaded<Foo> dynamicType;
+
+    @Before
+    public void setUp() throws Exception {
+        jar = File.createTempFile(FOO, BAR);
+        classList = File.createTempFile(BAR, FOO);
+        dynamicType = new ByteBuddy()
+                .subclass(Foo.class)
+                .name(Foo.class.getName() + "$Prebuilt" + RandomString.make())
+                .method(named(FOO))
+                .intercept(MethodDelegation.to(Interceptor.class))
+                .make();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(jar.delete(), is(true));
+        assertThat(classList.delete(), is(true));
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        Map<TypeDescription, byte[]> types = new ClassDataSharingExporter().with(dynamicType).export(jar, classList);
+        assertThat(types.size(), is(2));
+        assertThat(types.keySet().iterator().next(), is(dynamicType.getTypeDescription()));
+        List<String> entries = new ArrayList<String>();
+        JarInputStream jarInputStream = new JarInputStream(new FileInputStream(jar));
+        try {
+            assertThat(jarInputStream.getManifest() != null, is(true));
+            JarEntry jarEntry;
+            while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
+                entries.add(jarEntry.getName());
+            }
+        } finally {
+            jarInputStream.close();
+        }
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(classList), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        List<String> expected = new ArrayList<String>();
+        for (TypeDescription typeDescription : types.keySet()) {
+            expected.add(typeDescription.getInternalName());
+        }
+        assertThat(lines, is(expected));
+        List<String> expectedEntries = new ArrayList<String>();
+        for (String name : expected) {
+            expectedEntries.add(name + ".class");
+        }
+        assertThat(entries, is(expectedEntries));
+    }
+
+    @Test
+    public void testSharedTypesAreExportedOnce() throws Exception {
+        assertThat(new ClassDataSharingExporter().with(dynamicType, dynamicType).getTypes().size(), is(2));
+        assertThat(new ClassDataSharingExporter().with(Collections.<DynamicType>emptyList()).getTypes().size(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTypeWithLoadedTypeInitializerIsNotExported() throws Exception {
+        new ClassDataSharingExporter().with(new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named(FOO))
+                .intercept(MethodDelegation.to(new Interceptor()))
+                .make());
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassDataSharingExporter.class).apply();
+    }
+
+    public static class Foo {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+
+    public static class Interceptor {
+
+        public static String intercept(@SuperCall Callable<String> zuper) throws Exception {
+            return zuper.call() + BAR;
+        }
+    }
+}
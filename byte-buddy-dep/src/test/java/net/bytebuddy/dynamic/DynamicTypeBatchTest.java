@@ -0,0 +1,96 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DynamicTypeBatchTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() throws Exception {
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchIsLoadedAtOnce() throws Exception {
+        DynamicType.Batch batch = DynamicType.Batch.make(Arrays.asList(builder(new StringBuilder(FOO)), builder(new StringBuilder(BAR))),
+                executorService);
+        assertThat(batch.getUnloaded().size(), is(2));
+        CountingClassLoadingStrategy classLoadingStrategy = new CountingClassLoadingStrategy();
+        List<DynamicType.Loaded<?>> loadedTypes = batch.load(getClass().getClassLoader(), classLoadingStrategy);
+        assertThat(classLoadingStrategy.count.get(), is(1));
+        assertThat(loadedTypes.size(), is(2));
+        assertThat(loadedTypes.get(0).getLoaded().getClassLoader(), is(loadedTypes.get(1).getLoaded().getClassLoader()));
+        assertThat(((Callable<?>) loadedTypes.get(0).getLoaded().newInstance()).call().toString(), is(FOO));
+        assertThat(((Callable<?>) loadedTypes.get(1).getLoaded().newInstance()).call().toString(), is(BAR));
+        assertThat(loadedTypes.get(0).getLoadedAuxiliaryTypes().size(), is(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuilderExceptionIsPropagated() throws Exception {
+        DynamicType.Builder<?> builder = mock(DynamicType.Builder.class);
+        when(builder.make()).thenThrow(new IllegalStateException());
+        DynamicType.Batch.make(Collections.singletonList(builder), executorService);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPreloadedStrategyRejectsUnknownType() throws Exception {
+        new DynamicType.Batch.Preloaded(Collections.<TypeDescription, Class<?>>emptyMap())
+                .load(getClass().getClassLoader(), Collections.singletonMap(TypeDescription.OBJECT, new byte[0]));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(DynamicType.Batch.class).apply();
+        ObjectPropertyAssertion.of(DynamicType.Batch.Maker.class).apply();
+        ObjectPropertyAssertion.of(DynamicType.Batch.Preloaded.class).apply();
+    }
+
+    private static DynamicType.Builder<?> builder(Object value) {
+        return new ByteBuddy()
+                .subclass(Callable.class)
+                .method(named("call"))
+                .intercept(FixedValue.value(value));
+    }
+
+    private static class CountingClassLoadingStrategy implements ClassLoadingStrategy {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+            count.incrementAndGet();
+            return ClassLoadingStrategy.Default.WRAPPER.load(classLoader, types);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class DynamicTypeTemplateTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final String FIRST = "net.bytebuddy.test.First", SECOND = "net.bytebuddy.test.Second";
+
+    private DynamicType.Template<Foo> template;
+
+    @Before
+    public void setUp() throws Exception {
+        template = DynamicType.Template.of(new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named(FOO)).intercept(MethodDelegation.to(Interceptor.class))
+                .method(named(BAR)).intercept(FixedValue.value(new StringBuilder(QUX)))
+                .make());
+    }
+
+    @Test
+    public void testRenamedType() throws Exception {
+        DynamicType.Unloaded<Foo> dynamicType = template.make(FIRST);
+        assertThat(dynamicType.getTypeDescription().getName(), is(FIRST));
+        assertThat(dynamicType.getTypeDescription().getSupertype(), is((TypeDescription) new TypeDescription.ForLoadedType(Foo.class)));
+        assertThat(dynamicType.getRawAuxiliaryTypes().size() > 0, is(true));
+        for (TypeDescription auxiliaryType : dynamicType.getRawAuxiliaryTypes().keySet()) {
+            assertThat(auxiliaryType.getName(), startsWith(FIRST));
+        }
+        Class<? extends Foo> type = dynamicType.load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        assertThat(type.getName(), is(FIRST));
+        assertThat(type.newInstance().foo(), is(FOO + BAR));
+        assertThat(type.newInstance().bar().toString(), is(QUX));
+    }
+
+    @Test
+    public void testSeveralTypesInSameClassLoader() throws Exception {
+        DynamicType.Unloaded<Foo> first = template.make(FIRST), second = template.make(SECOND);
+        ClassLoader classLoader = first.load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded().getClassLoader();
+        Class<? extends Foo> firstType = classLoader.loadClass(FIRST).asSubclass(Foo.class);
+        Class<? extends Foo> secondType = second.load(classLoader, ClassLoadingStrategy.Default.INJECTION).getLoaded();
+        assertThat(secondType.getName(), is(SECOND));
+        assertThat(secondType.getClassLoader(), is(classLoader));
+        assertThat(secondType, not(is((Object) firstType)));
+        assertThat(firstType.newInstance().foo(), is(FOO + BAR));
+        assertThat(secondType.newInstance().foo(), is(FOO + BAR));
+        assertThat(secondType.newInstance().bar().toString(), is(QUX));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullDynamicType() throws Exception {
+        DynamicType.Template.of(null);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(DynamicType.Template.class).apply();
+    }
+
+    public static class Foo {
+
+        public String foo() {
+            return FOO;
+        }
+
+        public Object bar() {
+            return null;
+        }
+    }
+
+    public static class Interceptor {
+
+        public static String intercept(@SuperCall Callable<String> zuper) throws Exception {
+            return zuper.call() + BAR;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class FootprintReportTest {
+
+    private static final String FOO = "foo";
+
+    @Test
+    public void testSingleType() throws Exception {
+        DynamicType dynamicType = new ByteBuddy()
+                .subclass(Object.class)
+                .make();
+        FootprintReport footprintReport = FootprintReport.of(dynamicType);
+        assertThat(footprintReport.getEntries().size(), is(1));
+        assertThat(footprintReport.getEntries().get(0).getTypeDescription(), is(dynamicType.getTypeDescription()));
+        assertThat(footprintReport.getEntries().get(0).getSize(), is(dynamicType.getBytes().length));
+        assertThat(footprintReport.getEntries().get(0).getConstantPoolSize(), is(new ClassReader(dynamicType.getBytes()).getItemCount()));
+        assertThat(footprintReport.getTotalSize(), is(dynamicType.getBytes().length));
+        assertThat(footprintReport.getTotalConstantPoolSize(), is(new ClassReader(dynamicType.getBytes()).getItemCount()));
+    }
+
+    @Test
+    public void testAuxiliaryTypesAreReported() throws Exception {
+        DynamicType dynamicType = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named(FOO)).intercept(MethodDelegation.to(Bar.class))
+                .make();
+        FootprintReport footprintReport = FootprintReport.of(dynamicType);
+        int totalSize = 0;
+        for (byte[] binaryRepresentation : dynamicType.getAllTypes().values()) {
+            totalSize += binaryRepresentation.length;
+        }
+        assertThat(footprintReport.getEntries().size(), is(dynamicType.getAllTypes().size()));
+        assertThat(footprintReport.getEntries().size() > 1, is(true));
+        assertThat(footprintReport.getTotalSize(), is(totalSize));
+    }
+
+    @Test
+    public void testEmptyReport() throws Exception {
+        FootprintReport footprintReport = FootprintReport.of(Collections.<TypeDescription, byte[]>emptyMap());
+        assertThat(footprintReport.getEntries().size(), is(0));
+        assertThat(footprintReport.getTotalSize(), is(0));
+        assertThat(footprintReport.getTotalConstantPoolSize(), is(0));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(FootprintReport.class).apply();
+        ObjectPropertyAssertion.of(FootprintReport.Entry.class).apply();
+    }
+
+    public static class Foo {
+
+        public Object foo() {
+            return null;
+        }
+    }
+
+    public static class Bar {
+
+        public static Object bar(@SuperCall Callable<?> callable) throws Exception {
+            return callable.call();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.StubMethod;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.implementation.bind.annotation.This;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class InliningReportTest {
+
+    private static final String FOO = "foo", BAR = "bar", TO_STRING = "toString";
+
+    @Test
+    public void testMethodSizes() throws Exception {
+        DynamicType dynamicType = new ByteBuddy()
+                .subclass(Object.class)
+                .implement(Serializable.class)
+                .defineField(BAR, String.class)
+                .method(named(TO_STRING)).intercept(FixedValue.value(FOO))
+                .make();
+        InliningReport inliningReport = InliningReport.of(dynamicType);
+        assertThat(inliningReport.getEntries().size(), is(2));
+        for (InliningReport.Entry entry : inliningReport.getEntries()) {
+            assertThat(entry.getTypeDescription(), is(dynamicType.getTypeDescription()));
+            if (entry.getInternalName().equals(TO_STRING)) {
+                assertThat(entry.getDescriptor(), is("()Ljava/lang/String;"));
+                assertThat(entry.getSize(), is(3));
+            } else {
+                assertThat(entry.getInternalName(), is("<init>"));
+                assertThat(entry.getDescriptor(), is("()V"));
+                assertThat(entry.getSize(), is(5));
+            }
+        }
+        assertThat(inliningReport.exceedingMaxInlineSize().size(), is(0));
+        assertThat(inliningReport.exceedingFrequentInlineSize().size(), is(0));
+        assertThat(inliningReport.exceeding(4).size(), is(1));
+        assertThat(inliningReport.exceeding(4).get(0).getInternalName(), is("<init>"));
+    }
+
+    @Test
+    public void testAbstractMethodIsNotReported() throws Exception {
+        DynamicType dynamicType = new ByteBuddy()
+                .makeInterface()
+                .make();
+        assertThat(InliningReport.of(dynamicType).getEntries().size(), is(0));
+    }
+
+    @Test
+    public void testAuxiliaryTypesAreReported() throws Exception {
+        DynamicType dynamicType = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named(FOO)).intercept(MethodDelegation.to(Bar.class))
+                .make();
+        int auxiliaryEntries = 0;
+        for (InliningReport.Entry entry : InliningReport.of(dynamicType).getEntries()) {
+            if (!entry.getTypeDescription().equals(dynamicType.getTypeDescription())) {
+                auxiliaryEntries++;
+            }
+        }
+        assertThat(auxiliaryEntries > 0, is(true));
+    }
+
+    @Test
+    public void testLargeMethod() throws Exception {
+        DynamicType dynamicType = new ByteBuddy()
+                .subclass(Baz.class)
+                .method(named(FOO)).intercept(MethodDelegation.to(Qux.class))
+                .make();
+        InliningReport inliningReport = InliningReport.of(dynamicType);
+        assertThat(inliningReport.exceedingMaxInlineSize().size(), is(1));
+        assertThat(inliningReport.exceedingMaxInlineSize().get(0).getInternalName(), is(FOO));
+    }
+
+    @Test
+    public void testOutlinedArgumentArray() throws Exception {
+        DynamicType dynamicType = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named(FOO)).intercept(MethodDelegation.to(Qux.class))
+                .make();
+        InliningReport inliningReport = InliningReport.of(dynamicType);
+        assertThat(inliningReport.getEntries().size(), is(3));
+        assertThat(inliningReport.exceedingMaxInlineSize().size(), is(0));
+        for (InliningReport.Entry entry : inliningReport.getEntries()) {
+            if (entry.getInternalName().equals(FOO)) {
+                assertThat(entry.getSize() < InliningReport.MAX_INLINE_SIZE, is(true));
+            } else if (!entry.getInternalName().equals("<init>")) {
+                assertThat(entry.getInternalName().startsWith(Implementation.Context.Default.OUTLINED_METHOD_PREFIX), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void testStubMethod() throws Exception {
+        DynamicType dynamicType = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named(FOO)).intercept(StubMethod.INSTANCE)
+                .make();
+        InliningReport inliningReport = InliningReport.of(dynamicType);
+        assertThat(inliningReport.exceeding(1).size(), is(2));
+        assertThat(inliningReport.exceeding(2).size(), is(1));
+        assertThat(inliningReport.exceeding(2).get(0).getInternalName(), is("<init>"));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(InliningReport.class).apply();
+        ObjectPropertyAssertion.of(InliningReport.Entry.class).apply();
+    }
+
+    public static class Foo {
+
+        public Object foo(Object a, Object b, Object c, Object d, Object e, Object f) {
+            return null;
+        }
+    }
+
+    public static class Baz {
+
+        public Object foo(long a, long b, long c, long d) {
+            return null;
+        }
+    }
+
+    public static class Bar {
+
+        public static Object bar(@SuperCall Callable<?> callable) throws Exception {
+            return callable.call();
+        }
+    }
+
+    public static class Qux {
+
+        public static Object qux(@AllArguments Object[] argument,
+                                 @Origin String origin,
+                                 @This Object self) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.*;
+
+import static net.bytebuddy.matcher.ElementMatchers.any;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class JarTransformerTest {
+
+    private static final String FOO = "foo", BAR = "bar", TEMP = ".tmp";
+
+    private static final String TRANSFORMED = "foo.Transformed", IGNORED = "foo.Ignored";
+
+    private static final String RESOURCE = "foo/resource.txt";
+
+    private static final String MODULE_INFO = "module-info.class", BROKEN = "foo/Broken.class";
+
+    private static final int UNSUPPORTED_MAJOR_VERSION = 53;
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private static final byte[] RESOURCE_CONTENT = new byte[]{1, 2, 3};
+
+    private File sourceFile, targetFile;
+
+    private byte[] ignored;
+
+    private static byte[] read(JarFile jarFile, String name) throws Exception {
+        InputStream inputStream = jarFile.getInputStream(jarFile.getJarEntry(name));
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        sourceFile = File.createTempFile(FOO, TEMP);
+        targetFile = File.createTempFile(BAR, TEMP);
+        ignored = new ByteBuddy().subclass(Object.class).name(IGNORED).make().getBytes();
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, BAR);
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceFile), manifest);
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(TRANSFORMED.replace('.', '/') + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(new ByteBuddy().subclass(Object.class).name(TRANSFORMED).make().getBytes());
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(RESOURCE));
+            jarOutputStream.write(RESOURCE_CONTENT);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(IGNORED.replace('.', '/') + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(ignored);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(sourceFile.delete() & targetFile.delete(), is(true));
+    }
+
+    @Test
+    public void testTransformation() throws Exception {
+        assertThat(new JarTransformer().rebase(named(TRANSFORMED), new ToStringTransformer()).transform(sourceFile, targetFile), is(targetFile));
+        assertTransformed();
+    }
+
+    @Test
+    public void testTransformationWithExecutor() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            assertThat(new JarTransformer()
+                    .rebase(named(TRANSFORMED), new ToStringTransformer())
+                    .transform(sourceFile, targetFile, executorService), is(targetFile));
+        } finally {
+            executorService.shutdown();
+        }
+        assertTransformed();
+    }
+
+    @Test
+    public void testLastRuleIsApplied() throws Exception {
+        new JarTransformer()
+                .rebase(named(TRANSFORMED), JarTransformer.Transformer.NoOp.INSTANCE)
+                .rebase(named(TRANSFORMED), new ToStringTransformer())
+                .transform(sourceFile, targetFile);
+        assertTransformed();
+    }
+
+    @Test
+    public void testNoRuleCopiesEntries() throws Exception {
+        new JarTransformer().transform(sourceFile, targetFile);
+        JarFile source = new JarFile(sourceFile), target = new JarFile(targetFile);
+        try {
+            List<String> sourceNames = new ArrayList<String>(), targetNames = new ArrayList<String>();
+            for (JarEntry jarEntry : Collections.list(source.entries())) {
+                sourceNames.add(jarEntry.getName());
+                if (!jarEntry.isDirectory()) {
+                    assertThat(Arrays.equals(read(source, jarEntry.getName()), read(target, jarEntry.getName())), is(true));
+                }
+            }
+            for (JarEntry jarEntry : Collections.list(target.entries())) {
+                targetNames.add(jarEntry.getName());
+            }
+            assertThat(targetNames, is(sourceNames));
+            assertThat(target.getManifest(), is(source.getManifest()));
+        } finally {
+            source.close();
+            target.close();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTransformationError() throws Exception {
+        new JarTransformer().rebase(named(TRANSFORMED), new JarTransformer.Transformer() {
+            @Override
+            public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription) {
+                throw new RuntimeException();
+            }
+        }).transform(sourceFile, targetFile);
+    }
+
+    @Test
+    public void testUnparseableClassFilesAreCopied() throws Exception {
+        byte[] moduleInfo = new ByteBuddy().subclass(Object.class).name(FOO).make().getBytes();
+        moduleInfo[7] = (byte) UNSUPPORTED_MAJOR_VERSION;
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceFile));
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(MODULE_INFO));
+            jarOutputStream.write(moduleInfo);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(BROKEN));
+            jarOutputStream.write(RESOURCE_CONTENT);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(TRANSFORMED.replace('.', '/') + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(new ByteBuddy().subclass(Object.class).name(TRANSFORMED).make().getBytes());
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        new JarTransformer().rebase(any(), new ToStringTransformer()).transform(sourceFile, targetFile);
+        JarFile jarFile = new JarFile(targetFile);
+        try {
+            List<String> names = new ArrayList<String>();
+            for (JarEntry jarEntry : Collections.list(jarFile.entries())) {
+                names.add(jarEntry.getName());
+            }
+            assertThat(names, is(Arrays.asList(MODULE_INFO, BROKEN, TRANSFORMED.replace('.', '/') + CLASS_FILE_EXTENSION)));
+            assertThat(Arrays.equals(read(jarFile, MODULE_INFO), moduleInfo), is(true));
+            assertThat(Arrays.equals(read(jarFile, BROKEN), RESOURCE_CONTENT), is(true));
+        } finally {
+            jarFile.close();
+        }
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{targetFile.toURI().toURL()}, null);
+        assertThat(classLoader.loadClass(TRANSFORMED).newInstance().toString(), is(FOO));
+    }
+
+    private void assertTransformed() throws Exception {
+        JarFile jarFile = new JarFile(targetFile);
+        try {
+            List<String> names = new ArrayList<String>();
+            for (JarEntry jarEntry : Collections.list(jarFile.entries())) {
+                names.add(jarEntry.getName());
+            }
+            assertThat(names.indexOf(TRANSFORMED.replace('.', '/') + CLASS_FILE_EXTENSION) < names.indexOf(RESOURCE), is(true));
+            assertThat(names.indexOf(RESOURCE) < names.indexOf(IGNORED.replace('.', '/') + CLASS_FILE_EXTENSION), is(true));
+            assertThat(Arrays.equals(read(jarFile, RESOURCE), RESOURCE_CONTENT), is(true));
+            assertThat(Arrays.equals(read(jarFile, IGNORED.replace('.', '/') + CLASS_FILE_EXTENSION), ignored), is(true));
+            assertThat(jarFile.getManifest().getMainAttributes().get(Attributes.Name.MANIFEST_VERSION), is((Object) BAR));
+        } finally {
+            jarFile.close();
+        }
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{targetFile.toURI().toURL()}, null);
+        assertThat(classLoader.loadClass(TRANSFORMED).newInstance().toString(), is(FOO));
+        assertThat(classLoader.loadClass(IGNORED).newInstance().toString(), not(FOO));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(JarTransformer.class).apply();
+        ObjectPropertyAssertion.of(JarTransformer.Rule.class).apply();
+        ObjectPropertyAssertion.of(JarTransformer.Transformation.class).apply();
+        ObjectPropertyAssertion.of(JarTransformer.Transformer.NoOp.class).apply();
+        ObjectPropertyAssertion.of(JarTransformer.WritingThread.class).apply();
+    }
+
+    private static class ToStringTransformer implements JarTransformer.Transformer {
+
+        @Override
+        public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription) {
+            return builder.method(named("toString")).intercept(FixedValue.value(FOO));
+        }
+    }
+}
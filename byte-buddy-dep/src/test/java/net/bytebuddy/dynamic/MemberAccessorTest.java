@@ -0,0 +1,292 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MemberAccessorTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private List<Method> methods;
+
+    private List<Field> fields;
+
+    @Before
+    public void setUp() throws Exception {
+        methods = Arrays.asList(Sample.class.getMethod("foo", String.class, int.class),
+                Sample.class.getMethod("bar"),
+                Sample.class.getMethod("qux", long.class),
+                Sample.class.getMethod("baz"),
+                Object.class.getMethod("toString"));
+        fields = Arrays.asList(Sample.class.getField("booleanValue"),
+                Sample.class.getField("byteValue"),
+                Sample.class.getField("shortValue"),
+                Sample.class.getField("charValue"),
+                Sample.class.getField("intValue"),
+                Sample.class.getField("longValue"),
+                Sample.class.getField("floatValue"),
+                Sample.class.getField("doubleValue"),
+                Sample.class.getField("stringValue"),
+                Sample.class.getField("finalValue"),
+                Sample.class.getField("staticValue"));
+    }
+
+    @Test
+    public void testInvocation() throws Exception {
+        for (MemberAccessor memberAccessor : Arrays.asList(new MemberAccessor.Factory().make(Sample.class, methods, fields),
+                new MemberAccessor.Factory(new ByteBuddy(ClassFileVersion.JAVA_V5)).make(Sample.class, methods, fields))) {
+            Sample sample = new Sample();
+            assertThat(memberAccessor.invoke(sample, 0, new Object[]{FOO, 42}), is((Object) (FOO + 42)));
+            assertThat(memberAccessor.invoke(sample, 1, new Object[0]), nullValue(Object.class));
+            assertThat(sample.intValue, is(1));
+            assertThat(memberAccessor.invoke(null, 2, new Object[]{42L}), is((Object) 43L));
+            assertThat(memberAccessor.invoke(sample, 4, new Object[0]), is((Object) BAR));
+            try {
+                memberAccessor.invoke(sample, 3, new Object[0]);
+                throw new AssertionError();
+            } catch (Exception exception) {
+                assertThat(exception.getClass(), is((Object) Exception.class));
+                assertThat(exception.getMessage(), is(FOO));
+            }
+        }
+    }
+
+    @Test
+    public void testFieldAccess() throws Exception {
+        for (MemberAccessor memberAccessor : Arrays.asList(new MemberAccessor.Factory().make(Sample.class, methods, fields),
+                new MemberAccessor.Factory(new ByteBuddy(ClassFileVersion.JAVA_V5)).make(Sample.class, methods, fields))) {
+            Sample sample = new Sample();
+            memberAccessor.setBoolean(sample, 0, true);
+            memberAccessor.setByte(sample, 1, (byte) 42);
+            memberAccessor.setShort(sample, 2, (short) 42);
+            memberAccessor.setChar(sample, 3, (char) 42);
+            memberAccessor.setInt(sample, 4, 42);
+            memberAccessor.setLong(sample, 5, 42L);
+            memberAccessor.setFloat(sample, 6, 42f);
+            memberAccessor.setDouble(sample, 7, 42d);
+            memberAccessor.set(sample, 8, FOO);
+            assertThat(memberAccessor.getBoolean(sample, 0), is(true));
+            assertThat(memberAccessor.getByte(sample, 1), is((byte) 42));
+            assertThat(memberAccessor.getShort(sample, 2), is((short) 42));
+            assertThat(memberAccessor.getChar(sample, 3), is((char) 42));
+            assertThat(memberAccessor.getInt(sample, 4), is(42));
+            assertThat(memberAccessor.getLong(sample, 5), is(42L));
+            assertThat(memberAccessor.getFloat(sample, 6), is(42f));
+            assertThat(memberAccessor.getDouble(sample, 7), is(42d));
+            assertThat(memberAccessor.get(sample, 8), is((Object) FOO));
+            memberAccessor.set(sample, 4, 84);
+            assertThat(memberAccessor.get(sample, 4), is((Object) 84));
+            assertThat(memberAccessor.get(sample, 9), is((Object) BAR));
+            memberAccessor.set(null, 10, BAR);
+            assertThat(memberAccessor.get(null, 10), is((Object) BAR));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalPrimitiveType() throws Exception {
+        new MemberAccessor.Factory().make(Sample.class, methods, fields).getInt(new Sample(), 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFinalFieldIsNotWritten() throws Exception {
+        new MemberAccessor.Factory().make(Sample.class, methods, fields).set(new Sample(), 9, FOO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalIndex() throws Exception {
+        new MemberAccessor.Factory().make(Sample.class, methods, fields).get(new Sample(), fields.size());
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void testIllegalArgumentType() throws Exception {
+        new MemberAccessor.Factory().make(Sample.class, methods, fields).invoke(new Sample(), 0, new Object[]{FOO, FOO});
+    }
+
+    @Test
+    public void testPackagePrivateMembers() throws Exception {
+        MemberAccessor memberAccessor = new MemberAccessor.Factory().make(PackagePrivateSample.class,
+                Collections.singletonList(PackagePrivateSample.class.getDeclaredMethod("foo")),
+                Collections.singletonList(PackagePrivateSample.class.getDeclaredField("bar")));
+        assertThat(memberAccessor.getClass().getPackage().getName(), is(PackagePrivateSample.class.getPackage().getName()));
+        PackagePrivateSample sample = new PackagePrivateSample();
+        assertThat(memberAccessor.invoke(sample, 0, new Object[0]), is((Object) FOO));
+        memberAccessor.setInt(sample, 0, 42);
+        assertThat(sample.bar, is(42));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrivateMemberIsRejected() throws Exception {
+        new MemberAccessor.Factory().make(PackagePrivateSample.class,
+                Collections.<Method>emptyList(),
+                Collections.singletonList(PackagePrivateSample.class.getDeclaredField("qux")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForeignMemberIsRejected() throws Exception {
+        new MemberAccessor.Factory().make(Sample.class,
+                Collections.singletonList(String.class.getMethod("length")),
+                Collections.<Field>emptyList());
+    }
+
+    @Test
+    public void testTypeOfSeparateClassLoader() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[]{Sample.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+        Class<?> type = classLoader.loadClass(Sample.class.getName());
+        assertThat(type, not((Object) Sample.class));
+        MemberAccessor memberAccessor = new MemberAccessor.Factory().make(type,
+                Collections.singletonList(type.getMethod("foo", String.class, int.class)),
+                Collections.singletonList(type.getField("intValue")));
+        Object sample = type.newInstance();
+        assertThat(memberAccessor.invoke(sample, 0, new Object[]{FOO, 42}), is((Object) (FOO + 42)));
+        memberAccessor.setInt(sample, 0, 42);
+        assertThat(memberAccessor.getInt(sample, 0), is(42));
+    }
+
+    @Test
+    public void testCaching() throws Exception {
+        MemberAccessor.Factory factory = new MemberAccessor.Factory();
+        MemberAccessor memberAccessor = factory.make(Sample.class, methods, fields);
+        assertThat(factory.make(Sample.class, methods, fields), sameInstance(memberAccessor));
+        assertThat(factory.make(Sample.class, methods, Collections.<Field>emptyList()), not(sameInstance(memberAccessor)));
+        assertThat(new MemberAccessor.Factory().make(Sample.class, methods, fields), not(sameInstance(memberAccessor)));
+    }
+
+    @Test
+    public void testConcurrentCreationPublishesSingleAccessor() throws Exception {
+        final MemberAccessor.Factory factory = new MemberAccessor.Factory();
+        final CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<MemberAccessor>> futures = new ArrayList<Future<MemberAccessor>>();
+            for (int index = 0; index < 4; index++) {
+                futures.add(executorService.submit(new Callable<MemberAccessor>() {
+                    @Override
+                    public MemberAccessor call() throws Exception {
+                        latch.await();
+                        return factory.make(Sample.class, methods, fields);
+                    }
+                }));
+            }
+            latch.countDown();
+            MemberAccessor memberAccessor = factory.make(Sample.class, methods, fields);
+            for (Future<MemberAccessor> future : futures) {
+                assertThat(future.get(), sameInstance(memberAccessor));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testKeyDoesNotRetainType() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[]{Sample.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+        Class<?> type = classLoader.loadClass(Sample.class.getName());
+        MemberAccessor.Factory.Key key = MemberAccessor.Factory.Key.of(type,
+                Collections.singletonList(type.getMethod("foo", String.class, int.class)),
+                Collections.singletonList(type.getField("intValue")));
+        assertThat(key, is(MemberAccessor.Factory.Key.of(type,
+                Collections.singletonList(type.getMethod("foo", String.class, int.class)),
+                Collections.singletonList(type.getField("intValue")))));
+        WeakReference<ClassLoader> reference = new WeakReference<ClassLoader>(classLoader);
+        classLoader = null;
+        type = null;
+        for (int attempt = 0; attempt < 100 && reference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(reference.get(), nullValue(ClassLoader.class));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(MemberAccessor.Factory.class).applyMutable();
+        final Iterator<Class<?>> types = Arrays.<Class<?>>asList(Object.class, String.class, Integer.class, Long.class).iterator();
+        ObjectPropertyAssertion.of(MemberAccessor.Factory.Key.class).create(new ObjectPropertyAssertion.Creator<Class<?>>() {
+            @Override
+            public Class<?> create() {
+                return types.next();
+            }
+        }).ignoreFields("typeHashCode").apply();
+        ObjectPropertyAssertion.of(MemberAccessor.TableSwitch.class).apply();
+        ObjectPropertyAssertion.of(MemberAccessor.TableSwitch.Appender.class).apply();
+    }
+
+    public static class Sample {
+
+        public static Object staticValue;
+
+        public final Object finalValue = BAR;
+
+        public boolean booleanValue;
+
+        public byte byteValue;
+
+        public short shortValue;
+
+        public char charValue;
+
+        public int intValue;
+
+        public long longValue;
+
+        public float floatValue;
+
+        public double doubleValue;
+
+        public String stringValue;
+
+        public static long qux(long value) {
+            return value + 1;
+        }
+
+        public String foo(String value, int suffix) {
+            return value + suffix;
+        }
+
+        public void bar() {
+            intValue++;
+        }
+
+        public void baz() throws Exception {
+            throw new Exception(FOO);
+        }
+
+        @Override
+        public String toString() {
+            return BAR;
+        }
+    }
+
+    static class PackagePrivateSample {
+
+        int bar;
+
+        private int qux;
+
+        String foo() {
+            return FOO;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import net.bytebuddy.utility.RandomString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class PrebuiltTypeLocatorTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private DynamicType.Builder<Foo> builder;
+
+    private File jar, classList;
+
+    private String name;
+
+    @Before
+    public void setUp() throws Exception {
+        jar = File.createTempFile(FOO, BAR);
+        classList = File.createTempFile(BAR, FOO);
+        name = Foo.class.getName() + "$Prebuilt" + RandomString.make();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(jar.delete(), is(true));
+        assertThat(classList.delete(), is(true));
+    }
+
+    @Test
+    public void testPrebuiltTypeIsLocatedWithoutMakingBuilder() throws Exception {
+        new ClassDataSharingExporter().with(new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named(FOO))
+                .intercept(FixedValue.value(BAR))
+                .name(name)
+                .make()).export(jar, classList);
+        ClassLoader classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, Foo.class.getClassLoader());
+        Class<? extends Foo> type = new PrebuiltTypeLocator(classLoader, ClassLoadingStrategy.Default.WRAPPER).locate(name, builder);
+        assertThat(type.getName(), is(name));
+        assertThat(type.getClassLoader(), is(classLoader));
+        assertThat(type.newInstance().foo(), is(BAR));
+        verifyZeroInteractions(builder);
+    }
+
+    @Test
+    public void testTypeIsMadeIfNotPrebuilt() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        Class<? extends Foo> type = new PrebuiltTypeLocator(classLoader, ClassLoadingStrategy.Default.WRAPPER).locate(name, new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named(FOO))
+                .intercept(FixedValue.value(BAR)));
+        assertThat(type.getName(), is(name));
+        assertThat(type.getClassLoader(), not(classLoader));
+        assertThat(type.newInstance().foo(), is(BAR));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(PrebuiltTypeLocator.class).apply();
+    }
+
+    public static class Foo {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+}
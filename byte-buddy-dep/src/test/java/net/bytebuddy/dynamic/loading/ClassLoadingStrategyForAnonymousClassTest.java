@@ -0,0 +1,212 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class ClassLoadingStrategyForAnonymousClassTest {
+
+    private static final String FOO = "foo";
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    @Test
+    public void testAvailable() throws Exception {
+        assertThat(ClassLoadingStrategy.ForAnonymousClass.isAvailable(), is(true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAnonymousClass() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .implement(Callable.class)
+                .name(getClass().getName() + "$Anonymous")
+                .method(named("call")).intercept(FixedValue.value(FOO))
+                .make()
+                .load(getClass().getClassLoader(), new ClassLoadingStrategy.ForAnonymousClass(getClass()))
+                .getLoaded();
+        assertThat(type.getName().startsWith(getClass().getName() + "$Anonymous"), is(true));
+        assertThat(type.getClassLoader(), is(getClass().getClassLoader()));
+        assertThat(((Callable<String>) type.newInstance()).call(), is(FOO));
+    }
+
+    @Test
+    public void testAnonymousClassIsNotRegistered() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .name(getClass().getName() + "$Unregistered")
+                .make()
+                .load(getClass().getClassLoader(), new ClassLoadingStrategy.ForAnonymousClass(getClass()))
+                .getLoaded();
+        Method findLoadedClass = ClassLoader.class.getDeclaredMethod("findLoadedClass", String.class);
+        findLoadedClass.setAccessible(true);
+        assertThat(findLoadedClass.invoke(getClass().getClassLoader(), type.getName()), is((Object) null));
+        assertThat(findLoadedClass.invoke(getClass().getClassLoader(), getClass().getName() + "$Unregistered"), is((Object) null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAnonymousClassOfHostInOtherClassLoader() throws Exception {
+        Class<?> hostClass = new ByteBuddy()
+                .subclass(Object.class)
+                .name(getClass().getName() + "$Host")
+                .make()
+                .load(new URLClassLoader(new URL[0], getClass().getClassLoader()), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .implement(Callable.class)
+                .name(getClass().getName() + "$HostedAnonymous")
+                .method(named("call")).intercept(FixedValue.value(FOO))
+                .make()
+                .load(hostClass.getClassLoader(), new ClassLoadingStrategy.ForAnonymousClass(hostClass))
+                .getLoaded();
+        assertThat(type.getClassLoader(), is(hostClass.getClassLoader()));
+        assertThat(((Callable<String>) type.newInstance()).call(), is(FOO));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    @SuppressWarnings("unchecked")
+    public void testAnonymousClassOfLookup() throws Exception {
+        Object lookup = Class.forName("java.lang.invoke.MethodHandles").getDeclaredMethod("lookup").invoke(null);
+        ClassLoadingStrategy classLoadingStrategy = ClassLoadingStrategy.ForAnonymousClass.of(lookup);
+        assertThat(classLoadingStrategy, is((ClassLoadingStrategy) new ClassLoadingStrategy.ForAnonymousClass(getClass(), lookup)));
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .implement(Callable.class)
+                .name(getClass().getName() + "$LookupAnonymous")
+                .method(named("call")).intercept(FixedValue.value(FOO))
+                .make()
+                .load(getClass().getClassLoader(), classLoadingStrategy)
+                .getLoaded();
+        assertThat(((Callable<String>) type.newInstance()).call(), is(FOO));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @JavaVersionRule.Enforce(7)
+    public void testNonLookup() throws Exception {
+        ClassLoadingStrategy.ForAnonymousClass.of(new Object());
+    }
+
+    @Test
+    public void testHiddenClassWithoutFullPrivilegeAccess() throws Exception {
+        try {
+            hiddenClassDispatcher().define(getClass(), null, new byte[0]);
+            fail();
+        } catch (IllegalStateException exception) {
+            assertThat(exception.getCause(), instanceOf(IllegalAccessException.class));
+            assertThat(exception.getMessage().contains("ForAnonymousClass.of(Object)"), is(true));
+        }
+    }
+
+    @Test
+    public void testHiddenClassWithSuppliedLookup() throws Exception {
+        assertThat(hiddenClassDispatcher().define(getClass(), new LookupStub(), new byte[0]), is((Object) LookupStub.class));
+    }
+
+    private static ClassLoadingStrategy.ForAnonymousClass.Dispatcher hiddenClassDispatcher() throws Exception {
+        return new ClassLoadingStrategy.ForAnonymousClass.Dispatcher.ForHiddenClass(LookupStub.class.getDeclaredMethod("lookup"),
+                LookupStub.class.getDeclaredMethod("privateLookupIn", Class.class, LookupStub.class),
+                LookupStub.class.getDeclaredMethod("defineHiddenClass", byte[].class, boolean.class, Object[].class),
+                LookupStub.class.getDeclaredMethod("lookupClass"),
+                new Object[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherClassLoader() throws Exception {
+        new ClassLoadingStrategy.ForAnonymousClass(getClass())
+                .load(new URLClassLoaderStub(), Collections.singletonMap(mock(TypeDescription.class), new byte[0]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultipleTypes() throws Exception {
+        Map<TypeDescription, byte[]> types = new HashMap<TypeDescription, byte[]>();
+        types.put(mock(TypeDescription.class), new byte[0]);
+        types.put(mock(TypeDescription.class), new byte[0]);
+        new ClassLoadingStrategy.ForAnonymousClass(getClass()).load(getClass().getClassLoader(), types);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFaultyDispatcher() throws Exception {
+        new ClassLoadingStrategy.ForAnonymousClass.Dispatcher.Faulty(new Exception()).define(getClass(), null, new byte[0]);
+    }
+
+    @Test
+    public void testFaultyDispatcherIsNotAvailable() throws Exception {
+        assertThat(new ClassLoadingStrategy.ForAnonymousClass.Dispatcher.Faulty(new Exception()).isAvailable(), is(false));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        final Iterator<Class<?>> types = Arrays.<Class<?>>asList(Object.class, String.class, Integer.class, Long.class, Short.class, Byte.class, Float.class, Double.class).iterator();
+        ObjectPropertyAssertion.of(ClassLoadingStrategy.ForAnonymousClass.class).create(new ObjectPropertyAssertion.Creator<Class<?>>() {
+            @Override
+            public Class<?> create() {
+                return types.next();
+            }
+        }).apply();
+        final Iterator<Method> methods = Arrays.asList(Object.class.getDeclaredMethods()).iterator();
+        ObjectPropertyAssertion.of(ClassLoadingStrategy.ForAnonymousClass.Dispatcher.ForHiddenClass.class).create(new ObjectPropertyAssertion.Creator<Method>() {
+            @Override
+            public Method create() {
+                return methods.next();
+            }
+        }).apply();
+        final Iterator<Method> otherMethods = Arrays.asList(Object.class.getDeclaredMethods()).iterator();
+        ObjectPropertyAssertion.of(ClassLoadingStrategy.ForAnonymousClass.Dispatcher.ForUnsafe.class).create(new ObjectPropertyAssertion.Creator<Method>() {
+            @Override
+            public Method create() {
+                return otherMethods.next();
+            }
+        }).apply();
+        ObjectPropertyAssertion.of(ClassLoadingStrategy.ForAnonymousClass.Dispatcher.Faulty.class).apply();
+    }
+
+    private static class URLClassLoaderStub extends ClassLoader {
+        /* empty */
+    }
+
+    public static class LookupStub {
+
+        public static LookupStub lookup() {
+            return new LookupStub();
+        }
+
+        public static LookupStub privateLookupIn(Class<?> type, LookupStub lookup) throws IllegalAccessException {
+            throw new IllegalAccessException();
+        }
+
+        public LookupStub defineHiddenClass(byte[] binaryRepresentation, boolean initialize, Object[] classOption) {
+            return this;
+        }
+
+        public Class<?> lookupClass() {
+            return LookupStub.class;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassLoadingStrategyGroupingTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private ClassLoader classLoader;
+
+    private ClassLoadingStrategy.Grouping grouping;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = getClass().getClassLoader();
+        grouping = new ClassLoadingStrategy.Grouping(2);
+    }
+
+    @Test
+    public void testTypesShareClassLoader() throws Exception {
+        Class<?> first = make().load(classLoader, grouping).getLoaded(), second = make().load(classLoader, grouping).getLoaded();
+        assertThat(first.getClassLoader(), instanceOf(ClassLoadingStrategy.Grouping.GroupClassLoader.class));
+        assertThat(first.getClassLoader(), sameInstance(second.getClassLoader()));
+        assertThat(first.getClassLoader().getParent(), is(classLoader));
+        assertThat(grouping.getClassLoaderCount(), is(1));
+    }
+
+    @Test
+    public void testMaximumTypesIsRespected() throws Exception {
+        Class<?> first = make().load(classLoader, grouping).getLoaded(),
+                second = make().load(classLoader, grouping).getLoaded(),
+                third = make().load(classLoader, grouping).getLoaded();
+        assertThat(first.getClassLoader(), sameInstance(second.getClassLoader()));
+        assertThat(third.getClassLoader(), not(sameInstance(second.getClassLoader())));
+        assertThat(grouping.getClassLoaderCount(), is(1));
+    }
+
+    @Test
+    public void testBatchExceedingMaximumTypes() throws Exception {
+        Map<TypeDescription, byte[]> types = new HashMap<TypeDescription, byte[]>();
+        for (int index = 0; index < 3; index++) {
+            DynamicType dynamicType = make();
+            types.put(dynamicType.getTypeDescription(), dynamicType.getBytes());
+        }
+        Class<?> previous = make().load(classLoader, grouping).getLoaded();
+        Map<TypeDescription, Class<?>> loaded = grouping.load(classLoader, types);
+        assertThat(loaded.size(), is(3));
+        ClassLoader sharedClassLoader = loaded.values().iterator().next().getClassLoader();
+        for (Class<?> type : loaded.values()) {
+            assertThat(type.getClassLoader(), sameInstance(sharedClassLoader));
+        }
+        assertThat(sharedClassLoader, not(sameInstance(previous.getClassLoader())));
+    }
+
+    @Test
+    public void testTypesOfDifferentGenerations() throws Exception {
+        Class<?> first = make().load(classLoader, grouping.forGeneration(FOO)).getLoaded(),
+                second = make().load(classLoader, grouping.forGeneration(BAR)).getLoaded(),
+                third = make().load(classLoader, grouping.forGeneration(FOO)).getLoaded();
+        assertThat(first.getClassLoader(), not(sameInstance(second.getClassLoader())));
+        assertThat(first.getClassLoader(), sameInstance(third.getClassLoader()));
+        assertThat(grouping.getClassLoaderCount(), is(2));
+    }
+
+    @Test
+    public void testTypesOfDifferentParents() throws Exception {
+        Class<?> first = make().load(classLoader, grouping).getLoaded(),
+                second = make().load(new ParentClassLoader(classLoader), grouping).getLoaded();
+        assertThat(first.getClassLoader(), not(sameInstance(second.getClassLoader())));
+        assertThat(grouping.getClassLoaderCount(), is(2));
+    }
+
+    @Test
+    public void testReleaseGeneration() throws Exception {
+        Class<?> first = make().load(classLoader, grouping.forGeneration(FOO)).getLoaded();
+        make().load(classLoader, grouping.forGeneration(BAR)).getLoaded();
+        grouping.release(FOO);
+        assertThat(grouping.getClassLoaderCount(), is(1));
+        Class<?> second = make().load(classLoader, grouping.forGeneration(FOO)).getLoaded();
+        assertThat(first.getClassLoader(), not(sameInstance(second.getClassLoader())));
+        grouping.release(null);
+        assertThat(grouping.getClassLoaderCount(), is(2));
+    }
+
+    @Test
+    public void testConflictingNameIsLoadedByOtherClassLoader() throws Exception {
+        DynamicType.Unloaded<?> dynamicType = make();
+        Class<?> first = dynamicType.load(classLoader, grouping).getLoaded(), second = dynamicType.load(classLoader, grouping).getLoaded();
+        assertThat(first.getName(), is(second.getName()));
+        assertThat(first.getClassLoader(), not(sameInstance(second.getClassLoader())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaximumTypes() throws Exception {
+        new ClassLoadingStrategy.Grouping(0);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassLoadingStrategy.Grouping.Group.class).apply();
+        ObjectPropertyAssertion.of(ClassLoadingStrategy.Grouping.ForGeneration.class).apply();
+        assertThat(grouping.toString(), startsWith("ClassLoadingStrategy.Grouping{maximumTypes=2"));
+    }
+
+    private static DynamicType.Unloaded<?> make() {
+        return new ByteBuddy().subclass(Object.class).make();
+    }
+
+    private static class ParentClassLoader extends ClassLoader {
+
+        private ParentClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+    }
+}
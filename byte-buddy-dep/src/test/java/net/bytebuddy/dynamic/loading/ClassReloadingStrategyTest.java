@@ -2,24 +2,42 @@ package net.bytebuddy.dynamic.loading;
 
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.implementation.FixedValue;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import net.bytebuddy.test.utility.ToolsJarRule;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.lang.instrument.ClassDefinition;
 import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
 public class ClassReloadingStrategyTest {
 
     private static final String FOO = "foo", BAR = "bar";
 
+    private static final byte[] FIRST = new byte[]{1, 2, 3}, SECOND = new byte[]{4, 5, 6}, THIRD = new byte[]{7, 8, 9};
+
     @Rule
     public MethodRule toolsJarRule = new ToolsJarRule();
 
@@ -92,6 +110,190 @@ public class ClassReloadingStrategyTest {
         new ClassReloadingStrategy(mock(Instrumentation.class));
     }
 
+    @Test
+    public void testIdenticalRedefinitionIsSkipped() throws Exception {
+        Instrumentation instrumentation = mockInstrumentation();
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation);
+        classReloadingStrategy.load(Foo.class.getClassLoader(), classFile(Foo.class, FIRST));
+        classReloadingStrategy.load(Foo.class.getClassLoader(), classFile(Foo.class, FIRST));
+        verify(instrumentation, times(1)).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+        classReloadingStrategy.load(Foo.class.getClassLoader(), classFile(Foo.class, SECOND));
+        verify(instrumentation, times(2)).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+    }
+
+    @Test
+    public void testRedefinitionIsSharedByInstrumentation() throws Exception {
+        Instrumentation instrumentation = mockInstrumentation();
+        new ClassReloadingStrategy(instrumentation).load(Foo.class.getClassLoader(), classFile(Foo.class, FIRST));
+        new ClassReloadingStrategy(instrumentation).load(Foo.class.getClassLoader(), classFile(Foo.class, FIRST));
+        verify(instrumentation, times(1)).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+    }
+
+    @Test
+    public void testIdenticalResetIsSkipped() throws Exception {
+        Instrumentation instrumentation = mockInstrumentation();
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation);
+        classReloadingStrategy.load(Foo.class.getClassLoader(), classFile(Foo.class, FIRST));
+        classReloadingStrategy.reset(Foo.class);
+        classReloadingStrategy.reset(Foo.class);
+        ArgumentCaptor<ClassDefinition> captor = ArgumentCaptor.forClass(ClassDefinition.class);
+        verify(instrumentation, times(2)).redefineClasses(captor.capture());
+        assertThat(captor.getAllValues().size(), is(2));
+        assertThat(captor.getAllValues().get(1).getDefinitionClass(), is((Object) Foo.class));
+        assertThat(captor.getAllValues().get(1).getDefinitionClassFile(),
+                is(ClassFileLocator.ForClassLoader.of(Foo.class.getClassLoader()).locate(Foo.class.getName()).resolve()));
+    }
+
+    @Test
+    public void testFailedRedefinitionIsNotRemembered() throws Exception {
+        Instrumentation instrumentation = mockInstrumentation();
+        doThrow(new UnmodifiableClassException()).doNothing().when(instrumentation).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation);
+        try {
+            classReloadingStrategy.load(Foo.class.getClassLoader(), classFile(Foo.class, FIRST));
+            fail();
+        } catch (IllegalStateException exception) {
+            assertThat(exception.getCause(), instanceOf(UnmodifiableClassException.class));
+        }
+        classReloadingStrategy.load(Foo.class.getClassLoader(), classFile(Foo.class, FIRST));
+        verify(instrumentation, times(2)).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+    }
+
+    @Test
+    public void testConcurrentRedefinitionsAreCoalesced() throws Exception {
+        Instrumentation instrumentation = mockInstrumentation();
+        final CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<Integer>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                batchSizes.add(invocation.getArguments().length);
+                started.countDown();
+                release.await();
+                return null;
+            }
+        }).when(instrumentation).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation);
+        Thread first = new Thread(new Redefinition(classReloadingStrategy, classFile(Foo.class, FIRST)));
+        first.start();
+        started.await();
+        Thread second = new Thread(new Redefinition(classReloadingStrategy, classFile(Foo.class, SECOND)));
+        Thread third = new Thread(new Redefinition(classReloadingStrategy, classFile(Bar.class, FIRST)));
+        second.start();
+        third.start();
+        while (second.getState() != Thread.State.BLOCKED || third.getState() != Thread.State.BLOCKED) {
+            Thread.sleep(10L);
+        }
+        release.countDown();
+        first.join();
+        second.join();
+        third.join();
+        assertThat(batchSizes, is(Arrays.asList(1, 2)));
+    }
+
+    @Test
+    public void testRedefinitionOfInFlightClassIsNotSkipped() throws Exception {
+        Instrumentation instrumentation = mockInstrumentation();
+        final CountDownLatch started = new CountDownLatch(2), release = new CountDownLatch(1);
+        final List<byte[]> appliedClassFiles = new CopyOnWriteArrayList<byte[]>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                appliedClassFiles.add(((ClassDefinition) invocation.getArguments()[0]).getDefinitionClassFile());
+                started.countDown();
+                if (started.getCount() == 0L) {
+                    release.await();
+                }
+                return null;
+            }
+        }).when(instrumentation).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation);
+        classReloadingStrategy.load(Foo.class.getClassLoader(), classFile(Foo.class, FIRST));
+        Thread first = new Thread(new Redefinition(classReloadingStrategy, classFile(Foo.class, SECOND)));
+        first.start();
+        started.await();
+        Thread second = new Thread(new Redefinition(classReloadingStrategy, classFile(Foo.class, FIRST)));
+        second.start();
+        while (second.getState() != Thread.State.BLOCKED) {
+            Thread.sleep(10L);
+        }
+        release.countDown();
+        first.join();
+        second.join();
+        assertThat(appliedClassFiles.size(), is(3));
+        assertThat(appliedClassFiles.get(1), is(SECOND));
+        assertThat(appliedClassFiles.get(2), is(FIRST));
+    }
+
+    @Test
+    public void testPendingClassFileIsNotOverwritten() throws Exception {
+        Instrumentation instrumentation = mockInstrumentation();
+        final CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        final List<byte[]> appliedClassFiles = new CopyOnWriteArrayList<byte[]>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                appliedClassFiles.add(((ClassDefinition) invocation.getArguments()[0]).getDefinitionClassFile());
+                started.countDown();
+                release.await();
+                return null;
+            }
+        }).when(instrumentation).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+        ClassReloadingStrategy classReloadingStrategy = new ClassReloadingStrategy(instrumentation);
+        Thread first = new Thread(new Redefinition(classReloadingStrategy, classFile(Foo.class, FIRST)));
+        first.start();
+        started.await();
+        Thread second = new Thread(new Redefinition(classReloadingStrategy, classFile(Foo.class, SECOND)));
+        second.start();
+        while (second.getState() != Thread.State.BLOCKED) {
+            Thread.sleep(10L);
+        }
+        Thread third = new Thread(new Redefinition(classReloadingStrategy, classFile(Foo.class, THIRD)));
+        Thread fourth = new Thread(new Redefinition(classReloadingStrategy, classFile(Foo.class, SECOND)));
+        third.start();
+        while (third.getState() != Thread.State.BLOCKED) {
+            Thread.sleep(10L);
+        }
+        fourth.start();
+        while (fourth.getState() != Thread.State.BLOCKED) {
+            Thread.sleep(10L);
+        }
+        release.countDown();
+        first.join();
+        second.join();
+        third.join();
+        fourth.join();
+        assertThat(appliedClassFiles.size(), is(4));
+        assertThat(appliedClassFiles.get(0), is(FIRST));
+        assertThat(appliedClassFiles.get(1), is(SECOND));
+        assertThat(appliedClassFiles.get(2), is(THIRD));
+        assertThat(appliedClassFiles.get(3), is(SECOND));
+    }
+
+    @Test
+    public void testCacheDoesNotRetainClasses() throws Exception {
+        ClassReloadingStrategy.Coordinator.BoundedCache boundedCache = new ClassReloadingStrategy.Coordinator.BoundedCache(1);
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .make()
+                .load(null, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        boundedCache.store(type, FIRST);
+        assertThat(boundedCache.lookup(type), is(FIRST));
+        boundedCache.store(Foo.class, SECOND);
+        assertThat(boundedCache.lookup(type), nullValue(byte[].class));
+        boundedCache.store(type, FIRST);
+        WeakReference<ClassLoader> classLoader = new WeakReference<ClassLoader>(type.getClassLoader());
+        type = null;
+        for (int attempt = 0; attempt < 100 && classLoader.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(classLoader.get(), nullValue(ClassLoader.class));
+        boundedCache.lookup(Foo.class);
+        assertThat(boundedCache.size(), is(0));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(ClassReloadingStrategy.class).refine(new ObjectPropertyAssertion.Refinement<Instrumentation>() {
@@ -105,6 +307,35 @@ public class ClassReloadingStrategyTest {
         ObjectPropertyAssertion.of(ClassReloadingStrategy.Engine.ClassRedefinitionTransformer.class).applyMutable();
         ObjectPropertyAssertion.of(ClassReloadingStrategy.BootstrapInjection.Enabled.class).apply();
         ObjectPropertyAssertion.of(ClassReloadingStrategy.BootstrapInjection.Disabled.class).apply();
+        ObjectPropertyAssertion.of(ClassReloadingStrategy.Coordinator.class).applyMutable();
+        ObjectPropertyAssertion.of(ClassReloadingStrategy.Coordinator.Batch.class).applyMutable();
+    }
+
+    private static Instrumentation mockInstrumentation() {
+        Instrumentation instrumentation = mock(Instrumentation.class);
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        return instrumentation;
+    }
+
+    private static Map<TypeDescription, byte[]> classFile(Class<?> type, byte[] binaryRepresentation) {
+        return Collections.<TypeDescription, byte[]>singletonMap(new TypeDescription.ForLoadedType(type), binaryRepresentation);
+    }
+
+    private static class Redefinition implements Runnable {
+
+        private final ClassReloadingStrategy classReloadingStrategy;
+
+        private final Map<TypeDescription, byte[]> types;
+
+        private Redefinition(ClassReloadingStrategy classReloadingStrategy, Map<TypeDescription, byte[]> types) {
+            this.classReloadingStrategy = classReloadingStrategy;
+            this.types = types;
+        }
+
+        @Override
+        public void run() {
+            classReloadingStrategy.load(Redefinition.class.getClassLoader(), types);
+        }
     }
 
     @SuppressWarnings("unused")
@@ -122,4 +353,8 @@ public class ClassReloadingStrategyTest {
             return FOO;
         }
     }
+
+    public static class Bar {
+        /* empty */
+    }
 }
@@ -0,0 +1,159 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.net.URL;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+public class MultipleParentClassLoaderIndexedTest {
+
+    private static final String FOO = "a.foo", BAR = "a.bar", QUX = "b.qux", BAZ = "b.baz", SCHEME = "http://";
+
+    private static final String FOO_RESOURCE = "a/foo", BAR_RESOURCE = "a/bar";
+
+    private static final String NESTED_FOO_RESOURCE = "a/b/c/foo", NESTED_BAR_RESOURCE = "a/b/c/bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ClassLoader first, second;
+
+    private ClassLoader classLoader;
+
+    private URL fooUrl, barUrl;
+
+    @Before
+    public void setUp() throws Exception {
+        doReturn(MultipleParentClassLoaderTest.Foo.class).when(first).loadClass(FOO);
+        when(first.loadClass(BAR)).thenThrow(new ClassNotFoundException());
+        when(first.loadClass(QUX)).thenThrow(new ClassNotFoundException());
+        when(first.loadClass(BAZ)).thenThrow(new ClassNotFoundException());
+        when(first.loadClass(Object.class.getName())).thenThrow(new ClassNotFoundException());
+        when(second.loadClass(FOO)).thenThrow(new ClassNotFoundException());
+        doReturn(MultipleParentClassLoaderTest.BarSecond.class).when(second).loadClass(BAR);
+        doReturn(MultipleParentClassLoaderTest.Qux.class).when(second).loadClass(QUX);
+        when(second.loadClass(Object.class.getName())).thenThrow(new ClassNotFoundException());
+        when(second.loadClass(BAZ)).thenThrow(new ClassNotFoundException());
+        fooUrl = new URL(SCHEME + FOO);
+        barUrl = new URL(SCHEME + BAR);
+        when(second.getResource(FOO_RESOURCE)).thenReturn(fooUrl);
+        when(second.getResource(BAR_RESOURCE)).thenReturn(barUrl);
+        when(second.getResource(NESTED_FOO_RESOURCE)).thenReturn(fooUrl);
+        when(second.getResource(NESTED_BAR_RESOURCE)).thenReturn(barUrl);
+        classLoader = new MultipleParentClassLoader.Builder().append(first, second).buildIndexed();
+    }
+
+    @Test
+    public void testIndexedClassLoader() throws Exception {
+        assertThat(classLoader, instanceOf(MultipleParentClassLoader.Indexed.class));
+    }
+
+    @Test
+    public void testSingleParentReturnsOriginal() throws Exception {
+        assertThat(new MultipleParentClassLoader.Builder()
+                .append(getClass().getClassLoader(), getClass().getClassLoader())
+                .buildIndexed(), is(getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testPackageIndexIsQueriedFirst() throws Exception {
+        assertThat(classLoader.loadClass(QUX), is((Object) MultipleParentClassLoaderTest.Qux.class));
+        assertThat(classLoader.loadClass(QUX), is((Object) MultipleParentClassLoaderTest.Qux.class));
+        verify(first).loadClass(QUX);
+        verify(second, times(2)).loadClass(QUX);
+    }
+
+    @Test
+    public void testPackageIndexFallsBackToOtherParents() throws Exception {
+        assertThat(classLoader.loadClass(BAR), is((Object) MultipleParentClassLoaderTest.BarSecond.class));
+        assertThat(classLoader.loadClass(FOO), is((Object) MultipleParentClassLoaderTest.Foo.class));
+        verify(first).loadClass(FOO);
+        verify(second).loadClass(FOO);
+    }
+
+    @Test
+    public void testBootstrapClassIsFound() throws Exception {
+        assertThat(classLoader.loadClass(Object.class.getName()), is((Object) Object.class));
+    }
+
+    @Test
+    public void testUnknownTypeIsNotCachedByDefault() throws Exception {
+        for (int index = 0; index < 2; index++) {
+            try {
+                classLoader.loadClass(BAZ);
+                fail();
+            } catch (ClassNotFoundException exception) {
+                assertThat(exception.getMessage(), is(BAZ));
+            }
+        }
+        verify(first, times(2)).loadClass(BAZ);
+        verify(second, times(2)).loadClass(BAZ);
+    }
+
+    @Test
+    public void testUnknownTypeIsFoundAfterDefinition() throws Exception {
+        try {
+            classLoader.loadClass(BAZ);
+            fail();
+        } catch (ClassNotFoundException ignored) {
+            /* expected */
+        }
+        doReturn(MultipleParentClassLoaderTest.Qux.class).when(second).loadClass(BAZ);
+        assertThat(classLoader.loadClass(BAZ), is((Object) MultipleParentClassLoaderTest.Qux.class));
+    }
+
+    @Test
+    public void testUnknownTypeIsCached() throws Exception {
+        ClassLoader classLoader = new MultipleParentClassLoader.Indexed(Arrays.asList(first, second), true);
+        for (int index = 0; index < 2; index++) {
+            try {
+                classLoader.loadClass(BAZ);
+                fail();
+            } catch (ClassNotFoundException exception) {
+                assertThat(exception.getMessage(), is(BAZ));
+            }
+        }
+        verify(first).loadClass(BAZ);
+        verify(second).loadClass(BAZ);
+    }
+
+    @Test
+    public void testResourceIndex() throws Exception {
+        assertThat(classLoader.getResource(FOO_RESOURCE), is(fooUrl));
+        assertThat(classLoader.getResource(BAR_RESOURCE), is(barUrl));
+        verify(first).getResource(FOO_RESOURCE);
+        verify(first, never()).getResource(BAR_RESOURCE);
+    }
+
+    @Test
+    public void testResourceIndexForNestedPackage() throws Exception {
+        assertThat(classLoader.getResource(NESTED_FOO_RESOURCE), is(fooUrl));
+        assertThat(classLoader.getResource(NESTED_BAR_RESOURCE), is(barUrl));
+        verify(first).getResource(NESTED_FOO_RESOURCE);
+        verify(first, never()).getResource(NESTED_BAR_RESOURCE);
+    }
+
+    @Test
+    public void testResourceNotFound() throws Exception {
+        assertThat(classLoader.getResource(QUX), nullValue(URL.class));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(MultipleParentClassLoader.Indexed.class).applyMutable();
+    }
+}
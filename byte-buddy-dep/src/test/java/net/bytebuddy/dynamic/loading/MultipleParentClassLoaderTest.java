@@ -10,6 +10,7 @@ import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Enumeration;
 import java.util.NoSuchElementException;
 
@@ -70,6 +71,15 @@ public class MultipleParentClassLoaderTest {
                 .build(), is(getClass().getClassLoader()));
     }
 
+    @Test
+    public void testMultipleParentClassLoadingFromChild() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], new MultipleParentClassLoader.Builder().append(first, second, null).build());
+        assertEquals(Foo.class, classLoader.loadClass(FOO));
+        assertEquals(Qux.class, classLoader.loadClass(QUX));
+        verify(first).loadClass(QUX);
+        verify(second).loadClass(QUX);
+    }
+
     @Test
     public void testMultipleParentClassLoading() throws Exception {
         ClassLoader classLoader = new MultipleParentClassLoader.Builder().append(first, second, null).build();
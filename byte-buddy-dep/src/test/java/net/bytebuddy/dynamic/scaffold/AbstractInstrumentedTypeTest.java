@@ -31,6 +31,8 @@ public abstract class AbstractInstrumentedTypeTest {
 
     private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
 
+    private static final int MANY = 1000;
+
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
 
@@ -93,6 +95,46 @@ public abstract class AbstractInstrumentedTypeTest {
                 .withField(BAR, fieldType, Opcodes.ACC_PUBLIC);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithFieldDoubleAfterDerivation() throws Exception {
+        TypeDescription fieldType = mock(TypeDescription.class);
+        when(fieldType.getName()).thenReturn(FOO);
+        makePlainInstrumentedType()
+                .withField(BAR, fieldType, Opcodes.ACC_PUBLIC)
+                .withInitializer(mock(LoadedTypeInitializer.class))
+                .withField(QUX, fieldType, Opcodes.ACC_PUBLIC)
+                .withField(BAR, fieldType, Opcodes.ACC_PUBLIC);
+    }
+
+    @Test
+    public void testWithManyMembers() throws Exception {
+        InstrumentedType instrumentedType = makePlainInstrumentedType();
+        for (int index = 0; index < MANY; index++) {
+            instrumentedType = instrumentedType.withField(FOO + index, instrumentedType, Opcodes.ACC_PUBLIC)
+                    .withMethod(BAR + index,
+                            instrumentedType,
+                            Collections.singletonList(instrumentedType),
+                            Collections.<TypeDescription>emptyList(),
+                            Opcodes.ACC_PUBLIC);
+            if (index % 100 == 0) {
+                instrumentedType = instrumentedType.withInitializer(mock(LoadedTypeInitializer.class));
+            }
+        }
+        assertThat(instrumentedType.getDeclaredFields().size(), is(MANY));
+        assertThat(instrumentedType.getDeclaredMethods().size(), is(MANY));
+        for (int index = 0; index < MANY; index++) {
+            FieldDescription fieldDescription = instrumentedType.getDeclaredFields().get(index);
+            assertThat(fieldDescription.getName(), is(FOO + index));
+            assertThat(fieldDescription.getFieldType(), sameInstance((TypeDescription) instrumentedType));
+            assertThat(fieldDescription.getDeclaringType(), sameInstance((TypeDescription) instrumentedType));
+            MethodDescription methodDescription = instrumentedType.getDeclaredMethods().get(index);
+            assertThat(methodDescription.getName(), is(BAR + index));
+            assertThat(methodDescription.getReturnType(), sameInstance((TypeDescription) instrumentedType));
+            assertThat(methodDescription.getParameters().asTypeList().get(0), sameInstance((TypeDescription) instrumentedType));
+            assertThat(methodDescription.getDeclaringType(), sameInstance((TypeDescription) instrumentedType));
+        }
+    }
+
     @Test
     public void testWithMethod() throws Exception {
         TypeDescription returnType = mock(TypeDescription.class);
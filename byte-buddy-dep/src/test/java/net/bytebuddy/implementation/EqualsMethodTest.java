@@ -0,0 +1,111 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.isEquals;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class EqualsMethodTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final Object[][] VALUES = new Object[][]{
+            {boolean.class, true, false},
+            {byte.class, (byte) 42, (byte) 84},
+            {short.class, (short) 42, (short) 84},
+            {char.class, (char) 42, (char) 84},
+            {int.class, 42, 84},
+            {long.class, 42L, 84L},
+            {float.class, 42f, 84f},
+            {double.class, 42d, 84d},
+            {Object.class, FOO, BAR},
+            {String.class, FOO, BAR},
+            {int[].class, new int[]{42}, new int[]{84}},
+            {Object[].class, new Object[]{new Object[]{FOO}}, new Object[]{new Object[]{BAR}}}
+    };
+
+    private static Class<?> make(ClassFileVersion classFileVersion, Class<?> fieldType, Implementation implementation) {
+        return new ByteBuddy(classFileVersion)
+                .subclass(Object.class)
+                .defineField(FOO, fieldType, Visibility.PUBLIC)
+                .method(isEquals()).intercept(implementation)
+                .make()
+                .load(EqualsMethodTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    private static Object instance(Class<?> type, Object value) throws Exception {
+        Object instance = type.newInstance();
+        type.getField(FOO).set(instance, value);
+        return instance;
+    }
+
+    @Test
+    public void testFieldComparison() throws Exception {
+        for (ClassFileVersion classFileVersion : new ClassFileVersion[]{ClassFileVersion.JAVA_V5, ClassFileVersion.JAVA_V7}) {
+            for (Object[] value : VALUES) {
+                Class<?> type = make(classFileVersion, (Class<?>) value[0], EqualsMethod.ofAllFields());
+                Object instance = instance(type, value[1]);
+                assertThat(instance.equals(instance), is(true));
+                assertThat(instance.equals(instance(type, value[1])), is(true));
+                assertThat(instance.equals(instance(type, value[2])), is(false));
+                assertThat(instance.equals(null), is(false));
+                assertThat(instance.equals(new Object()), is(false));
+            }
+        }
+    }
+
+    @Test
+    public void testNullReference() throws Exception {
+        Class<?> type = make(ClassFileVersion.JAVA_V7, Object.class, EqualsMethod.ofAllFields());
+        assertThat(instance(type, null).equals(instance(type, null)), is(true));
+        assertThat(instance(type, null).equals(instance(type, FOO)), is(false));
+        assertThat(instance(type, FOO).equals(instance(type, null)), is(false));
+    }
+
+    @Test
+    public void testFloatingPointSemantics() throws Exception {
+        Class<?> type = make(ClassFileVersion.JAVA_V7, double.class, EqualsMethod.ofAllFields());
+        assertThat(instance(type, Double.NaN).equals(instance(type, Double.NaN)), is(true));
+        assertThat(instance(type, 0d).equals(instance(type, -0d)), is(false));
+    }
+
+    @Test
+    public void testIgnoredField() throws Exception {
+        Class<?> type = make(ClassFileVersion.JAVA_V7, int.class, EqualsMethod.ofFields(not(named(FOO))));
+        assertThat(instance(type, 42).equals(instance(type, 84)), is(true));
+    }
+
+    @Test
+    public void testSubclassIsNotEqual() throws Exception {
+        Class<?> type = make(ClassFileVersion.JAVA_V7, int.class, EqualsMethod.ofAllFields());
+        Class<?> subclass = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(type)
+                .make()
+                .load(type.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(instance(type, 42).equals(instance(subclass, 42)), is(false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalReturnType() throws Exception {
+        new ByteBuddy()
+                .subclass(Object.class)
+                .method(named("toString")).intercept(EqualsMethod.ofAllFields())
+                .make();
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(EqualsMethod.class).apply();
+        ObjectPropertyAssertion.of(EqualsMethod.Appender.class).apply();
+    }
+}
@@ -0,0 +1,98 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static net.bytebuddy.matcher.ElementMatchers.isHashCode;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class HashCodeMethodTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final int INITIAL_VALUE = 17, MULTIPLIER = 31;
+
+    private static Class<?> make(ClassFileVersion classFileVersion, Class<?> fieldType, Implementation implementation) {
+        return new ByteBuddy(classFileVersion)
+                .subclass(Object.class)
+                .defineField(FOO, fieldType, Visibility.PUBLIC)
+                .method(isHashCode()).intercept(implementation)
+                .make()
+                .load(HashCodeMethodTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    private static int hashCode(ClassFileVersion classFileVersion, Class<?> fieldType, Object value) throws Exception {
+        Class<?> type = make(classFileVersion, fieldType, HashCodeMethod.ofAllFields());
+        Object instance = type.newInstance();
+        type.getDeclaredField(FOO).set(instance, value);
+        return instance.hashCode();
+    }
+
+    @Test
+    public void testFieldHashing() throws Exception {
+        Object[] array = new Object[]{new Object[]{FOO}, BAR};
+        for (ClassFileVersion classFileVersion : new ClassFileVersion[]{ClassFileVersion.JAVA_V5, ClassFileVersion.JAVA_V7}) {
+            assertThat(hashCode(classFileVersion, boolean.class, true), is(INITIAL_VALUE * MULTIPLIER + 1));
+            assertThat(hashCode(classFileVersion, boolean.class, false), is(INITIAL_VALUE * MULTIPLIER));
+            assertThat(hashCode(classFileVersion, byte.class, (byte) 42), is(INITIAL_VALUE * MULTIPLIER + Byte.valueOf((byte) 42).hashCode()));
+            assertThat(hashCode(classFileVersion, short.class, (short) 42), is(INITIAL_VALUE * MULTIPLIER + Short.valueOf((short) 42).hashCode()));
+            assertThat(hashCode(classFileVersion, char.class, (char) 42), is(INITIAL_VALUE * MULTIPLIER + Character.valueOf((char) 42).hashCode()));
+            assertThat(hashCode(classFileVersion, int.class, 42), is(INITIAL_VALUE * MULTIPLIER + Integer.valueOf(42).hashCode()));
+            assertThat(hashCode(classFileVersion, long.class, Long.MAX_VALUE - 42L), is(INITIAL_VALUE * MULTIPLIER + Long.valueOf(Long.MAX_VALUE - 42L).hashCode()));
+            assertThat(hashCode(classFileVersion, float.class, 42.5f), is(INITIAL_VALUE * MULTIPLIER + Float.valueOf(42.5f).hashCode()));
+            assertThat(hashCode(classFileVersion, double.class, 42.5d), is(INITIAL_VALUE * MULTIPLIER + Double.valueOf(42.5d).hashCode()));
+            assertThat(hashCode(classFileVersion, Object.class, FOO), is(INITIAL_VALUE * MULTIPLIER + FOO.hashCode()));
+            assertThat(hashCode(classFileVersion, Object.class, null), is(INITIAL_VALUE * MULTIPLIER));
+            assertThat(hashCode(classFileVersion, long[].class, new long[]{42L}), is(INITIAL_VALUE * MULTIPLIER + Arrays.hashCode(new long[]{42L})));
+            assertThat(hashCode(classFileVersion, Object[].class, array), is(INITIAL_VALUE * MULTIPLIER + Arrays.deepHashCode(array)));
+        }
+    }
+
+    @Test
+    public void testMultipleFields() throws Exception {
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Object.class)
+                .defineField(FOO, String.class, Visibility.PUBLIC)
+                .defineField(BAR, long.class, Visibility.PUBLIC)
+                .method(isHashCode()).intercept(HashCodeMethod.ofAllFields())
+                .make()
+                .load(HashCodeMethodTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.newInstance();
+        type.getDeclaredField(FOO).set(instance, FOO);
+        type.getDeclaredField(BAR).set(instance, 42L);
+        assertThat(instance.hashCode(), is((INITIAL_VALUE * MULTIPLIER + FOO.hashCode()) * MULTIPLIER + Long.valueOf(42L).hashCode()));
+    }
+
+    @Test
+    public void testIgnoredField() throws Exception {
+        Class<?> type = make(ClassFileVersion.JAVA_V7, int.class, HashCodeMethod.ofFields(not(named(FOO))));
+        Object instance = type.newInstance();
+        type.getDeclaredField(FOO).set(instance, 42);
+        assertThat(instance.hashCode(), is(INITIAL_VALUE));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalReturnType() throws Exception {
+        new ByteBuddy()
+                .subclass(Object.class)
+                .method(named("toString")).intercept(HashCodeMethod.ofAllFields())
+                .make();
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(HashCodeMethod.class).apply();
+        ObjectPropertyAssertion.of(HashCodeMethod.Appender.class).apply();
+    }
+}
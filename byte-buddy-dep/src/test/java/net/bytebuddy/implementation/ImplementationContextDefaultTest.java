@@ -31,6 +31,7 @@ import org.objectweb.asm.Opcodes;
 import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.AdditionalMatchers.aryEq;
@@ -180,6 +181,7 @@ public class ImplementationContextDefaultTest {
                 typeInitializer,
                 classFileVersion);
         assertThat(implementationContext.getRegisteredAuxiliaryTypes().size(), is(0));
+        assertThat(((Implementation.Context.Versioned) implementationContext).getClassFileVersion(), is(classFileVersion));
         when(entry.getSort()).thenReturn(TypeWriter.MethodPool.Entry.Sort.SKIP);
         implementationContext.drain(classVisitor, methodPool, injectedCode);
         verifyZeroInteractions(classVisitor);
@@ -583,6 +585,75 @@ public class ImplementationContextDefaultTest {
         verify(methodVisitor).visitEnd();
     }
 
+    @Test
+    public void testOutlinedMethodRegistration() throws Exception {
+        Implementation.Context.Default implementationContext = new Implementation.Context.Default(instrumentedType,
+                auxiliaryTypeNamingStrategy,
+                typeInitializer,
+                classFileVersion);
+        assertThat(implementationContext.canOutline(), is(true));
+        MethodDescription outlinedMethod = implementationContext.outline(firstFieldValue,
+                Collections.singletonList(firstFieldType),
+                TypeDescription.OBJECT);
+        assertThat(outlinedMethod.getParameters(), is(ParameterList.Explicit.latent(outlinedMethod, Collections.singletonList(firstFieldType))));
+        assertThat(outlinedMethod.getReturnType(), is(TypeDescription.OBJECT));
+        assertThat(outlinedMethod.getInternalName(), startsWith(Implementation.Context.Default.OUTLINED_METHOD_PREFIX));
+        assertThat(outlinedMethod.getModifiers(), is(Opcodes.ACC_SYNTHETIC | Opcodes.ACC_STATIC | Opcodes.ACC_PRIVATE));
+        assertThat(outlinedMethod.getExceptionTypes(), is((TypeList) new TypeList.Empty()));
+        assertThat(implementationContext.outline(firstFieldValue, Collections.singletonList(firstFieldType), TypeDescription.OBJECT), is(outlinedMethod));
+        MethodDescription otherOutlinedMethod = implementationContext.outline(secondFieldValue,
+                Collections.singletonList(firstFieldType),
+                TypeDescription.OBJECT);
+        assertThat(otherOutlinedMethod.getInternalName(), not(outlinedMethod.getInternalName()));
+        when(entry.getSort()).thenReturn(TypeWriter.MethodPool.Entry.Sort.SKIP);
+        implementationContext.drain(classVisitor, methodPool, injectedCode);
+        verify(classVisitor).visitMethod(eq(Opcodes.ACC_SYNTHETIC | Opcodes.ACC_STATIC | Opcodes.ACC_PRIVATE), eq(outlinedMethod.getInternalName()),
+                eq("(" + BAR + ")Ljava/lang/Object;"), isNull(String.class), isNull(String[].class));
+        verify(classVisitor).visitMethod(eq(Opcodes.ACC_SYNTHETIC | Opcodes.ACC_STATIC | Opcodes.ACC_PRIVATE), eq(otherOutlinedMethod.getInternalName()),
+                eq("(" + BAR + ")Ljava/lang/Object;"), isNull(String.class), isNull(String[].class));
+    }
+
+    @Test
+    public void testOutlinedMethodRegistrationWrites() throws Exception {
+        Implementation.Context.Default implementationContext = new Implementation.Context.Default(instrumentedType,
+                auxiliaryTypeNamingStrategy,
+                typeInitializer,
+                classFileVersion);
+        implementationContext.outline(firstFieldValue, Collections.singletonList(firstFieldType), TypeDescription.OBJECT);
+        when(entry.getSort()).thenReturn(TypeWriter.MethodPool.Entry.Sort.SKIP);
+        implementationContext.drain(classVisitor, methodPool, injectedCode);
+        verify(methodVisitor).visitCode();
+        verify(firstFieldValue).apply(methodVisitor, implementationContext);
+        verify(methodVisitor).visitInsn(Opcodes.ARETURN);
+        verify(methodVisitor).visitMaxs(0, 0);
+        verify(methodVisitor).visitEnd();
+    }
+
+    @Test
+    public void testOutlinedMethodRegistrationOnInterface() throws Exception {
+        when(instrumentedType.isInterface()).thenReturn(true);
+        Implementation.Context.Default implementationContext = new Implementation.Context.Default(instrumentedType,
+                auxiliaryTypeNamingStrategy,
+                typeInitializer,
+                ClassFileVersion.JAVA_V8);
+        assertThat(implementationContext.canOutline(), is(true));
+        MethodDescription outlinedMethod = implementationContext.outline(firstFieldValue,
+                Collections.singletonList(firstFieldType),
+                TypeDescription.OBJECT);
+        assertThat(outlinedMethod.getModifiers(), is(Opcodes.ACC_SYNTHETIC | Opcodes.ACC_STATIC | Opcodes.ACC_PUBLIC));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCannotOutlineIntoLegacyInterface() throws Exception {
+        when(instrumentedType.isInterface()).thenReturn(true);
+        Implementation.Context.Default implementationContext = new Implementation.Context.Default(instrumentedType,
+                auxiliaryTypeNamingStrategy,
+                typeInitializer,
+                ClassFileVersion.JAVA_V7);
+        assertThat(implementationContext.canOutline(), is(false));
+        implementationContext.outline(firstFieldValue, Collections.singletonList(firstFieldType), TypeDescription.OBJECT);
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(Implementation.Context.Default.class).applyMutable();
@@ -590,5 +661,6 @@ public class ImplementationContextDefaultTest {
         ObjectPropertyAssertion.of(Implementation.Context.Default.AccessorMethodDelegation.class).apply();
         ObjectPropertyAssertion.of(Implementation.Context.Default.FieldSetter.class).apply();
         ObjectPropertyAssertion.of(Implementation.Context.Default.FieldGetter.class).apply();
+        ObjectPropertyAssertion.of(Implementation.Context.Default.OutlinedCode.class).apply();
     }
 }
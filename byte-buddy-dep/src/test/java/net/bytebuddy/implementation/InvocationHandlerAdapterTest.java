@@ -2,8 +2,11 @@ package net.bytebuddy.implementation;
 
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.test.utility.CallTraceable;
+import net.bytebuddy.test.utility.JavaVersionRule;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.MethodRule;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
@@ -22,6 +25,9 @@ public class InvocationHandlerAdapterTest extends AbstractImplementationTest {
 
     private static final int BAZ = 42;
 
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
     @Test
     public void testStaticAdapterWithoutCache() throws Exception {
         Foo foo = new Foo();
@@ -66,6 +72,23 @@ public class InvocationHandlerAdapterTest extends AbstractImplementationTest {
         instance.assertZeroCalls();
     }
 
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testStaticAdapterWithLazyMethodCache() throws Exception {
+        Foo foo = new Foo();
+        DynamicType.Loaded<Bar> loaded = implement(Bar.class, InvocationHandlerAdapter.of(foo).withLazyMethodCache());
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.getLoaded().getDeclaredMethods().length, is(1));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(1));
+        Bar instance = loaded.getLoaded().newInstance();
+        assertThat(instance.bar(FOO), is((Object) instance));
+        assertThat(foo.methods.size(), is(1));
+        assertThat(instance.bar(FOO), is((Object) instance));
+        assertThat(foo.methods.size(), is(2));
+        assertThat(foo.methods.get(0), sameInstance(foo.methods.get(1)));
+        instance.assertZeroCalls();
+    }
+
     @Test
     public void testInstanceAdapterWithoutCache() throws Exception {
         DynamicType.Loaded<Bar> loaded = implement(Bar.class, InvocationHandlerAdapter.toInstanceField(QUX));
@@ -128,6 +151,25 @@ public class InvocationHandlerAdapterTest extends AbstractImplementationTest {
         assertThat(InvocationHandlerAdapter.toInstanceField(QUX), not(is(InvocationHandlerAdapter.of(new Foo(BAR), QUX))));
     }
 
+    @Test
+    public void testStaticAdapterOutlinesArgumentArray() throws Exception {
+        DynamicType.Loaded<Box> loaded = implement(Box.class, InvocationHandlerAdapter.of(new Echo()));
+        assertThat(loaded.getLoaded().getDeclaredMethods().length, is(2));
+        Method outlinedMethod = null;
+        for (Method method : loaded.getLoaded().getDeclaredMethods()) {
+            if (method.getName().startsWith(Implementation.Context.Default.OUTLINED_METHOD_PREFIX)) {
+                outlinedMethod = method;
+            }
+        }
+        assertThat(outlinedMethod, notNullValue(Method.class));
+        assertThat(outlinedMethod.isSynthetic(), is(true));
+        assertThat(Modifier.isStatic(outlinedMethod.getModifiers()), is(true));
+        assertThat(Modifier.isPrivate(outlinedMethod.getModifiers()), is(true));
+        Box instance = loaded.getLoaded().newInstance();
+        assertThat(instance.bar(BAZ, BAZ * 2L, FOO, 0.5d, BAR), is(new Object[]{BAZ, BAZ * 2L, FOO, 0.5d, BAR}));
+        instance.assertZeroCalls();
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(InvocationHandlerAdapter.ForInstanceDelegation.class).apply();
@@ -196,4 +238,20 @@ public class InvocationHandlerAdapterTest extends AbstractImplementationTest {
             return o;
         }
     }
+
+    private static class Echo implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return args;
+        }
+    }
+
+    public static class Box extends CallTraceable {
+
+        public Object[] bar(int first, long second, Object third, double fourth, String fifth) {
+            register(BAR);
+            return null;
+        }
+    }
 }
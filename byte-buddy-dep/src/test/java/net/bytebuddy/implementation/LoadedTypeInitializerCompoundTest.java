@@ -66,6 +66,15 @@ public class LoadedTypeInitializerCompoundTest {
         verifyNoMoreInteractions(second);
     }
 
+    @Test
+    public void testApplyNested() throws Exception {
+        new LoadedTypeInitializer.Compound(new LoadedTypeInitializer.Compound(first), second).onLoad(TYPE);
+        verify(first).onLoad(TYPE);
+        verify(second).onLoad(TYPE);
+        verifyNoMoreInteractions(first);
+        verifyNoMoreInteractions(second);
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(LoadedTypeInitializer.Compound.class).create(new ObjectPropertyAssertion.Creator<List<?>>() {
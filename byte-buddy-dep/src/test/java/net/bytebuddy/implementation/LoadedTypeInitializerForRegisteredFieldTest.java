@@ -0,0 +1,195 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class LoadedTypeInitializerForRegisteredFieldTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Test
+    public void testInitializedTypeIsSetByReflection() throws Exception {
+        Object object = new Object();
+        LoadedTypeInitializer loadedTypeInitializer = new LoadedTypeInitializer.ForRegisteredField(FOO, object);
+        assertThat(loadedTypeInitializer.isAlive(), is(true));
+        loadedTypeInitializer.onLoad(Foo.class);
+        assertThat(Foo.foo, is(object));
+        assertThat(LoadedTypeInitializer.ForRegisteredField.resolve(Foo.class, FOO), nullValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTypeInitializerResolvesNullValue() throws Exception {
+        DynamicType.Loaded<Callable> dynamicType = new ByteBuddy()
+                .subclass(Callable.class)
+                .method(named("call"))
+                .intercept(new RegisteredFieldImplementation(null))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(dynamicType.getLoaded().newInstance().call(), nullValue());
+        assertThat(LoadedTypeInitializer.ForRegisteredField.resolve(dynamicType.getLoaded(), FOO), nullValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTypeInitializedBeforeRegistration() throws Exception {
+        DynamicType.Unloaded<Callable> dynamicType = new ByteBuddy()
+                .subclass(Callable.class)
+                .method(named("call"))
+                .intercept(new RegisteredFieldImplementation(BAR))
+                .make();
+        Class<?> type = ClassLoadingStrategy.Default.WRAPPER.load(getClass().getClassLoader(), dynamicType.getAllTypes())
+                .get(dynamicType.getTypeDescription());
+        assertThat(((Callable<?>) type.newInstance()).call(), nullValue());
+        new LoadedTypeInitializer.ForRegisteredField(FOO, BAR).onLoad(type);
+        assertThat(((Callable<?>) type.newInstance()).call(), is((Object) BAR));
+        assertThat(LoadedTypeInitializer.ForRegisteredField.resolve(type, FOO), nullValue());
+    }
+
+    @Test
+    public void testNullValueEquality() throws Exception {
+        assertThat(new LoadedTypeInitializer.ForRegisteredField(FOO, null), is(new LoadedTypeInitializer.ForRegisteredField(FOO, null)));
+        assertThat(new LoadedTypeInitializer.ForRegisteredField(FOO, null).hashCode(),
+                is(new LoadedTypeInitializer.ForRegisteredField(FOO, null).hashCode()));
+        assertThat(new LoadedTypeInitializer.ForRegisteredField(FOO, null), not(new LoadedTypeInitializer.ForRegisteredField(FOO, BAR)));
+        assertThat(new LoadedTypeInitializer.ForRegisteredField(FOO, BAR), not(new LoadedTypeInitializer.ForRegisteredField(FOO, null)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTypeInitializerResolvesValue() throws Exception {
+        DynamicType.Loaded<Callable> dynamicType = new ByteBuddy()
+                .subclass(Callable.class)
+                .method(named("call"))
+                .intercept(new RegisteredFieldImplementation(BAR))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(dynamicType.getLoaded().newInstance().call(), is((Object) BAR));
+        assertThat(LoadedTypeInitializer.ForRegisteredField.resolve(dynamicType.getLoaded(), FOO), nullValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTypeInitializerResolvesMultipleFinalValues() throws Exception {
+        DynamicType.Loaded<Callable> dynamicType = new ByteBuddy()
+                .subclass(Callable.class)
+                .method(named("call"))
+                .intercept(new RegisteredFieldImplementation(BAR, Opcodes.ACC_FINAL, FOO, BAR, QUX))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(dynamicType.getLoaded().newInstance().call(), is((Object) BAR));
+        for (String fieldName : Arrays.asList(FOO, BAR, QUX)) {
+            Field field = dynamicType.getLoaded().getDeclaredField(fieldName);
+            assertThat(Modifier.isFinal(field.getModifiers()), is(true));
+            field.setAccessible(true);
+            assertThat(field.get(null), is((Object) BAR));
+            assertThat(LoadedTypeInitializer.ForRegisteredField.resolve(dynamicType.getLoaded(), fieldName), nullValue());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTypeInitializerResolvesPrimitiveValue() throws Exception {
+        DynamicType.Loaded<Callable> dynamicType = new ByteBuddy()
+                .subclass(Callable.class)
+                .method(named("call"))
+                .intercept(new RegisteredFieldImplementation(42, int.class, Opcodes.ACC_FINAL, FOO))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(dynamicType.getLoaded().getDeclaredField(FOO).getType(), is((Object) int.class));
+        assertThat(dynamicType.getLoaded().newInstance().call(), is((Object) 42));
+        assertThat(LoadedTypeInitializer.ForRegisteredField.resolve(dynamicType.getLoaded(), FOO), nullValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTypeInitializerResolvesBoxedValue() throws Exception {
+        DynamicType.Loaded<Callable> dynamicType = new ByteBuddy()
+                .subclass(Callable.class)
+                .method(named("call"))
+                .intercept(new RegisteredFieldImplementation(42, Integer.class, Opcodes.ACC_FINAL, FOO))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(dynamicType.getLoaded().getDeclaredField(FOO).getType(), is((Object) Integer.class));
+        assertThat(dynamicType.getLoaded().newInstance().call(), is((Object) 42));
+        assertThat(LoadedTypeInitializer.ForRegisteredField.resolve(dynamicType.getLoaded(), FOO), nullValue());
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(LoadedTypeInitializer.ForRegisteredField.class).apply();
+    }
+
+    public static class Foo {
+
+        public static Object foo;
+    }
+
+    private static class RegisteredFieldImplementation implements Implementation {
+
+        private final Object value;
+
+        private final TypeDescription fieldType;
+
+        private final int modifiers;
+
+        private final String[] fieldName;
+
+        private RegisteredFieldImplementation(Object value) {
+            this(value, 0, FOO);
+        }
+
+        private RegisteredFieldImplementation(Object value, int modifiers, String... fieldName) {
+            this(value, TypeDescription.OBJECT, modifiers, fieldName);
+        }
+
+        private RegisteredFieldImplementation(Object value, Class<?> fieldType, int modifiers, String... fieldName) {
+            this(value, new TypeDescription.ForLoadedType(fieldType), modifiers, fieldName);
+        }
+
+        private RegisteredFieldImplementation(Object value, TypeDescription fieldType, int modifiers, String... fieldName) {
+            this.value = value;
+            this.fieldType = fieldType;
+            this.modifiers = modifiers;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            for (String fieldName : this.fieldName) {
+                instrumentedType = new LoadedTypeInitializer.ForRegisteredField(fieldName, value)
+                        .prepare(instrumentedType.withField(fieldName, fieldType, Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | modifiers));
+            }
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target implementationTarget) {
+            return new ByteCodeAppender.Simple(FieldAccess.forField(implementationTarget.getTypeDescription()
+                    .getDeclaredFields()
+                    .filter(named(FOO))
+                    .getOnly()).getter(), Assigner.DEFAULT.assign(fieldType, TypeDescription.OBJECT, false), MethodReturn.REFERENCE);
+        }
+    }
+}
@@ -39,6 +39,14 @@ public class MethodDelegationAllArgumentsTest extends AbstractImplementationTest
         assertThat(instance.foo(QUX, BAZ), is((Object) instance));
     }
 
+    @Test
+    public void testOutlinedArguments() throws Exception {
+        DynamicType.Loaded<Many> loaded = implement(Many.class, MethodDelegation.to(Sum.class));
+        assertThat(loaded.getLoaded().getDeclaredMethods().length, is(2));
+        Many instance = loaded.getLoaded().newInstance();
+        assertThat(instance.foo(FOO, FOO * 2L, (short) BAR, BAR, BAR), is((Object) (FOO * 3L + BAR * 3L)));
+    }
+
     public static class Foo {
 
         public Object foo(int i1, Integer i2) {
@@ -85,4 +93,22 @@ public class MethodDelegationAllArgumentsTest extends AbstractImplementationTest
             return args[0];
         }
     }
+
+    public static class Many {
+
+        public Object foo(int i1, long l, short s, int i2, Integer i3) {
+            return null;
+        }
+    }
+
+    public static class Sum {
+
+        public static long sum(@AllArguments long[] args) {
+            long sum = 0L;
+            for (long arg : args) {
+                sum += arg;
+            }
+            return sum;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.bind.annotation.Argument;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodDelegationConstantCallSiteTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testDelegation() throws Exception {
+        Class<? extends Foo> type = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class)).intercept(MethodDelegation.toConstantCallSite(new Bar(BAR)))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Foo instance = type.newInstance();
+        assertThat(instance.foo(FOO), is(FOO + BAR));
+        assertThat(instance.foo(BAR), is(BAR + BAR));
+        assertThat(type.getDeclaredFields().length, is(1));
+        Field field = type.getDeclaredFields()[0];
+        assertThat(Modifier.isStatic(field.getModifiers()), is(true));
+        assertThat(field.isSynthetic(), is(true));
+        assertThat(type.getDeclaredMethods().length, is(2));
+        for (Method method : type.getDeclaredMethods()) {
+            if (!method.getName().equals(FOO)) {
+                assertThat(Modifier.isStatic(method.getModifiers()), is(true));
+                assertThat(Modifier.isPrivate(method.getModifiers()), is(true));
+                assertThat(method.isSynthetic(), is(true));
+            }
+        }
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testDelegationOfSeveralMethods() throws Exception {
+        Class<? extends Qux> type = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Qux.class)
+                .method(named(FOO).or(named(BAR))).intercept(MethodDelegation.toConstantCallSite(new Bar(BAR)))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Qux instance = type.newInstance();
+        assertThat(instance.foo(FOO), is(FOO + BAR));
+        assertThat(instance.bar(FOO), is(FOO + BAR));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testUninitializedDelegate() throws Exception {
+        DynamicType.Unloaded<Foo> dynamicType = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class)).intercept(MethodDelegation.toConstantCallSite(new Bar(BAR)))
+                .make();
+        Class<?> type = ClassLoadingStrategy.Default.WRAPPER.load(getClass().getClassLoader(), dynamicType.getAllTypes())
+                .get(dynamicType.getTypeDescription());
+        Foo instance = (Foo) type.newInstance();
+        try {
+            instance.foo(FOO);
+            throw new AssertionError();
+        } catch (Error error) {
+            assertThat(error.getClass().getName(), is("java.lang.BootstrapMethodError"));
+            assertThat(error.getCause(), instanceOf(IllegalStateException.class));
+            assertThat(error.getCause().getMessage(), containsString(type.getName()));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLegacyClassFileVersion() throws Exception {
+        new ByteBuddy(ClassFileVersion.JAVA_V6)
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class)).intercept(MethodDelegation.toConstantCallSite(new Bar(BAR)))
+                .make();
+    }
+
+    public static class Foo {
+
+        public String foo(String value) {
+            return value;
+        }
+    }
+
+    public static class Qux {
+
+        public String foo(String value) {
+            return value;
+        }
+
+        public String bar(String value) {
+            return value;
+        }
+    }
+
+    public static class Bar {
+
+        private final String suffix;
+
+        public Bar(String suffix) {
+            this.suffix = suffix;
+        }
+
+        public String bar(@Argument(0) String value) {
+            return value + suffix;
+        }
+    }
+}
@@ -38,6 +38,15 @@ public class MethodDelegationObjectPropertiesTest {
         assertThat(MethodDelegation.to(new Foo()), not(is(MethodDelegation.to(new Foo(), BAR))));
     }
 
+    @Test
+    public void testConstantCallSiteDelegation() throws Exception {
+        assertThat(MethodDelegation.toConstantCallSite(new Foo()).hashCode(), is(MethodDelegation.toConstantCallSite(new Foo()).hashCode()));
+        assertThat(MethodDelegation.toConstantCallSite(new Foo()), is(MethodDelegation.toConstantCallSite(new Foo())));
+        assertThat(MethodDelegation.toConstantCallSite(new Foo()).hashCode(), not(is(MethodDelegation.toConstantCallSite(new Bar()).hashCode())));
+        assertThat(MethodDelegation.toConstantCallSite(new Foo()), not(is(MethodDelegation.toConstantCallSite(new Bar()))));
+        assertThat(MethodDelegation.toConstantCallSite(new Foo()), not(is(MethodDelegation.to(new Foo()))));
+    }
+
     @Test
     public void testInstanceFieldDelegation() throws Exception {
         assertThat(MethodDelegation.toInstanceField(Foo.class, FOO).hashCode(), is(MethodDelegation.toInstanceField(Foo.class, FOO).hashCode()));
@@ -66,6 +75,8 @@ public class MethodDelegationObjectPropertiesTest {
         }).apply();
         ObjectPropertyAssertion.of(MethodDelegation.Appender.class).apply();
         ObjectPropertyAssertion.of(MethodDelegation.ImplementationDelegate.ForStaticField.class).apply();
+        ObjectPropertyAssertion.of(MethodDelegation.ImplementationDelegate.ForConstantCallSite.class).apply();
+        ObjectPropertyAssertion.of(MethodDelegation.ImplementationDelegate.ForConstantCallSite.Appender.class).apply();
         ObjectPropertyAssertion.of(MethodDelegation.ImplementationDelegate.ForInstanceField.class).apply();
         ObjectPropertyAssertion.of(MethodDelegation.ImplementationDelegate.ForConstruction.class).apply();
         ObjectPropertyAssertion.of(MethodDelegation.ImplementationDelegate.ForStaticMethod.class).apply();
@@ -62,6 +62,18 @@ public class MethodDelegationOriginTest extends AbstractImplementationTest {
         assertThat(method, sameInstance(instance.foo()));
     }
 
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testOriginMethodWithLazyCache() throws Exception {
+        DynamicType.Loaded<Foo> loaded = implement(Foo.class, MethodDelegation.to(OriginMethodWithLazyCache.class));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(0));
+        Foo instance = loaded.getLoaded().newInstance();
+        Object method = instance.foo();
+        assertThat(method, instanceOf(Method.class));
+        assertThat(method, is((Object) Foo.class.getDeclaredMethod(FOO)));
+        assertThat(method, sameInstance(instance.foo()));
+    }
+
     @Test
     public void testOriginString() throws Exception {
         DynamicType.Loaded<Foo> loaded = implement(Foo.class, MethodDelegation.to(OriginString.class));
@@ -121,6 +133,13 @@ public class MethodDelegationOriginTest extends AbstractImplementationTest {
         }
     }
 
+    public static class OriginMethodWithLazyCache {
+
+        public static Object foo(@Origin(lazy = true) Method method) {
+            return method;
+        }
+    }
+
     public static class OriginString {
 
         public static Object foo(@Origin String string) {
@@ -1,14 +1,21 @@
 package net.bytebuddy.implementation;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.auxiliary.AuxiliaryType;
 import net.bytebuddy.implementation.bind.annotation.Pipe;
 import net.bytebuddy.implementation.bind.annotation.RuntimeType;
 import net.bytebuddy.test.utility.CallTraceable;
 import org.junit.Test;
 
 import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.concurrent.Callable;
 
+import static net.bytebuddy.matcher.ElementMatchers.named;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -60,6 +67,28 @@ public class MethodDelegationPipeTest extends AbstractImplementationTest {
         assertThat(instance.foo(QUX), is(FOO + QUX));
     }
 
+    @Test
+    public void testPipeSharedByInstrumentedTypes() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        ByteBuddy byteBuddy = new ByteBuddy().withNamingStrategy(new AuxiliaryType.NamingStrategy.Sharing(new AuxiliaryType.NamingStrategy.SuffixingRandom(BAR))
+                .scopedTo(classLoader));
+        Implementation implementation = MethodDelegation.to(new ForwardingInterceptor(new Foo(FOO)))
+                .defineParameterBinder(Pipe.Binder.install(ForwardingType.class));
+        DynamicType.Unloaded<Foo> first = byteBuddy.subclass(Foo.class).method(named(FOO)).intercept(implementation).make();
+        DynamicType.Unloaded<Foo> second = byteBuddy.subclass(Foo.class).method(named(FOO)).intercept(implementation).make();
+        assertThat(first.getRawAuxiliaryTypes().size(), is(1));
+        assertThat(second.getRawAuxiliaryTypes().keySet(), is(first.getRawAuxiliaryTypes().keySet()));
+        assertThat(second.getRawAuxiliaryTypes().values().iterator().next(), sameInstance(first.getRawAuxiliaryTypes().values().iterator().next()));
+        Foo firstInstance = first.load(classLoader, ClassLoadingStrategy.Default.INJECTION).getLoaded().newInstance();
+        Class<?> auxiliaryType = classLoader.loadClass(first.getRawAuxiliaryTypes().keySet().iterator().next().getName());
+        Foo secondInstance = second.load(classLoader, ClassLoadingStrategy.Default.INJECTION).getLoaded().newInstance();
+        assertThat(firstInstance.foo(QUX), is(FOO + QUX));
+        assertThat(secondInstance.foo(QUX), is(FOO + QUX));
+        for (TypeDescription typeDescription : second.getRawAuxiliaryTypes().keySet()) {
+            assertThat(classLoader.loadClass(typeDescription.getName()), is((Object) auxiliaryType));
+        }
+    }
+
     @Test(expected = ClassCastException.class)
     public void testPipeToIncompatibleTypeThrowsException() throws Exception {
         DynamicType.Loaded<Foo> loaded = implement(Foo.class, MethodDelegation.to(new ForwardingInterceptor(new Object()))
@@ -0,0 +1,192 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.test.utility.JavaVersionRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SwitchableTest extends AbstractImplementationTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    private Switchable switchable;
+
+    private Method first, second, incompatible;
+
+    @Before
+    public void setUp() throws Exception {
+        switchable = Switchable.named(FOO + COUNTER.incrementAndGet());
+        first = Interceptor.class.getDeclaredMethod("first", Object.class, String.class);
+        second = Interceptor.class.getDeclaredMethod("second", Object.class, String.class);
+        incompatible = Interceptor.class.getDeclaredMethod("incompatible", Object.class, String.class, String.class);
+    }
+
+    private Foo make() throws Exception {
+        return implement(Foo.class, switchable).getLoaded().newInstance();
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testDefaultValueWithoutInterceptor() throws Exception {
+        Sample sample = implement(Sample.class, switchable).getLoaded().newInstance();
+        assertThat(sample.bar(), is(0));
+        assertThat(sample.qux(), is(false));
+        sample.baz();
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testInstallBeforeAndAfterLinkage() throws Exception {
+        Foo linked = make();
+        assertThat(linked.foo(BAR), nullValue(String.class));
+        switchable.install(first);
+        assertThat(linked.foo(BAR), is(FOO + BAR));
+        assertThat(make().foo(BAR), is(FOO + BAR));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testSwapInterceptor() throws Exception {
+        Foo instance = make();
+        switchable.install(first);
+        assertThat(instance.foo(BAR), is(FOO + BAR));
+        switchable.install(second);
+        assertThat(instance.foo(BAR), is(BAR + FOO));
+        switchable.uninstall();
+        assertThat(instance.foo(BAR), nullValue(String.class));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testEnableAndDisable() throws Exception {
+        Foo instance = make();
+        switchable.install(first);
+        assertThat(switchable.isEnabled(), is(true));
+        switchable.disable();
+        assertThat(switchable.isEnabled(), is(false));
+        assertThat(instance.foo(BAR), nullValue(String.class));
+        assertThat(make().foo(BAR), nullValue(String.class));
+        switchable.enable();
+        assertThat(switchable.isEnabled(), is(true));
+        assertThat(instance.foo(BAR), is(FOO + BAR));
+        switchable.disable().install(second).enable();
+        assertThat(instance.foo(BAR), is(BAR + FOO));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testSwitchesOfSameName() throws Exception {
+        Foo instance = make();
+        Switchable.named(switchable.getName()).install(first);
+        assertThat(instance.foo(BAR), is(FOO + BAR));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testIncompatibleInterceptor() throws Exception {
+        Foo instance = make();
+        switchable.install(first);
+        assertThat(instance.foo(BAR), is(FOO + BAR));
+        try {
+            switchable.install(incompatible);
+            throw new AssertionError();
+        } catch (IllegalArgumentException ignored) {
+            /* expected */
+        }
+        assertThat(instance.foo(BAR), is(FOO + BAR));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testIncompatibleInterceptorDoesNotChangeState() throws Exception {
+        Foo instance = make();
+        assertThat(instance.foo(BAR), nullValue(String.class));
+        switchable.disable();
+        try {
+            switchable.install(incompatible);
+            throw new AssertionError();
+        } catch (IllegalArgumentException ignored) {
+            /* expected */
+        }
+        assertThat(switchable.isEnabled(), is(false));
+        switchable.enable();
+        assertThat(instance.foo(BAR), nullValue(String.class));
+        switchable.install(first);
+        assertThat(instance.foo(BAR), is(FOO + BAR));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testDefaultSwitchIsNotRetained() throws Exception {
+        int retained = Switchable.retained();
+        switchable.install(first).disable();
+        assertThat(Switchable.retained(), is(retained + 1));
+        switchable.enable().uninstall();
+        assertThat(Switchable.retained(), is(retained));
+        assertThat(switchable.isEnabled(), is(true));
+        assertThat(Switchable.retained(), is(retained));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoMethodHandle() throws Exception {
+        switchable.install(new Object());
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(Switchable.class).apply();
+        ObjectPropertyAssertion.of(Switchable.Entry.class).applyMutable();
+        ObjectPropertyAssertion.of(Switchable.Entry.CallSiteReference.class).applyMutable();
+    }
+
+    public static class Foo {
+
+        public String foo(String value) {
+            return value;
+        }
+    }
+
+    public static class Sample extends Foo {
+
+        public int bar() {
+            return 1;
+        }
+
+        public boolean qux() {
+            return true;
+        }
+
+        public void baz() {
+            throw new AssertionError();
+        }
+    }
+
+    public static class Interceptor {
+
+        public static String first(Object self, String value) {
+            return FOO + value;
+        }
+
+        public static String second(Object self, String value) {
+            return value + FOO;
+        }
+
+        public static String incompatible(Object self, String value, String other) {
+            return other;
+        }
+    }
+}
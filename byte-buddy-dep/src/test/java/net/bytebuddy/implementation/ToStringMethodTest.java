@@ -0,0 +1,93 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.isToString;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ToStringMethodTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static String toString(Class<?> fieldType, Object value) throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .name(QUX)
+                .defineField(FOO, fieldType, Visibility.PUBLIC)
+                .method(isToString()).intercept(ToStringMethod.ofAllFields())
+                .make()
+                .load(ToStringMethodTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.newInstance();
+        type.getDeclaredField(FOO).set(instance, value);
+        return instance.toString();
+    }
+
+    @Test
+    public void testFieldDescription() throws Exception {
+        assertThat(toString(boolean.class, true), is("qux{foo=true}"));
+        assertThat(toString(byte.class, (byte) 42), is("qux{foo=42}"));
+        assertThat(toString(short.class, (short) 42), is("qux{foo=42}"));
+        assertThat(toString(char.class, 'a'), is("qux{foo=a}"));
+        assertThat(toString(int.class, 42), is("qux{foo=42}"));
+        assertThat(toString(long.class, 42L), is("qux{foo=42}"));
+        assertThat(toString(float.class, 42.5f), is("qux{foo=42.5}"));
+        assertThat(toString(double.class, 42.5d), is("qux{foo=42.5}"));
+        assertThat(toString(String.class, BAR), is("qux{foo=bar}"));
+        assertThat(toString(Object.class, BAR), is("qux{foo=bar}"));
+        assertThat(toString(Object.class, null), is("qux{foo=null}"));
+        assertThat(toString(int[].class, new int[]{42, 84}), is("qux{foo=[42, 84]}"));
+        assertThat(toString(Object[].class, new Object[]{new Object[]{BAR}}), is("qux{foo=[[bar]]}"));
+    }
+
+    @Test
+    public void testMultipleFieldsWithPrefix() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .defineField(FOO, String.class, Visibility.PUBLIC)
+                .defineField(BAR, int.class, Visibility.PUBLIC)
+                .defineField(QUX, int.class, Visibility.PUBLIC)
+                .method(isToString()).intercept(ToStringMethod.ofFields(not(named(QUX))).prefixedBy(QUX))
+                .make()
+                .load(ToStringMethodTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.newInstance();
+        type.getDeclaredField(FOO).set(instance, FOO);
+        type.getDeclaredField(BAR).set(instance, 42);
+        assertThat(instance.toString(), is("qux{foo=foo, bar=42}"));
+    }
+
+    @Test
+    public void testNoFields() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .method(isToString()).intercept(ToStringMethod.ofAllFields().prefixedBy(FOO))
+                .make()
+                .load(ToStringMethodTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.newInstance().toString(), is("foo{}"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalReturnType() throws Exception {
+        new ByteBuddy()
+                .subclass(Object.class)
+                .method(named("hashCode")).intercept(ToStringMethod.ofAllFields())
+                .make();
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ToStringMethod.class).apply();
+        ObjectPropertyAssertion.of(ToStringMethod.PrefixResolver.Default.class).apply();
+        ObjectPropertyAssertion.of(ToStringMethod.PrefixResolver.ForFixedValue.class).apply();
+        ObjectPropertyAssertion.of(ToStringMethod.Appender.class).apply();
+    }
+}
@@ -97,6 +97,16 @@ public class AnnotationAppenderDefaultTest {
         assertEquals(Void.class, bar.getAnnotation(Baz.class).type());
     }
 
+    @Test
+    public void testLoadedAnnotationIsWrittenRepeatedly() throws Exception {
+        Baz annotation = Carrier.class.getAnnotation(Baz.class);
+        for (int index = 0; index < 2; index++) {
+            reset(target);
+            Class<?> bar = makeTypeWithAnnotation(annotation);
+            assertThat(bar.getAnnotation(Baz.class), is(annotation));
+        }
+    }
+
     private Class<?> makeTypeWithAnnotation(Annotation annotation) throws Exception {
         ClassWriter classWriter = new ClassWriter(ASM_MANUAL);
         classWriter.visit(ClassFileVersion.forCurrentJavaVersion().getVersionNumber(),
@@ -141,6 +151,11 @@ public class AnnotationAppenderDefaultTest {
         ObjectPropertyAssertion.of(AnnotationAppender.AnnotationVisibility.class).apply();
     }
 
+    @Baz(value = FOOBAR, array = {2, 3, 4}, annotation = @Foo, enumeration = Baz.Enum.VALUE, type = Void.class)
+    private static class Carrier {
+        /* empty */
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     public @interface Foo {
 
@@ -0,0 +1,164 @@
+package net.bytebuddy.implementation.attribute;
+
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Map;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AnnotationAppenderEncodingTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private AnnotationVisitor annotationVisitor, nestedVisitor, arrayVisitor;
+
+    @Test
+    public void testEncodingIsReplayed() throws Exception {
+        Map<String, AnnotationAppender.Encoding> encodings = AnnotationAppender.Encoding.of(AnnotationDescription.ForLoadedAnnotation
+                .of(Carrier.class.getAnnotation(Foo.class)));
+        assertThat(encodings.size(), is(4));
+        when(annotationVisitor.visitAnnotation("annotation", Type.getDescriptor(Retention.class))).thenReturn(nestedVisitor);
+        when(annotationVisitor.visitArray("types")).thenReturn(arrayVisitor);
+        encodings.get("value").replay(annotationVisitor);
+        encodings.get("annotation").replay(annotationVisitor);
+        encodings.get("types").replay(annotationVisitor);
+        encodings.get("type").replay(annotationVisitor);
+        InOrder inOrder = inOrder(annotationVisitor, nestedVisitor, arrayVisitor);
+        inOrder.verify(annotationVisitor).visit("value", FOO);
+        inOrder.verify(annotationVisitor).visitAnnotation("annotation", Type.getDescriptor(Retention.class));
+        inOrder.verify(nestedVisitor).visitEnum("value", Type.getDescriptor(RetentionPolicy.class), RetentionPolicy.RUNTIME.name());
+        inOrder.verify(nestedVisitor).visitEnd();
+        inOrder.verify(annotationVisitor).visitArray("types");
+        inOrder.verify(arrayVisitor).visitEnum(null, Type.getDescriptor(ElementType.class), ElementType.TYPE.name());
+        inOrder.verify(arrayVisitor).visitEnum(null, Type.getDescriptor(ElementType.class), ElementType.FIELD.name());
+        inOrder.verify(arrayVisitor).visitEnd();
+        inOrder.verify(annotationVisitor).visit("type", Type.getType(Void.class));
+        verifyNoMoreInteractions(annotationVisitor, nestedVisitor, arrayVisitor);
+    }
+
+    @Test
+    public void testNestedEncodingIsReplayed() throws Exception {
+        AnnotationAppender.Encoding encoding = new AnnotationAppender.Encoding();
+        AnnotationVisitor nested = encoding.visitAnnotation(FOO, BAR);
+        nested.visitEnum(FOO, BAR, FOO);
+        nested.visitEnd();
+        AnnotationVisitor array = encoding.visitArray(BAR);
+        array.visit(null, 42);
+        array.visitEnd();
+        when(annotationVisitor.visitAnnotation(FOO, BAR)).thenReturn(nestedVisitor);
+        when(annotationVisitor.visitArray(BAR)).thenReturn(arrayVisitor);
+        encoding.replay(annotationVisitor);
+        InOrder inOrder = inOrder(annotationVisitor, nestedVisitor, arrayVisitor);
+        inOrder.verify(annotationVisitor).visitAnnotation(FOO, BAR);
+        inOrder.verify(nestedVisitor).visitEnum(FOO, BAR, FOO);
+        inOrder.verify(nestedVisitor).visitEnd();
+        inOrder.verify(annotationVisitor).visitArray(BAR);
+        inOrder.verify(arrayVisitor).visit(null, 42);
+        inOrder.verify(arrayVisitor).visitEnd();
+        verifyNoMoreInteractions(annotationVisitor, nestedVisitor, arrayVisitor);
+    }
+
+    @Test
+    public void testReplayedEncodingEqualsDirectEncoding() throws Exception {
+        AnnotationDescription annotationDescription = AnnotationDescription.ForLoadedAnnotation.of(Carrier.class.getAnnotation(Foo.class));
+        for (Map.Entry<String, AnnotationAppender.Encoding> entry : AnnotationAppender.Encoding.of(annotationDescription).entrySet()) {
+            AnnotationAppender.Encoding direct = new AnnotationAppender.Encoding(), replayed = new AnnotationAppender.Encoding();
+            AnnotationAppender.Default.apply(direct,
+                    annotationDescription.getAnnotationType().getDeclaredMethods().filter(named(entry.getKey())).getOnly().getReturnType(),
+                    entry.getKey(),
+                    annotationDescription.getValue(annotationDescription.getAnnotationType().getDeclaredMethods().filter(named(entry.getKey())).getOnly()));
+            entry.getValue().replay(replayed);
+            assertThat(replayed, is(direct));
+        }
+    }
+
+    @Test
+    public void testCacheReturnsIdenticalEncodings() throws Exception {
+        AnnotationAppender.Encoding.Cache.INSTANCE.clear();
+        Map<String, AnnotationAppender.Encoding> encodings = AnnotationAppender.Encoding.Cache.INSTANCE
+                .find(AnnotationDescription.ForLoadedAnnotation.of(Carrier.class.getAnnotation(Foo.class)));
+        assertThat(encodings, notNullValue(Map.class));
+        assertThat(AnnotationAppender.Encoding.Cache.INSTANCE.find(AnnotationDescription.ForLoadedAnnotation.of(Carrier.class.getAnnotation(Foo.class))),
+                sameInstance(encodings));
+    }
+
+    @Test
+    public void testCacheIgnoresUserImplementedAnnotation() throws Exception {
+        assertThat(AnnotationAppender.Encoding.Cache.INSTANCE.find(AnnotationDescription.ForLoadedAnnotation.of(new Bar.Instance())),
+                nullValue(Map.class));
+    }
+
+    @Test
+    public void testCacheIgnoresUnloadedAnnotation() throws Exception {
+        assertThat(AnnotationAppender.Encoding.Cache.INSTANCE.find(mock(AnnotationDescription.class)), nullValue(Map.class));
+    }
+
+    @Test
+    public void testEncodingEquality() throws Exception {
+        AnnotationAppender.Encoding encoding = new AnnotationAppender.Encoding(), other = new AnnotationAppender.Encoding();
+        encoding.visit(FOO, BAR);
+        assertThat(encoding, not(other));
+        other.visit(FOO, BAR);
+        assertThat(encoding, is(other));
+        assertThat(encoding.hashCode(), is(other.hashCode()));
+        assertThat(encoding.toString(), is("AnnotationAppender.Encoding{events=[" + new AnnotationAppender.Encoding.Event.OfValue(FOO, BAR) + "]}"));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AnnotationAppender.Encoding.Event.OfValue.class).apply();
+        ObjectPropertyAssertion.of(AnnotationAppender.Encoding.Event.OfEnumeration.class).apply();
+        ObjectPropertyAssertion.of(AnnotationAppender.Encoding.Event.OfAnnotation.class).apply();
+        ObjectPropertyAssertion.of(AnnotationAppender.Encoding.Event.OfArray.class).apply();
+        ObjectPropertyAssertion.of(AnnotationAppender.Encoding.Cache.class).apply();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Foo {
+
+        String value();
+
+        Retention annotation();
+
+        ElementType[] types();
+
+        Class<?> type();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Bar {
+
+        class Instance implements Bar {
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return Bar.class;
+            }
+        }
+    }
+
+    @Foo(value = FOO, annotation = @Retention(RetentionPolicy.RUNTIME), types = {ElementType.TYPE, ElementType.FIELD}, type = Void.class)
+    private static class Carrier {
+        /* empty */
+    }
+}
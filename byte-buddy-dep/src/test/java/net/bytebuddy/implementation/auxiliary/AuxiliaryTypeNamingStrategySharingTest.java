@@ -0,0 +1,128 @@
+package net.bytebuddy.implementation.auxiliary;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AuxiliaryTypeNamingStrategySharingTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private AuxiliaryType.NamingStrategy delegate;
+
+    @Mock
+    private AuxiliaryType auxiliaryType;
+
+    @Mock
+    private AuxiliaryType.Shareable shareable;
+
+    @Mock
+    private TypeDescription first, second, other;
+
+    @Mock
+    private AuxiliaryType.MethodAccessorFactory methodAccessorFactory;
+
+    @Mock
+    private DynamicType firstType, secondType, thirdType;
+
+    @Mock
+    private TypeDescription firstTypeDescription;
+
+    private ClassFileVersion classFileVersion;
+
+    private AuxiliaryType.NamingStrategy.Sharing sharing;
+
+    @Before
+    public void setUp() throws Exception {
+        classFileVersion = ClassFileVersion.JAVA_V6;
+        when(first.getName()).thenReturn(FOO + "." + BAR);
+        when(second.getName()).thenReturn(FOO + "." + QUX);
+        when(other.getName()).thenReturn(BAR + "." + QUX);
+        when(delegate.name(any(AuxiliaryType.class), any(TypeDescription.class))).thenReturn(FOO, BAR, QUX);
+        when(shareable.make(FOO, classFileVersion, AuxiliaryType.MethodAccessorFactory.Illegal.INSTANCE)).thenReturn(firstType);
+        when(shareable.make(BAR, classFileVersion, AuxiliaryType.MethodAccessorFactory.Illegal.INSTANCE)).thenReturn(secondType);
+        when(auxiliaryType.make(any(String.class), eq(classFileVersion), eq(methodAccessorFactory))).thenReturn(firstType, secondType);
+        when(firstType.getTypeDescription()).thenReturn(firstTypeDescription);
+        when(firstTypeDescription.getName()).thenReturn(FOO);
+        sharing = new AuxiliaryType.NamingStrategy.Sharing(delegate);
+    }
+
+    @Test
+    public void testShareableTypeSharedWithinPackage() throws Exception {
+        AuxiliaryType.NamingStrategy.Creating namingStrategy = sharing.scopedTo(getClass().getClassLoader());
+        assertThat(namingStrategy.make(shareable, first, classFileVersion, methodAccessorFactory), is(firstType));
+        assertThat(namingStrategy.make(shareable, second, classFileVersion, methodAccessorFactory), is(firstType));
+        assertThat(namingStrategy.make(shareable, other, classFileVersion, methodAccessorFactory), is(secondType));
+        verify(delegate).name(shareable, first);
+        verify(delegate).name(shareable, other);
+        verifyNoMoreInteractions(delegate);
+        verify(shareable).make(FOO, classFileVersion, AuxiliaryType.MethodAccessorFactory.Illegal.INSTANCE);
+        verify(shareable).make(BAR, classFileVersion, AuxiliaryType.MethodAccessorFactory.Illegal.INSTANCE);
+        verifyNoMoreInteractions(shareable);
+        verifyZeroInteractions(methodAccessorFactory);
+    }
+
+    @Test
+    public void testShareableTypeNameOfSharedType() throws Exception {
+        AuxiliaryType.NamingStrategy.Creating namingStrategy = sharing.scopedTo(getClass().getClassLoader());
+        namingStrategy.make(shareable, first, classFileVersion, methodAccessorFactory);
+        assertThat(namingStrategy.name(shareable, second), is(FOO));
+        verify(delegate).name(shareable, first);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void testShareableTypeNotSharedAmongClassLoaders() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        assertThat(sharing.scopedTo(classLoader), sameInstance(sharing.scopedTo(classLoader)));
+        assertThat(sharing.scopedTo(classLoader), not(sameInstance(sharing.scopedTo(getClass().getClassLoader()))));
+        assertThat(sharing.scopedTo(classLoader).make(shareable, first, classFileVersion, methodAccessorFactory), is(firstType));
+        assertThat(sharing.scopedTo(getClass().getClassLoader()).make(shareable, first, classFileVersion, methodAccessorFactory), is(secondType));
+    }
+
+    @Test
+    public void testNonShareableTypeIsNotShared() throws Exception {
+        AuxiliaryType.NamingStrategy.Creating namingStrategy = sharing.scopedTo(getClass().getClassLoader());
+        assertThat(namingStrategy.make(auxiliaryType, first, classFileVersion, methodAccessorFactory), is(firstType));
+        assertThat(namingStrategy.make(auxiliaryType, second, classFileVersion, methodAccessorFactory), is(secondType));
+        verify(delegate).name(auxiliaryType, first);
+        verify(delegate).name(auxiliaryType, second);
+        verifyNoMoreInteractions(delegate);
+        verify(auxiliaryType).make(FOO, classFileVersion, methodAccessorFactory);
+        verify(auxiliaryType).make(BAR, classFileVersion, methodAccessorFactory);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AuxiliaryType.NamingStrategy.Sharing.class).applyMutable();
+        ObjectPropertyAssertion.of(AuxiliaryType.NamingStrategy.Sharing.Scope.class).applyMutable();
+        ObjectPropertyAssertion.of(AuxiliaryType.NamingStrategy.Sharing.Key.class).create(new ObjectPropertyAssertion.Creator<TypeDescription>() {
+            @Override
+            public TypeDescription create() {
+                TypeDescription typeDescription = mock(TypeDescription.class);
+                when(typeDescription.getName()).thenReturn(Math.random() + "." + FOO);
+                return typeDescription;
+            }
+        }).apply();
+    }
+}
@@ -0,0 +1,121 @@
+package net.bytebuddy.implementation.bytecode;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class StackMapFrameTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Implementation.Context.Versioned implementationContext;
+
+    @Mock
+    private Implementation.Context unversionedImplementationContext;
+
+    @Mock
+    private MethodVisitor methodVisitor;
+
+    @Test
+    public void testFrameOfInstanceMethod() throws Exception {
+        when(implementationContext.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V6);
+        Label label = new Label();
+        StackMapFrame.of(implementationContext,
+                new TypeDescription.ForLoadedType(Foo.class),
+                new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(FOO, long.class, Object.class)))
+                .visit(methodVisitor, label, Collections.singletonList(new TypeDescription.ForLoadedType(int.class)));
+        verify(methodVisitor).visitLabel(label);
+        verify(methodVisitor).visitFrame(Opcodes.F_FULL,
+                3,
+                new Object[]{Type.getInternalName(Foo.class), Opcodes.LONG, Type.getInternalName(Object.class)},
+                1,
+                new Object[]{Opcodes.INTEGER});
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testFrameOfStaticMethod() throws Exception {
+        when(implementationContext.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V6);
+        Label label = new Label();
+        StackMapFrame.of(implementationContext,
+                new TypeDescription.ForLoadedType(Foo.class),
+                new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(BAR, float.class, double.class)))
+                .visit(methodVisitor, label);
+        verify(methodVisitor).visitLabel(label);
+        verify(methodVisitor).visitFrame(Opcodes.F_FULL, 2, new Object[]{Opcodes.FLOAT, Opcodes.DOUBLE}, 0, new Object[0]);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testNoFrameForLegacyClassFile() throws Exception {
+        when(implementationContext.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V5);
+        Label label = new Label();
+        StackMapFrame.of(implementationContext,
+                new TypeDescription.ForLoadedType(Foo.class),
+                new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(FOO, long.class, Object.class)))
+                .visit(methodVisitor, label);
+        verify(methodVisitor).visitLabel(label);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testFrameForUnversionedContext() throws Exception {
+        Label label = new Label();
+        StackMapFrame.of(unversionedImplementationContext,
+                new TypeDescription.ForLoadedType(Foo.class),
+                new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(BAR, float.class, double.class)))
+                .visit(methodVisitor, label);
+        verify(methodVisitor).visitLabel(label);
+        verify(methodVisitor).visitFrame(Opcodes.F_FULL, 2, new Object[]{Opcodes.FLOAT, Opcodes.DOUBLE}, 0, new Object[0]);
+        verifyNoMoreInteractions(methodVisitor);
+        verifyZeroInteractions(unversionedImplementationContext);
+    }
+
+    @Test
+    public void testVerificationTypes() throws Exception {
+        assertThat(StackMapFrame.toFrame(new TypeDescription.ForLoadedType(boolean.class)), is((Object) Opcodes.INTEGER));
+        assertThat(StackMapFrame.toFrame(new TypeDescription.ForLoadedType(int.class)), is((Object) Opcodes.INTEGER));
+        assertThat(StackMapFrame.toFrame(new TypeDescription.ForLoadedType(long.class)), is((Object) Opcodes.LONG));
+        assertThat(StackMapFrame.toFrame(new TypeDescription.ForLoadedType(float.class)), is((Object) Opcodes.FLOAT));
+        assertThat(StackMapFrame.toFrame(new TypeDescription.ForLoadedType(double.class)), is((Object) Opcodes.DOUBLE));
+        assertThat(StackMapFrame.toFrame(new TypeDescription.ForLoadedType(Object[].class)), is((Object) "[Ljava/lang/Object;"));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(StackMapFrame.class).apply();
+    }
+
+    @SuppressWarnings("unused")
+    private static class Foo {
+
+        private void foo(long first, Object second) {
+            /* empty */
+        }
+
+        private static void bar(float first, double second) {
+            /* empty */
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package net.bytebuddy.implementation.bytecode.collection;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.MoreOpcodes;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ArrayFactoryArgumentsTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private StackManipulation assignment;
+
+    @Mock
+    private MethodVisitor methodVisitor;
+
+    @Mock
+    private Implementation.Context implementationContext;
+
+    @Mock
+    private Implementation.Context.Outlining outliningContext;
+
+    @Mock
+    private TypeDescription instrumentedType;
+
+    private TypeDescription arrayType;
+
+    private MethodDescription outlinedMethod;
+
+    @Before
+    public void setUp() throws Exception {
+        when(assignment.isValid()).thenReturn(true);
+        when(assignment.apply(any(MethodVisitor.class), any(Implementation.Context.class))).thenReturn(new StackManipulation.Size(0, 0));
+        when(instrumentedType.getInternalName()).thenReturn(FOO);
+        arrayType = TypeDescription.ArrayProjection.of(TypeDescription.OBJECT, 1);
+        outlinedMethod = new MethodDescription.Latent(BAR,
+                instrumentedType,
+                arrayType,
+                Collections.nCopies(ArrayFactory.OUTLINING_THRESHOLD, TypeDescription.OBJECT),
+                Opcodes.ACC_STATIC,
+                Collections.<TypeDescription>emptyList());
+        when(outliningContext.canOutline()).thenReturn(true);
+        when(outliningContext.outline(any(StackManipulation.class), anyListOf(TypeDescription.class), any(TypeDescription.class)))
+                .thenReturn(outlinedMethod);
+    }
+
+    @Test
+    public void testArgumentsAreInlined() throws Exception {
+        StackManipulation stackManipulation = ArrayFactory.forType(TypeDescription.OBJECT)
+                .withArguments(argumentValues(ArrayFactory.OUTLINING_THRESHOLD));
+        assertThat(stackManipulation.isValid(), is(true));
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, implementationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        verify(methodVisitor).visitTypeInsn(Opcodes.ANEWARRAY, TypeDescription.OBJECT.getInternalName());
+        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_1);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, ArrayFactory.OUTLINING_THRESHOLD);
+        verify(methodVisitor, times(ArrayFactory.OUTLINING_THRESHOLD)).visitInsn(Opcodes.AASTORE);
+        verify(assignment, times(ArrayFactory.OUTLINING_THRESHOLD)).apply(methodVisitor, implementationContext);
+        verify(methodVisitor, never()).visitMethodInsn(anyInt(), anyString(), anyString(), anyString(), anyBoolean());
+        verifyZeroInteractions(implementationContext);
+    }
+
+    @Test
+    public void testFewArgumentsAreNotOutlined() throws Exception {
+        StackManipulation stackManipulation = ArrayFactory.forType(TypeDescription.OBJECT)
+                .withArguments(argumentValues(ArrayFactory.OUTLINING_THRESHOLD - 1));
+        stackManipulation.apply(methodVisitor, outliningContext);
+        verify(methodVisitor).visitTypeInsn(Opcodes.ANEWARRAY, TypeDescription.OBJECT.getInternalName());
+        verify(outliningContext, never()).outline(any(StackManipulation.class), anyListOf(TypeDescription.class), any(TypeDescription.class));
+    }
+
+    @Test
+    public void testArgumentsAreNotOutlinedIfImpossible() throws Exception {
+        when(outliningContext.canOutline()).thenReturn(false);
+        StackManipulation stackManipulation = ArrayFactory.forType(TypeDescription.OBJECT)
+                .withArguments(argumentValues(ArrayFactory.OUTLINING_THRESHOLD));
+        stackManipulation.apply(methodVisitor, outliningContext);
+        verify(methodVisitor).visitTypeInsn(Opcodes.ANEWARRAY, TypeDescription.OBJECT.getInternalName());
+        verify(outliningContext, never()).outline(any(StackManipulation.class), anyListOf(TypeDescription.class), any(TypeDescription.class));
+    }
+
+    @Test
+    public void testArgumentsAreOutlined() throws Exception {
+        List<ArrayFactory.ArgumentValue> argumentValues = argumentValues(ArrayFactory.OUTLINING_THRESHOLD);
+        StackManipulation stackManipulation = ArrayFactory.forType(TypeDescription.OBJECT).withArguments(argumentValues);
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, outliningContext);
+        assertThat(size.getSizeImpact(), is(1));
+        List<StackManipulation> values = new ArrayList<StackManipulation>(ArrayFactory.OUTLINING_THRESHOLD);
+        for (int index = 0; index < ArrayFactory.OUTLINING_THRESHOLD; index++) {
+            values.add(argumentValues.get(index).loadFrom(index));
+        }
+        verify(outliningContext).outline(ArrayFactory.forType(TypeDescription.OBJECT).withValues(values),
+                Collections.nCopies(ArrayFactory.OUTLINING_THRESHOLD, TypeDescription.OBJECT),
+                arrayType);
+        verify(methodVisitor).visitInsn(MoreOpcodes.ALOAD_1);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, ArrayFactory.OUTLINING_THRESHOLD);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKESTATIC, FOO, BAR, outlinedMethod.getDescriptor(), false);
+        verify(methodVisitor, never()).visitTypeInsn(anyInt(), anyString());
+        verifyZeroInteractions(assignment);
+    }
+
+    @Test
+    public void testIllegalAssignment() throws Exception {
+        when(assignment.isValid()).thenReturn(false);
+        assertThat(ArrayFactory.forType(TypeDescription.OBJECT).withArguments(argumentValues(1)).isValid(), is(false));
+    }
+
+    private List<ArrayFactory.ArgumentValue> argumentValues(int count) {
+        List<ArrayFactory.ArgumentValue> argumentValues = new ArrayList<ArrayFactory.ArgumentValue>(count);
+        for (int index = 0; index < count; index++) {
+            argumentValues.add(new ArrayFactory.ArgumentValue(TypeDescription.OBJECT, index + 1, assignment));
+        }
+        return argumentValues;
+    }
+}
@@ -53,5 +53,7 @@ public class ArrayFactoryObjectPropertiesTest {
             }
         }).apply();
         ObjectPropertyAssertion.of(ArrayFactory.ArrayStackManipulation.class).apply();
+        ObjectPropertyAssertion.of(ArrayFactory.ArgumentArrayStackManipulation.class).apply();
+        ObjectPropertyAssertion.of(ArrayFactory.ArgumentValue.class).apply();
     }
 }
@@ -1,18 +1,24 @@
 package net.bytebuddy.implementation.bytecode.constant;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.ParameterList;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.description.type.TypeList;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.StackSize;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.test.utility.JavaVersionRule;
 import net.bytebuddy.test.utility.MockitoRule;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.MethodRule;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 import org.mockito.asm.Opcodes;
@@ -21,6 +27,9 @@ import org.objectweb.asm.MethodVisitor;
 
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -33,6 +42,9 @@ public class MethodConstantTest {
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
 
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
     @Mock
     private MethodDescription methodDescription;
 
@@ -51,6 +63,9 @@ public class MethodConstantTest {
     @Mock
     private Implementation.Context implementationContext;
 
+    @Mock
+    private Implementation.Context.Versioned versionedImplementationContext;
+
     @Mock
     private FieldDescription fieldDescription;
 
@@ -124,12 +139,71 @@ public class MethodConstantTest {
         verifyNoMoreInteractions(implementationContext);
     }
 
+    @Test
+    public void testMethodLazilyCachedFallsBackToCacheForLegacyClassFile() throws Exception {
+        when(versionedImplementationContext.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V6);
+        when(versionedImplementationContext.cache(any(StackManipulation.class), any(TypeDescription.class))).thenReturn(fieldDescription);
+        StackManipulation.Size size = MethodConstant.lazilyCachedFor(methodDescription).apply(methodVisitor, versionedImplementationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(1));
+        verify(methodVisitor).visitFieldInsn(Opcodes.GETSTATIC, BAZ, FOO, QUX);
+        verifyNoMoreInteractions(methodVisitor);
+        verify(versionedImplementationContext).getClassFileVersion();
+        verify(versionedImplementationContext).cache(MethodConstant.forMethod(methodDescription), new TypeDescription.ForLoadedType(Method.class));
+        verifyNoMoreInteractions(versionedImplementationContext);
+    }
+
+    @Test
+    public void testMethodLazilyCachedFallsBackToCacheForUnversionedContext() throws Exception {
+        when(implementationContext.cache(any(StackManipulation.class), any(TypeDescription.class))).thenReturn(fieldDescription);
+        StackManipulation.Size size = MethodConstant.lazilyCachedFor(methodDescription).apply(methodVisitor, implementationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(1));
+        verify(methodVisitor).visitFieldInsn(Opcodes.GETSTATIC, BAZ, FOO, QUX);
+        verifyNoMoreInteractions(methodVisitor);
+        verify(implementationContext).cache(MethodConstant.forMethod(methodDescription), new TypeDescription.ForLoadedType(Method.class));
+        verifyNoMoreInteractions(implementationContext);
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testMethodLazilyCached() throws Exception {
+        Method method = Object.class.getDeclaredMethod("toString");
+        Class<? extends Callable> type = lazilyCached(new MethodDescription.ForLoadedMethod(method));
+        assertThat(type.getDeclaredFields().length, is(0));
+        Callable<?> callable = type.newInstance();
+        Object constant = callable.call();
+        assertThat(constant, is((Object) method));
+        assertThat(callable.call() == constant, is(true));
+        assertThat(type.newInstance().call() == constant, is(true));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testConstructorLazilyCached() throws Exception {
+        Class<? extends Callable> type = lazilyCached(new MethodDescription.ForLoadedConstructor(String.class.getDeclaredConstructor(String.class)));
+        assertThat(type.getDeclaredFields().length, is(0));
+        assertThat(type.newInstance().call(), is((Object) String.class.getDeclaredConstructor(String.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Callable> lazilyCached(MethodDescription methodDescription) {
+        return new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Callable.class)
+                .method(named("call"))
+                .intercept(new Implementation.Simple(MethodConstant.lazilyCachedFor(methodDescription), MethodReturn.REFERENCE))
+                .make()
+                .load(MethodConstantTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testTypeInitializer() throws Exception {
         when(methodDescription.isTypeInitializer()).thenReturn(true);
         MethodConstant.CanCache methodConstant = MethodConstant.forMethod(methodDescription);
         assertThat(methodConstant.isValid(), is(false));
         assertThat(methodConstant.cached().isValid(), is(false));
+        assertThat(MethodConstant.lazilyCachedFor(methodDescription).isValid(), is(false));
         methodConstant.apply(methodVisitor, implementationContext);
     }
 
@@ -138,6 +212,7 @@ public class MethodConstantTest {
         ObjectPropertyAssertion.of(MethodConstant.ForMethod.class).apply();
         ObjectPropertyAssertion.of(MethodConstant.ForConstructor.class).apply();
         ObjectPropertyAssertion.of(MethodConstant.Cached.class).apply();
+        ObjectPropertyAssertion.of(MethodConstant.LazilyCached.class).apply();
         ObjectPropertyAssertion.of(MethodConstant.CanCacheIllegal.class).apply();
     }
 }
@@ -0,0 +1,80 @@
+package net.bytebuddy.utility;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class PersistentListTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    private static final int DEEP = 100000;
+
+    @Test
+    public void testAppend() throws Exception {
+        List<String> list = PersistentList.append(PersistentList.append(Collections.<String>emptyList(), FOO), BAR);
+        assertThat(list.size(), is(2));
+        assertThat(list, is(Arrays.asList(FOO, BAR)));
+    }
+
+    @Test
+    public void testPrepend() throws Exception {
+        List<String> list = PersistentList.prepend(FOO, PersistentList.prepend(BAR, Collections.<String>emptyList()));
+        assertThat(list.size(), is(2));
+        assertThat(list, is(Arrays.asList(FOO, BAR)));
+    }
+
+    @Test
+    public void testMixed() throws Exception {
+        List<String> list = PersistentList.prepend(FOO, PersistentList.append(PersistentList.prepend(BAR, Arrays.asList(QUX)), BAZ));
+        assertThat(list, is(Arrays.asList(FOO, BAR, QUX, BAZ)));
+        assertThat(list.get(2), is(QUX));
+        assertThat(list.hashCode(), is(Arrays.asList(FOO, BAR, QUX, BAZ).hashCode()));
+        assertThat(list.toString(), is(Arrays.asList(FOO, BAR, QUX, BAZ).toString()));
+    }
+
+    @Test
+    public void testStructuralSharing() throws Exception {
+        List<String> base = PersistentList.append(Collections.<String>emptyList(), FOO);
+        List<String> first = PersistentList.append(base, BAR), second = PersistentList.append(base, QUX);
+        assertThat(base, is(Collections.singletonList(FOO)));
+        assertThat(first, is(Arrays.asList(FOO, BAR)));
+        assertThat(second, is(Arrays.asList(FOO, QUX)));
+    }
+
+    @Test
+    public void testExtendsResolvedList() throws Exception {
+        List<String> base = PersistentList.prepend(FOO, Collections.singletonList(BAR));
+        assertThat(base.get(0), is(FOO));
+        List<String> list = PersistentList.prepend(QUX, PersistentList.append(base, BAZ));
+        assertThat(list, is(Arrays.asList(QUX, FOO, BAR, BAZ)));
+    }
+
+    @Test
+    public void testDeepChainWithoutRecursion() throws Exception {
+        List<Integer> list = Collections.emptyList(), expected = new ArrayList<Integer>(DEEP);
+        for (int index = 0; index < DEEP; index++) {
+            list = PersistentList.append(list, index);
+            expected.add(index);
+        }
+        assertThat(list.size(), is(DEEP));
+        assertThat(list.get(DEEP - 1), is(DEEP - 1));
+        assertThat(list, is(expected));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() throws Exception {
+        PersistentList.append(Collections.<String>emptyList(), FOO).get(1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() throws Exception {
+        PersistentList.append(Collections.<String>emptyList(), FOO).add(BAR);
+    }
+}
@@ -0,0 +1,106 @@
+package net.bytebuddy.utility;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class PersistentMapTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    private static final String COLLISION = "Aa", OTHER_COLLISION = "BB";
+
+    private static final int LARGE = 100000;
+
+    @Test
+    public void testPut() throws Exception {
+        Map<String, String> map = PersistentMap.put(PersistentMap.put(Collections.<String, String>emptyMap(), FOO, BAR), QUX, BAZ);
+        Map<String, String> expected = new HashMap<String, String>();
+        expected.put(FOO, BAR);
+        expected.put(QUX, BAZ);
+        assertThat(map.size(), is(2));
+        assertThat(map.get(FOO), is(BAR));
+        assertThat(map.get(QUX), is(BAZ));
+        assertThat(map.get(BAR), nullValue(String.class));
+        assertThat(map, is(expected));
+        assertThat(map.hashCode(), is(expected.hashCode()));
+    }
+
+    @Test
+    public void testReplace() throws Exception {
+        Map<String, String> map = PersistentMap.put(PersistentMap.put(Collections.<String, String>emptyMap(), FOO, BAR), FOO, QUX);
+        assertThat(map.size(), is(1));
+        assertThat(map.get(FOO), is(QUX));
+    }
+
+    @Test
+    public void testCopiesNonPersistentMap() throws Exception {
+        Map<String, String> base = new HashMap<String, String>();
+        base.put(FOO, BAR);
+        Map<String, String> map = PersistentMap.put(base, QUX, BAZ);
+        assertThat(map.size(), is(2));
+        assertThat(map.get(FOO), is(BAR));
+        assertThat(base.size(), is(1));
+    }
+
+    @Test
+    public void testStructuralSharing() throws Exception {
+        Map<String, String> base = PersistentMap.put(Collections.<String, String>emptyMap(), FOO, BAR);
+        Map<String, String> first = PersistentMap.put(base, QUX, BAR), second = PersistentMap.put(base, BAZ, BAR);
+        assertThat(base, is(Collections.singletonMap(FOO, BAR)));
+        assertThat(first.containsKey(QUX), is(true));
+        assertThat(first.containsKey(BAZ), is(false));
+        assertThat(second.containsKey(BAZ), is(true));
+        assertThat(second.containsKey(QUX), is(false));
+    }
+
+    @Test
+    public void testHashCollision() throws Exception {
+        assertThat(COLLISION.hashCode(), is(OTHER_COLLISION.hashCode()));
+        Map<String, String> map = PersistentMap.put(PersistentMap.put(Collections.<String, String>emptyMap(), COLLISION, FOO), OTHER_COLLISION, BAR);
+        assertThat(map.size(), is(2));
+        assertThat(map.get(COLLISION), is(FOO));
+        assertThat(map.get(OTHER_COLLISION), is(BAR));
+        map = PersistentMap.put(map, COLLISION, QUX);
+        assertThat(map.size(), is(2));
+        assertThat(map.get(COLLISION), is(QUX));
+        assertThat(map.get(OTHER_COLLISION), is(BAR));
+    }
+
+    @Test
+    public void testNullKeyAndValue() throws Exception {
+        Map<String, String> map = PersistentMap.put(Collections.<String, String>emptyMap(), null, null);
+        assertThat(map.size(), is(1));
+        assertThat(map.containsKey(null), is(true));
+        assertThat(map.get(null), nullValue(String.class));
+    }
+
+    @Test
+    public void testLargeMap() throws Exception {
+        Map<Integer, Integer> map = Collections.emptyMap(), expected = new HashMap<Integer, Integer>();
+        for (int index = 0; index < LARGE; index++) {
+            map = PersistentMap.put(map, index, -index);
+            expected.put(index, -index);
+        }
+        assertThat(map.size(), is(LARGE));
+        assertThat(map.get(LARGE - 1), is(1 - LARGE));
+        assertThat(map, is(expected));
+        assertThat(map.entrySet().size(), is(LARGE));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() throws Exception {
+        PersistentMap.put(Collections.<String, String>emptyMap(), FOO, BAR).put(QUX, BAZ);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableEntry() throws Exception {
+        PersistentMap.put(Collections.<String, String>emptyMap(), FOO, BAR).entrySet().iterator().next().setValue(QUX);
+    }
+}